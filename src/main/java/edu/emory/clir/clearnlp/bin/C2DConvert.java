@@ -15,17 +15,27 @@
  */
 package edu.emory.clir.clearnlp.bin;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import org.kohsuke.args4j.Option;
 
 import edu.emory.clir.clearnlp.collection.map.IntObjectHashMap;
 import edu.emory.clir.clearnlp.component.mode.morph.AbstractMPAnalyzer;
 import edu.emory.clir.clearnlp.component.utils.NLPUtils;
-import edu.emory.clir.clearnlp.constituent.CTReader;
+import edu.emory.clir.clearnlp.constituent.CTStreamReader;
 import edu.emory.clir.clearnlp.constituent.CTTree;
 import edu.emory.clir.clearnlp.conversion.AbstractC2DConverter;
 import edu.emory.clir.clearnlp.dependency.DEPLibEn;
@@ -59,6 +69,10 @@ public class C2DConvert
 	private boolean b_normalize = false;
 	@Option(name="-r", usage="if set, traverse parse files recursively", required=false, metaVar="<boolean>")
 	private boolean b_recursive = false;
+	@Option(name="-threads", usage="number of threads (default: 1)", required=false, metaVar="<integer>")
+	private int n_threads = 1;
+	@Option(name="-chunk", usage="number of trees converted together by a thread when multi-threaded (default: 256)", required=false, metaVar="<integer>")
+	private int n_chunkSize = 256;
 
 	public C2DConvert() {}
 	
@@ -70,6 +84,13 @@ public class C2DConvert
 		TLanguage language = TLanguage.getType(s_language);
 		int n;
 		
+		if (n_threads > 1)
+		{
+			byte[] headrules = Files.readAllBytes(Paths.get(s_headruleFile));
+			convert(() -> NLPUtils.getC2DConverter(language, new ByteArrayInputStream(headrules)), () -> NLPUtils.getMPAnalyzer(language), parseFiles, s_parseExt, s_propExt, s_outputExt, b_normalize, n_threads, n_chunkSize);
+			return;
+		}
+		
 		AbstractC2DConverter converter = NLPUtils.getC2DConverter(language, IOUtils.createFileInputStream(s_headruleFile));
 		AbstractMPAnalyzer   analyzer  = NLPUtils.getMPAnalyzer(language);
 		
@@ -84,37 +105,173 @@ public class C2DConvert
 	{
 		IntObjectHashMap<List<PBInstance>> mProp = getPBInstanceMap(parseFile, parseExt, propExt);
 		PrintStream fout = IOUtils.createBufferedPrintStream(parseFile+"."+outputExt);
-		CTReader reader = new CTReader(IOUtils.createFileInputStream(parseFile));
-		List<PBInstance> instances = null;
-		CTTree  cTree;
-		DEPTree dTree;
+		CTStreamReader reader = new CTStreamReader(IOUtils.createFileInputStream(parseFile));
+		CTTree cTree;
+		String dTree;
 		int n;
 		
 		for (n=0; (cTree = reader.nextTree()) != null; n++)
 		{
-			if (normalize) cTree.normalizeIndices();
-			if (mProp != null && (instances = mProp.get(n)) != null) initPropBank(cTree, instances);
-			dTree = converter.toDEPTree(cTree);
-			
-			if (dTree != null)
+			if ((dTree = convert(converter, analyzer, cTree, getPBInstances(mProp, n), n, normalize)) != null)
+				fout.println(dTree+"\n");
+		}
+		
+		reader.close();
+		fout.close();
+		
+		return n;
+	}
+	
+	/**
+	 * Converts the specific constituent tree to a dependency tree.
+	 * @param instances the PropBank instances of the tree if exists; otherwise, {@code null}.
+	 * @param treeIndex the index of the tree in its file, used for error messages.
+	 * @return the dependency tree in the SRL format if the tree has any token; otherwise, {@code null}.
+	 */
+	protected String convert(AbstractC2DConverter converter, AbstractMPAnalyzer analyzer, CTTree cTree, List<PBInstance> instances, int treeIndex, boolean normalize)
+	{
+		if (normalize) cTree.normalizeIndices();
+		if (instances != null) initPropBank(cTree, instances);
+		DEPTree dTree = converter.toDEPTree(cTree);
+		
+		if (dTree == null)
+		{
+			System.err.println("No token in the tree "+(treeIndex+1)+"\n"+cTree.toStringLine());
+			return null;
+		}
+		
+		if (instances != null)
+		{
+			retainOnyVerbPredicates(dTree);
+			DEPLibEn.postLabel(dTree);
+		}
+		
+		analyzer.process(dTree);
+		return dTree.toStringSRL();
+	}
+	
+//	====================================== MULTI-THREADING ======================================
+	
+	/**
+	 * Converts the specific files using multiple threads, each with its own converter and analyzer created by the specific suppliers.
+	 * Trees are read on the calling thread and converted in chunks, so that both small files and large files are spread across threads;
+	 * each output file is written in the original order of its trees.
+	 * At most {@code 4 * threads} chunks are in flight to bound the memory.
+	 */
+	protected void convert(Supplier<AbstractC2DConverter> converters, Supplier<AbstractMPAnalyzer> analyzers, List<String> parseFiles, String parseExt, String propExt, String outputExt, boolean normalize, int threads, int chunkSize) throws Exception
+	{
+		ThreadLocal<AbstractC2DConverter> converter = ThreadLocal.withInitial(converters);
+		ThreadLocal<AbstractMPAnalyzer>   analyzer  = ThreadLocal.withInitial(analyzers);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		Deque<ConvertedChunk> pending = new ArrayDeque<>();
+		IntObjectHashMap<List<PBInstance>> mProp;
+		List<CTTree> trees;
+		PrintStream fout;
+		CTStreamReader reader;
+		CTTree cTree;
+		int n, begin;
+		
+		try
+		{
+			for (String parseFile : parseFiles)
 			{
-				if (instances != null)
+				mProp  = getPBInstanceMap(parseFile, parseExt, propExt);
+				fout   = IOUtils.createBufferedPrintStream(parseFile+"."+outputExt);
+				reader = new CTStreamReader(IOUtils.createFileInputStream(parseFile));
+				
+				for (n=0; ; )
 				{
-					retainOnyVerbPredicates(dTree);
-					DEPLibEn.postLabel(dTree);
+					trees = new ArrayList<>(chunkSize);
+					begin = n;
+					
+					while (trees.size() < chunkSize && (cTree = reader.nextTree()) != null)
+					{
+						trees.add(cTree);
+						n++;
+					}
+					
+					if (trees.isEmpty()) break;
+					final List<CTTree> chunk = trees;
+					final IntObjectHashMap<List<PBInstance>> props = mProp;
+					final int offset = begin;
+					pending.add(new ConvertedChunk(fout, executor.submit(() -> convert(converter.get(), analyzer.get(), chunk, props, offset, normalize))));
+					while (pending.size() > threads * 4) write(pending.poll());
 				}
 				
-				analyzer.process(dTree);
-				fout.println(dTree.toStringSRL()+"\n");
+				reader.close();
+				pending.add(new ConvertedChunk(fout, parseFile, n));
 			}
-			else
-				System.err.println("No token in the tree "+(n+1)+"\n"+cTree.toStringLine());
+			
+			while (!pending.isEmpty()) write(pending.poll());
+		}
+		finally
+		{
+			executor.shutdownNow();
 		}
+	}
+	
+	/** @return the dependency trees of the specific chunk in the SRL format, separated as by {@link PrintStream#println(String)} in the single-threaded output. */
+	private String convert(AbstractC2DConverter converter, AbstractMPAnalyzer analyzer, List<CTTree> trees, IntObjectHashMap<List<PBInstance>> mProp, int offset, boolean normalize)
+	{
+		StringBuilder build = new StringBuilder();
+		int i, size = trees.size();
+		String dTree;
 		
-		reader.close();
-		fout.close();
+		for (i=0; i<size; i++)
+		{
+			if ((dTree = convert(converter, analyzer, trees.get(i), getPBInstances(mProp, offset+i), offset+i, normalize)) != null)
+			{
+				build.append(dTree);
+				build.append("\n");
+				build.append(System.lineSeparator());
+			}
+		}
 		
-		return n;
+		return build.toString();
+	}
+	
+	/** Writes the specific chunk, or closes its output file if the chunk marks the end of the file. */
+	private void write(ConvertedChunk chunk) throws Exception
+	{
+		if (chunk.f_output != null)
+			chunk.f_out.print(chunk.f_output.get());
+		else
+		{
+			chunk.f_out.close();
+			System.out.printf("%s: %d trees\n", chunk.s_parseFile, chunk.n_trees);
+		}
+	}
+	
+	private static class ConvertedChunk
+	{
+		private final PrintStream    f_out;
+		private final Future<String> f_output;
+		private final String         s_parseFile;
+		private final int            n_trees;
+		
+		public ConvertedChunk(PrintStream fout, Future<String> output)
+		{
+			f_out       = fout;
+			f_output    = output;
+			s_parseFile = null;
+			n_trees     = 0;
+		}
+		
+		/** Marks the end of the specific file. */
+		public ConvertedChunk(PrintStream fout, String parseFile, int trees)
+		{
+			f_out       = fout;
+			f_output    = null;
+			s_parseFile = parseFile;
+			n_trees     = trees;
+		}
+	}
+	
+//	====================================== PROPBANK ======================================
+	
+	private List<PBInstance> getPBInstances(IntObjectHashMap<List<PBInstance>> mProp, int treeIndex)
+	{
+		return (mProp != null) ? mProp.get(treeIndex) : null;
 	}
 	
 	private IntObjectHashMap<List<PBInstance>> getPBInstanceMap(String parseFile, String parseExt, String propExt)
@@ -22,11 +22,14 @@ import java.util.List;
 
 import org.kohsuke.args4j.Option;
 
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
 import edu.emory.clir.clearnlp.component.AbstractComponent;
 import edu.emory.clir.clearnlp.component.configuration.DecodeConfiguration;
 import edu.emory.clir.clearnlp.component.mode.dep.DEPConfiguration;
+import edu.emory.clir.clearnlp.component.mode.pos.AbstractPOSTagger;
 import edu.emory.clir.clearnlp.component.utils.NLPMode;
 import edu.emory.clir.clearnlp.component.utils.NLPUtils;
+import edu.emory.clir.clearnlp.component.utils.SentenceCache;
 import edu.emory.clir.clearnlp.dependency.DEPTree;
 import edu.emory.clir.clearnlp.reader.AbstractReader;
 import edu.emory.clir.clearnlp.reader.LineReader;
@@ -39,6 +42,7 @@ import edu.emory.clir.clearnlp.util.FileUtils;
 import edu.emory.clir.clearnlp.util.IOUtils;
 import edu.emory.clir.clearnlp.util.constant.StringConst;
 import edu.emory.clir.clearnlp.util.lang.TLanguage;
+import edu.emory.clir.clearnlp.util.metrics.MetricsRegistry;
 
 /**
  * @since 3.0.0
@@ -46,6 +50,10 @@ import edu.emory.clir.clearnlp.util.lang.TLanguage;
  */
 public class NLPDecode
 {
+	static public final String METRICS_READER    = "reader";
+	static public final String METRICS_TOKENIZER = "tokenizer";
+	static public final String METRICS_WRITER    = "writer";
+	
 	@Option(name="-c", usage="confinguration file (required)", required=true, metaVar="<string>")
 	protected String s_configurationFile;
 	@Option(name="-i", usage="input path (required)", required=true, metaVar="<filepath>")
@@ -56,6 +64,17 @@ public class NLPDecode
 	protected String s_outputExt = "cnlp";
 	@Option(name="-mode", usage="pos|morph|dep", required=true, metaVar="<string>")
 	protected String s_mode;
+	@Option(name="-tagdict", usage="if set, part-of-speech tagging scores only the tags observed with each frequent word-form", required=false, metaVar="<boolean>")
+	protected boolean b_tagDictionary = false;
+	@Option(name="-cache", usage="the maximum number of sentences whose annotation is cached for repeated inputs (default: 0, no cache)", required=false, metaVar="<integer>")
+	protected int n_cacheSize = 0;
+	@Option(name="-cacheEviction", usage="TINY_LFU|LRU|FIFO (default: TINY_LFU)", required=false, metaVar="<string>")
+	protected String s_cacheEviction = CacheEviction.TINY_LFU.toString();
+	
+	@Option(name="-metrics", usage="if positive, latency metrics are exposed through JMX and logged every this number of seconds (default: 0, disabled)", required=false, metaVar="<integer>")
+	protected int n_metricsPeriod = 0;
+	
+	private SentenceCache c_cache = null;
 	
 	public NLPDecode() {}
 	
@@ -83,6 +102,15 @@ public class NLPDecode
 		{
 			tokenizer  = NLPUtils.getTokenizer(config.getLanguage());
 			components = getComponents(config.getLanguage(), mode, config);
+			
+			if (n_cacheSize > 0)
+				c_cache = new SentenceCache(n_cacheSize, CacheEviction.valueOf(s_cacheEviction), SentenceCache.getModelVersion(components));
+		}
+		
+		if (n_metricsPeriod > 0)
+		{
+			MetricsRegistry.setEnabled(true);
+			MetricsRegistry.startReporter(n_metricsPeriod);
 		}
 		
 		BinUtils.LOG.info("Decoding:\n");
@@ -103,14 +131,32 @@ public class NLPDecode
 			reader.close();
 			fout.close();
 		}
+		
+		if (c_cache != null)
+			BinUtils.LOG.info("Sentence cache: "+c_cache.toString()+"\n");
+		
+		if (n_metricsPeriod > 0)
+		{
+			MetricsRegistry.stopReporter();
+			BinUtils.LOG.info("Metrics:\n"+MetricsRegistry.getReport());
+		}
 	}
 	
+	/** Reading and tokenization are a single step for raw input, so the whole file is recorded as one entry of {@link #METRICS_TOKENIZER}. */
 	public void process(RawReader reader, PrintStream fout, NLPMode mode, AbstractComponent[] components, AbstractTokenizer tokenizer)
 	{
+		long start = MetricsRegistry.isEnabled() ? System.nanoTime() : 0;
 		List<List<String>> tokens = tokenizer.segmentize(reader.getInputStream());
 		int i, size = tokens.size();
 		DEPTree tree;
 		
+		if (MetricsRegistry.isEnabled())
+		{
+			int count = 0;
+			for (List<String> t : tokens) count += t.size();
+			MetricsRegistry.get(METRICS_TOKENIZER).record(start, count);
+		}
+		
 		for (i=0; i<size; i++)
 		{
 			tree = new DEPTree(tokens.get(i));
@@ -120,30 +166,75 @@ public class NLPDecode
 	
 	public void process(LineReader reader, PrintStream fout, NLPMode mode, AbstractComponent[] components, AbstractTokenizer tokenizer)
 	{
+		boolean metrics = MetricsRegistry.isEnabled();
+		long start = 0, read = 0;
+		List<String> tokens;
 		DEPTree tree;
 		String  line;
 		
-		while ((line = reader.next()) != null)
+		while (true)
 		{
-			tree = new DEPTree(tokenizer.tokenize(line));
+			if (metrics) start = System.nanoTime();
+			if ((line = reader.next()) == null) break;
+			if (metrics) read = System.nanoTime();
+			tokens = tokenizer.tokenize(line);
+			
+			if (metrics)
+			{
+				MetricsRegistry.get(METRICS_READER).recordLatency(read - start, tokens.size());
+				MetricsRegistry.get(METRICS_TOKENIZER).record(read, tokens.size());
+			}
+			
+			tree = new DEPTree(tokens);
 			process(tree, fout, mode, components);
 		}
 	}
 	
 	public void process(TSVReader reader, PrintStream fout, NLPMode mode, AbstractComponent[] components)
 	{
+		boolean metrics = MetricsRegistry.isEnabled();
+		long start = 0;
 		DEPTree tree;
 		
-		while ((tree = reader.next()) != null)
+		while (true)
+		{
+			if (metrics) start = System.nanoTime();
+			if ((tree = reader.next()) == null) break;
+			if (metrics) MetricsRegistry.get(METRICS_READER).record(start, tree.size()-1);
 			process(tree, fout, mode, components);
+		}
 	}
 	
+	/** Processes the specific tree through the sentence cache if it is enabled by {@link #setSentenceCache(SentenceCache)} or {@code -cache}. */
 	public void process(DEPTree tree, PrintStream fout, NLPMode mode, AbstractComponent[] components)
 	{
-		for (AbstractComponent component : components)
-			component.process(tree);
-
-		fout.println(toString(tree, mode)+StringConst.NEW_LINE);
+		if (c_cache != null)
+			c_cache.process(tree, components);
+		else
+		{
+			for (AbstractComponent component : components)
+				component.processAndRecord(tree);
+		}
+		
+		if (MetricsRegistry.isEnabled())
+		{
+			long start = System.nanoTime();
+			fout.println(toString(tree, mode)+StringConst.NEW_LINE);
+			MetricsRegistry.get(METRICS_WRITER).record(start, tree.size()-1);
+		}
+		else
+			fout.println(toString(tree, mode)+StringConst.NEW_LINE);
+	}
+	
+	/** @param cache {@code null} to disable caching; should only be used for trees without prior annotation. */
+	public void setSentenceCache(SentenceCache cache)
+	{
+		c_cache = cache;
+	}
+	
+	public SentenceCache getSentenceCache()
+	{
+		return c_cache;
 	}
 	
 	private AbstractComponent[] getComponents(TLanguage language, NLPMode mode, DecodeConfiguration config)
@@ -155,7 +246,7 @@ public class NLPDecode
 		case srl  :
 		case dep  : list.add(NLPUtils.getDEPParser(language, config.getModelPath(NLPMode.dep), new DEPConfiguration(IOUtils.createFileInputStream(s_configurationFile))));
 		case morph: list.add(NLPUtils.getMPAnalyzer(language));
-		case pos  : list.add(NLPUtils.getPOSTagger(language, config.getModelPath(NLPMode.pos)));
+		case pos  : list.add(getPOSTagger(language, config));
 		}
 
 		return toReverseArray(list);
@@ -176,12 +267,19 @@ public class NLPDecode
 				list.add(NLPUtils.getMPAnalyzer(language));
 		case pos:
 			if (!reader.hasPOSTags())
-				list.add(NLPUtils.getPOSTagger(language, config.getModelPath(NLPMode.pos)));
+				list.add(getPOSTagger(language, config));
 		}
 		
 		return toReverseArray(list);
 	}
 	
+	private AbstractPOSTagger getPOSTagger(TLanguage language, DecodeConfiguration config)
+	{
+		AbstractPOSTagger tagger = NLPUtils.getPOSTagger(language, config.getModelPath(NLPMode.pos));
+		tagger.setTagDictionaryDecoding(b_tagDictionary);
+		return tagger;
+	}
+	
 	private AbstractComponent[] toReverseArray(List<AbstractComponent> list)
 	{
 		AbstractComponent[] array = new AbstractComponent[list.size()];
@@ -70,9 +70,21 @@ abstract public class AbstractClassify
 			AbstractClassify.TYPE_STRING+": string vector space\n",
 			required=false, metaVar="<byte>")
 	protected byte i_vectorType = AbstractClassify.TYPE_STRING;
+	@Option(name="-hashBits", usage="the number of bits of the hashed feature space (default: 0)\n"+"0: features are looked up in a dictionary, string vector space only", required=false, metaVar="<integer>")
+	protected int i_hashBits = 0;
+	@Option(name="-signed", usage="if set, multiply each hashed feature by a hashed sign (default: false)", required=false, metaVar="<boolean>")
+	protected boolean b_signed = false;
 	
 	/** Called by {@link #AbstractClassify(String[])}. */
 	abstract protected AbstractTrainerConfiguration createTrainConfiguration();
+	/** @return the training configuration created by {@link #createTrainConfiguration()} with the hashing options. */
+	protected AbstractTrainerConfiguration initTrainConfiguration()
+	{
+		AbstractTrainerConfiguration configuration = createTrainConfiguration();
+		configuration.setHashing(i_hashBits, b_signed);
+		return configuration;
+	}
+	
 	/** Called by {@link #train(AbstractTrainerConfiguration, String)}. */
 	abstract protected AbstractTrainer getTrainer(AbstractTrainerConfiguration trainConfiguration, AbstractModel<?,?> model);
 	
@@ -83,6 +95,19 @@ abstract public class AbstractClassify
 		return (AbstractModel<I,F>)(vectorType == AbstractClassify.TYPE_SPARSE ? new SparseModel(binary) : new StringModel(binary));
 	}
 	
+	/** @return a model in the hashed feature space if the specific configuration has a positive number of hash bits for the string vector space. */
+	@SuppressWarnings("unchecked")
+	public <I extends AbstractInstance<F>, F extends AbstractFeatureVector>AbstractModel<I,F> createModel(AbstractTrainerConfiguration trainConfiguration)
+	{
+		byte    vectorType = trainConfiguration.getVectorType();
+		boolean binary     = trainConfiguration.isBinary();
+		
+		if (vectorType == AbstractClassify.TYPE_STRING && trainConfiguration.getHashBits() > 0)
+			return (AbstractModel<I,F>)new StringModel(binary, trainConfiguration.getHashBits(), trainConfiguration.isSigned());
+		
+		return createModel(vectorType, binary);
+	}
+	
 	public AbstractModel<?,?> loadModel(String modelFile, byte vectorType)
 	{
 		try
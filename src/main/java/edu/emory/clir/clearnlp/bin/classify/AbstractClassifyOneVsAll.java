@@ -29,7 +29,7 @@ abstract public class AbstractClassifyOneVsAll extends AbstractClassify
 	{
 		new ArgsReader(args, this);
 		
-		AbstractTrainerConfiguration trainConfiguration = createTrainConfiguration();
+		AbstractTrainerConfiguration trainConfiguration = initTrainConfiguration();
 		AbstractModel<?,?> model = null;
 		
 		if (s_trainFile != null)
@@ -49,7 +49,7 @@ abstract public class AbstractClassifyOneVsAll extends AbstractClassify
 	/** @return a trained model using the specific training file. */
 	public AbstractModel<?,?> train(AbstractTrainerConfiguration trainConfiguration, String trainFile)
 	{
-		AbstractModel<?,?> model = createModel(trainConfiguration.getVectorType(), trainConfiguration.isBinary());
+		AbstractModel<?,?> model = createModel(trainConfiguration);
 		readInstances(model, trainFile);
 		
 		AbstractTrainer trainer = getTrainer(trainConfiguration, model);
@@ -35,7 +35,7 @@ abstract public class AbstractClassifyOnline extends AbstractClassify
 	{
 		new ArgsReader(args, this);
 		
-		AbstractTrainerConfiguration trainConfiguration = createTrainConfiguration();
+		AbstractTrainerConfiguration trainConfiguration = initTrainConfiguration();
 		AbstractModel<?,?> model = null;
 		
 		if (s_trainFile != null)
@@ -55,7 +55,7 @@ abstract public class AbstractClassifyOnline extends AbstractClassify
 	/** @return a trained model using the specific training file. */
 	public AbstractModel<?,?> train(AbstractTrainerConfiguration trainConfiguration, String trainFile, String developFile)
 	{
-		AbstractModel<?,?> model = createModel(trainConfiguration.getVectorType(), trainConfiguration.isBinary());
+		AbstractModel<?,?> model = createModel(trainConfiguration);
 		readInstances(model, trainFile);
 		
 		AbstractTrainer trainer = getTrainer(trainConfiguration, model);
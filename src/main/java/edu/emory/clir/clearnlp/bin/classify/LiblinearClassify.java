@@ -37,6 +37,8 @@ public class LiblinearClassify extends AbstractClassifyOneVsAll
 	private double d_epsilon  = 0.1;
 	@Option(name="-b", usage="the bias (default: 0)", required=false, metaVar="<double>")
 	private double d_bias = 0.0;
+	@Option(name="-memory", usage="the memory budget for concurrent labels in megabytes (default: available heap)", required=false, metaVar="<integer>")
+	private int i_memoryBudget = 0;
 
 	public LiblinearClassify(String[] args)
 	{
@@ -53,11 +55,15 @@ public class LiblinearClassify extends AbstractClassifyOneVsAll
 	protected AbstractTrainer getTrainer(AbstractTrainerConfiguration trainConfiguration, AbstractModel<?, ?> model)
 	{
 		LiblinearTrainerConfiguration c = (LiblinearTrainerConfiguration)trainConfiguration;
+		LiblinearL2SVM trainer;
 		
 		if (isSparseModel(model))
-			return new LiblinearL2SVM((SparseModel)model, c.getNumberOfThreads(), c.getCost(), c.getEpsilon(), c.getBias());
+			trainer = new LiblinearL2SVM((SparseModel)model, c.getNumberOfThreads(), c.getCost(), c.getEpsilon(), c.getBias());
 		else
-			return new LiblinearL2SVM((StringModel)model, c.getLabelCutoff(), c.getFeatureCutoff(), c.getNumberOfThreads(), c.getCost(), c.getEpsilon(), c.getBias());
+			trainer = new LiblinearL2SVM((StringModel)model, c.getLabelCutoff(), c.getFeatureCutoff(), c.getNumberOfThreads(), c.getCost(), c.getEpsilon(), c.getBias());
+		
+		trainer.setMemoryBudget((long)i_memoryBudget << 20);
+		return trainer;
 	}
 	
 	static public void main(String[] args)
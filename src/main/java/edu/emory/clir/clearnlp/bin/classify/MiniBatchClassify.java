@@ -0,0 +1,78 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.bin.classify;
+
+import org.kohsuke.args4j.Option;
+
+import edu.emory.clir.clearnlp.classification.configuration.AbstractTrainerConfiguration;
+import edu.emory.clir.clearnlp.classification.configuration.MiniBatchTrainerConfiguration;
+import edu.emory.clir.clearnlp.classification.model.AbstractModel;
+import edu.emory.clir.clearnlp.classification.model.SparseModel;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.trainer.AbstractTrainer;
+import edu.emory.clir.clearnlp.classification.trainer.MiniBatchAdaGradLR;
+import edu.emory.clir.clearnlp.classification.trainer.MiniBatchAdaGradSVM;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class MiniBatchClassify extends AbstractClassifyOnline
+{
+	@Option(name="-a", usage="the learning rate (default: 0.01)", required=false, metaVar="<double>")
+	private double d_alpha = 0.01;
+	@Option(name="-r", usage="the smoothing denominator (default: 0.1)", required=false, metaVar="<double>")
+	private double d_rho   = 0.1;
+	@Option(name="-b", usage="the bias (default: 0.0)", required=false, metaVar="<double>")
+	private double d_bias  = 0d;
+	@Option(name="-batch", usage="the number of instances in each mini-batch (default: 64)", required=false, metaVar="<integer>")
+	private int i_batchSize = 64;
+	@Option(name="-logistic", usage="if set, logistic regression (default: false)", required=false, metaVar="<boolean>")
+	protected boolean b_logistic = false;
+
+	public MiniBatchClassify(String[] args)
+	{
+		super(args);
+	}
+
+	@Override
+	protected AbstractTrainerConfiguration createTrainConfiguration()
+	{
+		return new MiniBatchTrainerConfiguration(i_vectorType, b_binary, i_labelCutoff, i_featureCutoff, i_numberOfThreads, i_batchSize, d_alpha, d_rho, d_bias);
+	}
+
+	@Override
+	protected AbstractTrainer getTrainer(AbstractTrainerConfiguration trainConfiguration, AbstractModel<?, ?> model)
+	{
+		MiniBatchTrainerConfiguration c = (MiniBatchTrainerConfiguration)trainConfiguration;
+		
+		if (isSparseModel(model))
+		{
+			if (b_logistic)	return new MiniBatchAdaGradLR ((SparseModel)model, c.getNumberOfThreads(), c.getBatchSize(), c.getLearningRate(), c.getRidge(), c.getBias());
+			else			return new MiniBatchAdaGradSVM((SparseModel)model, c.getNumberOfThreads(), c.getBatchSize(), c.getLearningRate(), c.getRidge(), c.getBias());
+		}
+		else
+		{
+			if (b_logistic)	return new MiniBatchAdaGradLR ((StringModel)model, c.getLabelCutoff(), c.getFeatureCutoff(), c.getNumberOfThreads(), c.getBatchSize(), c.getLearningRate(), c.getRidge(), c.getBias());
+			else			return new MiniBatchAdaGradSVM((StringModel)model, c.getLabelCutoff(), c.getFeatureCutoff(), c.getNumberOfThreads(), c.getBatchSize(), c.getLearningRate(), c.getRidge(), c.getBias());
+		}
+	}
+	
+	static public void main(String[] args)
+	{
+		new MiniBatchClassify(args);
+	}
+}
@@ -23,6 +23,9 @@ public class AbstractTrainerConfiguration
 {
 	private byte i_vectorType;
 	private boolean b_binary;
+	/** The number of bits of the hashed feature space; if {@code 0}, features are looked up in a dictionary. */
+	private int i_hashBits;
+	private boolean b_signed;
 	
 	public AbstractTrainerConfiguration(byte vectorType, boolean binary)
 	{
@@ -49,4 +52,26 @@ public class AbstractTrainerConfiguration
 	{
 		b_binary = binary;
 	}
+	
+	/** @return the number of bits of the hashed feature space; if {@code 0}, features are looked up in a dictionary. */
+	public int getHashBits()
+	{
+		return i_hashBits;
+	}
+	
+	/** @return {@code true} if each hashed feature is multiplied by a hashed sign. */
+	public boolean isSigned()
+	{
+		return b_signed;
+	}
+	
+	/**
+	 * @param hashBits the number of bits of the hashed feature space (string vector space only); if {@code 0}, features are looked up in a dictionary.
+	 * @param signed if {@code true}, each hashed feature is multiplied by a hashed sign.
+	 */
+	public void setHashing(int hashBits, boolean signed)
+	{
+		i_hashBits = hashBits;
+		b_signed   = signed;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.configuration;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class MiniBatchTrainerConfiguration extends AdaGradTrainerConfiguration
+{
+	private int i_batchSize;
+	
+	public MiniBatchTrainerConfiguration(byte vectorType, boolean binary, int labelCutoff, int featureCutoff, int numberOfThreads, int batchSize, double alpha, double rho, double bias)
+	{
+		super(vectorType, binary, labelCutoff, featureCutoff, numberOfThreads, false, alpha, rho, bias);
+		setBatchSize(batchSize);
+		setBias(bias);
+	}
+	
+	public int getBatchSize()
+	{
+		return i_batchSize;
+	}
+	
+	public void setBatchSize(int batchSize)
+	{
+		i_batchSize = batchSize;
+	}
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.instance;
+
+import java.util.Arrays;
+
+import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
+import edu.emory.clir.clearnlp.util.MathUtils;
+
+/**
+ * Training instances packed into a single compressed-sparse-row block.
+ * The features of the {@code i}'th instance are at positions {@code [getBeginIndex(i), getEndIndex(i))}
+ * of {@link #getFeatureIndices()} and {@link #getFeatureValues()},
+ * so that trainers scan instances sequentially without dereferencing a feature vector per instance.
+ * Features are appended by {@link #addFeature(int)} or {@link #addFeature(int, double)} and closed into an instance by {@link #addInstance(int)}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class IntInstanceMatrix
+{
+	/** The largest array size that JVMs can allocate. */
+	static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+	
+	private int[]   i_labels;
+	/** The beginning position of each instance; the last item is the total number of features. */
+	private int[]   i_rowPointers;
+	private int[]   i_features;
+	/** {@code null} if all features are weighted by 1. */
+	private float[] f_values;
+	private int     n_instances;
+	private int     n_entries;
+	
+	/** @param hasWeight if {@code true}, feature weights are stored. */
+	public IntInstanceMatrix(boolean hasWeight)
+	{
+		i_labels      = new int[16];
+		i_rowPointers = new int[17];
+		i_features    = new int[256];
+		f_values      = hasWeight ? new float[256] : null;
+		n_instances   = 0;
+		n_entries     = 0;
+	}
+	
+//	====================================== BUILD ======================================
+	
+	/** Adds a feature to the instance being built. */
+	public void addFeature(int index)
+	{
+		addFeature(index, 1);
+	}
+	
+	/** Adds a feature to the instance being built. */
+	public void addFeature(int index, double weight)
+	{
+		if (n_entries == i_features.length)
+		{
+			int capacity = grow(n_entries, MAX_CAPACITY, "features");
+			i_features = Arrays.copyOf(i_features, capacity);
+			if (hasWeight()) f_values = Arrays.copyOf(f_values, capacity);
+		}
+		
+		i_features[n_entries] = index;
+		if (hasWeight()) f_values[n_entries] = (float)weight;
+		n_entries++;
+	}
+	
+	/**
+	 * Closes the features added since the last instance into a new instance.
+	 * @return {@code false} if no feature has been added, in which case no instance is added.
+	 */
+	public boolean addInstance(int label)
+	{
+		if (n_entries == i_rowPointers[n_instances]) return false;
+		
+		if (n_instances + 1 >= i_labels.length)
+		{
+			int capacity = grow(i_labels.length, MAX_CAPACITY - 1, "instances");
+			i_labels      = Arrays.copyOf(i_labels     , capacity);
+			i_rowPointers = Arrays.copyOf(i_rowPointers, capacity + 1);
+		}
+		
+		i_labels[n_instances++] = label;
+		i_rowPointers[n_instances] = n_entries;
+		return true;
+	}
+	
+	public boolean addInstance(IntInstance instance)
+	{
+		SparseFeatureVector x = instance.getFeatureVector();
+		int i, size = x.size();
+		
+		for (i=0; i<size; i++)
+			addFeature(x.getIndex(i), x.getWeight(i));
+		
+		return addInstance(instance.getLabel());
+	}
+	
+	/**
+	 * @return the doubled capacity computed in {@code long} so that it does not overflow, bounded by the specific limit.
+	 * @throws IllegalStateException if the capacity has already reached the limit.
+	 */
+	static int grow(int capacity, int limit, String name)
+	{
+		if (capacity >= limit) throw new IllegalStateException("The number of "+name+" cannot exceed "+limit+".");
+		return (int)Math.min(limit, Math.max(16, 2L * capacity));
+	}
+	
+	/** Removes the features added since the last instance. */
+	public void clearFeatures()
+	{
+		n_entries = i_rowPointers[n_instances];
+	}
+	
+	public void trimToSize()
+	{
+		i_labels      = Arrays.copyOf(i_labels     , n_instances);
+		i_rowPointers = Arrays.copyOf(i_rowPointers, n_instances + 1);
+		i_features    = Arrays.copyOf(i_features   , n_entries);
+		if (hasWeight()) f_values = Arrays.copyOf(f_values, n_entries);
+	}
+	
+//	====================================== GETTERS ======================================
+	
+	/** @return the number of instances. */
+	public int size()
+	{
+		return n_instances;
+	}
+	
+	public boolean isEmpty()
+	{
+		return n_instances == 0;
+	}
+	
+	public int getLabel(int instanceIndex)
+	{
+		return i_labels[instanceIndex];
+	}
+	
+	public boolean isLabel(int instanceIndex, int label)
+	{
+		return i_labels[instanceIndex] == label;
+	}
+	
+	/** @return the position of the first feature of the specific instance. */
+	public int getBeginIndex(int instanceIndex)
+	{
+		return i_rowPointers[instanceIndex];
+	}
+	
+	/** @return the position after the last feature of the specific instance. */
+	public int getEndIndex(int instanceIndex)
+	{
+		return i_rowPointers[instanceIndex+1];
+	}
+	
+	/** @return the feature index at the specific position. */
+	public int getFeatureIndex(int position)
+	{
+		return i_features[position];
+	}
+	
+	/** @return the feature weight at the specific position. */
+	public double getFeatureWeight(int position)
+	{
+		return hasWeight() ? f_values[position] : 1d;
+	}
+	
+	/** @return the feature indices of all instances; not to be modified. */
+	public int[] getFeatureIndices()
+	{
+		return i_features;
+	}
+	
+	/** @return the feature weights of all instances if weighted; otherwise, {@code null}. */
+	public float[] getFeatureValues()
+	{
+		return f_values;
+	}
+	
+	/** @return {@code true} if features are assigned with different weights. */
+	public boolean hasWeight()
+	{
+		return f_values != null;
+	}
+	
+	/** @return \forall_i \sigma w_i^2 of the specific instance. */
+	public double sumOfSquares(int instanceIndex)
+	{
+		int i, begin = getBeginIndex(instanceIndex), end = getEndIndex(instanceIndex);
+		if (!hasWeight()) return end - begin;
+		double sum = 0;
+		
+		for (i=begin; i<end; i++)
+			sum += MathUtils.sq(f_values[i]);
+		
+		return sum;
+	}
+	
+	/** @return a copy of the specific instance as an object. */
+	public IntInstance getInstance(int instanceIndex)
+	{
+		SparseFeatureVector x = new SparseFeatureVector(hasWeight());
+		int i, end = getEndIndex(instanceIndex);
+		
+		for (i=getBeginIndex(instanceIndex); i<end; i++)
+		{
+			if (hasWeight())	x.addFeature(i_features[i], f_values[i]);
+			else				x.addFeature(i_features[i]);
+		}
+		
+		return new IntInstance(i_labels[instanceIndex], x);
+	}
+	
+	/** @return the number of bytes taken by the arrays of this matrix. */
+	public long getMemorySize()
+	{
+		long size = 4L * (i_labels.length + i_rowPointers.length + i_features.length);
+		if (hasWeight()) size += 4L * f_values.length;
+		return size;
+	}
+}
@@ -26,6 +26,8 @@ import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
 public class StringInstanceCollector extends AbstractInstanceCollector<StringInstance, StringFeatureVector>
 {
 	private IntObjectHashMap<ObjectIntHashMap<String>> m_features;
+	/** If {@code true}, features are not counted (e.g., hashed features that need no dictionary). */
+	private boolean b_skipFeatures;
 	
 	@Override
 	public void init()
@@ -40,6 +42,7 @@ public class StringInstanceCollector extends AbstractInstanceCollector<StringIns
 		int i, type, size = vector.size();
 		ObjectIntHashMap<String> map;
 		String value;
+		if (b_skipFeatures) return;
 		
 		for (i=0; i<size; i++)
 		{
@@ -57,6 +60,12 @@ public class StringInstanceCollector extends AbstractInstanceCollector<StringIns
 		}
 	}
 	
+	/** @param count if {@code false}, features are not counted so that {@link #getFeatureMap()} stays empty. */
+	public void setFeatureCounting(boolean count)
+	{
+		b_skipFeatures = !count;
+	}
+	
 	public IntObjectHashMap<ObjectIntHashMap<String>> getFeatureMap()
 	{
 		return m_features;
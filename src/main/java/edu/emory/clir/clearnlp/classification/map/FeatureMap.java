@@ -92,6 +92,18 @@ public class FeatureMap implements Serializable
 		return n_features;
 	}
 	
+	/** @return {@code true} if features are multiplied by {@link #getFeatureSign(int, String)}. */
+	public boolean isSigned()
+	{
+		return false;
+	}
+	
+	/** @return {@code 1} or {@code -1}; features in this map are always positive. */
+	public int getFeatureSign(int type, String feature)
+	{
+		return 1;
+	}
+	
 	@Override
 	public String toString()
 	{
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.map;
+
+import edu.emory.clir.clearnlp.collection.map.IntObjectHashMap;
+import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
+import edu.emory.clir.clearnlp.util.HashUtils;
+
+/**
+ * Feature map that hashes each (type, value) pair into a fixed space of {@code 2^bits} indices instead of storing a dictionary.
+ * The memory is bounded regardless of the vocabulary, no feature is unseen at decode time, and features never observed
+ * during training can be updated online; the cost is collisions, whose bias is cancelled in expectation when signed.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class HashedFeatureMap extends FeatureMap
+{
+	private static final long serialVersionUID = 3915618729580273361L;
+	static private final int SIGN_SEED = 0x5bd1e995;
+	private final int     n_bits;
+	private final int     i_mask;
+	private final boolean b_signed;
+	
+	/**
+	 * @param bits the number of bits of the hashed space, between 1 and 30.
+	 * @param signed if {@code true}, each feature is multiplied by a hashed sign of {@code +1} or {@code -1}.
+	 */
+	public HashedFeatureMap(int bits, boolean signed)
+	{
+		if (bits < 1 || bits > 30) throw new IllegalArgumentException("The number of bits must be between 1 and 30: "+bits);
+		n_bits   = bits;
+		i_mask   = (1 << bits) - 1;
+		b_signed = signed;
+	}
+	
+	/** Nothing to reset; the hashed space is fixed. */
+	@Override
+	public void reset() {}
+	
+	/** Ignores the specific map and the cutoff; features are not counted when hashed. */
+	@Override
+	public int expand(IntObjectHashMap<ObjectIntHashMap<String>> map, int cutoff)
+	{
+		return size();
+	}
+	
+	/** @return the hashed index of the specific feature, between {@code 1} and {@code 2^bits}; never {@code -1}. */
+	@Override
+	public int getFeatureIndex(int type, String feature)
+	{
+		return 1 + (HashUtils.murmurHash3_32(feature, type) & i_mask);
+	}
+	
+	@Override
+	public int getFeatureSign(int type, String feature)
+	{
+		return (b_signed && HashUtils.murmurHash3_32(feature, type ^ SIGN_SEED) < 0) ? -1 : 1;
+	}
+	
+	@Override
+	public boolean isSigned()
+	{
+		return b_signed;
+	}
+	
+	/** @return the number of bits of the hashed space. */
+	public int getBits()
+	{
+		return n_bits;
+	}
+	
+	/** @return {@code 2^bits + 1}, where index {@code 0} is reserved for the bias. */
+	@Override
+	public int size()
+	{
+		return i_mask + 2;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "hashed: "+n_bits+" bits"+(b_signed ? ", signed" : "");
+	}
+}
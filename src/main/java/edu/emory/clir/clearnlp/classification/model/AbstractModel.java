@@ -35,7 +35,9 @@ import org.tukaani.xz.XZOutputStream;
 import edu.emory.clir.clearnlp.classification.instance.AbstractInstance;
 import edu.emory.clir.clearnlp.classification.instance.AbstractInstanceCollector;
 import edu.emory.clir.clearnlp.classification.instance.IntInstance;
+import edu.emory.clir.clearnlp.classification.instance.IntInstanceMatrix;
 import edu.emory.clir.clearnlp.classification.map.LabelMap;
+import edu.emory.clir.clearnlp.classification.prediction.PredictionBuffer;
 import edu.emory.clir.clearnlp.classification.prediction.StringPrediction;
 import edu.emory.clir.clearnlp.classification.vector.AbstractFeatureVector;
 import edu.emory.clir.clearnlp.classification.vector.AbstractWeightVector;
@@ -119,6 +121,11 @@ abstract public class AbstractModel<I extends AbstractInstance<F>, F extends Abs
 	{
 		return m_labels.getLabels();
 	}
+	
+	public String getLabel(int labelIndex)
+	{
+		return m_labels.getLabel(labelIndex);
+	}
 
 	public AbstractWeightVector getWeightVector()
 	{
@@ -176,6 +183,44 @@ abstract public class AbstractModel<I extends AbstractInstance<F>, F extends Abs
 		return iInstances;
 	}
 	
+	/** Packs the specific instances into a matrix, polling them from the deque to release their memory as it goes. */
+	public IntInstanceMatrix toIntInstanceMatrix(Deque<I> sInstances)
+	{
+		BinUtils.LOG.info("Vectorizing: "+sInstances.size()+"\n");
+		IntInstanceMatrix matrix = new IntInstanceMatrix(hasWeight(sInstances));
+		final int PRINT = 100000;
+		
+		for (int i=1; !sInstances.isEmpty(); i++)
+		{
+			addToMatrix(matrix, sInstances.poll());
+			if (i%PRINT == 0) BinUtils.LOG.info(".");
+		}
+		
+		if (matrix.size() > PRINT)	BinUtils.LOG.info("\n\n");
+		else						BinUtils.LOG.info("\n");
+		
+		matrix.trimToSize();
+		return matrix;
+	}
+	
+	/** Called by {@link #toIntInstanceMatrix(Deque)}. */
+	protected void addToMatrix(IntInstanceMatrix matrix, I instance)
+	{
+		IntInstance iInstance = toIntInstance(instance);
+		if (iInstance != null) matrix.addInstance(iInstance);
+	}
+	
+	protected boolean hasWeight(Collection<I> instances)
+	{
+		for (I instance : instances)
+		{
+			if (instance.getFeatureVector().hasWeight())
+				return true;
+		}
+		
+		return false;
+	}
+	
 // =============================== Predictions ===============================
 	
 	abstract public double[] getScores(F x);
@@ -317,4 +362,55 @@ abstract public class AbstractModel<I extends AbstractInstance<F>, F extends Abs
 		DSUtils.sortReverseOrder(array);
 		return array;
 	}
+	
+// =============================== Buffered Predictions ===============================
+	
+	/** Fills the specific buffer with the scores of all labels given the specific feature vector without allocating memory. */
+	abstract public void getScores(F x, double[] scores);
+	
+	/** Selects the top 2 labels given the specific feature vector into the specific buffer. */
+	public void predictTop2(F x, PredictionBuffer buffer)
+	{
+		int labelSize = getLabelSize();
+		getScores(x, buffer.getScores(labelSize));
+		
+		if (isBinaryLabel())	buffer.selectBinary();
+		else					buffer.selectTop2(labelSize);
+	}
+	
+	/** Selects the top 2 labels among the specific label indices given the specific feature vector into the specific buffer. */
+	public void predictTop2(F x, int[] indices, PredictionBuffer buffer)
+	{
+		getScores(x, buffer.getScores(getLabelSize()));
+		
+		if (isBinaryLabel())	buffer.selectBinary();
+		else					buffer.selectTop2(indices);
+	}
+	
+	/** Ranks all labels given the specific feature vector in the specific buffer; binary labels are only selected as in {@link #predictTop2(AbstractFeatureVector, PredictionBuffer)}. */
+	public void predictAll(F x, PredictionBuffer buffer)
+	{
+		int labelSize = getLabelSize();
+		getScores(x, buffer.getScores(labelSize));
+		
+		if (isBinaryLabel())	buffer.selectBinary();
+		else					buffer.rankAll(labelSize);
+	}
+	
+	/** Ranks the specific label indices given the specific feature vector in the specific buffer. */
+	public void predictAll(F x, int[] indices, PredictionBuffer buffer)
+	{
+		getScores(x, buffer.getScores(getLabelSize()));
+		
+		if (isBinaryLabel())	buffer.selectBinary();
+		else					buffer.rankAll(indices);
+	}
+	
+	/** @return the top 2 predictions selected in the specific buffer as objects. */
+	public StringPrediction[] toTop2Predictions(PredictionBuffer buffer)
+	{
+		StringPrediction fst = getPrediction(buffer.getFirstLabel() , buffer.getFirstScore());
+		StringPrediction snd = getPrediction(buffer.getSecondLabel(), buffer.getSecondScore());
+		return new StringPrediction[]{fst, snd};
+	}
 }
\ No newline at end of file
@@ -18,12 +18,14 @@ package edu.emory.clir.clearnlp.classification.model;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.util.List;
+import java.util.Collection;
 
 import edu.emory.clir.clearnlp.classification.instance.IntInstance;
+import edu.emory.clir.clearnlp.classification.instance.IntInstanceMatrix;
 import edu.emory.clir.clearnlp.classification.instance.StringInstance;
 import edu.emory.clir.clearnlp.classification.instance.StringInstanceCollector;
 import edu.emory.clir.clearnlp.classification.map.FeatureMap;
+import edu.emory.clir.clearnlp.classification.map.HashedFeatureMap;
 import edu.emory.clir.clearnlp.classification.map.LabelMap;
 import edu.emory.clir.clearnlp.classification.vector.AbstractWeightVector;
 import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
@@ -43,8 +45,20 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 	public StringModel(boolean binary)
 	{
 		super(binary);
-		init();
 		m_features = new FeatureMap();
+		init();
+	}
+	
+	/**
+	 * Initializes this model for training in the hashed feature space without a feature dictionary.
+	 * @param hashBits the number of bits of the hashed space (see {@link HashedFeatureMap}).
+	 * @param signed if {@code true}, each feature is multiplied by a hashed sign.
+	 */
+	public StringModel(boolean binary, int hashBits, boolean signed)
+	{
+		super(binary);
+		m_features = new HashedFeatureMap(hashBits, signed);
+		init();
 	}
 	
 	public StringModel(ObjectInputStream in)
@@ -55,6 +69,18 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 	private void init()
 	{
 		i_collector = new StringInstanceCollector();
+		i_collector.setFeatureCounting(!isHashed());
+	}
+	
+	/** @return {@code true} if features are hashed instead of looked up in a dictionary. */
+	public boolean isHashed()
+	{
+		return m_features instanceof HashedFeatureMap;
+	}
+	
+	public FeatureMap getFeatureMap()
+	{
+		return m_features;
 	}
 	
 	/** Reinitializes the label map, the feature map, and the weight vector of this model. */
@@ -69,10 +95,10 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 	
 	public void load(ObjectInputStream in) throws IOException, ClassNotFoundException
 	{
-		init();
 		w_vector   = (AbstractWeightVector)in.readObject();
 		m_labels   = (LabelMap)in.readObject();
 		m_features = (FeatureMap)in.readObject();
+		init();
 	}
 	
 	public void save(ObjectOutputStream out) throws IOException
@@ -91,13 +117,13 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 	}
 
 	/** Initializes this model with the collected list of training instances. */
-	public List<IntInstance> initializeForTraining(int labelCutoff, int featureCutoff)
+	public IntInstanceMatrix initializeForTraining(int labelCutoff, int featureCutoff)
 	{
 		int labelSize   = m_labels  .expand(i_collector.getLabelMap()  , labelCutoff);
 		int featureSize = m_features.expand(i_collector.getFeatureMap(), featureCutoff);
 		w_vector.expand(labelSize, featureSize);
 		
-		List<IntInstance> instances = toIntInstanceList(i_collector.getInstances());
+		IntInstanceMatrix instances = toIntInstanceMatrix(i_collector.getInstances());
 		i_collector.init();
 		
 		return instances;
@@ -117,9 +143,36 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 		return new IntInstance(label, vector);
 	}
 	
+	/** Adds the features directly to the matrix without creating {@link SparseFeatureVector}. */
+	@Override
+	protected void addToMatrix(IntInstanceMatrix matrix, StringInstance instance)
+	{
+		int label = m_labels.getLabelIndex(instance.getLabel());
+		if (label < 0) return;
+		
+		StringFeatureVector x = instance.getFeatureVector();
+		int i, index, size = x.size();
+		
+		for (i=0; i<size; i++)
+		{
+			index = getFeatureIndex(x, i);
+			
+			if (0 < index)
+			{
+				if (matrix.hasWeight())
+					matrix.addFeature(index, getFeatureWeight(x, i));
+				else
+					matrix.addFeature(index);
+			}
+		}
+		
+		matrix.addInstance(label);
+	}
+	
 	public SparseFeatureVector toSparseFeatureVector(StringFeatureVector vector)
 	{
-		SparseFeatureVector x = new SparseFeatureVector(vector.hasWeight());
+		boolean hasWeight = vector.hasWeight() || m_features.isSigned();
+		SparseFeatureVector x = new SparseFeatureVector(hasWeight);
 		int i, index, size = vector.size();
 		
 		for (i=0; i<size; i++)
@@ -128,8 +181,8 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 			
 			if (0 < index)
 			{
-				if (vector.hasWeight())
-					x.addFeature(index, vector.getWeight(i));
+				if (hasWeight)
+					x.addFeature(index, getFeatureWeight(vector, i));
 				else
 					x.addFeature(index);
 			}
@@ -144,6 +197,20 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 		return m_features.getFeatureIndex(x.getType(i), x.getValue(i));
 	}
 	
+	/** @return the weight of the {@code i}'th feature, multiplied by its sign if the feature map is signed. */
+	public double getFeatureWeight(StringFeatureVector x, int i)
+	{
+		double weight = x.hasWeight() ? x.getWeight(i) : 1;
+		return m_features.isSigned() ? weight * m_features.getFeatureSign(x.getType(i), x.getValue(i)) : weight;
+	}
+	
+	/** Hashed signs make features weighted even if the instances are not. */
+	@Override
+	protected boolean hasWeight(Collection<StringInstance> instances)
+	{
+		return m_features.isSigned() || super.hasWeight(instances);
+	}
+	
 // =============================== Predictions ===============================
 
 	@Override
@@ -156,4 +223,18 @@ public class StringModel extends AbstractModel<StringInstance,StringFeatureVecto
 	{
 		return w_vector.getScores(toSparseFeatureVector(x), include);
 	}
+	
+	/** Looks up each feature and adds its weights to the specific buffer without creating {@link SparseFeatureVector}. */
+	@Override
+	public void getScores(StringFeatureVector x, double[] scores)
+	{
+		int i, index, size = x.size();
+		w_vector.initScores(scores);
+		
+		for (i=0; i<size; i++)
+		{
+			index = getFeatureIndex(x, i);
+			if (0 < index) w_vector.addScores(index, getFeatureWeight(x, i), scores);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.prediction;
+
+import edu.emory.clir.clearnlp.classification.model.AbstractModel;
+
+/**
+ * Reusable buffer of label scores and the label indices selected from them, filled by
+ * {@link AbstractModel#predictTop2(edu.emory.clir.clearnlp.classification.vector.AbstractFeatureVector, PredictionBuffer)} and
+ * {@link AbstractModel#predictAll(edu.emory.clir.clearnlp.classification.vector.AbstractFeatureVector, PredictionBuffer)}
+ * so that predictions allocate no memory once the buffer is as large as the label set.
+ * {@link StringPrediction}s are created only on demand by {@link AbstractModel#toTop2Predictions(PredictionBuffer)}.
+ * A buffer must not be shared across threads.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class PredictionBuffer
+{
+	private double[] d_scores;
+	/** Label indices sorted by their scores in descending order. */
+	private int[]    i_ranks;
+	private int      n_ranks;
+	private int      i_first;
+	private int      i_second;
+	
+	public PredictionBuffer()
+	{
+		this(16);
+	}
+	
+	public PredictionBuffer(int labelSize)
+	{
+		d_scores = new double[labelSize];
+		i_ranks  = new int[labelSize];
+	}
+	
+//	====================================== SCORES ======================================
+	
+	/** @return the score buffer holding at least the specific number of labels; reallocated only if it is too small. */
+	public double[] getScores(int labelSize)
+	{
+		if (d_scores.length < labelSize)
+		{
+			d_scores = new double[labelSize];
+			i_ranks  = new int[labelSize];
+		}
+		
+		return d_scores;
+	}
+	
+	public double getScore(int labelIndex)
+	{
+		return d_scores[labelIndex];
+	}
+	
+//	====================================== SELECTION ======================================
+	
+	/** Selects the positive label if its score is greater than {@code 0}; otherwise, the negative label. */
+	public void selectBinary()
+	{
+		i_first  = (d_scores[0] > 0) ? 0 : 1;
+		i_second = 1 - i_first;
+	}
+	
+	/** Selects the top 2 labels among the first {@code labelSize} labels; ties are broken as in {@code DSUtils#top2(double[])}. */
+	public void selectTop2(int labelSize)
+	{
+		int i;
+		
+		if (d_scores[0] < d_scores[1])	{i_first = 1; i_second = 0;}
+		else							{i_first = 0; i_second = 1;}
+		
+		for (i=2; i<labelSize; i++)
+			select(i);
+	}
+	
+	/** Selects the top 2 labels among the specific label indices. */
+	public void selectTop2(int[] indices)
+	{
+		int i;
+		
+		if (d_scores[indices[0]] < d_scores[indices[1]])	{i_first = indices[1]; i_second = indices[0];}
+		else												{i_first = indices[0]; i_second = indices[1];}
+		
+		for (i=2; i<indices.length; i++)
+			select(indices[i]);
+	}
+	
+	private void select(int index)
+	{
+		if (d_scores[i_first] < d_scores[index])
+		{
+			i_second = i_first;
+			i_first  = index;
+		}
+		else if (d_scores[i_second] < d_scores[index])
+			i_second = index;
+	}
+	
+	/** Sorts the first {@code labelSize} labels by their scores in descending order; ties keep the order of label indices. */
+	public void rankAll(int labelSize)
+	{
+		int i;
+		n_ranks = 0;
+		
+		for (i=0; i<labelSize; i++)
+			insertRank(i);
+		
+		setTop2FromRanks();
+	}
+	
+	/** Sorts the specific label indices by their scores in descending order. */
+	public void rankAll(int[] indices)
+	{
+		n_ranks = 0;
+		
+		for (int index : indices)
+			insertRank(index);
+		
+		setTop2FromRanks();
+	}
+	
+	/** Insertion sort; label sets are small enough that this beats sorting boxed predictions. */
+	private void insertRank(int index)
+	{
+		double score = d_scores[index];
+		int i;
+		
+		for (i=n_ranks; i>0 && d_scores[i_ranks[i-1]] < score; i--)
+			i_ranks[i] = i_ranks[i-1];
+		
+		i_ranks[i] = index;
+		n_ranks++;
+	}
+	
+	private void setTop2FromRanks()
+	{
+		i_first  = i_ranks[0];
+		i_second = (n_ranks > 1) ? i_ranks[1] : i_ranks[0];
+	}
+	
+//	====================================== GETTERS ======================================
+	
+	public int getFirstLabel()
+	{
+		return i_first;
+	}
+	
+	public double getFirstScore()
+	{
+		return d_scores[i_first];
+	}
+	
+	public int getSecondLabel()
+	{
+		return i_second;
+	}
+	
+	public double getSecondScore()
+	{
+		return d_scores[i_second];
+	}
+	
+	/** @return the number of labels ranked by the last call to {@link #rankAll(int)} or {@link #rankAll(int[])}. */
+	public int getRankSize()
+	{
+		return n_ranks;
+	}
+	
+	/** @return the index of the label at the specific rank, where rank {@code 0} is the best. */
+	public int getRankedLabel(int rank)
+	{
+		return i_ranks[rank];
+	}
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import edu.emory.clir.clearnlp.classification.model.SparseModel;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.util.MathUtils;
+
+/**
+ * AdaGrad whose work per instance is proportional to the number of its features rather than the size of the weight vector.
+ * Squared gradients and averaging accumulators are kept in single precision.
+ * L1 and L2 regularization of a feature are deferred until an instance activates the feature,
+ * at which point the decay of all steps since its last visit is applied at once.
+ * The learning rate of each weight does not change between visits, so the closed form of the steps,
+ * each of which decays a weight by L2 and then clips it by L1, gives the same weight and averaging credit as regularizing at every step.
+ * Regularization still touches every label of each active feature, whereas an update only touches the labels with non-zero gradients;
+ * with many labels, a regularized epoch can be an order of magnitude slower than an unregularized one,
+ * so regularization is not worth using unless the model must be sparse or its weights must be kept small.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+abstract public class AbstractLazyAdaGrad extends AbstractOnlineTrainer
+{
+	protected float[] f_gradients;
+	protected float[] f_average;
+	/** The last step at which each feature was regularized; {@code null} if not regularized. */
+	protected int[]   i_timestamps;
+	protected double  d_alpha;
+	protected double  d_rho;
+	protected double  d_bias;
+	protected double  d_l1;
+	protected double  d_l2;
+	
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 * @param l1 the L1 regularization parameter.
+	 * @param l2 the L2 regularization parameter.
+	 */
+	public AbstractLazyAdaGrad(SparseModel model, boolean average, double alpha, double rho, double bias, double l1, double l2)
+	{
+		super(model, average);
+		init(alpha, rho, bias, l1, l2);
+	}
+	
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 * @param l1 the L1 regularization parameter.
+	 * @param l2 the L2 regularization parameter.
+	 */
+	public AbstractLazyAdaGrad(StringModel model, int labelCutoff, int featureCutoff, boolean average, double alpha, double rho, double bias, double l1, double l2)
+	{
+		super(model, labelCutoff, featureCutoff, average);
+		init(alpha, rho, bias, l1, l2);
+	}
+	
+	private void init(double alpha, double rho, double bias, double l1, double l2)
+	{
+		f_gradients  = new float[w_vector.size()];
+		i_timestamps = (l1 > 0 || l2 > 0) ? new int[getFeatureSize()] : null;
+		d_alpha      = alpha;
+		d_rho        = rho;
+		d_bias       = bias;
+		d_l1         = l1;
+		d_l2         = l2;
+	}
+	
+	@Override
+	protected void initAverage()
+	{
+		if (average()) f_average = new float[w_vector.size()];
+	}
+	
+	/** Nothing to clear; the accumulators are cleared while the averaged weights are set by {@link #finishEpoch(int)}. */
+	@Override
+	protected void clearAverage() {}
+	
+	protected boolean regularize()
+	{
+		return i_timestamps != null;
+	}
+	
+//	====================================== UPDATE ======================================
+	
+	@Override
+	protected boolean update(int index, int averageCount)
+	{
+		if (regularize()) regularize(index, averageCount);
+		double[] gradients = getGradients(index);
+		if (gradients == null) return false;
+		
+		updateGradients(index, gradients);
+		updateWeights  (index, gradients, averageCount);
+		return true;
+	}
+	
+	/**
+	 * @param index the index of the instance in {@link #m_instances}.
+	 * @return the gradient of each label given the instance, where a binary model has only one label;
+	 * {@code null} if the weights need not be updated.
+	 */
+	abstract protected double[] getGradients(int index);
+	
+	private void updateGradients(int index, double[] gradients)
+	{
+		int i, end = m_instances.getEndIndex(index);
+		
+		// bias
+		updateGradients(gradients, 0, MathUtils.sq(d_bias));
+		
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			updateGradients(gradients, m_instances.getFeatureIndex(i), MathUtils.sq(m_instances.getFeatureWeight(i)));
+	}
+	
+	private void updateGradients(double[] gradients, int xi, double vi)
+	{
+		int j, size = gradients.length;
+		
+		for (j=0; j<size; j++)
+		{
+			if (gradients[j] != 0)
+				f_gradients[w_vector.getWeightIndex(j, xi)] += vi * MathUtils.sq(gradients[j]);
+		}
+	}
+	
+	private void updateWeights(int index, double[] gradients, int averageCount)
+	{
+		int i, end = m_instances.getEndIndex(index);
+		
+		// bias
+		updateWeights(gradients, 0, d_bias, averageCount);
+		
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			updateWeights(gradients, m_instances.getFeatureIndex(i), m_instances.getFeatureWeight(i), averageCount);
+	}
+	
+	private void updateWeights(double[] gradients, int xi, double vi, int averageCount)
+	{
+		int j, weightIndex, size = gradients.length;
+		double cost;
+		
+		for (j=0; j<size; j++)
+		{
+			if (gradients[j] != 0)
+			{
+				weightIndex = w_vector.getWeightIndex(j, xi);
+				cost = getLearningRate(weightIndex) * vi * gradients[j];
+				w_vector.add(weightIndex, (float)cost);
+				if (average()) f_average[weightIndex] += cost * averageCount;
+			}
+		}
+	}
+	
+	private double getLearningRate(int weightIndex)
+	{
+		return d_alpha / (d_rho + Math.sqrt(f_gradients[weightIndex]));
+	}
+	
+//	====================================== REGULARIZATION ======================================
+	
+	/** Regularizes the weights of all features in the specific instance up to the specific step; the bias is not regularized. */
+	private void regularize(int index, int step)
+	{
+		int i, end = m_instances.getEndIndex(index);
+		
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			regularizeFeature(m_instances.getFeatureIndex(i), step);
+	}
+	
+	/**
+	 * Applies the decay of steps {@code (i_timestamps[xi], step]} to the weights of the specific feature.
+	 * Each step maps the magnitude {@code a} of a weight to {@code max(0, a*d - s)}, where {@code d} is the L2 decay and {@code s} is the L1 shrink,
+	 * so {@code k} steps give {@code a*d^k - s*(1+d+...+d^(k-1))} until the weight reaches 0, where it stays.
+	 */
+	protected void regularizeFeature(int xi, int step)
+	{
+		int j, weightIndex, n, last = i_timestamps[xi], steps = step - last, size = getWeightLabelSize();
+		if (steps <= 0) return;
+		double rate, decay, shrink, dk, a, q, sum;
+		float prev, curr;
+		
+		i_timestamps[xi] = step;
+		
+		for (j=0; j<size; j++)
+		{
+			weightIndex = w_vector.getWeightIndex(j, xi);
+			prev = w_vector.get(weightIndex);
+			if (prev == 0) continue;
+			
+			rate   = getLearningRate(weightIndex);
+			decay  = (d_l2 > 0) ? 1 - Math.min(1, rate * d_l2) : 1;
+			shrink = (d_l1 > 0) ? rate * d_l1 : 0;
+			dk     = pow(decay, steps);
+			a      = Math.abs(prev);
+			q      = a * dk - shrink * geometricSum(decay, dk, steps);
+			curr   = (q > 0) ? (float)Math.copySign(q, prev) : 0;
+			w_vector.set(weightIndex, curr);
+			
+			if (average())
+			{
+				// sum_{t=last+1}^{step} t*(w_t - w_{t-1}) = step*w_step - last*w_last - sum_{t=last}^{step-1} w_t
+				n   = (q > 0) ? steps : getZeroStep(a, decay, shrink, steps);
+				dk  = (n == steps) ? dk : pow(decay, n);
+				sum = a * geometricSum(decay, dk, n) - shrink * geometricSumSum(decay, dk, n);
+				f_average[weightIndex] += step * curr - last * prev - Math.copySign(sum, prev);
+			}
+		}
+	}
+	
+	/** @return {@code 1+d+...+d^(n-1)} given {@code dn = d^n}. */
+	static private double geometricSum(double d, double dn, int n)
+	{
+		return (d == 1) ? n : (1 - dn) / (1 - d);
+	}
+	
+	/** @return {@code sum_{i=0}^{n-1} (1+d+...+d^(i-1))} given {@code dn = d^n}. */
+	static private double geometricSumSum(double d, double dn, int n)
+	{
+		return (d == 1) ? 0.5 * n * (n-1) : (n - geometricSum(d, dn, n)) / (1 - d);
+	}
+	
+	/** @return the first step in {@code [1, steps]} at which the magnitude {@code a} of a weight reaches 0 by the decay {@code d} and the shrink {@code s}. */
+	static private int getZeroStep(double a, double d, double s, int steps)
+	{
+		double n;
+		
+		if (s == 0 || d == 0)	n = (d == 0) ? 1 : steps;
+		else if (d == 1)		n = Math.ceil(a / s);
+		else					n = Math.ceil(Math.log(s / (s + a * (1 - d))) / Math.log(d));
+		
+		return (int)Math.max(1, Math.min(steps, n));
+	}
+	
+	/** @return {@code base^exponent} by squaring, which is several times faster than {@link Math#pow(double, double)} for the exponents of pending steps. */
+	static private double pow(double base, int exponent)
+	{
+		double p = 1;
+		
+		for (; exponent > 0; exponent >>>= 1)
+		{
+			if ((exponent & 1) == 1) p *= base;
+			base *= base;
+		}
+		
+		return p;
+	}
+	
+	/**
+	 * Flushes the pending decay of each feature and sets its averaged weights in one pass over the weight vector,
+	 * clearing the timestamps and the averaging accumulators for the next epoch on the way.
+	 * This is the only pass over the whole weight vector in each epoch, needed because the model must hold the averaged weights for prediction.
+	 */
+	@Override
+	protected void finishEpoch(int size)
+	{
+		if (!regularize() && !average()) return;
+		int xi, j, weightIndex, featureSize = getFeatureSize(), labelSize = getWeightLabelSize();
+		double c = -MathUtils.reciprocal(size+1);
+		
+		for (xi=0; xi<featureSize; xi++)
+		{
+			if (regularize() && xi > 0)
+			{
+				regularizeFeature(xi, size);
+				i_timestamps[xi] = 0;
+			}
+			
+			if (average())
+			{
+				for (j=0; j<labelSize; j++)
+				{
+					weightIndex = w_vector.getWeightIndex(j, xi);
+					
+					if (f_average[weightIndex] != 0)
+					{
+						w_vector.add(weightIndex, (float)(c*f_average[weightIndex]));
+						f_average[weightIndex] = 0;
+					}
+				}
+			}
+		}
+	}
+	
+	protected String getTrainerInfo(String type)
+	{
+		return String.format("LazyAdaGrad-%s: alpha = %4.3f, rho = %4.3f, bias = %4.3f, l1 = %s, l2 = %s, average = %b", type, d_alpha, d_rho, d_bias, d_l1, d_l2, average());
+	}
+}
@@ -30,6 +30,8 @@ abstract public class AbstractLiblinear extends AbstractOneVsAllTrainer
 	protected double d_cost;
 	protected double d_eps;
 	protected double d_bias;
+	/** The squared norm of each instance including the bias, shared by all labels. */
+	protected double[] d_sumOfSquares;
 	
 	public AbstractLiblinear(SparseModel model, int numThreads, double cost, double eps, double bias)
 	{
@@ -50,6 +52,25 @@ abstract public class AbstractLiblinear extends AbstractOneVsAllTrainer
 		d_bias = (bias > 0) ? bias : 0;
 	}
 	
+	@Override
+	protected void initSharedStatistics()
+	{
+		d_sumOfSquares = getSumOfSquares(0, d_bias);
+	}
+	
+	@Override
+	protected void clearSharedStatistics()
+	{
+		d_sumOfSquares = null;
+	}
+	
+	/** @return the shared squared norms if {@link #train()} has computed them; otherwise, newly computed ones. */
+	protected double[] getSharedSumOfSquares()
+	{
+		double[] qd = d_sumOfSquares;
+		return (qd != null) ? qd : getSumOfSquares(0, d_bias);
+	}
+	
 	public String trainerInfo(String type)
 	{
 		return String.format("Liblinear-%s: cost = %4.3f, eps = %4.3f, bias = %b", type, d_cost, d_eps, d_bias);
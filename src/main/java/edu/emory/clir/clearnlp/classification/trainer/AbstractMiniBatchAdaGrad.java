@@ -0,0 +1,112 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import edu.emory.clir.clearnlp.classification.model.SparseModel;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+
+/**
+ * {@link AbstractMiniBatchTrainer} applying AdaGrad to the average gradient of each mini-batch.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+abstract public class AbstractMiniBatchAdaGrad extends AbstractMiniBatchTrainer
+{
+	protected float[] f_gradients;
+	protected double  d_alpha;
+	protected double  d_rho;
+	protected double  d_bias;
+	
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 */
+	public AbstractMiniBatchAdaGrad(SparseModel model, int numThreads, int batchSize, double alpha, double rho, double bias)
+	{
+		super(model, numThreads, batchSize);
+		init(alpha, rho, bias);
+	}
+	
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 */
+	public AbstractMiniBatchAdaGrad(StringModel model, int labelCutoff, int featureCutoff, int numThreads, int batchSize, double alpha, double rho, double bias)
+	{
+		super(model, labelCutoff, featureCutoff, numThreads, batchSize);
+		init(alpha, rho, bias);
+	}
+	
+	private void init(double alpha, double rho, double bias)
+	{
+		f_gradients = new float[w_vector.size()];
+		d_alpha     = alpha;
+		d_rho       = rho;
+		d_bias      = bias;
+	}
+	
+	/**
+	 * @param index the index of the instance in {@link #m_instances}.
+	 * @return the gradient of each label given the instance, where a binary model has only one label;
+	 * {@code null} if the weights need not be updated.
+	 */
+	abstract protected double[] getGradients(int index);
+	
+	@Override
+	protected void addGradients(SparseGradient gradient, int index)
+	{
+		double[] gradients = getGradients(index);
+		if (gradients == null) return;
+		int i, end = m_instances.getEndIndex(index);
+		
+		// bias
+		addGradients(gradient, gradients, 0, d_bias);
+		
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			addGradients(gradient, gradients, m_instances.getFeatureIndex(i), m_instances.getFeatureWeight(i));
+	}
+	
+	private void addGradients(SparseGradient gradient, double[] gradients, int xi, double vi)
+	{
+		int j, size = gradients.length;
+		
+		for (j=0; j<size; j++)
+		{
+			if (gradients[j] != 0)
+				gradient.add(w_vector.getWeightIndex(j, xi), vi * gradients[j]);
+		}
+	}
+	
+	@Override
+	protected void update(SparseGradient gradient, int batchSize)
+	{
+		int i, weightIndex, size = gradient.size();
+		double g;
+		
+		for (i=0; i<size; i++)
+		{
+			weightIndex = gradient.getIndex(i);
+			g = gradient.getValue(i) / batchSize;
+			f_gradients[weightIndex] += g * g;
+			w_vector.add(weightIndex, (float)(g * d_alpha / (d_rho + Math.sqrt(f_gradients[weightIndex]))));
+		}
+	}
+	
+	protected String getTrainerInfo(String type)
+	{
+		return String.format("MiniBatchAdaGrad-%s: alpha = %4.3f, rho = %4.3f, bias = %4.3f, batch = %d, threads = %d", type, d_alpha, d_rho, d_bias, n_batchSize, n_threads);
+	}
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import edu.emory.clir.clearnlp.classification.model.SparseModel;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.util.DSUtils;
+
+/**
+ * Data-parallel trainer that splits each mini-batch into one chunk per thread,
+ * computes a sparse gradient for each chunk against the same weights, merges the gradients with a fixed binary tree,
+ * and applies a single update per mini-batch.
+ * Since neither the chunk boundaries nor the reduction tree depend on thread scheduling,
+ * the trained weights are bit-reproducible given the random seed, the batch size, and the number of threads.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+abstract public class AbstractMiniBatchTrainer extends AbstractTrainer
+{
+	protected int    n_threads;
+	protected int    n_batchSize;
+	protected Random r_rand;
+	/** The order of instances to be visited. */
+	protected int[]  i_order;
+	
+	/**
+	 * @param numThreads the number of threads.
+	 * @param batchSize the number of instances in each mini-batch.
+	 */
+	public AbstractMiniBatchTrainer(SparseModel model, int numThreads, int batchSize)
+	{
+		super(TrainerType.MINI_BATCH, model);
+		init(numThreads, batchSize);
+	}
+	
+	/**
+	 * @param numThreads the number of threads.
+	 * @param batchSize the number of instances in each mini-batch.
+	 */
+	public AbstractMiniBatchTrainer(StringModel model, int labelCutoff, int featureCutoff, int numThreads, int batchSize)
+	{
+		super(TrainerType.MINI_BATCH, model, labelCutoff, featureCutoff);
+		init(numThreads, batchSize);
+	}
+	
+	private void init(int numThreads, int batchSize)
+	{
+		n_threads   = Math.max(1, numThreads);
+		n_batchSize = Math.max(1, batchSize);
+		r_rand      = new Random(RANDOM_SEED);
+		i_order     = DSUtils.range(getInstanceSize());
+	}
+	
+	/** Trains one epoch. */
+	@Override
+	public void train()
+	{
+		ForkJoinPool pool = new ForkJoinPool(n_threads);
+		int begin, end, size = getInstanceSize();
+		DSUtils.shuffle(i_order, r_rand);
+		
+		try
+		{
+			for (begin=0; begin<size; begin=end)
+			{
+				end = Math.min(size, begin + n_batchSize);
+				update(pool.invoke(new GradientTask(begin, end, 0, n_threads)), end - begin);
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Adds the gradients of the specific instance; called concurrently while the weights are not updated.
+	 * @param index the index of the instance in {@link #m_instances}.
+	 */
+	abstract protected void addGradients(SparseGradient gradient, int index);
+	
+	/**
+	 * Updates the weights using the compacted sum of gradients over the mini-batch.
+	 * @param batchSize the number of instances in the mini-batch.
+	 */
+	abstract protected void update(SparseGradient gradient, int batchSize);
+	
+	public int getNumberOfThreads()
+	{
+		return n_threads;
+	}
+	
+	public int getBatchSize()
+	{
+		return n_batchSize;
+	}
+	
+	/** Computes the gradient of chunks {@code [chunkBegin, chunkEnd)} of the mini-batch {@code [batchBegin, batchEnd)} of {@link #i_order}. */
+	private class GradientTask extends RecursiveTask<SparseGradient>
+	{
+		private static final long serialVersionUID = 7094623016287341590L;
+		private final int batch_begin;
+		private final int batch_end;
+		private final int chunk_begin;
+		private final int chunk_end;
+		
+		public GradientTask(int batchBegin, int batchEnd, int chunkBegin, int chunkEnd)
+		{
+			batch_begin = batchBegin;
+			batch_end   = batchEnd;
+			chunk_begin = chunkBegin;
+			chunk_end   = chunkEnd;
+		}
+		
+		@Override
+		protected SparseGradient compute()
+		{
+			if (chunk_end - chunk_begin == 1)
+				return computeChunk();
+			
+			int mid = (chunk_begin + chunk_end) >>> 1;
+			GradientTask left  = new GradientTask(batch_begin, batch_end, chunk_begin, mid);
+			GradientTask right = new GradientTask(batch_begin, batch_end, mid, chunk_end);
+			
+			left.fork();
+			SparseGradient g2 = right.compute();
+			SparseGradient g1 = left.join();
+			return SparseGradient.merge(g1, g2);
+		}
+		
+		private SparseGradient computeChunk()
+		{
+			long len = batch_end - batch_begin;
+			int i, begin = batch_begin + (int)(len * chunk_begin / n_threads), end = batch_begin + (int)(len * chunk_end / n_threads);
+			SparseGradient gradient = new SparseGradient();
+			
+			for (i=begin; i<end; i++)
+				addGradients(gradient, i_order[i]);
+			
+			gradient.compact();
+			return gradient;
+		}
+	}
+}
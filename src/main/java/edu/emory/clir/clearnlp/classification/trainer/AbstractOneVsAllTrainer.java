@@ -18,11 +18,11 @@ package edu.emory.clir.clearnlp.classification.trainer;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.emory.clir.clearnlp.classification.model.SparseModel;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
 import edu.emory.clir.clearnlp.classification.vector.BinaryWeightVector;
-import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
 import edu.emory.clir.clearnlp.util.BinUtils;
 import edu.emory.clir.clearnlp.util.MathUtils;
 
@@ -32,7 +32,12 @@ import edu.emory.clir.clearnlp.util.MathUtils;
  */
 abstract public class AbstractOneVsAllTrainer extends AbstractTrainer
 {
-	protected int n_threads;
+	protected int  n_threads;
+	/** The maximum number of bytes that concurrent label tasks can allocate; if {@code 0}, the available heap is used. */
+	protected long n_memoryBudget;
+	
+	private AtomicInteger n_completed;
+	private long          l_startTime;
 	
 	/** @param numThreads the number of threads. */
 	public AbstractOneVsAllTrainer(SparseModel model, int numThreads)
@@ -52,27 +57,39 @@ abstract public class AbstractOneVsAllTrainer extends AbstractTrainer
 	{
 		n_threads = numThreads;
 	}
+	
+	/** @param bytes the maximum number of bytes that concurrent label tasks can allocate; if {@code 0}, the available heap is used. */
+	public void setMemoryBudget(long bytes)
+	{
+		n_memoryBudget = bytes;
+	}
 
 	public void train()
-	{	
+	{
+		initSharedStatistics();
+		n_completed = new AtomicInteger();
+		l_startTime = System.currentTimeMillis();
+		
 		if (w_vector.isBinaryLabel())	trainBinary();
 		else							trainMulti();
+		
+		clearSharedStatistics();
 	}
 	
 	private void trainBinary()
 	{
-		update(BinaryWeightVector.POSITIVE);
+		new TrainTask(BinaryWeightVector.POSITIVE, 1).run();
 	}
 	
 	private void trainMulti()
 	{
-		ExecutorService executor = Executors.newFixedThreadPool(n_threads);
-		int currLabel, size = w_vector.getLabelSize();
+		int currLabel, size = w_vector.getLabelSize(), threads = getNumberOfConcurrentTasks();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
 		
-		BinUtils.LOG.info("One vs. All\n");
+		BinUtils.LOG.info(String.format("One vs. All: labels = %d, threads = %d, task memory = %d MB\n", size, threads, getTaskMemorySize() >> 20));
 		
 		for (currLabel=0; currLabel<size; currLabel++)
-			executor.execute(new TrainTask(currLabel));
+			executor.execute(new TrainTask(currLabel, size));
 		
 		executor.shutdown();
 		
@@ -83,23 +100,61 @@ abstract public class AbstractOneVsAllTrainer extends AbstractTrainer
 		catch (InterruptedException e) {e.printStackTrace();}
 	}
 	
+	/** @return the number of label tasks that can run concurrently within the memory budget, between 1 and the number of threads. */
+	protected int getNumberOfConcurrentTasks()
+	{
+		long budget = (n_memoryBudget > 0) ? n_memoryBudget : getAvailableMemory();
+		long tasks  = budget / Math.max(1, getTaskMemorySize());
+		return (int)Math.max(1, Math.min(n_threads, tasks));
+	}
+	
+	private long getAvailableMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+	}
+	
+	/** @return the number of bytes allocated by {@code bytesPerInstance} for each instance plus a weight vector of one label. */
+	protected long getTaskMemorySize(int bytesPerInstance)
+	{
+		return (long)bytesPerInstance * getInstanceSize() + 4L * getFeatureSize();
+	}
+	
 	class TrainTask implements Runnable
 	{
 		int curr_label;
+		int label_size;
 		
 		/** @param currLabel the current label to train. */
-		public TrainTask(int currLabel)
+		public TrainTask(int currLabel, int labelSize)
 		{
 			curr_label = currLabel;
+			label_size = labelSize;
 		}
 		
 		public void run()
 		{
-			update(curr_label);
+			long st = System.currentTimeMillis();
+			int  iter = update(curr_label);
+			long et = System.currentTimeMillis();
+			int  completed = n_completed.incrementAndGet();
+			long eta = (et - l_startTime) * (label_size - completed) / completed;
+			
+			BinUtils.LOG.info(String.format("- label = %d: iter = %d, time = %d ms, done = %d/%d, eta = %d sec\n", curr_label, iter, et-st, completed, label_size, eta/1000));
 		}
     }
 	
-	abstract protected void update(int currLabel);
+	/**
+	 * Trains the weights of the specific label in its own label-contiguous array and writes them to the weight vector once.
+	 * @return the number of iterations.
+	 */
+	abstract protected int update(int currLabel);
+	/** @return the number of bytes allocated by {@link #update(int)} for each label. */
+	abstract protected long getTaskMemorySize();
+	/** Computes statistics shared by all labels before scheduling. */
+	abstract protected void initSharedStatistics();
+	/** Releases the statistics computed by {@link #initSharedStatistics()}. */
+	abstract protected void clearSharedStatistics();
 	
 	/** @return an array of 1 or -1. */
 	protected byte[] getBinaryLabels(int currLabel)
@@ -108,29 +163,51 @@ abstract public class AbstractOneVsAllTrainer extends AbstractTrainer
 		byte[] aY = new byte[size];
 		
 		for (i=0; i<size; i++)
-			aY[i] = getInstance(i).isLabel(currLabel) ? (byte)1 : (byte)-1;
+			aY[i] = m_instances.isLabel(i, currLabel) ? (byte)1 : (byte)-1;
 			
 		return aY;
 	}
 	
-	protected double getScore(float[] weight, SparseFeatureVector x, double bias)
+	/** @param index the index of the instance in {@link #m_instances}. */
+	protected double getScore(float[] weight, int index, double bias)
 	{
 		double score = weight[0] * bias;
-		int i, len = x.size();
+		int i, end = m_instances.getEndIndex(index);
+		int[]   indices = m_instances.getFeatureIndices();
+		float[] values  = m_instances.getFeatureValues();
 		
-		for (i=0; i<len; i++)
-			score += weight[x.getIndex(i)] * x.getWeight(i);
+		if (values == null)
+		{
+			for (i=m_instances.getBeginIndex(index); i<end; i++)
+				score += weight[indices[i]];
+		}
+		else
+		{
+			for (i=m_instances.getBeginIndex(index); i<end; i++)
+				score += weight[indices[i]] * values[i];
+		}
 		
 		return score;
 	}
 	
-	protected void update(float[] weight, SparseFeatureVector x, double bias, double cost)
+	/** @param index the index of the instance in {@link #m_instances}. */
+	protected void update(float[] weight, int index, double bias, double cost)
 	{
 		weight[0] += cost * bias;
-		int i, len = x.size();
+		int i, end = m_instances.getEndIndex(index);
+		int[]   indices = m_instances.getFeatureIndices();
+		float[] values  = m_instances.getFeatureValues();
 		
-		for (i=0; i<len; i++)
-			weight[x.getIndex(i)] += cost * x.getWeight(i);
+		if (values == null)
+		{
+			for (i=m_instances.getBeginIndex(index); i<end; i++)
+				weight[indices[i]] += cost;
+		}
+		else
+		{
+			for (i=m_instances.getBeginIndex(index); i<end; i++)
+				weight[indices[i]] += cost * values[i];
+		}
 	}
 
 	protected double[] getSumOfSquares(double init, double bias)
@@ -138,13 +215,9 @@ abstract public class AbstractOneVsAllTrainer extends AbstractTrainer
 		int i, size = getInstanceSize();
 		double[] qd = new double[size];
 		init += MathUtils.sq(bias);
-		SparseFeatureVector x;
 		
 		for (i=0; i<size; i++)
-		{
-			x = getInstance(i).getFeatureVector();
-			qd[i] = init + x.sumOfSquares();
-		}
+			qd[i] = init + m_instances.sumOfSquares(i);
 		
 		return qd;
 	}
@@ -18,7 +18,6 @@ package edu.emory.clir.clearnlp.classification.trainer;
 import java.util.Arrays;
 import java.util.Random;
 
-import edu.emory.clir.clearnlp.classification.instance.IntInstance;
 import edu.emory.clir.clearnlp.classification.model.SparseModel;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
 import edu.emory.clir.clearnlp.util.DSUtils;
@@ -31,7 +30,10 @@ import edu.emory.clir.clearnlp.util.MathUtils;
 abstract public class AbstractOnlineTrainer extends AbstractTrainer
 {
 	protected double[] d_average;
+	protected boolean  b_average;
 	protected Random   r_rand;
+	/** The order of instances to be visited; shuffled instead of the instances themselves. */
+	protected int[]    i_order;
 	
 	/** @param average if {@code true}, weights are averaged. */
 	public AbstractOnlineTrainer(SparseModel model, boolean average)
@@ -49,29 +51,50 @@ abstract public class AbstractOnlineTrainer extends AbstractTrainer
 
 	private void init(boolean average)
 	{
-		d_average = average ? new double[w_vector.size()] : null;
-		r_rand = new Random(RANDOM_SEED);
+		b_average = average;
+		r_rand    = new Random(RANDOM_SEED);
+		i_order   = DSUtils.range(getInstanceSize());
+		initAverage();
+	}
+	
+	/** Allocates the accumulators for averaging if {@link #average()}; called by the constructors. */
+	protected void initAverage()
+	{
+		if (average()) d_average = new double[w_vector.size()];
 	}
 
 	public void train()
 	{	
-		if (average()) Arrays.fill(d_average, 0);
-		DSUtils.shuffle(l_instances, r_rand);
+		if (average()) clearAverage();
 		int i, size = getInstanceSize();
+		DSUtils.shuffle(i_order, r_rand);
 		
 		for (i=0; i<size; i++)
-			update(getInstance(i), i+1);
+			update(i_order[i], i+1);
 		
-		if (average())
-			setAverageWeights(size+1);
+		finishEpoch(size);
 	}
 	
 	protected boolean average()
 	{
-		return d_average != null;
+		return b_average;
+	}
+	
+	protected void clearAverage()
+	{
+		Arrays.fill(d_average, 0);
+	}
+	
+	/**
+	 * Called after all instances are visited.
+	 * @param size the number of visited instances.
+	 */
+	protected void finishEpoch(int size)
+	{
+		if (average()) setAverageWeights(size+1);
 	}
 	
-	private void setAverageWeights(int count)
+	protected void setAverageWeights(int count)
 	{
 		double c = -MathUtils.reciprocal(count);
 		int i, size = w_vector.size();
@@ -80,5 +103,6 @@ abstract public class AbstractOnlineTrainer extends AbstractTrainer
 			w_vector.add(i, (float)(c*d_average[i]));
 	}
 	
-	abstract protected boolean update(IntInstance instance, int averageCount);
+	/** @param index the index of the instance in {@link #m_instances}. */
+	abstract protected boolean update(int index, int averageCount);
 }
\ No newline at end of file
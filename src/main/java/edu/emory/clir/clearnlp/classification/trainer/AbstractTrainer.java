@@ -15,12 +15,13 @@
  */
 package edu.emory.clir.clearnlp.classification.trainer;
 
-import java.util.List;
-
 import edu.emory.clir.clearnlp.classification.instance.IntInstance;
+import edu.emory.clir.clearnlp.classification.instance.IntInstanceMatrix;
 import edu.emory.clir.clearnlp.classification.model.SparseModel;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
 import edu.emory.clir.clearnlp.classification.vector.AbstractWeightVector;
+import edu.emory.clir.clearnlp.classification.vector.BinaryWeightVector;
+import edu.emory.clir.clearnlp.util.DSUtils;
 
 /**
  * @since 3.0.0
@@ -30,19 +31,19 @@ abstract public class AbstractTrainer
 {
 	protected final int RANDOM_SEED = 5; 
 	protected final TrainerType t_type;
-	protected List<IntInstance> l_instances;
+	protected IntInstanceMatrix m_instances;
 	volatile protected AbstractWeightVector w_vector;
 
 	public AbstractTrainer(TrainerType type, SparseModel model)
 	{
-		l_instances = model.initializeForTraining();
+		m_instances = model.initializeForTraining();
 		w_vector    = model.getWeightVector();
 		t_type      = type;
 	}
 	
 	public AbstractTrainer(TrainerType type, StringModel model, int labelCutoff, int featureCutoff)
 	{
-		l_instances = model.initializeForTraining(labelCutoff, featureCutoff);
+		m_instances = model.initializeForTraining(labelCutoff, featureCutoff);
 		w_vector    = model.getWeightVector();
 		t_type      = type;
 	}
@@ -74,12 +75,75 @@ abstract public class AbstractTrainer
 	
 	public int getInstanceSize()
 	{
-		return l_instances.size();
+		return m_instances.size();
 	}
 	
+	/** @return a copy of the specific instance; use {@link #getInstanceMatrix()} to iterate features without creating objects. */
 	public IntInstance getInstance(int index)
 	{
-		return l_instances.get(index);
+		return m_instances.getInstance(index);
+	}
+	
+	public IntInstanceMatrix getInstanceMatrix()
+	{
+		return m_instances;
+	}
+	
+	/** @return the array of scores of all labels given the specific instance. */
+	protected double[] getScores(int index, boolean normalize)
+	{
+		return w_vector.getScores(m_instances.getFeatureIndices(), m_instances.getFeatureValues(), m_instances.getBeginIndex(index), m_instances.getEndIndex(index), normalize);
+	}
+	
+	/** @return the number of labels whose weights are stored separately; 1 for a binary model. */
+	protected int getWeightLabelSize()
+	{
+		return w_vector.isBinaryLabel() ? 1 : w_vector.getLabelSize();
+	}
+	
+	/**
+	 * @return the gradient of the multi-class hinge loss for each label given the specific instance, where a binary model has only one label;
+	 * {@code null} if the instance is correctly classified with a margin.
+	 */
+	protected double[] getHingeGradients(int index)
+	{
+		int label = m_instances.getLabel(index);
+		double[] scores = getScores(index, false);
+		scores[label] -= 1d;
+		int bestLabel = DSUtils.maxIndex(scores);
+		
+		if (label == bestLabel)
+			return null;
+		
+		if (w_vector.isBinaryLabel())
+			return new double[]{(label == BinaryWeightVector.POSITIVE) ? 1 : -1};
+		
+		double[] gradients = new double[getWeightLabelSize()];
+		gradients[label]     =  1;
+		gradients[bestLabel] = -1;
+		return gradients;
+	}
+	
+	/**
+	 * @return the gradient of the log loss for each label given the specific instance, where a binary model has only one label;
+	 * {@code null} if the gold label is predicted with a probability close to 1.
+	 */
+	protected double[] getLogisticGradients(int index)
+	{
+		int i, label = m_instances.getLabel(index);
+		double[] gradients = getScores(index, true);
+		int size = gradients.length;
+		
+		for (i=0; i<size; i++) gradients[i] *= -1;
+		gradients[label] += 1;
+		
+		if (gradients[label] <= 0.01)
+			return null;
+		
+		if (w_vector.isBinaryLabel())
+			return new double[]{gradients[BinaryWeightVector.POSITIVE] - gradients[BinaryWeightVector.NEGATIVE]};
+		
+		return gradients;
 	}
 	
 	public TrainerType getTrainerType()
@@ -15,10 +15,8 @@
  */
 package edu.emory.clir.clearnlp.classification.trainer;
 
-import edu.emory.clir.clearnlp.classification.instance.IntInstance;
 import edu.emory.clir.clearnlp.classification.model.SparseModel;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
-import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
 import edu.emory.clir.clearnlp.util.MathUtils;
 
 /**
@@ -47,49 +45,44 @@ public class AdaGradLR extends AbstractAdaGrad
 	}
 	
 	@Override
-	protected boolean update(IntInstance instance, int averageCount)
+	protected boolean update(int index, int averageCount)
 	{
-		double[] gradients = getGradients(instance);
+		int label = m_instances.getLabel(index);
+		double[] gradients = getGradients(index, label);
 		
-		if (gradients[instance.getLabel()] > 0.01)
+		if (gradients[label] > 0.01)
 		{
-			updateGradients(instance, gradients);
-			updateWeights  (instance, gradients, averageCount);
+			updateGradients(index, gradients);
+			updateWeights  (index, gradients, averageCount);
 			return true;
 		}
 		
 		return false;
 	}
 	
-	private double[] getGradients(IntInstance instance)
+	private double[] getGradients(int index, int label)
 	{
-		double[] scores = w_vector.getScores(instance.getFeatureVector(), true);
+		double[] scores = getScores(index, true);
 		int i, size = scores.length;
 		
 		for (i=0; i<size; i++) scores[i] *= -1;
-		scores[instance.getLabel()] += 1;
+		scores[label] += 1;
 		
 		return scores;
 	}
 	
-	private void updateGradients(IntInstance instance, double[] gradidents)
+	private void updateGradients(int index, double[] gradidents)
 	{
-		SparseFeatureVector x = instance.getFeatureVector();
-		int i, j, xi, len = x.size(), lsize = w_vector.getLabelSize();
+		int i, j, end = m_instances.getEndIndex(index), lsize = w_vector.getLabelSize();
 		double[] g = new double[lsize];
-		double vi;
 		
 		for (j=0; j<lsize; j++)
 			g[j] = MathUtils.sq(gradidents[j]);
 
 		updateGradients(g, 0, d_bias);
 		
-		for (i=0; i<len; i++)
-		{
-			xi = x.getIndex(i);
-			vi = MathUtils.sq(x.getWeight(i));
-			updateGradients(g, xi, vi);
-		}
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			updateGradients(g, m_instances.getFeatureIndex(i), MathUtils.sq(m_instances.getFeatureWeight(i)));
 	}
 	
 	private void updateGradients(double[] g, int xi, double vi)
@@ -100,20 +93,14 @@ public class AdaGradLR extends AbstractAdaGrad
 			d_gradients[w_vector.getWeightIndex(j, xi)] += vi * g[j];
 	}
 	
-	private void updateWeights(IntInstance instance, double[] gradients, int averageCount)
+	private void updateWeights(int index, double[] gradients, int averageCount)
 	{
-		SparseFeatureVector x = instance.getFeatureVector();
-		int i, xi, len = x.size();
-		double vi;
+		int i, end = m_instances.getEndIndex(index);
 		
 		updateWeights(gradients, 0, d_bias, averageCount);
 		
-		for (i=0; i<len; i++)
-		{
-			xi = x.getIndex(i);
-			vi = x.getWeight(i);
-			updateWeights(gradients, xi, vi, averageCount);
-		}
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			updateWeights(gradients, m_instances.getFeatureIndex(i), m_instances.getFeatureWeight(i), averageCount);
 	}
 	
 	private void updateWeights(double[] gradients, int xi, double vi, int averageCount)
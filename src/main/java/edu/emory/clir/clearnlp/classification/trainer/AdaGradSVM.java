@@ -15,10 +15,8 @@
  */
 package edu.emory.clir.clearnlp.classification.trainer;
 
-import edu.emory.clir.clearnlp.classification.instance.IntInstance;
 import edu.emory.clir.clearnlp.classification.model.SparseModel;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
-import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
 import edu.emory.clir.clearnlp.util.DSUtils;
 import edu.emory.clir.clearnlp.util.MathUtils;
 
@@ -48,42 +46,37 @@ public class AdaGradSVM extends AbstractAdaGrad
 	}
 	
 	@Override
-	protected boolean update(IntInstance instance, int averageCount)
+	protected boolean update(int index, int averageCount)
 	{
-		int bestLabel = getBestLabel(instance);
+		int label = m_instances.getLabel(index);
+		int bestLabel = getBestLabel(index, label);
 		
-		if (!instance.isLabel(bestLabel))
+		if (label != bestLabel)
 		{
-			updateGradients(instance, instance.getLabel(), bestLabel);
-			updateWeights  (instance, instance.getLabel(), bestLabel, averageCount);
+			updateGradients(index, label, bestLabel);
+			updateWeights  (index, label, bestLabel, averageCount);
 			return true;
 		}
 		
 		return false;
 	}
 	
-	private int getBestLabel(IntInstance instance)
+	private int getBestLabel(int index, int label)
 	{
-		double[] scores = w_vector.getScores(instance.getFeatureVector());
-		scores[instance.getLabel()] -= 1d;
+		double[] scores = getScores(index, false);
+		scores[label] -= 1d;
 		return DSUtils.maxIndex(scores);
 	}
 	
-	private void updateGradients(IntInstance instance, int yp, int yn)
+	private void updateGradients(int index, int yp, int yn)
 	{
-		SparseFeatureVector x = instance.getFeatureVector();
-		int i, xi, len = x.size();
-		double vi;
+		int i, end = m_instances.getEndIndex(index);
 		
 		// bias
 		updateGradients(yp, yn, 0, MathUtils.sq(d_bias));
 		
-		for (i=0; i<len; i++)
-		{
-			xi = x.getIndex(i);
-			vi = MathUtils.sq(x.getWeight(i));
-			updateGradients(yp, yn, xi, vi);
-		}
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			updateGradients(yp, yn, m_instances.getFeatureIndex(i), MathUtils.sq(m_instances.getFeatureWeight(i)));
 	}
 	
 	private void updateGradients(int yp, int yn, int xi, double vi)
@@ -99,21 +92,15 @@ public class AdaGradSVM extends AbstractAdaGrad
 		}
 	}
 	
-	private void updateWeights(IntInstance instance, int yp, int yn, int averageCount)
+	private void updateWeights(int index, int yp, int yn, int averageCount)
 	{
-		SparseFeatureVector x = instance.getFeatureVector();
-		int i, xi, len = x.size();
-		double vi;
+		int i, end = m_instances.getEndIndex(index);
 
 		// bias
 		updateWeights(yp, yn, averageCount, 0, d_bias);
 		
-		for (i=0; i<len; i++)
-		{
-			xi = x.getIndex(i);
-			vi = x.getWeight(i);
-			updateWeights(yp, yn, averageCount, xi, vi);
-		}
+		for (i=m_instances.getBeginIndex(index); i<end; i++)
+			updateWeights(yp, yn, averageCount, m_instances.getFeatureIndex(i), m_instances.getFeatureWeight(i));
 	}
 	
 	private void updateWeights(int yp, int yn, int averageCount, int xi, double vi)
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import edu.emory.clir.clearnlp.classification.model.SparseModel;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+
+/**
+ * {@link AbstractLazyAdaGrad} using hinge loss.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LazyAdaGradSVM extends AbstractLazyAdaGrad
+{
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 * @param l1 the L1 regularization parameter.
+	 * @param l2 the L2 regularization parameter.
+	 */
+	public LazyAdaGradSVM(SparseModel model, boolean average, double alpha, double rho, double bias, double l1, double l2)
+	{
+		super(model, average, alpha, rho, bias, l1, l2);
+	}
+	
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 * @param l1 the L1 regularization parameter.
+	 * @param l2 the L2 regularization parameter.
+	 */
+	public LazyAdaGradSVM(StringModel model, int labelCutoff, int featureCutoff, boolean average, double alpha, double rho, double bias, double l1, double l2)
+	{
+		super(model, labelCutoff, featureCutoff, average, alpha, rho, bias, l1, l2);
+	}
+	
+	@Override
+	protected double[] getGradients(int index)
+	{
+		return getHingeGradients(index);
+	}
+	
+	@Override
+	public String trainerInfo()
+	{
+		return getTrainerInfo("SVM");
+	}
+}
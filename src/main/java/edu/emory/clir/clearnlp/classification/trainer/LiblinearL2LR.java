@@ -19,8 +19,6 @@ import java.util.Random;
 
 import edu.emory.clir.clearnlp.classification.model.SparseModel;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
-import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
-import edu.emory.clir.clearnlp.util.BinUtils;
 import edu.emory.clir.clearnlp.util.DSUtils;
 
 /**
@@ -53,13 +51,13 @@ public class LiblinearL2LR extends AbstractLiblinear
 	}
 	
 	@Override
-	public void update(int currLabel)
+	public int update(int currLabel)
 	{
 		final double INNER_MIN = Math.min(1e-8, d_eps);
 		final Random rand = new Random(RANDOM_SEED);
 		final int N = getInstanceSize();
 		
-		float[] weight = w_vector.getWeights(currLabel);
+		float[] weight = new float[getFeatureSize()];
 		double[] alpha = new double[2*N];
 		double G, d, alpha_old, qd, z, gp, gpp, tmpz;
 
@@ -68,12 +66,11 @@ public class LiblinearL2LR extends AbstractLiblinear
 		double Gmax;
 		
 		int i, s, iter, iter_newton, iter_inner, ind1, ind2, sign;
-		SparseFeatureVector xi;
 		byte yi;
 		
 		int []   index = DSUtils.range(N);
 		byte[]   aY    = getBinaryLabels(currLabel);
-		double[] QD    = getSumOfSquares(0, d_bias);
+		double[] QD    = getSharedSumOfSquares();
 		
 		for (i=0; i<N; i++)
 		{
@@ -81,8 +78,7 @@ public class LiblinearL2LR extends AbstractLiblinear
 			alpha[2*i+1] = d_cost - alpha_pre;
 
 			d  = aY[i] * alpha[2*i];
-			xi = getInstance(i).getFeatureVector();
-			if (d != 0) update(weight, xi, d_bias, d);
+			if (d != 0) update(weight, i, d_bias, d);
 		}
 		
 		for (iter=0; iter<MAX_ITER; iter++)
@@ -94,8 +90,7 @@ public class LiblinearL2LR extends AbstractLiblinear
 			{
 				i  = index[s];
 				yi = aY[i];
-				xi = getInstance(i).getFeatureVector();
-				G  = getScore(weight, xi, d_bias) * yi;
+				G  = getScore(weight, i, d_bias) * yi;
  				qd = QD[i];
  				
  				ind1 = 2*i;
@@ -139,7 +134,7 @@ public class LiblinearL2LR extends AbstractLiblinear
  					alpha[ind1] = z;
  					alpha[ind2] = d_cost-z;
  					d = sign * (z-alpha_old) * yi;
- 					if (d != 0) update(weight, xi, d_bias, d);
+ 					if (d != 0) update(weight, i, d_bias, d);
  				}
 			}
 			
@@ -152,14 +147,14 @@ public class LiblinearL2LR extends AbstractLiblinear
 		
 		weight[0] *= d_bias;
 		w_vector.setWeights(currLabel, weight);
-		
-		StringBuilder build = new StringBuilder();
-		
-		build.append("- label = ");		build.append(currLabel);
-		build.append(": iter = ");		build.append(iter);
-		build.append("\n");
-
-		BinUtils.LOG.info(build.toString());
+		return iter;
+	}
+	
+	/** Allocates alpha (16), index (4), and label (1) bytes for each instance. */
+	@Override
+	protected long getTaskMemorySize()
+	{
+		return getTaskMemorySize(21);
 	}
 	
 	@Override
@@ -19,8 +19,6 @@ import java.util.Random;
 
 import edu.emory.clir.clearnlp.classification.model.SparseModel;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
-import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
-import edu.emory.clir.clearnlp.util.BinUtils;
 import edu.emory.clir.clearnlp.util.DSUtils;
 
 /**
@@ -50,12 +48,12 @@ public class LiblinearL2SVM extends AbstractLiblinear
 	}
 	
 	@Override
-	public void update(int currLabel)
+	public int update(int currLabel)
 	{
 		final Random rand = new Random(RANDOM_SEED);
 		final int N = getInstanceSize();
 		
-		float[] weight = w_vector.getWeights(currLabel);
+		float[] weight = new float[getFeatureSize()];
 		double[] alpha = new double[N];
 		double G, d, alpha_old;
 		
@@ -66,12 +64,11 @@ public class LiblinearL2SVM extends AbstractLiblinear
 		double upper_bound = d_cost;
 		
 		int i, s, iter, active_size = N;
-		SparseFeatureVector xi;
 		byte yi;
 		
 		int []   index = DSUtils.range(N);
 		byte[]   aY    = getBinaryLabels(currLabel);
-		double[] QD    = getSumOfSquares(0, d_bias);
+		double[] QD    = getSharedSumOfSquares();
 		
 		for (iter=0; iter<MAX_ITER; iter++)
 		{
@@ -83,8 +80,7 @@ public class LiblinearL2SVM extends AbstractLiblinear
 			{
 				i  = index[s];
 				yi = aY[i];
-				xi = getInstance(i).getFeatureVector();
-				G  = getScore(weight, xi, d_bias) * yi - 1;
+				G  = getScore(weight, i, d_bias) * yi - 1;
 				
 				if (alpha[i] == 0)
 				{
@@ -123,7 +119,7 @@ public class LiblinearL2SVM extends AbstractLiblinear
 					alpha_old = alpha[i];
 					alpha[i]  = Math.min(Math.max(alpha[i] - G / QD[i], 0d), upper_bound);
 					d = (alpha[i] - alpha_old) * yi;
-					if (d != 0) update(weight, xi, d_bias, d);
+					if (d != 0) update(weight, i, d_bias, d);
 				}
 			}
 			
@@ -148,18 +144,14 @@ public class LiblinearL2SVM extends AbstractLiblinear
 		
 		weight[0] *= d_bias;
 		w_vector.setWeights(currLabel, weight);
-		
-//		int nSV = 0;
-//		for (i=0; i<N; i++) if (alpha[i] > 0) ++nSV;
-		
-		StringBuilder build = new StringBuilder();
-		
-		build.append("- label = ");	build.append(currLabel);
-		build.append(": iter = ");	build.append(iter);
-//		build.append(", nSV = ");	build.append(nSV);
-		build.append("\n");
-		
-		BinUtils.LOG.info(build.toString());
+		return iter;
+	}
+	
+	/** Allocates alpha (8), index (4), and label (1) bytes for each instance. */
+	@Override
+	protected long getTaskMemorySize()
+	{
+		return getTaskMemorySize(13);
 	}
 	
 	@Override
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import edu.emory.clir.clearnlp.classification.model.SparseModel;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+
+/**
+ * {@link AbstractMiniBatchAdaGrad} using hinge loss.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class MiniBatchAdaGradSVM extends AbstractMiniBatchAdaGrad
+{
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 */
+	public MiniBatchAdaGradSVM(SparseModel model, int numThreads, int batchSize, double alpha, double rho, double bias)
+	{
+		super(model, numThreads, batchSize, alpha, rho, bias);
+	}
+	
+	/**
+	 * @param alpha the learning rate.
+	 * @param rho the smoothing denominator.
+	 */
+	public MiniBatchAdaGradSVM(StringModel model, int labelCutoff, int featureCutoff, int numThreads, int batchSize, double alpha, double rho, double bias)
+	{
+		super(model, labelCutoff, featureCutoff, numThreads, batchSize, alpha, rho, bias);
+	}
+	
+	@Override
+	protected double[] getGradients(int index)
+	{
+		return getHingeGradients(index);
+	}
+	
+	@Override
+	public String trainerInfo()
+	{
+		return getTrainerInfo("SVM");
+	}
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import java.util.Arrays;
+
+/**
+ * Sparse gradient over weight indices, built by appending values and then compacted into increasing order of indices.
+ * Values of the same index are summed in the order they are added, so compacting and merging are deterministic.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+class SparseGradient
+{
+	private int[]    i_indices;
+	private double[] d_values;
+	private int      n_size;
+	
+	public SparseGradient()
+	{
+		this(16);
+	}
+	
+	public SparseGradient(int initialCapacity)
+	{
+		i_indices = new int   [initialCapacity];
+		d_values  = new double[initialCapacity];
+		n_size    = 0;
+	}
+	
+	public void add(int index, double value)
+	{
+		if (n_size == i_indices.length)
+		{
+			i_indices = Arrays.copyOf(i_indices, n_size * 2);
+			d_values  = Arrays.copyOf(d_values , n_size * 2);
+		}
+		
+		i_indices[n_size] = index;
+		d_values [n_size] = value;
+		n_size++;
+	}
+	
+	/** Sorts the values by their indices and sums the values of the same index. */
+	public void compact()
+	{
+		long[] keys = new long[n_size];
+		int i, j, k;
+		
+		// the insertion order breaks ties so that duplicates are summed in the order they were added
+		for (i=0; i<n_size; i++)
+			keys[i] = ((long)i_indices[i] << 32) | i;
+		
+		Arrays.sort(keys);
+		int[]    indices = new int   [n_size];
+		double[] values  = new double[n_size];
+		
+		for (i=0, k=-1; i<n_size; i++)
+		{
+			j = (int)keys[i];
+			
+			if (k >= 0 && indices[k] == i_indices[j])
+				values[k] += d_values[j];
+			else
+			{
+				indices[++k] = i_indices[j];
+				values [k]   = d_values [j];
+			}
+		}
+		
+		i_indices = indices;
+		d_values  = values;
+		n_size    = k + 1;
+	}
+	
+	/** @return the sum of the specific compacted gradients, which is also compacted. */
+	static public SparseGradient merge(SparseGradient g1, SparseGradient g2)
+	{
+		SparseGradient g = new SparseGradient(Math.max(1, g1.n_size + g2.n_size));
+		int i = 0, j = 0;
+		
+		while (i < g1.n_size && j < g2.n_size)
+		{
+			if      (g1.i_indices[i] < g2.i_indices[j])	{g.add(g1.i_indices[i], g1.d_values[i]); i++;}
+			else if (g1.i_indices[i] > g2.i_indices[j])	{g.add(g2.i_indices[j], g2.d_values[j]); j++;}
+			else {g.add(g1.i_indices[i], g1.d_values[i] + g2.d_values[j]); i++; j++;}
+		}
+		
+		for (; i<g1.n_size; i++) g.add(g1.i_indices[i], g1.d_values[i]);
+		for (; j<g2.n_size; j++) g.add(g2.i_indices[j], g2.d_values[j]);
+		return g;
+	}
+	
+	public int size()
+	{
+		return n_size;
+	}
+	
+	public int getIndex(int i)
+	{
+		return i_indices[i];
+	}
+	
+	public double getValue(int i)
+	{
+		return d_values[i];
+	}
+}
@@ -22,5 +22,6 @@ package edu.emory.clir.clearnlp.classification.trainer;
 public enum TrainerType
 {
 	ONE_VS_ALL,
-	ONLINE;
+	ONLINE,
+	MINI_BATCH;
 }
@@ -55,6 +55,12 @@ abstract public class AbstractWeightVector implements Serializable
 	 * @return the array of scores of all labels given the feature vector.
 	 */
 	abstract public double[] getScores(SparseFeatureVector x, int[] include);
+	/**
+	 * @param indices the feature indices.
+	 * @param values the feature weights, or {@code null} if all features are weighted by 1.
+	 * @return the array of scores of all labels given the features in {@code [beginIndex, endIndex)}.
+	 */
+	abstract public double[] getScores(int[] indices, float[] values, int beginIndex, int endIndex);
 	/**
 	 * @return the index of the weight vector given the label and feature indices.
 	 * If this is a binary model, returns the {@code featureIndex}.
@@ -64,6 +70,20 @@ abstract public class AbstractWeightVector implements Serializable
 	abstract public float[] getWeights(int labelIndex);
 	/** Sets the weight vector of the specific label. */
 	abstract public void setWeights(int labelIndex, float[] weights);
+	/** Sets the specific buffer to the bias scores; followed by {@link #addScores(int, double, double[])} for each feature. */
+	abstract public void initScores(double[] scores);
+	/** Adds the scores of the specific feature to the specific buffer; an invalid feature index is ignored. */
+	abstract public void addScores(int featureIndex, double weight, double[] scores);
+	
+	/** Fills the specific buffer with the scores of the specific feature vector without allocating memory. */
+	public void getScores(SparseFeatureVector x, double[] scores)
+	{
+		int i, size = x.size();
+		initScores(scores);
+		
+		for (i=0; i<size; i++)
+			addScores(x.getIndex(i), x.getWeight(i), scores);
+	}
 	
 	public int getLabelSize()
 	{
@@ -147,6 +167,13 @@ abstract public class AbstractWeightVector implements Serializable
 		return scores;
 	}
 	
+	public double[] getScores(int[] indices, float[] values, int beginIndex, int endIndex, boolean normalize)
+	{
+		double[] scores = getScores(indices, values, beginIndex, endIndex);
+		if (normalize) normalize(scores);
+		return scores;
+	}
+	
 	private void normalize(double[] scores)
 	{
 		int i, size = scores.length;
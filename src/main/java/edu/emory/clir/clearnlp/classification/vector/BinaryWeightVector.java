@@ -69,12 +69,49 @@ public class BinaryWeightVector extends AbstractWeightVector implements Serializ
 		return scores;
 	}
 	
+	@Override
+	public double[] getScores(int[] indices, float[] values, int beginIndex, int endIndex)
+	{
+		int i, index;
+		double score = get(0);
+		
+		for (i=beginIndex; i<endIndex; i++)
+		{
+			index = indices[i];
+			
+			if (isValidFeatureIndex(index))
+				score += get(index) * ((values != null) ? values[i] : 1);
+		}
+		
+		double[]  scores = new double[2];
+		scores[POSITIVE] =  score;
+		scores[NEGATIVE] = -score;
+		return scores;
+	}
+	
 	@Override
 	public double[] getScores(SparseFeatureVector x, int[] include)
 	{
 		return getScores(x);
 	}
 	
+	/** The negative score is kept as the negation of the positive score. */
+	@Override
+	public void initScores(double[] scores)
+	{
+		scores[POSITIVE] =  get(0);
+		scores[NEGATIVE] = -scores[POSITIVE];
+	}
+	
+	@Override
+	public void addScores(int featureIndex, double weight, double[] scores)
+	{
+		if (!isValidFeatureIndex(featureIndex)) return;
+		double score = get(featureIndex) * weight;
+		scores[POSITIVE] += score;
+		scores[NEGATIVE] -= score;
+	}
+	
 	@Override
 	public int getWeightIndex(int labelIndex, int featureIndex)
 	{
@@ -130,6 +130,49 @@ public class MultiWeightVector extends AbstractWeightVector implements Serializa
 		return scores;
 	}
 	
+	@Override
+	public double[] getScores(int[] indices, float[] values, int beginIndex, int endIndex)
+	{
+		double[] scores = f_weights.toDoubleArray(0, n_labels);
+		int i, j, index;
+		double weight;
+		
+		for (i=beginIndex; i<endIndex; i++)
+		{
+			index = indices[i];
+			
+			if (isValidFeatureIndex(index))
+			{
+				index  = getWeightIndex(index);
+				weight = (values != null) ? values[i] : 1;
+				
+				for (j=0; j<n_labels; j++)
+					scores[j] += get(index+j) * weight;
+			}
+		}
+		
+		return scores;
+	}
+	
+	@Override
+	public void initScores(double[] scores)
+	{
+		int j;
+		
+		for (j=0; j<n_labels; j++)
+			scores[j] = get(j);
+	}
+	
+	@Override
+	public void addScores(int featureIndex, double weight, double[] scores)
+	{
+		if (!isValidFeatureIndex(featureIndex)) return;
+		int j, index = getWeightIndex(featureIndex);
+		
+		for (j=0; j<n_labels; j++)
+			scores[j] += get(index+j) * weight;
+	}
+	
 	@Override
 	public int getWeightIndex(int labelIndex, int featureIndex)
 	{
@@ -153,10 +196,14 @@ public class MultiWeightVector extends AbstractWeightVector implements Serializa
 		return weights;
 	}
 	
+	/** Writes the specific label-contiguous weights into the feature-major storage in one strided pass over the backing array. */
 	@Override
 	public void setWeights(int labelIndex, float[] weights)
 	{
-		int i; for (i=0; i<n_features; i++)
-			set(getWeightIndex(labelIndex, i), weights[i]);
+		float[] buffer = f_weights.buffer;
+		int i, index = labelIndex;
+		
+		for (i=0; i<n_features; i++, index+=n_labels)
+			buffer[index] = weights[i];
 	}
 }
\ No newline at end of file
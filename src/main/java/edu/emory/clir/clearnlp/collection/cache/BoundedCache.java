@@ -0,0 +1,357 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache holding at most a fixed number of entries.
+ * Keys are striped across segments by their hash codes so that concurrent lookups rarely contend on the same lock.
+ * Hits, misses, and evictions are counted for monitoring.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class BoundedCache<K,V>
+{
+	static public final int DEFAULT_CONCURRENCY = 16;
+	
+	private final Segment<K,V>[] c_segments;
+	private final CacheEviction  c_eviction;
+	private final int            n_maxSize;
+	private final int            n_segmentSize;
+	private final int            i_mask;
+	
+	private final LongAdder n_hits;
+	private final LongAdder n_misses;
+	private final LongAdder n_evictions;
+	
+	public BoundedCache(int maxSize, CacheEviction eviction)
+	{
+		this(maxSize, eviction, DEFAULT_CONCURRENCY);
+	}
+	
+	/** @param concurrency the expected number of concurrently accessing threads, rounded up to a power of 2. */
+	@SuppressWarnings("unchecked")
+	public BoundedCache(int maxSize, CacheEviction eviction, int concurrency)
+	{
+		if (maxSize < 1) throw new IllegalArgumentException("The maximum size must be positive: "+maxSize);
+		int i, size = 1;
+		
+		while (size < concurrency && size < maxSize) size <<= 1;
+		c_segments    = new Segment[size];
+		c_eviction    = eviction;
+		n_maxSize     = maxSize;
+		n_segmentSize = Math.max(1, maxSize / size);
+		i_mask        = size - 1;
+		n_hits        = new LongAdder();
+		n_misses      = new LongAdder();
+		n_evictions   = new LongAdder();
+		
+		for (i=0; i<size; i++)
+		{
+			if (eviction == CacheEviction.TINY_LFU)
+				c_segments[i] = new TinyLFUSegment<>(n_segmentSize, n_evictions);
+			else
+				c_segments[i] = new LinkedSegment<>(n_segmentSize, eviction == CacheEviction.LRU, n_evictions);
+		}
+	}
+	
+	private Segment<K,V> getSegment(Object key)
+	{
+		int h = key.hashCode();
+		return c_segments[(h ^ (h >>> 16)) & i_mask];
+	}
+
+//	====================================== ACCESS ======================================
+
+	/** @return the value of the specific key if cached; otherwise, {@code null}. */
+	public V get(K key)
+	{
+		Segment<K,V> segment = getSegment(key);
+		V value;
+		
+		synchronized (segment)
+		{
+			value = segment.get(key);
+		}
+		
+		if (value != null)	n_hits.increment();
+		else				n_misses.increment();
+		
+		return value;
+	}
+	
+	public void put(K key, V value)
+	{
+		Segment<K,V> segment = getSegment(key);
+		
+		synchronized (segment)
+		{
+			segment.put(key, value);
+		}
+	}
+	
+	/**
+	 * Adds the specific entry only if the segment of the key has room, so that no cached entry is evicted
+	 * (e.g., when preloading entries sorted by frequency, where evicting would drop more frequent entries for rarer ones).
+	 * @return {@code true} if the entry is added; {@code false} if the segment of the key is full.
+	 */
+	public boolean offer(K key, V value)
+	{
+		Segment<K,V> segment = getSegment(key);
+		
+		synchronized (segment)
+		{
+			if (segment.size() >= n_segmentSize && segment.get(key) == null) return false;
+			segment.put(key, value);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @return the cached value of the specific key; if not cached, the value computed by the specific function.
+	 * The function is called outside of the lock so that slow computations do not block other threads;
+	 * a {@code null} value is returned but not cached.
+	 */
+	public V computeIfAbsent(K key, Function<? super K,? extends V> function)
+	{
+		V value = get(key);
+		
+		if (value == null && (value = function.apply(key)) != null)
+			put(key, value);
+		
+		return value;
+	}
+	
+	public void remove(K key)
+	{
+		Segment<K,V> segment = getSegment(key);
+		
+		synchronized (segment)
+		{
+			segment.remove(key);
+		}
+	}
+	
+	public void clear()
+	{
+		for (Segment<K,V> segment : c_segments)
+		{
+			synchronized (segment)
+			{
+				segment.clear();
+			}
+		}
+	}
+	
+	/** @return the current number of cached entries. */
+	public int size()
+	{
+		int size = 0;
+		
+		for (Segment<K,V> segment : c_segments)
+		{
+			synchronized (segment)
+			{
+				size += segment.size();
+			}
+		}
+		
+		return size;
+	}
+	
+	/** @return {@code true} if this cache has reached its maximum size. */
+	public boolean isFull()
+	{
+		return size() >= c_segments.length * n_segmentSize;
+	}
+	
+	public int getMaxSize()
+	{
+		return n_maxSize;
+	}
+	
+	public CacheEviction getEviction()
+	{
+		return c_eviction;
+	}
+
+//	====================================== STATISTICS ======================================
+
+	public long getHitCount()
+	{
+		return n_hits.sum();
+	}
+	
+	public long getMissCount()
+	{
+		return n_misses.sum();
+	}
+	
+	public long getEvictionCount()
+	{
+		return n_evictions.sum();
+	}
+	
+	/** @return the ratio of lookups that hit the cache, or {@code 0} if no lookup has been made. */
+	public double getHitRate()
+	{
+		long hits = getHitCount(), total = hits + getMissCount();
+		return (total > 0) ? (double)hits / total : 0;
+	}
+	
+	public void resetStatistics()
+	{
+		n_hits.reset();
+		n_misses.reset();
+		n_evictions.reset();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("size: %d/%d, hits: %d, misses: %d, evictions: %d, hit-rate: %5.2f%%", size(), n_maxSize, getHitCount(), getMissCount(), getEvictionCount(), 100d * getHitRate());
+	}
+	
+	private interface Segment<K,V>
+	{
+		V get(Object key);
+		V put(K key, V value);
+		V remove(Object key);
+		void clear();
+		int size();
+	}
+	
+	private static class LinkedSegment<K,V> extends LinkedHashMap<K,V> implements Segment<K,V>
+	{
+		private static final long serialVersionUID = -1372283657462357718L;
+		private final LongAdder n_evictions;
+		private final int n_maxSize;
+		
+		public LinkedSegment(int maxSize, boolean accessOrder, LongAdder evictions)
+		{
+			super(16, 0.75f, accessOrder);
+			n_maxSize   = maxSize;
+			n_evictions = evictions;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K,V> eldest)
+		{
+			if (size() <= n_maxSize) return false;
+			n_evictions.increment();
+			return true;
+		}
+	}
+	
+	/** New entries enter the window (about 1% of the segment); the main region keeps the entries that win the frequency comparison. */
+	private static class TinyLFUSegment<K,V> implements Segment<K,V>
+	{
+		private final LinkedHashMap<K,V> m_window;
+		private final LinkedHashMap<K,V> m_main;
+		private final FrequencySketch    f_sketch;
+		/** The key of the last miss, already counted in the sketch, so that the put following the miss does not count it again. */
+		private Object o_missed;
+		private final LongAdder n_evictions;
+		private final int n_windowSize;
+		private final int n_mainSize;
+		
+		public TinyLFUSegment(int maxSize, LongAdder evictions)
+		{
+			n_windowSize = Math.max(1, maxSize / 100);
+			n_mainSize   = maxSize - n_windowSize;
+			m_window     = new LinkedHashMap<>(16, 0.75f, true);
+			m_main       = new LinkedHashMap<>(16, 0.75f, true);
+			f_sketch     = new FrequencySketch(maxSize);
+			n_evictions  = evictions;
+		}
+		
+		@Override
+		public V get(Object key)
+		{
+			f_sketch.increment(key);
+			V value = m_window.get(key);
+			if (value == null) value = m_main.get(key);
+			o_missed = (value == null) ? key : null;
+			return value;
+		}
+		
+		/** Counts the key in the sketch unless it has just been counted by a miss (e.g., {@link BoundedCache#computeIfAbsent(Object, Function)}). */
+		@Override
+		public V put(K key, V value)
+		{
+			if (!key.equals(o_missed)) f_sketch.increment(key);
+			o_missed = null;
+			if (m_main.containsKey(key)) return m_main.put(key, value);
+			V old = m_window.put(key, value);
+			if (m_window.size() > n_windowSize) evictWindow();
+			return old;
+		}
+		
+		/** Moves the eldest entry of the window to the main region if it is admitted; otherwise, discards it. */
+		private void evictWindow()
+		{
+			Iterator<Map.Entry<K,V>> it = m_window.entrySet().iterator();
+			Map.Entry<K,V> eldest = it.next();
+			K key = eldest.getKey();
+			V value = eldest.getValue();
+			it.remove();
+			
+			if (m_main.size() < n_mainSize)
+			{
+				m_main.put(key, value);
+				return;
+			}
+			
+			n_evictions.increment();
+			if (n_mainSize == 0) return;
+			K victim = m_main.keySet().iterator().next();
+			
+			if (f_sketch.frequency(key) > f_sketch.frequency(victim))
+			{
+				m_main.remove(victim);
+				m_main.put(key, value);
+			}
+		}
+		
+		@Override
+		public V remove(Object key)
+		{
+			V value = m_window.remove(key);
+			return (value != null) ? value : m_main.remove(key);
+		}
+		
+		@Override
+		public void clear()
+		{
+			m_window.clear();
+			m_main.clear();
+			f_sketch.clear();
+			o_missed = null;
+		}
+		
+		@Override
+		public int size()
+		{
+			return m_window.size() + m_main.size();
+		}
+	}
+}
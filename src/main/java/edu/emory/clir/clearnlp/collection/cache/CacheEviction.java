@@ -0,0 +1,34 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.cache;
+
+/**
+ * Eviction policies for {@link BoundedCache}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public enum CacheEviction
+{
+	/** Evicts the least recently accessed entry. */
+	LRU,
+	/** Evicts the least recently inserted entry; lookups do not reorder entries. */
+	FIFO,
+	/**
+	 * Admits new entries through a small LRU window; an entry leaving the window replaces the least recently used entry of the main region
+	 * only if it has been accessed more often recently (W-TinyLFU), so that one-off keys do not flush frequently used ones.
+	 */
+	TINY_LFU;
+}
\ No newline at end of file
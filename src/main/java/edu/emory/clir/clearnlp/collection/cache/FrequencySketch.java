@@ -0,0 +1,95 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.cache;
+
+import java.util.Arrays;
+
+import edu.emory.clir.clearnlp.collection.sketch.AbstractCountMinSketch;
+
+/**
+ * Count-min sketch estimating how often each key has been accessed recently.
+ * The width is four times the cache size to keep collisions rare.
+ * Counters saturate at {@code 15} and are halved once the number of increments reaches ten times the width,
+ * so that the estimates reflect recent rather than all-time popularity.
+ * Not thread-safe; each cache segment owns its sketch.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+class FrequencySketch extends AbstractCountMinSketch<Object>
+{
+	private static final long serialVersionUID = 5183542620815914106L;
+	static private final int DEPTH     = 4;
+	static private final int MAX_COUNT = 15;
+	
+	private final byte[] b_table;
+	private final int    n_sampleSize;
+	private int          n_additions;
+	
+	/** @param maxSize the maximum number of entries in the cache. */
+	public FrequencySketch(int maxSize)
+	{
+		super(Math.max(16, maxSize * 4), DEPTH);
+		b_table      = new byte[getTableSize()];
+		n_sampleSize = n_width * 10;
+		n_additions  = 0;
+	}
+	
+	public void increment(Object key)
+	{
+		boolean added = false;
+		int i, idx;
+		
+		for (i=0; i<n_depth; i++)
+		{
+			idx = getIndex(key, i);
+			
+			if (b_table[idx] < MAX_COUNT)
+			{
+				b_table[idx]++;
+				added = true;
+			}
+		}
+		
+		if (added && ++n_additions == n_sampleSize)
+			reset();
+	}
+	
+	/** @return the estimated number of recent accesses to the specific key. */
+	public int frequency(Object key)
+	{
+		int i, freq = MAX_COUNT;
+		
+		for (i=0; i<n_depth; i++)
+			freq = Math.min(freq, b_table[getIndex(key, i)]);
+		
+		return freq;
+	}
+	
+	/** Halves all counters. */
+	private void reset()
+	{
+		for (int i=0; i<b_table.length; i++)
+			b_table[i] >>>= 1;
+		
+		n_additions >>>= 1;
+	}
+	
+	public void clear()
+	{
+		Arrays.fill(b_table, (byte)0);
+		n_additions = 0;
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.sketch;
+
+import java.io.Serializable;
+
+import edu.emory.clir.clearnlp.util.HashUtils;
+
+/**
+ * Count-min sketch of {@code depth} rows of {@code width} counters, where each key is mapped to one counter per row.
+ * Each row hashes the key independently by {@link HashUtils#murmurHash3_32(String, int)} with its own seed,
+ * so that keys colliding in one row rarely collide in the others;
+ * string keys are hashed by their characters, and other keys by their hash codes.
+ * Subclasses decide the type of the counters and how they are updated.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+abstract public class AbstractCountMinSketch<T> implements Serializable
+{
+	private static final long serialVersionUID = -3402214467520139383L;
+	static private final int SEED = 0x9e3779b9;
+	
+	protected final int n_width;
+	protected final int n_depth;
+	
+	/**
+	 * @param width the number of counters in each row.
+	 * @param depth the number of rows.
+	 */
+	public AbstractCountMinSketch(int width, int depth)
+	{
+		if (width <= 0 || depth <= 0)
+			throw new IllegalArgumentException("Invalid dimensions: width = "+width+", depth = "+depth);
+		
+		n_width = width;
+		n_depth = depth;
+	}
+	
+	/** @return the position of the counter of the specific key in the specific row, where rows are laid out one after another. */
+	protected int getIndex(T key, int row)
+	{
+		int seed = SEED * (row + 1);
+		int hash = (key instanceof String) ? HashUtils.murmurHash3_32((String)key, seed) : HashUtils.murmurHash3_32(key.hashCode(), seed);
+		return row * n_width + Integer.remainderUnsigned(hash, n_width);
+	}
+	
+	/** @return the total number of counters. */
+	protected int getTableSize()
+	{
+		return n_width * n_depth;
+	}
+	
+	public int getWidth()
+	{
+		return n_width;
+	}
+	
+	public int getDepth()
+	{
+		return n_depth;
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.sketch;
+
+/**
+ * Count-min sketch estimating the counts of keys in bounded memory.
+ * With a width of {@code ceil(e/epsilon)} and a depth of {@code ceil(ln(1/delta))},
+ * an estimate never underestimates and overestimates by more than {@code epsilon * N} with probability at most {@code delta},
+ * where {@code N} is the total count of all keys.
+ * Sketches with the same dimensions are merged by adding their counters.
+ * Not thread-safe.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CountMinSketch<T> extends AbstractCountMinSketch<T>
+{
+	private static final long serialVersionUID = 2787356412302735563L;
+	
+	private final long[] l_table;
+	private final double d_epsilon;
+	private final double d_delta;
+	private long         n_total;
+	
+	/**
+	 * @param epsilon the relative error of an estimate (e.g., 0.0001).
+	 * @param delta the probability that an estimate exceeds the error (e.g., 0.01).
+	 */
+	public CountMinSketch(double epsilon, double delta)
+	{
+		super(getWidth(epsilon, delta), (int)Math.ceil(Math.log(1 / delta)));
+		l_table   = new long[getTableSize()];
+		d_epsilon = epsilon;
+		d_delta   = delta;
+		n_total   = 0;
+	}
+	
+	static private int getWidth(double epsilon, double delta)
+	{
+		if (epsilon <= 0 || delta <= 0 || delta >= 1)
+			throw new IllegalArgumentException("Invalid error bounds: epsilon = "+epsilon+", delta = "+delta);
+		
+		return (int)Math.ceil(Math.E / epsilon);
+	}
+	
+	public void add(T key, long inc)
+	{
+		int i;
+		
+		for (i=0; i<n_depth; i++)
+			l_table[getIndex(key, i)] += inc;
+		
+		n_total += inc;
+	}
+	
+	/** @return the estimated count of the specific key, which is never less than the actual count. */
+	public long estimate(T key)
+	{
+		long count = Long.MAX_VALUE;
+		int i;
+		
+		for (i=0; i<n_depth; i++)
+			count = Math.min(count, l_table[getIndex(key, i)]);
+		
+		return count;
+	}
+	
+	/** Adds the counters of the specific sketch to this sketch. */
+	public void merge(CountMinSketch<T> sketch)
+	{
+		if (n_width != sketch.n_width || n_depth != sketch.n_depth)
+			throw new IllegalArgumentException("Sketches with different dimensions cannot be merged.");
+		
+		for (int i=0; i<l_table.length; i++)
+			l_table[i] += sketch.l_table[i];
+		
+		n_total += sketch.n_total;
+	}
+	
+	/** @return the total count of all keys added. */
+	public long getTotalCount()
+	{
+		return n_total;
+	}
+	
+	/** @return the maximum overestimate, {@code epsilon * N}, exceeded with probability at most {@link #getDelta()}. */
+	public double getErrorBound()
+	{
+		return d_epsilon * n_total;
+	}
+	
+	public double getEpsilon()
+	{
+		return d_epsilon;
+	}
+	
+	public double getDelta()
+	{
+		return d_delta;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.sketch;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
+
+/**
+ * Approximate counts of keys in bounded memory, combining a {@link CountMinSketch} for the counts of all keys
+ * with a {@link SpaceSaving} summary for the top-k keys.
+ * The estimate of a key is the smaller of the two, so it never underestimates;
+ * both error bounds are reported by {@link #toString()}.
+ * Not thread-safe; summaries built by different threads are combined by {@link #merge(FrequencySummary)}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class FrequencySummary<T> implements Serializable
+{
+	private static final long serialVersionUID = -6473390917386424813L;
+	private CountMinSketch<T> c_sketch;
+	private SpaceSaving<T>    c_topK;
+	
+	/**
+	 * @param epsilon the relative error of the count-min sketch.
+	 * @param delta the probability that an estimate of the count-min sketch exceeds the error.
+	 * @param topK the number of the most frequent keys to monitor.
+	 */
+	public FrequencySummary(double epsilon, double delta, int topK)
+	{
+		c_sketch = new CountMinSketch<>(epsilon, delta);
+		c_topK   = new SpaceSaving<>(topK);
+	}
+	
+	public void add(T key)
+	{
+		add(key, 1);
+	}
+	
+	public void add(T key, long inc)
+	{
+		c_sketch.add(key, inc);
+		c_topK  .add(key, inc);
+	}
+	
+	public void merge(FrequencySummary<T> summary)
+	{
+		c_sketch.merge(summary.c_sketch);
+		c_topK  .merge(summary.c_topK);
+	}
+	
+	/** @return the estimated count of the specific key, which is never less than the actual count. */
+	public long estimate(T key)
+	{
+		return Math.min(c_sketch.estimate(key), c_topK.estimate(key));
+	}
+	
+	/** @return the most frequent keys sorted by their counts in descending order. */
+	public List<SpaceSaving.Counter<T>> getTopK()
+	{
+		return c_topK.getTopK();
+	}
+	
+	/** @return the set of monitored keys whose estimated counts are greater than the specific cutoff (see {@link ObjectIntHashMap#keySet(int)}). */
+	public Set<T> keySet(int cutoff)
+	{
+		Set<T> set = new HashSet<>();
+		
+		for (SpaceSaving.Counter<T> counter : getTopK())
+		{
+			if (estimate(counter.getKey()) > cutoff)
+				set.add(counter.getKey());
+		}
+		
+		return set;
+	}
+	
+	/** @return the map of the monitored keys whose estimated counts are greater than the specific cutoff to their estimated counts. */
+	public ObjectIntHashMap<T> toMap(int cutoff)
+	{
+		ObjectIntHashMap<T> map = new ObjectIntHashMap<>();
+		long count;
+		
+		for (SpaceSaving.Counter<T> counter : getTopK())
+		{
+			if ((count = estimate(counter.getKey())) > cutoff)
+				map.put(counter.getKey(), (int)Math.min(count, Integer.MAX_VALUE));
+		}
+		
+		return map;
+	}
+	
+	public long getTotalCount()
+	{
+		return c_sketch.getTotalCount();
+	}
+	
+	public CountMinSketch<T> getSketch()
+	{
+		return c_sketch;
+	}
+	
+	public SpaceSaving<T> getSpaceSaving()
+	{
+		return c_topK;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("total: %d, count-min: %dx%d (error <= %.1f with probability %.4f), top-%d: %d keys (error <= %.1f)",
+			getTotalCount(), c_sketch.getDepth(), c_sketch.getWidth(), c_sketch.getErrorBound(), 1 - c_sketch.getDelta(), c_topK.getCapacity(), c_topK.size(), c_topK.getErrorBound());
+	}
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.sketch;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-saving summary keeping the approximate top-k keys in bounded memory.
+ * At most {@code k} keys are monitored; a new key replaces the key with the minimum count and inherits that count as its error,
+ * so that the count of each monitored key overestimates its actual count by at most its error, which is at most {@code N/k},
+ * and every key whose actual count exceeds {@code N/k} is monitored, where {@code N} is the total count of all keys.
+ * Counters are kept in a min-heap so that each addition takes {@code O(log k)}.
+ * Not thread-safe.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SpaceSaving<T> implements Serializable
+{
+	private static final long serialVersionUID = -3152616542318432137L;
+	
+	private final Counter<T>[]      c_heap;
+	private final Map<T,Counter<T>> m_counters;
+	private int  n_size;
+	private long n_total;
+	
+	/** @param capacity the maximum number of monitored keys. */
+	@SuppressWarnings("unchecked")
+	public SpaceSaving(int capacity)
+	{
+		if (capacity < 1) throw new IllegalArgumentException("The capacity must be positive: "+capacity);
+		c_heap     = new Counter[capacity];
+		m_counters = new HashMap<>();
+		n_size     = 0;
+		n_total    = 0;
+	}
+	
+	public void add(T key, long inc)
+	{
+		Counter<T> counter = m_counters.get(key);
+		n_total += inc;
+		
+		if (counter != null)
+		{
+			counter.l_count += inc;
+			siftDown(counter.i_heap);
+		}
+		else if (n_size < c_heap.length)
+		{
+			counter = new Counter<>(key, inc, 0);
+			m_counters.put(key, counter);
+			counter.i_heap = n_size;
+			c_heap[n_size++] = counter;
+			siftUp(counter.i_heap);
+		}
+		else
+		{
+			counter = c_heap[0];
+			m_counters.remove(counter.t_key);
+			counter.l_error  = counter.l_count;
+			counter.l_count += inc;
+			counter.t_key    = key;
+			m_counters.put(key, counter);
+			siftDown(0);
+		}
+	}
+	
+	/**
+	 * Merges the specific summary into this summary.
+	 * A key not monitored by a full summary is counted as the minimum count of that summary, which becomes part of its error;
+	 * the error of each key remains at most the total count of both summaries divided by the capacity.
+	 */
+	public void merge(SpaceSaving<T> summary)
+	{
+		long min0 = getMinCount(), min1 = summary.getMinCount();
+		List<Counter<T>> counters = new ArrayList<>();
+		Counter<T> other;
+		
+		for (Counter<T> counter : getCounters())
+		{
+			if ((other = summary.m_counters.get(counter.t_key)) != null)
+				counters.add(new Counter<>(counter.t_key, counter.l_count + other.l_count, counter.l_error + other.l_error));
+			else
+				counters.add(new Counter<>(counter.t_key, counter.l_count + min1, counter.l_error + min1));
+		}
+		
+		for (Counter<T> counter : summary.getCounters())
+		{
+			if (!m_counters.containsKey(counter.t_key))
+				counters.add(new Counter<>(counter.t_key, counter.l_count + min0, counter.l_error + min0));
+		}
+		
+		Collections.sort(counters, Collections.reverseOrder());
+		long total = n_total + summary.n_total;
+		clear();
+		
+		for (Counter<T> counter : counters.subList(0, Math.min(c_heap.length, counters.size())))
+		{
+			counter.i_heap = n_size;
+			c_heap[n_size++] = counter;
+			m_counters.put(counter.t_key, counter);
+			siftUp(counter.i_heap);
+		}
+		
+		n_total = total;
+	}
+	
+	/** @return the count of the specific key if monitored; otherwise, the upper bound of its count (the minimum count if full; otherwise, {@code 0}). */
+	public long estimate(T key)
+	{
+		Counter<T> counter = m_counters.get(key);
+		return (counter != null) ? counter.l_count : getMinCount();
+	}
+	
+	/** @return the monitored counters sorted by their counts in descending order. */
+	public List<Counter<T>> getTopK()
+	{
+		List<Counter<T>> list = getCounters();
+		Collections.sort(list, Collections.reverseOrder());
+		return list;
+	}
+	
+	private List<Counter<T>> getCounters()
+	{
+		List<Counter<T>> list = new ArrayList<>(n_size);
+		
+		for (int i=0; i<n_size; i++)
+			list.add(c_heap[i]);
+		
+		return list;
+	}
+	
+	/** @return the minimum count among the monitored keys if all {@code k} keys are monitored; otherwise, {@code 0}. */
+	public long getMinCount()
+	{
+		return (n_size == c_heap.length) ? c_heap[0].l_count : 0;
+	}
+	
+	public long getTotalCount()
+	{
+		return n_total;
+	}
+	
+	/** @return the maximum overestimate of a monitored key, {@code N/k}. */
+	public double getErrorBound()
+	{
+		return (double)n_total / c_heap.length;
+	}
+	
+	public int getCapacity()
+	{
+		return c_heap.length;
+	}
+	
+	public int size()
+	{
+		return n_size;
+	}
+	
+	public void clear()
+	{
+		for (int i=0; i<n_size; i++)
+			c_heap[i] = null;
+		
+		m_counters.clear();
+		n_size  = 0;
+		n_total = 0;
+	}
+	
+//	====================================== HEAP ======================================
+	
+	private void siftUp(int index)
+	{
+		Counter<T> counter = c_heap[index];
+		int parent;
+		
+		while (index > 0 && c_heap[parent = (index - 1) >>> 1].l_count > counter.l_count)
+		{
+			move(c_heap[parent], index);
+			index = parent;
+		}
+		
+		move(counter, index);
+	}
+	
+	private void siftDown(int index)
+	{
+		Counter<T> counter = c_heap[index];
+		int child;
+		
+		while ((child = 2 * index + 1) < n_size)
+		{
+			if (child + 1 < n_size && c_heap[child+1].l_count < c_heap[child].l_count) child++;
+			if (c_heap[child].l_count >= counter.l_count) break;
+			move(c_heap[child], index);
+			index = child;
+		}
+		
+		move(counter, index);
+	}
+	
+	private void move(Counter<T> counter, int index)
+	{
+		c_heap[index]  = counter;
+		counter.i_heap = index;
+	}
+	
+	static public class Counter<T> implements Serializable, Comparable<Counter<T>>
+	{
+		private static final long serialVersionUID = 4012893561174350117L;
+		private T    t_key;
+		private long l_count;
+		private long l_error;
+		private int  i_heap;
+		
+		public Counter(T key, long count, long error)
+		{
+			t_key   = key;
+			l_count = count;
+			l_error = error;
+		}
+		
+		public T getKey()
+		{
+			return t_key;
+		}
+		
+		/** @return the estimated count, which is never less than the actual count. */
+		public long getCount()
+		{
+			return l_count;
+		}
+		
+		/** @return the maximum overestimate of the count. */
+		public long getError()
+		{
+			return l_error;
+		}
+		
+		/** @return the count guaranteed to have been observed, {@code count - error}. */
+		public long getGuaranteedCount()
+		{
+			return l_count - l_error;
+		}
+		
+		@Override
+		public int compareTo(Counter<T> o)
+		{
+			return Long.compare(l_count, o.l_count);
+		}
+		
+		@Override
+		public String toString()
+		{
+			return "("+t_key+","+l_count+","+l_error+")";
+		}
+	}
+}
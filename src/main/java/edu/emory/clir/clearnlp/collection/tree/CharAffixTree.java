@@ -15,9 +15,12 @@
  */
 package edu.emory.clir.clearnlp.collection.tree;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import edu.emory.clir.clearnlp.collection.map.CharObjectHashMap;
+import edu.emory.clir.clearnlp.collection.pair.ObjectCharPair;
 
 /**
  * @since 3.0.0
@@ -130,6 +133,28 @@ public class CharAffixTree
 		return index;
 	}
 	
+	/** @return an immutable copy of this tree for faster lookups. */
+	public DoubleArrayAffixTree toDoubleArrayTree()
+	{
+		List<String> affixes = new ArrayList<>();
+		addAffixes(affixes, n_root, new StringBuilder());
+		return new DoubleArrayAffixTree(b_prefix, affixes);
+	}
+	
+	/** The builder holds the characters in the order of traversal, which is reversed for suffixes. */
+	private void addAffixes(List<String> affixes, CharAffixNode node, StringBuilder build)
+	{
+		if (node.isEndState())
+			affixes.add(b_prefix ? build.toString() : new StringBuilder(build).reverse().toString());
+		
+		for (ObjectCharPair<CharAffixNode> p : node)
+		{
+			build.append(p.c);
+			addAffixes(affixes, p.o, build);
+			build.setLength(build.length()-1);
+		}
+	}
+	
 	private class CharAffixNode extends CharObjectHashMap<CharAffixNode>
 	{
 		private static final long serialVersionUID = 1566684742873455351L;
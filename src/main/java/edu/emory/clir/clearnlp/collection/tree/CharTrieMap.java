@@ -0,0 +1,199 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.tree;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable character trie packed into primitive arrays in breadth-first order.
+ * The children of node {@code i} are the nodes {@code [i_first[i], i_first[i+1])}, sorted by their labels,
+ * so that each character lookup is a binary search over a contiguous {@code char[]} slice.
+ * Use {@link #keySet()} for a compact read-only {@link Set}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CharTrieMap<V> extends AbstractMap<String,V> implements Serializable
+{
+	private static final long serialVersionUID = -3364186733006919312L;
+	/** The label of the edge coming into each node. */
+	private char[]   c_labels;
+	/** The index of the first child of each node; the last item is the total number of nodes. */
+	private int[]    i_first;
+	private Object[] o_values;
+	private int      n_size;
+	
+	public CharTrieMap(Map<String,V> map)
+	{
+		String[] keys = map.keySet().toArray(new String[map.size()]);
+		Arrays.sort(keys);
+		Object[] values = new Object[keys.length];
+		int i;
+		
+		for (i=0; i<keys.length; i++)
+			values[i] = map.get(keys[i]);
+		
+		build(keys, values);
+	}
+	
+	/** @return a read-only set of the specific strings backed by a trie. */
+	static public Set<String> createSet(Collection<String> col)
+	{
+		return createSetMap(col).keySet();
+	}
+	
+	/** @return a trie mapping each of the specific strings to {@link Boolean#TRUE}, whose {@link #keySet()} is the set returned by {@link #createSet(Collection)}. */
+	static public CharTrieMap<Boolean> createSetMap(Collection<String> col)
+	{
+		String[] keys = new HashSet<>(col).toArray(new String[0]);
+		Arrays.sort(keys);
+		Object[] values = new Object[keys.length];
+		Arrays.fill(values, Boolean.TRUE);
+		return new CharTrieMap<Boolean>(keys, values);
+	}
+	
+	/** @param keys sorted without duplicates. */
+	private CharTrieMap(String[] keys, Object[] values)
+	{
+		build(keys, values);
+	}
+	
+	/** Flattens the trie in breadth-first order; each queue item is {beginIndex, endIndex, depth} of a node over the sorted keys. */
+	private void build(String[] keys, Object[] values)
+	{
+		int capacity = 1, id = 1, node, lo, hi, depth, i;
+		for (String key : keys) capacity += key.length();
+		
+		char[]   labels = new char[capacity];
+		int[]    first  = new int[capacity+1];
+		Object[] vals   = new Object[capacity];
+		Deque<int[]> queue = new ArrayDeque<>();
+		queue.add(new int[]{0, keys.length, 0});
+		
+		for (node=0; !queue.isEmpty(); node++)
+		{
+			int[] range = queue.poll();
+			lo = range[0]; hi = range[1]; depth = range[2];
+			first[node] = id;
+			
+			if (lo < hi && keys[lo].length() == depth)
+				vals[node] = values[lo++];
+			
+			while (lo < hi)
+			{
+				char c = keys[lo].charAt(depth);
+				for (i=lo+1; i<hi && keys[i].charAt(depth) == c; i++);
+				labels[id++] = c;
+				queue.add(new int[]{lo, i, depth+1});
+				lo = i;
+			}
+		}
+		
+		first[node] = id;
+		c_labels = Arrays.copyOf(labels, id);
+		i_first  = Arrays.copyOf(first , id+1);
+		o_values = Arrays.copyOf(vals  , id);
+		n_size   = keys.length;
+	}
+	
+	/** @return the index of the node reached by the specific key if exists; otherwise, {@code -1}. */
+	private int getNodeIndex(String key)
+	{
+		int i, node = 0, len = key.length();
+		
+		for (i=0; i<len; i++)
+		{
+			node = getChildIndex(node, key.charAt(i));
+			if (node < 0) return -1;
+		}
+		
+		return node;
+	}
+	
+	/** @return the index of the child with the specific label if exists; otherwise, {@code -1}. */
+	private int getChildIndex(int node, char c)
+	{
+		int lo = i_first[node], hi = i_first[node+1] - 1, mid;
+		
+		while (lo <= hi)
+		{
+			mid = (lo + hi) >>> 1;
+			
+			if      (c_labels[mid] < c)	lo = mid + 1;
+			else if (c_labels[mid] > c)	hi = mid - 1;
+			else	return mid;
+		}
+		
+		return -1;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key)
+	{
+		if (!(key instanceof String)) return null;
+		int node = getNodeIndex((String)key);
+		return (node < 0) ? null : (V)o_values[node];
+	}
+	
+	@Override
+	public boolean containsKey(Object key)
+	{
+		return get(key) != null;
+	}
+	
+	@Override
+	public int size()
+	{
+		return n_size;
+	}
+	
+	/** @return the number of nodes in this trie including the root. */
+	public int getNodeSize()
+	{
+		return c_labels.length;
+	}
+	
+	/** Reconstructs every key by traversing the trie; this map is meant for lookups, not iteration. */
+	@Override
+	public Set<Entry<String,V>> entrySet()
+	{
+		Set<Entry<String,V>> set = new HashSet<>();
+		addEntries(set, 0, new StringBuilder());
+		return set;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void addEntries(Set<Entry<String,V>> set, int node, StringBuilder build)
+	{
+		if (o_values[node] != null)
+			set.add(new SimpleImmutableEntry<>(build.toString(), (V)o_values[node]));
+		
+		for (int child=i_first[node]; child<i_first[node+1]; child++)
+		{
+			build.append(c_labels[child]);
+			addEntries(set, child, build);
+			build.setLength(build.length()-1);
+		}
+	}
+}
\ No newline at end of file
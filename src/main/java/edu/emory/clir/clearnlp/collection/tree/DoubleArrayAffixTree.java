@@ -0,0 +1,155 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.tree;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * Immutable counterpart of {@link CharAffixTree} backed by a {@link DoubleArrayTrie}.
+ * Characters are mapped to dense codes through a table indexed by characters,
+ * so that each step of {@link #getAffixIndex(String, boolean)} reads three primitive arrays.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DoubleArrayAffixTree implements Serializable
+{
+	private static final long serialVersionUID = 4026170893390981497L;
+	private DoubleArrayTrie t_trie;
+	/** The code of each character; {@code 0} if the character does not appear in any affix. */
+	private int[]   i_codes;
+	private boolean b_prefix;
+	
+	public DoubleArrayAffixTree(boolean prefix, Collection<String> affixes)
+	{
+		int[][] keys = new int[affixes.size()][];
+		int[] values = new int[keys.length];
+		int i = 0;
+		
+		b_prefix = prefix;
+		initCodes(affixes);
+		
+		for (String affix : affixes)
+			keys[i++] = toCodes(affix);
+		
+		t_trie = new DoubleArrayTrie(keys, values);
+	}
+	
+	private DoubleArrayAffixTree(boolean prefix, int[] codes, DoubleArrayTrie trie)
+	{
+		b_prefix = prefix;
+		i_codes  = codes;
+		t_trie   = trie;
+	}
+	
+	/** Assigns codes to characters in their natural order. */
+	private void initCodes(Collection<String> affixes)
+	{
+		int i, code = 0, max = 0;
+		
+		for (String affix : affixes)
+			for (i=affix.length()-1; i>=0; i--)
+				max = Math.max(max, affix.charAt(i));
+		
+		i_codes = new int[max+1];
+		
+		for (String affix : affixes)
+			for (i=affix.length()-1; i>=0; i--)
+				i_codes[affix.charAt(i)] = 1;
+		
+		for (i=0; i<=max; i++)
+			if (i_codes[i] > 0) i_codes[i] = ++code;
+	}
+	
+	/** @return the codes of the specific affix in the order of traversal. */
+	private int[] toCodes(String affix)
+	{
+		int i, len = affix.length();
+		int[] codes = new int[len];
+		
+		for (i=0; i<len; i++)
+			codes[i] = getCode(affix.charAt(b_prefix ? i : len-1-i));
+		
+		return codes;
+	}
+	
+	private int getCode(char c)
+	{
+		return (c < i_codes.length) ? i_codes[c] : 0;
+	}
+	
+	/** Equivalent to {@link CharAffixTree#getAffixIndex(String, boolean)}. */
+	public int getAffixIndex(String s, boolean minimum)
+	{
+		int i, beginIndex, direction, index = -1, len = s.length(), state = DoubleArrayTrie.ROOT;
+		
+		if (b_prefix)
+		{
+			beginIndex = 0;
+			direction  = 1;
+		}
+		else
+		{
+			beginIndex = len - 1;
+			direction  = -1;
+		}
+		
+		for (i=beginIndex; 0<=i&&i<len; i+=direction)
+		{
+			state = t_trie.getChild(state, getCode(s.charAt(i)));
+			if (state < 0) break;
+			
+			if (t_trie.getValue(state) >= 0)
+			{
+				index = i;
+				if (minimum) break;
+			}
+		}
+		
+		return index;
+	}
+	
+	public boolean isPrefix()
+	{
+		return b_prefix;
+	}
+	
+//	====================================== SERIALIZATION ======================================
+	
+	/** Writes this tree as big-endian integers that {@link #read(ByteBuffer)} can load from a memory-mapped file. */
+	public void write(DataOutputStream out) throws IOException
+	{
+		out.writeInt(b_prefix ? 1 : 0);
+		out.writeInt(i_codes.length);
+		for (int code : i_codes) out.writeInt(code);
+		t_trie.write(out);
+	}
+	
+	static public DoubleArrayAffixTree read(ByteBuffer buffer)
+	{
+		boolean prefix = buffer.getInt() == 1;
+		int i, size = buffer.getInt();
+		int[] codes = new int[size];
+		
+		for (i=0; i<size; i++)
+			codes[i] = buffer.getInt();
+		
+		return new DoubleArrayAffixTree(prefix, codes, DoubleArrayTrie.read(buffer));
+	}
+}
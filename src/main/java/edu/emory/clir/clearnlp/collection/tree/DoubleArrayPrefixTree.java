@@ -0,0 +1,117 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.tree;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
+
+/**
+ * Immutable counterpart of {@link PrefixTree} backed by a {@link DoubleArrayTrie}.
+ * Keys are mapped to dense codes by a single hash lookup per key; the transitions are array reads.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DoubleArrayPrefixTree<K extends Comparable<K>,V> implements Serializable
+{
+	private static final long serialVersionUID = -5946390563327046150L;
+	private DoubleArrayTrie      t_trie;
+	/** The code of each key; {@code 0} if the key does not appear in any sequence. */
+	private ObjectIntHashMap<K> m_codes;
+	private List<V>             l_values;
+	
+	/** @param map the key of each entry is a sequence of keys (e.g., tokens). */
+	public DoubleArrayPrefixTree(Map<List<K>,V> map)
+	{
+		int[][] keys = new int[map.size()][];
+		int[] values = new int[keys.length];
+		int i = 0, j, len;
+		List<K> key;
+		int[] codes;
+		
+		initCodes(map.keySet());
+		l_values = new ArrayList<>(map.size());
+		
+		for (Entry<List<K>,V> entry : map.entrySet())
+		{
+			key   = entry.getKey();
+			len   = key.size();
+			codes = new int[len];
+			
+			for (j=0; j<len; j++)
+				codes[j] = m_codes.get(key.get(j));
+			
+			keys[i] = codes;
+			values[i++] = l_values.size();
+			l_values.add(entry.getValue());
+		}
+		
+		t_trie = new DoubleArrayTrie(keys, values);
+	}
+	
+	/** Assigns codes to keys in their natural order. */
+	private void initCodes(Collection<List<K>> sequences)
+	{
+		TreeSet<K> set = new TreeSet<>();
+		int code = 0;
+		
+		for (List<K> sequence : sequences)
+			set.addAll(sequence);
+		
+		m_codes = new ObjectIntHashMap<>(set.size());
+		
+		for (K key : set)
+			m_codes.put(key, ++code);
+	}
+	
+	/** Equivalent to {@link PrefixTree#getValue(Comparable[], int, boolean)}. */
+	public V getValue(K[] keys, int beginIndex, boolean minimum)
+	{
+		int i, len = keys.length, state = DoubleArrayTrie.ROOT, value = -1, v;
+		
+		for (i=beginIndex; i<len; i++)
+		{
+			state = t_trie.getChild(state, m_codes.get(keys[i]));
+			if (state < 0) break;
+			
+			if ((v = t_trie.getValue(state)) >= 0)
+			{
+				value = v;
+				if (minimum) break;
+			}
+		}
+		
+		return (value < 0) ? null : l_values.get(value);
+	}
+	
+	/** @return the number of sequences in this tree. */
+	public int size()
+	{
+		return l_values.size();
+	}
+	
+	public List<V> getValues()
+	{
+		return Collections.unmodifiableList(l_values);
+	}
+}
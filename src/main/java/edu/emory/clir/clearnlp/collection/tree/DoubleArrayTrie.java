@@ -0,0 +1,250 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.tree;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Immutable double-array trie over sequences of positive integer codes.
+ * The child of state {@code s} by code {@code c} is {@code t = base[s] + c} if {@code check[t] == s};
+ * each transition is therefore two array reads without hashing or object dereferencing.
+ * Each state may hold a non-negative value ({@code -1} if none).
+ * Use {@link DoubleArrayAffixTree} or {@link DoubleArrayPrefixTree} for character or token sequences.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DoubleArrayTrie implements Serializable
+{
+	private static final long serialVersionUID = 2318427741040613905L;
+	static public final int ROOT = 1;
+	
+	private int[] i_base;
+	private int[] i_check;
+	private int[] i_value;
+	
+	/**
+	 * @param keys sequences of positive codes without duplicates.
+	 * @param values {@code values[i]} is the non-negative value of {@code keys[i]}.
+	 */
+	public DoubleArrayTrie(int[][] keys, int[] values)
+	{
+		Integer[] order = new Integer[keys.length];
+		int[][] sortedKeys = new int[keys.length][];
+		int[] sortedValues = new int[keys.length];
+		int i;
+		
+		for (i=0; i<keys.length; i++) order[i] = i;
+		Arrays.sort(order, (a, b) -> compare(keys[a], keys[b]));
+		
+		for (i=0; i<keys.length; i++)
+		{
+			sortedKeys  [i] = keys  [order[i]];
+			sortedValues[i] = values[order[i]];
+		}
+		
+		build(sortedKeys, sortedValues);
+	}
+	
+	private DoubleArrayTrie(int[] base, int[] check, int[] value)
+	{
+		i_base  = base;
+		i_check = check;
+		i_value = value;
+	}
+	
+	static private int compare(int[] a, int[] b)
+	{
+		int i, len = Math.min(a.length, b.length);
+		
+		for (i=0; i<len; i++)
+			if (a[i] != b[i]) return Integer.compare(a[i], b[i]);
+		
+		return a.length - b.length;
+	}
+	
+//	====================================== BUILD ======================================
+	
+	/** Assigns states in breadth-first order; each queue item is {beginIndex, endIndex, depth, state} over the sorted keys. */
+	private void build(int[][] keys, int[] values)
+	{
+		Deque<int[]> queue = new ArrayDeque<>();
+		int lo, hi, depth, state, i, j, last = ROOT, nextCheck = ROOT + 1;
+		int[] range, codes = new int[16];
+		int[] begins = new int[16];
+		
+		init(1024);
+		i_check[ROOT] = -1;
+		queue.add(new int[]{0, keys.length, 0, ROOT});
+		
+		while (!queue.isEmpty())
+		{
+			range = queue.poll();
+			lo = range[0]; hi = range[1]; depth = range[2]; state = range[3];
+			
+			if (lo < hi && keys[lo].length == depth)
+				i_value[state] = values[lo++];
+			
+			// collect the distinct codes of the children
+			for (i=lo, j=0; i<hi; j++)
+			{
+				if (j == codes.length)
+				{
+					codes  = Arrays.copyOf(codes , j*2);
+					begins = Arrays.copyOf(begins, j*2);
+				}
+				
+				codes [j] = keys[i][depth];
+				begins[j] = i;
+				for (i++; i<hi && keys[i][depth] == codes[j]; i++);
+			}
+			
+			if (j == 0) continue;
+			nextCheck = findBase(state, codes, j, nextCheck);
+			
+			for (i=0; i<j; i++)
+			{
+				int child = i_base[state] + codes[i];
+				i_check[child] = state;
+				last = Math.max(last, child);
+				queue.add(new int[]{begins[i], (i+1 < j) ? begins[i+1] : hi, depth+1, child});
+			}
+		}
+		
+		i_base  = Arrays.copyOf(i_base , last+1);
+		i_check = Arrays.copyOf(i_check, last+1);
+		i_value = Arrays.copyOf(i_value, last+1);
+	}
+	
+	/**
+	 * Finds the first base whose slots for the specific codes are all free and assigns it to the state.
+	 * Free slots are searched from {@code nextCheck}, which skips the dense prefix of the arrays.
+	 * @return the updated {@code nextCheck}.
+	 */
+	private int findBase(int state, int[] codes, int size, int nextCheck)
+	{
+		int pos = Math.max(codes[0] + 1, nextCheck) - 1, nonzero = 0, begin, i;
+		boolean first = true;
+		
+		outer: while (true)
+		{
+			pos++;
+			ensureCapacity(pos + 1);
+			
+			if (i_check[pos] != 0)
+			{
+				nonzero++;
+				continue;
+			}
+			else if (first)
+			{
+				nextCheck = pos;
+				first = false;
+			}
+			
+			begin = pos - codes[0];
+			ensureCapacity(begin + codes[size-1] + 1);
+			
+			for (i=1; i<size; i++)
+				if (i_check[begin + codes[i]] != 0) continue outer;
+			
+			break;
+		}
+		
+		// the region before pos is dense enough to be skipped by the following searches
+		if (nonzero >= 0.95 * (pos - nextCheck + 1))
+			nextCheck = pos;
+		
+		i_base[state] = begin;
+		return nextCheck;
+	}
+	
+	private void init(int capacity)
+	{
+		i_base  = new int[capacity];
+		i_check = new int[capacity];
+		i_value = new int[capacity];
+		Arrays.fill(i_value, -1);
+	}
+	
+	private void ensureCapacity(int capacity)
+	{
+		if (capacity <= i_check.length) return;
+		int size = i_check.length, newSize = Math.max(capacity, size * 2);
+		
+		i_base  = Arrays.copyOf(i_base , newSize);
+		i_check = Arrays.copyOf(i_check, newSize);
+		i_value = Arrays.copyOf(i_value, newSize);
+		Arrays.fill(i_value, size, newSize, -1);
+	}
+	
+//	====================================== LOOKUP ======================================
+	
+	/** @return the child state of the specific state by the specific code if exists; otherwise, {@code -1}. */
+	public int getChild(int state, int code)
+	{
+		int t = i_base[state] + code;
+		return (code > 0 && t < i_check.length && i_check[t] == state) ? t : -1;
+	}
+	
+	/** @return the value of the specific state if exists; otherwise, {@code -1}. */
+	public int getValue(int state)
+	{
+		return i_value[state];
+	}
+	
+	/** @return the length of the base and check arrays. */
+	public int getArraySize()
+	{
+		return i_check.length;
+	}
+	
+//	====================================== SERIALIZATION ======================================
+	
+	/** Writes this trie as a flat sequence of big-endian integers that {@link #read(ByteBuffer)} can load from a memory-mapped file. */
+	public void write(DataOutputStream out) throws IOException
+	{
+		int i, size = i_check.length;
+		out.writeInt(size);
+		
+		for (i=0; i<size; i++) out.writeInt(i_base [i]);
+		for (i=0; i<size; i++) out.writeInt(i_check[i]);
+		for (i=0; i<size; i++) out.writeInt(i_value[i]);
+	}
+	
+	/** Reads a trie written by {@link #write(DataOutputStream)} and advances the position of the buffer past it. */
+	static public DoubleArrayTrie read(ByteBuffer buffer)
+	{
+		int size = buffer.getInt();
+		IntBuffer ints = buffer.asIntBuffer();
+		int[] base  = new int[size];
+		int[] check = new int[size];
+		int[] value = new int[size];
+		
+		ints.get(base);
+		ints.get(check);
+		ints.get(value);
+		buffer.position(buffer.position() + size * 3 * Integer.BYTES);
+		
+		return new DoubleArrayTrie(base, check, value);
+	}
+}
@@ -16,7 +16,10 @@
 package edu.emory.clir.clearnlp.collection.tree;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @since 3.0.3
@@ -74,6 +77,27 @@ public class PrefixTree<K extends Comparable<K>,V> implements Serializable
 		return value;
 	}
 	
+	/** @return an immutable copy of this tree for faster lookups. */
+	public DoubleArrayPrefixTree<K,V> toDoubleArrayTree()
+	{
+		Map<List<K>,V> map = new HashMap<>();
+		addEntries(map, n_root, new ArrayList<>());
+		return new DoubleArrayPrefixTree<>(map);
+	}
+	
+	private void addEntries(Map<List<K>,V> map, PrefixNode node, List<K> keys)
+	{
+		if (node.hasValue())
+			map.put(new ArrayList<>(keys), node.getValue());
+		
+		for (Map.Entry<K,PrefixNode> entry : node.entrySet())
+		{
+			keys.add(entry.getKey());
+			addEntries(map, entry.getValue(), keys);
+			keys.remove(keys.size()-1);
+		}
+	}
+	
 	private class PrefixNode extends HashMap<K,PrefixNode>
 	{
 		private static final long serialVersionUID = 1566684742873455351L;
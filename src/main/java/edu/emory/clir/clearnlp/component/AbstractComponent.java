@@ -16,6 +16,8 @@
 package edu.emory.clir.clearnlp.component;
 
 import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.util.metrics.ComponentMetrics;
+import edu.emory.clir.clearnlp.util.metrics.MetricsRegistry;
 
 /**
  * @since 3.0.0
@@ -23,5 +25,33 @@ import edu.emory.clir.clearnlp.dependency.DEPTree;
  */
 abstract public class AbstractComponent
 {
+	private ComponentMetrics m_metrics = null;
+	
 	abstract public void process(DEPTree tree);
+	
+	/** Calls {@link #process(DEPTree)} and records its latency in {@link #getMetrics()} if {@link MetricsRegistry#isEnabled()}. */
+	public void processAndRecord(DEPTree tree)
+	{
+		if (!MetricsRegistry.isEnabled())
+		{
+			process(tree);
+			return;
+		}
+		
+		long start = System.nanoTime();
+		process(tree);
+		getMetrics().record(start, tree.size()-1);
+	}
+	
+	/** @return the metrics shared by all components of the same class. */
+	public ComponentMetrics getMetrics()
+	{
+		if (m_metrics == null)
+		{
+			String name = getClass().getSimpleName();
+			m_metrics = MetricsRegistry.get(name.isEmpty() ? getClass().getName() : name);
+		}
+		
+		return m_metrics;
+	}
 }
\ No newline at end of file
@@ -31,6 +31,7 @@ import org.tukaani.xz.XZOutputStream;
 
 import edu.emory.clir.clearnlp.classification.instance.StringInstance;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.prediction.PredictionBuffer;
 import edu.emory.clir.clearnlp.classification.trainer.AbstractOnlineTrainer;
 import edu.emory.clir.clearnlp.classification.trainer.AdaGradSVM;
 import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
@@ -54,6 +55,8 @@ abstract public class AbstractStatisticalComponent<LabelType, StateType extends
 	protected StringModel[] s_models;
 	protected EvalType      c_eval;
 	protected CFlag         c_flag;
+	/** Reused by each thread so that predictions allocate no memory per token. */
+	private final ThreadLocal<PredictionBuffer> p_buffer = ThreadLocal.withInitial(PredictionBuffer::new);
 	
 	/** Constructs a statistical component for collect. */
 	public AbstractStatisticalComponent(AbstractConfiguration configuration)
@@ -104,13 +107,14 @@ abstract public class AbstractStatisticalComponent<LabelType, StateType extends
 		initDecode(models);
 	}
 	
+	/** Called by {@link #AbstractStatisticalComponent(AbstractConfiguration, AbstractFeatureExtractor[], Object, boolean, int)}; the feature space of each model is decided by the configuration if exists. */
 	private StringModel[] createModels(boolean binary, int modelSize)
 	{
 		StringModel[] models = new StringModel[modelSize];
 		int i;
 		
 		for (i=0; i<modelSize; i++)
-			models[i] = new StringModel(binary);
+			models[i] = (t_configuration != null) ? t_configuration.createModel(binary, i) : new StringModel(binary);
 		
 		return models;
 	}
@@ -233,6 +237,12 @@ abstract public class AbstractStatisticalComponent<LabelType, StateType extends
 		s_models = models;
 	}
 	
+	/** @return the prediction buffer of the current thread. */
+	protected PredictionBuffer getPredictionBuffer()
+	{
+		return p_buffer.get();
+	}
+	
 //	====================================== PROCESS ======================================
 
 	protected List<StringInstance> process(StateType state)
@@ -370,14 +380,15 @@ abstract public class AbstractStatisticalComponent<LabelType, StateType extends
 		catch (Exception e) {e.printStackTrace();}
 	}
 	
-	protected double onlineScore(List<DEPTree> trees)
+	/** @return the evaluation score of this component on copies of the specific trees, whose gold annotation is kept. */
+	public double onlineScore(List<DEPTree> trees)
 	{
 		CFlag originalFlag = c_flag;
 		c_flag = CFlag.EVALUATE;
 		initEval();
 		
 		for (DEPTree tree : trees)
-			process(tree);
+			process(new DEPTree(tree));
 		
 		c_flag = originalFlag;
 		return c_eval.getScore();
@@ -391,7 +402,7 @@ abstract public class AbstractStatisticalComponent<LabelType, StateType extends
 		for (DEPTree tree : trees)
 		{
 			onlineLexicons(tree);
-			process(tree);
+			process(new DEPTree(tree));
 		}
 		
 		c_flag = originalFlag;
@@ -22,13 +22,18 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import edu.emory.clir.clearnlp.classification.model.StringModel;
-import edu.emory.clir.clearnlp.classification.trainer.AbstractAdaGrad;
 import edu.emory.clir.clearnlp.classification.trainer.AbstractLiblinear;
+import edu.emory.clir.clearnlp.classification.trainer.AbstractMiniBatchAdaGrad;
+import edu.emory.clir.clearnlp.classification.trainer.AbstractOnlineTrainer;
 import edu.emory.clir.clearnlp.classification.trainer.AbstractTrainer;
 import edu.emory.clir.clearnlp.classification.trainer.AdaGradLR;
 import edu.emory.clir.clearnlp.classification.trainer.AdaGradSVM;
+import edu.emory.clir.clearnlp.classification.trainer.LazyAdaGradLR;
+import edu.emory.clir.clearnlp.classification.trainer.LazyAdaGradSVM;
 import edu.emory.clir.clearnlp.classification.trainer.LiblinearL2LR;
 import edu.emory.clir.clearnlp.classification.trainer.LiblinearL2SVM;
+import edu.emory.clir.clearnlp.classification.trainer.MiniBatchAdaGradLR;
+import edu.emory.clir.clearnlp.classification.trainer.MiniBatchAdaGradSVM;
 import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
 import edu.emory.clir.clearnlp.component.utils.NLPMode;
 import edu.emory.clir.clearnlp.reader.AbstractReader;
@@ -204,6 +209,21 @@ public class AbstractConfiguration implements ConfigurationXML
 		return (eBootstrap != null) ? Boolean.parseBoolean(XmlUtils.getTrimmedTextContent(eBootstrap)) : false;
 	}
 	
+	/**
+	 * @return a new model to be trained by the {@code index}'th trainer of the current mode.
+	 * If the trainer has a positive {@code hashBits} attribute, features are hashed into {@code 2^hashBits} indices,
+	 * multiplied by hashed signs if {@code signed="true"}; otherwise, features are looked up in a dictionary.
+	 */
+	public StringModel createModel(boolean binary, int index)
+	{
+		Element eMode    = (x_top != null && n_mode != null) ? getModeElement() : null;
+		Element eTrainer = (eMode != null) ? XmlUtils.getElementByTagName(eMode, E_TRAINER, index) : null;
+		if (eTrainer == null || !eTrainer.hasAttribute(A_HASH_BITS)) return new StringModel(binary);
+		
+		int hashBits = XmlUtils.getIntegerAttribute(eTrainer, A_HASH_BITS);
+		return (hashBits > 0) ? new StringModel(binary, hashBits, XmlUtils.getBooleanAttribute(eTrainer, A_SIGNED)) : new StringModel(binary);
+	}
+	
 	public AbstractTrainer[] getTrainers(StringModel[] models)
 	{
 		return getTrainers(models, true);
@@ -231,12 +251,14 @@ public class AbstractConfiguration implements ConfigurationXML
 		{
 		case ALG_ADAGRAD  : return getTrainerAdaGrad  (eTrainer, model);
 		case ALG_LIBLINEAR: return getTrainerLiblinear(eTrainer, model);
+		case ALG_MINI_BATCH: return getTrainerMiniBatch(eTrainer, model);
 		}
 		
 		throw new IllegalArgumentException(algorithm+" is not a valid algorithm name.");
 	}
 	
-	private AbstractAdaGrad getTrainerAdaGrad(Element eTrainer, StringModel model)
+	/** Returns a lazy-update variant if {@code lazy="true"} or either {@code l1} or {@code l2} is positive. */
+	private AbstractOnlineTrainer getTrainerAdaGrad(Element eTrainer, StringModel model)
 	{
 		int labelCutoff   = XmlUtils.getIntegerAttribute(eTrainer, A_LABEL_CUTOFF);
 		int featureCutoff = XmlUtils.getIntegerAttribute(eTrainer, A_FEATURE_CUTOFF);
@@ -246,11 +268,24 @@ public class AbstractConfiguration implements ConfigurationXML
 		double  alpha   = XmlUtils.getDoubleAttribute (eTrainer, "alpha");
 		double  rho     = XmlUtils.getDoubleAttribute (eTrainer, "rho");
 		double  bias    = XmlUtils.getDoubleAttribute (eTrainer, "bias");
+		double  l1      = XmlUtils.getDoubleAttribute (eTrainer, "l1");
+		double  l2      = XmlUtils.getDoubleAttribute (eTrainer, "l2");
 		
-		switch (type)
+		if (XmlUtils.getBooleanAttribute(eTrainer, "lazy") || l1 > 0 || l2 > 0)
 		{
-		case V_SUPPORT_VECTOR_MACHINE: return new AdaGradSVM(model, labelCutoff, featureCutoff, average, alpha, rho, bias);
-		case V_LOGISTIC_REGRESSION   : return new AdaGradLR (model, labelCutoff, featureCutoff, average, alpha, rho, bias);
+			switch (type)
+			{
+			case V_SUPPORT_VECTOR_MACHINE: return new LazyAdaGradSVM(model, labelCutoff, featureCutoff, average, alpha, rho, bias, l1, l2);
+			case V_LOGISTIC_REGRESSION   : return new LazyAdaGradLR (model, labelCutoff, featureCutoff, average, alpha, rho, bias, l1, l2);
+			}
+		}
+		else
+		{
+			switch (type)
+			{
+			case V_SUPPORT_VECTOR_MACHINE: return new AdaGradSVM(model, labelCutoff, featureCutoff, average, alpha, rho, bias);
+			case V_LOGISTIC_REGRESSION   : return new AdaGradLR (model, labelCutoff, featureCutoff, average, alpha, rho, bias);
+			}
 		}
 		
 		throw new IllegalArgumentException(type+" is not a valid algorithm type.");
@@ -266,11 +301,36 @@ public class AbstractConfiguration implements ConfigurationXML
 		double cost = XmlUtils.getDoubleAttribute(eTrainer, "cost");
 		double eps  = XmlUtils.getDoubleAttribute(eTrainer, "eps");
 		double bias = XmlUtils.getDoubleAttribute(eTrainer, "bias");
+		double memory = XmlUtils.getDoubleAttribute(eTrainer, A_MEMORY_BUDGET);	// in megabytes
+		AbstractLiblinear trainer;
+		
+		switch (type)
+		{
+		case V_SUPPORT_VECTOR_MACHINE: trainer = new LiblinearL2SVM(model, labelCutoff, featureCutoff, numThreads, cost, eps, bias); break;
+		case V_LOGISTIC_REGRESSION   : trainer = new LiblinearL2LR (model, labelCutoff, featureCutoff, numThreads, cost, eps, bias); break;
+		default: throw new IllegalArgumentException(type+" is not a valid algorithm type.");
+		}
+		
+		trainer.setMemoryBudget((long)(memory * 1024 * 1024));
+		return trainer;
+	}
+	
+	private AbstractMiniBatchAdaGrad getTrainerMiniBatch(Element eTrainer, StringModel model)
+	{
+		int labelCutoff   = XmlUtils.getIntegerAttribute(eTrainer, A_LABEL_CUTOFF);
+		int featureCutoff = XmlUtils.getIntegerAttribute(eTrainer, A_FEATURE_CUTOFF);
+		int numThreads    = XmlUtils.getIntegerAttribute(eTrainer, A_NUMBER_OF_THREADS);
+		int batchSize     = XmlUtils.getIntegerAttribute(eTrainer, A_BATCH_SIZE);
+		String type       = XmlUtils.getTrimmedAttribute(eTrainer, A_TYPE);
+		
+		double alpha = XmlUtils.getDoubleAttribute(eTrainer, "alpha");
+		double rho   = XmlUtils.getDoubleAttribute(eTrainer, "rho");
+		double bias  = XmlUtils.getDoubleAttribute(eTrainer, "bias");
 		
 		switch (type)
 		{
-		case V_SUPPORT_VECTOR_MACHINE: return new LiblinearL2SVM(model, labelCutoff, featureCutoff, numThreads, cost, eps, bias);
-		case V_LOGISTIC_REGRESSION   : return new LiblinearL2LR (model, labelCutoff, featureCutoff, numThreads, cost, eps, bias);
+		case V_SUPPORT_VECTOR_MACHINE: return new MiniBatchAdaGradSVM(model, labelCutoff, featureCutoff, numThreads, batchSize, alpha, rho, bias);
+		case V_LOGISTIC_REGRESSION   : return new MiniBatchAdaGradLR (model, labelCutoff, featureCutoff, numThreads, batchSize, alpha, rho, bias);
 		}
 		
 		throw new IllegalArgumentException(type+" is not a valid algorithm type.");
@@ -57,8 +57,13 @@ public interface ConfigurationXML
 	String A_LABEL_CUTOFF		= "labelCutoff";
 	String A_FEATURE_CUTOFF		= "featureCutoff";
 	String A_NUMBER_OF_THREADS	= "threads";
+	String A_MEMORY_BUDGET		= "memory";
 	String ALG_ADAGRAD			= "adagrad";
 	String ALG_LIBLINEAR		= "liblinear";
+	String ALG_MINI_BATCH		= "minibatch";
+	String A_BATCH_SIZE			= "batch";
+	String A_HASH_BITS			= "hashBits";
+	String A_SIGNED				= "signed";
 
 	String E_THREAD_SIZE  		= "thread_size";
 	String E_TRAIN_BEAM_SIZE	= "train_beam_size";
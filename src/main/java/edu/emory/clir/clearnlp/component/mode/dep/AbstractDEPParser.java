@@ -20,6 +20,7 @@ import java.util.List;
 
 import edu.emory.clir.clearnlp.classification.instance.StringInstance;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.prediction.PredictionBuffer;
 import edu.emory.clir.clearnlp.classification.prediction.StringPrediction;
 import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
 import edu.emory.clir.clearnlp.collection.pair.ObjectIntPair;
@@ -35,6 +36,8 @@ public class AbstractDEPParser extends AbstractStatisticalComponent<DEPLabel, DE
 {
 	private DEPConfiguration d_configuration;
 	private int[][] label_indices;
+	/** Parsed labels of the model, copied instead of parsing label strings per transition. */
+	private DEPLabel[] dep_labels;
 	
 	/** Creates a dependency parser for train. */
 	public AbstractDEPParser(DEPConfiguration configuration, DEPFeatureExtractor[] extractors, Object lexicons)
@@ -66,10 +69,45 @@ public class AbstractDEPParser extends AbstractStatisticalComponent<DEPLabel, DE
 	
 	private void init(DEPConfiguration configuration)
 	{
-		label_indices = new DEPState().initLabelIndices(s_models[0].getLabels());
+		initLabels();
 		d_configuration = configuration;
 	}
 	
+	@Override
+	public void setModels(StringModel[] models)
+	{
+		super.setModels(models);
+		initLabels();
+	}
+	
+	/** Builds the label tables from the labels of the current model. */
+	private void initLabels()
+	{
+		String[] labels = s_models[0].getLabels();
+		label_indices = new DEPState().initLabelIndices(labels);
+		dep_labels    = initDEPLabels(labels);
+	}
+	
+	private DEPLabel[] initDEPLabels(String[] labels)
+	{
+		DEPLabel[] array = new DEPLabel[labels.length];
+		int i;
+		
+		for (i=0; i<labels.length; i++)
+			array[i] = new DEPLabel(labels[i]);
+		
+		return array;
+	}
+	
+	/** @return a copy of the specific label with the specific score. */
+	private DEPLabel getDEPLabel(int labelIndex, double score)
+	{
+		DEPLabel p = dep_labels[labelIndex];
+		DEPLabel label = new DEPLabel(p.getArc(), p.getList(), p.getDeprel());
+		label.setScore(score);
+		return label;
+	}
+	
 //	====================================== LEXICONS ======================================
 	
 	@Override
@@ -118,16 +156,24 @@ public class AbstractDEPParser extends AbstractStatisticalComponent<DEPLabel, DE
 	@Override
 	protected DEPLabel getAutoLabel(DEPState state, StringFeatureVector vector)
 	{
-		StringPrediction[] ps = getPredictions(state, vector);
-		DEPLabel autoLabel = new DEPLabel(ps[0]);
-		if (autoLabel.isArc(ARC_NO)) state.save2ndHead(ps);
-		return autoLabel;
+		PredictionBuffer buffer = getPredictionBuffer();
+		int[] indices = state.getLabelIndices(label_indices);
+		
+		if (indices != null)	s_models[0].predictTop2(vector, indices, buffer);
+		else					s_models[0].predictTop2(vector, buffer);
+		
+		return getAutoLabel(state, buffer);
 	}
 	
-	protected StringPrediction[] getPredictions(DEPState state, StringFeatureVector vector)
+	/** @return the top label selected in the specific buffer; saves the second label as a candidate head if the top label is no arc and the two are close. */
+	private DEPLabel getAutoLabel(DEPState state, PredictionBuffer buffer)
 	{
-		int[] indices = state.getLabelIndices(label_indices);		
-		return (indices != null) ? s_models[0].predictTop2(vector, indices) : s_models[0].predictTop2(vector);
+		DEPLabel autoLabel = getDEPLabel(buffer.getFirstLabel(), buffer.getFirstScore());
+		
+		if (autoLabel.isArc(ARC_NO) && buffer.getFirstScore() - buffer.getSecondScore() < 1)
+			state.save2ndHead(getDEPLabel(buffer.getSecondLabel(), buffer.getSecondScore()));
+		
+		return autoLabel;
 	}
 	
 //	====================================== POST-PROCESS ======================================
@@ -180,6 +226,14 @@ public class AbstractDEPParser extends AbstractStatisticalComponent<DEPLabel, DE
 	
 //	====================================== ONLINE TRAIN ======================================
 	
+	/** Rebuilds the label tables first if online training has added labels to the model. */
+	@Override
+	public double onlineScore(List<DEPTree> trees)
+	{
+		if (dep_labels.length != s_models[0].getLabelSize()) initLabels();
+		return super.onlineScore(trees);
+	}
+	
 	@Override
 	public void onlineTrain(List<DEPTree> trees)
 	{
@@ -359,9 +359,14 @@ public class DEPState extends AbstractState<DEPArc,DEPLabel> implements DEPTrans
 	public void save2ndHead(StringPrediction[] ps)
 	{
 		if (ps[0].getScore() - ps[1].getScore() < 1)
+			save2ndHead(new DEPLabel(ps[1]));
+	}
+	
+	/** Saves the specific second-best label as a candidate head of the current pair unless it is no arc. */
+	public void save2ndHead(DEPLabel label)
+	{
+		if (!label.isArc(ARC_NO))
 		{
-			DEPLabel label = new DEPLabel(ps[1].getLabel());
-			if (label.isArc(ARC_NO)) return;
 			DEPNode curr, head;
 			
 			if (label.isArc(ARC_LEFT))
@@ -375,7 +380,7 @@ public class DEPState extends AbstractState<DEPArc,DEPLabel> implements DEPTrans
 				curr = getInput();
 			}
 			
-			snd_heads[curr.getID()].add(new ObjectDoublePair<DEPArc>(new DEPArc(head, label.getDeprel()), ps[1].getScore()));
+			snd_heads[curr.getID()].add(new ObjectDoublePair<DEPArc>(new DEPArc(head, label.getDeprel()), label.getScore()));
 		}
 	}
 	
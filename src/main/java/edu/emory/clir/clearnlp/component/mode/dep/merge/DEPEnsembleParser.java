@@ -0,0 +1,130 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.mode.dep.merge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.emory.clir.clearnlp.component.AbstractComponent;
+import edu.emory.clir.clearnlp.component.mode.dep.AbstractDEPParser;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+
+/**
+ * Parses each tree by multiple dependency parsers concurrently and merges their outputs by {@link DEPMSTMerge}.
+ * Each parser parses its own copy of the tree on a daemon thread; each arc proposed by a parser is scored by the weight of the parser.
+ * Each parser is used by at most one thread at a time, so this component processes one tree at a time.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPEnsembleParser extends AbstractComponent
+{
+	private List<AbstractDEPParser> l_parsers;
+	private ExecutorService e_executor;
+	private double[] d_weights;
+	private boolean  b_projective;
+	
+	/** Weights all parsers equally and allows non-projective trees. */
+	public DEPEnsembleParser(List<AbstractDEPParser> parsers)
+	{
+		this(parsers, null, false);
+	}
+	
+	/**
+	 * @param weights the weight of each parser; {@code null} to weight all parsers by 1.
+	 * @param projective if {@code true}, the merged trees are projective.
+	 */
+	public DEPEnsembleParser(List<AbstractDEPParser> parsers, double[] weights, boolean projective)
+	{
+		if (weights == null)
+		{
+			weights = new double[parsers.size()];
+			Arrays.fill(weights, 1);
+		}
+		
+		l_parsers    = new ArrayList<>(parsers);
+		d_weights    = weights;
+		b_projective = projective;
+		e_executor   = Executors.newFixedThreadPool(parsers.size(), r ->
+		{
+			Thread thread = new Thread(r, "clearnlp-dep-ensemble");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	@Override
+	public synchronized void process(DEPTree tree)
+	{
+		List<Future<DEPTree>> futures = new ArrayList<>();
+		DEPMSTMerge merge = new DEPMSTMerge(tree);
+		int i, size = l_parsers.size();
+		
+		for (AbstractDEPParser parser : l_parsers)
+			futures.add(e_executor.submit(() -> parse(parser, tree)));
+		
+		try
+		{
+			for (i=0; i<size; i++)
+				addEdges(merge, tree, futures.get(i).get(), d_weights[i]);
+		}
+		catch (InterruptedException | ExecutionException e) {throw new IllegalStateException(e);}
+		
+		merge.merge(b_projective);
+	}
+	
+	/** Parses a copy of the specific tree without its dependencies. */
+	private DEPTree parse(AbstractDEPParser parser, DEPTree tree)
+	{
+		int i, size = tree.size();
+		DEPTree copy = new DEPTree(size-1);
+		
+		for (i=1; i<size; i++)
+			copy.add(new DEPNode(tree.get(i)));
+		
+		parser.process(copy);
+		return copy;
+	}
+	
+	/** Adds the arcs in the specific output tree to the merge as arcs between the nodes of the specific tree. */
+	static public void addEdges(DEPMSTMerge merge, DEPTree tree, DEPTree output, double weight)
+	{
+		int i, size = tree.size();
+		DEPNode head;
+		
+		for (i=1; i<size; i++)
+		{
+			if ((head = output.get(i).getHead()) != null)
+				merge.addEdge(tree.get(i), tree.get(head.getID()), output.get(i).getLabel(), weight);
+		}
+	}
+	
+	public List<AbstractDEPParser> getParsers()
+	{
+		return l_parsers;
+	}
+	
+	/** Stops the threads; this component cannot process trees afterwards. */
+	public void close()
+	{
+		e_executor.shutdown();
+	}
+}
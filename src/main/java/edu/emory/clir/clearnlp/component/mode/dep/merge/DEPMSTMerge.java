@@ -0,0 +1,339 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.mode.dep.merge;
+
+import java.util.Arrays;
+
+import edu.emory.clir.clearnlp.collection.map.ObjectDoubleHashMap;
+import edu.emory.clir.clearnlp.collection.pair.ObjectDoublePair;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+
+/**
+ * Merges dependency arcs proposed by multiple parsers into the maximum spanning tree of their accumulated scores.
+ * Scores are accumulated in a dense matrix indexed by heads and dependents,
+ * and the tree is found by the Chu-Liu/Edmonds algorithm in {@code O(n^3)}, or by the Eisner algorithm in {@code O(n^3)} if projective.
+ * Unlike {@link DEPMerge}, the result is always a tree covering all nodes;
+ * arcs proposed by no parser are used only if no tree can be formed otherwise.
+ * The label of each arc is the label with the highest accumulated score for the arc.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPMSTMerge
+{
+	/** The score of an arc proposed by no parser. */
+	static final double NO_ARC = -1e9;
+	
+	private DEPTree d_tree;
+	/** [head][dependent]. */
+	private double[][] d_scores;
+	/** [head * n + dependent]; {@code null} if no parser has proposed the arc. */
+	private ObjectDoubleHashMap<String>[] m_labels;
+	
+	@SuppressWarnings("unchecked")
+	public DEPMSTMerge(DEPTree tree)
+	{
+		int size = tree.size();
+		d_tree   = tree;
+		d_scores = new double[size][size];
+		m_labels = new ObjectDoubleHashMap[size * size];
+		for (double[] scores : d_scores) Arrays.fill(scores, NO_ARC);
+	}
+	
+	/** Adds the specific score to the arc and its label. */
+	public void addEdge(DEPNode node, DEPNode head, String label, double score)
+	{
+		int d = node.getID(), h = head.getID(), key = h * d_tree.size() + d;
+		
+		if (m_labels[key] == null)
+		{
+			m_labels[key] = new ObjectDoubleHashMap<>();
+			d_scores[h][d] = 0;
+		}
+		
+		d_scores[h][d] += score;
+		m_labels[key].add(label, score);
+	}
+	
+	/** Merges the arcs into a tree allowing non-projective arcs. */
+	public void merge()
+	{
+		merge(false);
+	}
+	
+	/** @param projective if {@code true}, only projective trees are considered. */
+	public void merge(boolean projective)
+	{
+		int[] heads = projective ? decodeEisner(d_scores) : decodeChuLiuEdmonds(d_scores);
+		int d, size = d_tree.size();
+		DEPNode node;
+		
+		d_tree.clearDependencies();
+		
+		for (d=1; d<size; d++)
+		{
+			node = d_tree.get(d);
+			node.setHead(d_tree.get(heads[d]), getLabel(heads[d], d));
+		}
+	}
+	
+	/** @return the best label of the specific arc; if the arc is proposed by no parser, the best label of the dependent with any head. */
+	private String getLabel(int head, int dep)
+	{
+		int h, size = d_tree.size();
+		ObjectDoubleHashMap<String> labels = m_labels[head * size + dep];
+		if (labels != null) return getBestLabel(labels).o;
+		ObjectDoublePair<String> best = null, p;
+		
+		for (h=0; h<size; h++)
+		{
+			if ((labels = m_labels[h * size + dep]) == null) continue;
+			p = getBestLabel(labels);
+			if (best == null || p.d > best.d) best = p;
+		}
+		
+		return (best != null) ? best.o : null;
+	}
+	
+	private ObjectDoublePair<String> getBestLabel(ObjectDoubleHashMap<String> labels)
+	{
+		ObjectDoublePair<String> best = null;
+		
+		for (ObjectDoublePair<String> p : labels)
+		{
+			if (best == null || p.d > best.d || (p.d == best.d && p.o.compareTo(best.o) < 0))
+				best = p;
+		}
+		
+		return best;
+	}
+	
+//	====================================== CHU-LIU/EDMONDS ======================================
+	
+	/**
+	 * @param scores [head][dependent], where node 0 is the root.
+	 * @return the head of each node in the maximum spanning arborescence rooted at node 0; the head of the root is {@code -1}.
+	 */
+	static int[] decodeChuLiuEdmonds(double[][] scores)
+	{
+		int i, d, h, n = scores.length;
+		int[] heads = new int[n];
+		heads[0] = -1;
+		
+		for (d=1; d<n; d++)
+		{
+			heads[d] = 0;
+			
+			for (h=0; h<n; h++)
+			{
+				if (h != d && scores[h][d] > scores[heads[d]][d])
+					heads[d] = h;
+			}
+		}
+		
+		boolean[] cycle = findCycle(heads);
+		if (cycle == null) return heads;
+		
+		// contract the cycle into the last node of the new graph
+		int[] oldIDs = new int[n], newIDs = new int[n];
+		int m = 0;
+		double cycleScore = 0;
+		
+		for (i=0; i<n; i++)
+		{
+			if (cycle[i])	{newIDs[i] = -1; cycleScore += scores[heads[i]][i];}
+			else			{newIDs[i] = m; oldIDs[m++] = i;}
+		}
+		
+		int c = m;
+		double[][] contracted = new double[m+1][m+1];
+		int[] enterDep = new int[n], exitHead = new int[n];
+		double s;
+		
+		for (double[] row : contracted) Arrays.fill(row, Double.NEGATIVE_INFINITY);
+		
+		for (h=0; h<n; h++)
+		{
+			if (cycle[h]) continue;
+			
+			for (d=1; d<n; d++)
+			{
+				if (h == d) continue;
+				
+				if (!cycle[d])
+					contracted[newIDs[h]][newIDs[d]] = scores[h][d];
+				else if ((s = scores[h][d] - scores[heads[d]][d] + cycleScore) > contracted[newIDs[h]][c])
+				{
+					contracted[newIDs[h]][c] = s;
+					enterDep[h] = d;
+				}
+			}
+		}
+		
+		for (d=1; d<n; d++)
+		{
+			if (cycle[d]) continue;
+			
+			for (h=0; h<n; h++)
+			{
+				if (cycle[h] && scores[h][d] > contracted[c][newIDs[d]])
+				{
+					contracted[c][newIDs[d]] = scores[h][d];
+					exitHead[d] = h;
+				}
+			}
+		}
+		
+		int[] newHeads = decodeChuLiuEdmonds(contracted);
+		
+		for (d=1; d<n; d++)
+		{
+			if (!cycle[d])
+				heads[d] = (newHeads[newIDs[d]] == c) ? exitHead[d] : oldIDs[newHeads[newIDs[d]]];
+		}
+		
+		h = oldIDs[newHeads[c]];
+		heads[enterDep[h]] = h;
+		return heads;
+	}
+	
+	/** @return the nodes in a cycle if exists; otherwise, {@code null}. */
+	static private boolean[] findCycle(int[] heads)
+	{
+		int i, v, n = heads.length;
+		int[] visited = new int[n];
+		
+		for (i=1; i<n; i++)
+		{
+			// mark the path from this node with its ID until reaching the root or a visited node
+			for (v=i; v > 0 && visited[v] == 0; v=heads[v])
+				visited[v] = i;
+			
+			if (v > 0 && visited[v] == i)
+			{
+				boolean[] cycle = new boolean[n];
+				
+				do
+				{
+					cycle[v] = true;
+					v = heads[v];
+				}
+				while (!cycle[v]);
+				
+				return cycle;
+			}
+		}
+		
+		return null;
+	}
+	
+//	====================================== EISNER ======================================
+	
+	/**
+	 * @param scores [head][dependent], where node 0 is the root.
+	 * @return the head of each node in the maximum projective spanning tree rooted at node 0; the head of the root is {@code -1}.
+	 */
+	static int[] decodeEisner(double[][] scores)
+	{
+		int n = scores.length, i, j, k, len;
+		// [s][t][direction]: 0 if the head is t (left arc), 1 if the head is s (right arc)
+		double[][][] complete   = new double[n][n][2];
+		double[][][] incomplete = new double[n][n][2];
+		int[][][] completeSplit   = new int[n][n][2];
+		int[][][] incompleteSplit = new int[n][n][2];
+		double s;
+		
+		for (len=1; len<n; len++)
+		{
+			for (i=0; i+len<n; i++)
+			{
+				j = i + len;
+				incomplete[i][j][0] = incomplete[i][j][1] = Double.NEGATIVE_INFINITY;
+				
+				for (k=i; k<j; k++)
+				{
+					s = complete[i][k][1] + complete[k+1][j][0];
+					
+					if (i > 0 && s + scores[j][i] > incomplete[i][j][0])
+					{
+						incomplete[i][j][0] = s + scores[j][i];
+						incompleteSplit[i][j][0] = k;
+					}
+					
+					if (s + scores[i][j] > incomplete[i][j][1])
+					{
+						incomplete[i][j][1] = s + scores[i][j];
+						incompleteSplit[i][j][1] = k;
+					}
+				}
+				
+				complete[i][j][0] = complete[i][j][1] = Double.NEGATIVE_INFINITY;
+				
+				for (k=i; k<j; k++)
+				{
+					if (i > 0 && (s = complete[i][k][0] + incomplete[k][j][0]) > complete[i][j][0])
+					{
+						complete[i][j][0] = s;
+						completeSplit[i][j][0] = k;
+					}
+				}
+				
+				for (k=i+1; k<=j; k++)
+				{
+					if ((s = incomplete[i][k][1] + complete[k][j][1]) > complete[i][j][1])
+					{
+						complete[i][j][1] = s;
+						completeSplit[i][j][1] = k;
+					}
+				}
+			}
+		}
+		
+		int[] heads = new int[n];
+		heads[0] = -1;
+		backtrack(completeSplit, incompleteSplit, heads, 0, n-1, 1, true);
+		return heads;
+	}
+	
+	static private void backtrack(int[][][] completeSplit, int[][][] incompleteSplit, int[] heads, int s, int t, int direction, boolean complete)
+	{
+		if (s == t) return;
+		int k;
+		
+		if (complete)
+		{
+			k = completeSplit[s][t][direction];
+			
+			if (direction == 0)
+			{
+				backtrack(completeSplit, incompleteSplit, heads, s, k, 0, true);
+				backtrack(completeSplit, incompleteSplit, heads, k, t, 0, false);
+			}
+			else
+			{
+				backtrack(completeSplit, incompleteSplit, heads, s, k, 1, false);
+				backtrack(completeSplit, incompleteSplit, heads, k, t, 1, true);
+			}
+		}
+		else
+		{
+			k = incompleteSplit[s][t][direction];
+			heads[(direction == 0) ? s : t] = (direction == 0) ? t : s;
+			backtrack(completeSplit, incompleteSplit, heads, s, k, 1, true);
+			backtrack(completeSplit, incompleteSplit, heads, k+1, t, 0, true);
+		}
+	}
+}
@@ -31,7 +31,11 @@ import java.util.zip.ZipInputStream;
 
 import org.w3c.dom.Element;
 
+import edu.emory.clir.clearnlp.collection.cache.BoundedCache;
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+import edu.emory.clir.clearnlp.collection.tree.CharTrieMap;
 import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dictionary.DictionarySnapshot;
 import edu.emory.clir.clearnlp.dictionary.PathEnglishMPAnalyzer;
 import edu.emory.clir.clearnlp.morphology.AbstractAffixMatcher;
 import edu.emory.clir.clearnlp.morphology.english.EnglishAffixMatcherFactory;
@@ -40,6 +44,7 @@ import edu.emory.clir.clearnlp.pos.POSLibEn;
 import edu.emory.clir.clearnlp.util.DSUtils;
 import edu.emory.clir.clearnlp.util.IOUtils;
 import edu.emory.clir.clearnlp.util.Splitter;
+import edu.emory.clir.clearnlp.util.StringUtils;
 import edu.emory.clir.clearnlp.util.XmlUtils;
 import edu.emory.clir.clearnlp.util.constant.MetaConst;
 import edu.emory.clir.clearnlp.util.constant.StringConst;
@@ -51,6 +56,7 @@ import edu.emory.clir.clearnlp.util.constant.StringConst;
 public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglishMPAnalyzer
 {
 	final String FIELD_DELIM = StringConst.UNDERSCORE;
+	static public final int DEFAULT_CACHE_SIZE = 100000;
 
 	private EnglishInflection inf_verb;
 	private EnglishInflection inf_noun;
@@ -62,12 +68,22 @@ public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglish
 	private Set<String> base_cardinal;
 	/** Ordinal base-forms */
 	private Set<String> base_ordinal;
+	/** Lemmas keyed by "lower-simplified-word-form_POS"; {@code null} if caching is disabled. */
+	private BoundedCache<String,String> lemma_cache = new BoundedCache<>(DEFAULT_CACHE_SIZE, CacheEviction.LRU);
 	
 //	====================================== CONSTRUCTORS ======================================
 	
-	/** Constructs an English morphological analyzer from the dictionary in a classpath. */
+	/** Constructs an English morphological analyzer from the default {@link DictionarySnapshot} if it contains all sections of the dictionary; otherwise, from the dictionary in a classpath. */
 	public EnglishMPAnalyzer()
 	{
+		DictionarySnapshot snapshot = DictionarySnapshot.getDefault();
+		
+		if (snapshot != null && containsAll(snapshot))
+		{
+			init(snapshot);
+			return;
+		}
+		
 		Element inflection = XmlUtils.getDocumentElement(IOUtils.getInputStreamsFromClasspath(INFLECTION_SUFFIX));
 		
 		try
@@ -77,8 +93,8 @@ public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglish
 			inf_adjective = getInflectionRules(inflection, ADJECTIVE, POSLibEn.POS_JJ);
 			inf_adverb    = getInflectionRules(inflection, ADVERB   , POSLibEn.POS_RB);
 			
-			base_cardinal     = DSUtils.createStringHashSet(IOUtils.getInputStreamsFromClasspath(CARDINAL_BASE));
-			base_ordinal      = DSUtils.createStringHashSet(IOUtils.getInputStreamsFromClasspath(ORDINAL_BASE));
+			base_cardinal     = getBaseSet(IOUtils.getInputStreamsFromClasspath(CARDINAL_BASE));
+			base_ordinal      = getBaseSet(IOUtils.getInputStreamsFromClasspath(ORDINAL_BASE));
 			rule_abbreviation = getAbbreviationMap(IOUtils.getInputStreamsFromClasspath(ABBREVIATOIN_RULE));
 		}
 		catch (IOException e) {e.printStackTrace();}
@@ -95,8 +111,8 @@ public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglish
 			inf_adjective = getInflectionRules(file, inflection, ADJECTIVE, POSLibEn.POS_JJ);
 			inf_adverb    = getInflectionRules(file, inflection, ADVERB   , POSLibEn.POS_RB);
 
-			base_cardinal     = DSUtils.createStringHashSet(file.getInputStream(new ZipEntry(CARDINAL_BASE)));
-			base_ordinal      = DSUtils.createStringHashSet(file.getInputStream(new ZipEntry(ORDINAL_BASE)));
+			base_cardinal     = getBaseSet(file.getInputStream(new ZipEntry(CARDINAL_BASE)));
+			base_ordinal      = getBaseSet(file.getInputStream(new ZipEntry(ORDINAL_BASE)));
 			rule_abbreviation = getAbbreviationMap(file.getInputStream(new ZipEntry(ABBREVIATOIN_RULE)));
 		}
 		catch (IOException e) {e.printStackTrace();}
@@ -117,13 +133,52 @@ public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglish
 			inf_adjective = getInflectionRules(map, inflection, ADJECTIVE, POSLibEn.POS_JJ);
 			inf_adverb    = getInflectionRules(map, inflection, ADVERB   , POSLibEn.POS_RB);
 			
-			base_cardinal     = DSUtils.createStringHashSet(new ByteArrayInputStream(map.get(CARDINAL_BASE)));
-			base_ordinal      = DSUtils.createStringHashSet(new ByteArrayInputStream(map.get(ORDINAL_BASE)));
+			base_cardinal     = getBaseSet(new ByteArrayInputStream(map.get(CARDINAL_BASE)));
+			base_ordinal      = getBaseSet(new ByteArrayInputStream(map.get(ORDINAL_BASE)));
 			rule_abbreviation = getAbbreviationMap  (new ByteArrayInputStream(map.get(ABBREVIATOIN_RULE)));
 		}
 		catch (IOException e) {e.printStackTrace();}
 	}
 	
+	/** Constructs an English morphological analyzer from the dictionary precompiled into the specific snapshot. */
+	public EnglishMPAnalyzer(DictionarySnapshot snapshot)
+	{
+		init(snapshot);
+	}
+	
+	/** @return {@code true} if the specific snapshot contains every section read by {@link #init(DictionarySnapshot)}. */
+	static private boolean containsAll(DictionarySnapshot snapshot)
+	{
+		if (!snapshot.contains(INFLECTION_SUFFIX) || !snapshot.contains(ABBREVIATOIN_RULE) || !snapshot.contains(CARDINAL_BASE) || !snapshot.contains(ORDINAL_BASE))
+			return false;
+		
+		for (String type : new String[]{VERB, NOUN, ADJECTIVE, ADVERB})
+		{
+			if (!snapshot.contains(ROOT + type + EXT_BASE) || !snapshot.contains(ROOT + type + EXT_EXCEPTION))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	private void init(DictionarySnapshot snapshot)
+	{
+		try
+		{
+			Element inflection = XmlUtils.getDocumentElement(snapshot.getInputStream(INFLECTION_SUFFIX));
+			
+			inf_verb      = getInflectionRules(snapshot, inflection, VERB     , POSLibEn.POS_VB);
+			inf_noun      = getInflectionRules(snapshot, inflection, NOUN     , POSLibEn.POS_NN);
+			inf_adjective = getInflectionRules(snapshot, inflection, ADJECTIVE, POSLibEn.POS_JJ);
+			inf_adverb    = getInflectionRules(snapshot, inflection, ADVERB   , POSLibEn.POS_RB);
+			
+			base_cardinal     = getBaseSet(snapshot, CARDINAL_BASE);
+			base_ordinal      = getBaseSet(snapshot, ORDINAL_BASE);
+			rule_abbreviation = getAbbreviationMap(snapshot.getInputStream(ABBREVIATOIN_RULE));
+		}
+		catch (IOException e) {e.printStackTrace();}
+	}
+	
 	/** Called by {@link #EnglishMPAnalyzer()}. */
 	private EnglishInflection getInflectionRules(Element eInflection, String type, String basePOS) throws IOException
 	{
@@ -154,14 +209,37 @@ public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglish
 		return getInflection(baseStream, exceptionStream, eAffixes, basePOS);
 	}
 	
+	/** Called by {@link #EnglishMPAnalyzer(DictionarySnapshot)}. */
+	private EnglishInflection getInflectionRules(DictionarySnapshot snapshot, Element eInflection, String type, String basePOS) throws IOException
+	{
+		Element eAffixes = XmlUtils.getFirstElementByTagName(eInflection, type);
+		Map<String,String> exceptionMap = snapshot.getObject(ROOT + type + EXT_EXCEPTION);
+		List<AbstractAffixMatcher> affixMatchers = new EnglishAffixMatcherFactory().createAffixMatchers(eAffixes);
+		Set<String> baseSet = getBaseSet(snapshot, ROOT + type + EXT_BASE);
+		return new EnglishInflection(basePOS, baseSet, exceptionMap, affixMatchers);
+	}
+	
 	private EnglishInflection getInflection(InputStream baseStream, InputStream exceptionStream, Element eAffixes, String basePOS) throws IOException
 	{
-		Map<String,String> exceptionMap = (exceptionStream != null) ? DSUtils.createStringHashMap(exceptionStream, Splitter.T_SPACE) : null;
+		Map<String,String> exceptionMap = (exceptionStream != null) ? new CharTrieMap<>(DSUtils.createStringHashMap(exceptionStream, Splitter.T_SPACE)) : null;
 		List<AbstractAffixMatcher> affixMatchers = new EnglishAffixMatcherFactory().createAffixMatchers(eAffixes);
-		Set<String> baseSet = DSUtils.createStringHashSet(baseStream);
+		Set<String> baseSet = getBaseSet(baseStream);
 		return new EnglishInflection(basePOS, baseSet, exceptionMap, affixMatchers);
 	}
+	
+	/** @return the base-forms in the specific stream compiled into a trie. */
+	private Set<String> getBaseSet(InputStream stream)
+	{
+		return CharTrieMap.createSet(DSUtils.createStringHashSet(stream));
+	}
 
+	/** @return the base-forms precompiled into a trie in the specific snapshot. */
+	private Set<String> getBaseSet(DictionarySnapshot snapshot, String path)
+	{
+		CharTrieMap<Boolean> trie = snapshot.getObject(path);
+		return trie.keySet();
+	}
+	
 	private Map<String,String> getAbbreviationMap(InputStream stream) throws IOException
 	{
 		BufferedReader fin = new BufferedReader(new InputStreamReader(stream));
@@ -180,7 +258,57 @@ public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglish
 			map.put(key, base);
 		}
 			
-		return map;
+		return new CharTrieMap<>(map);
+	}
+	
+//	====================================== CACHE ======================================
+	
+	/**
+	 * Replaces the lemma cache with an empty one.
+	 * @param maxSize the maximum number of (word-form, POS) pairs to be cached; if {@code 0}, caching is disabled.
+	 */
+	public void initLemmaCache(int maxSize, CacheEviction eviction)
+	{
+		lemma_cache = (maxSize > 0) ? new BoundedCache<>(maxSize, eviction) : null;
+	}
+	
+	/** @return the lemma cache for monitoring its hit-rate if enabled; otherwise, {@code null}. */
+	public BoundedCache<String,String> getLemmaCache()
+	{
+		return lemma_cache;
+	}
+	
+	/**
+	 * Warms up the lemma cache with the (word-form, POS) pairs in the specific stream until the cache gets full.
+	 * Each line consists of a word-form and its POS tag followed by an optional count, separated by white spaces,
+	 * sorted by frequency in descending order.
+	 * A pair whose cache segment is already full is skipped instead of evicting a more frequent pair ({@link BoundedCache#offer(Object, Object)}).
+	 * @return the number of pairs added to the cache.
+	 */
+	public int preloadLemmaCache(InputStream in) throws IOException
+	{
+		if (lemma_cache == null) return 0;
+		BufferedReader fin = new BufferedReader(new InputStreamReader(in));
+		String line, form, pos;
+		String[] tmp;
+		int count = 0;
+		
+		while ((line = fin.readLine()) != null && !lemma_cache.isFull())
+		{
+			tmp = Splitter.splitSpace(line.trim());
+			if (tmp.length < 2) continue;
+			form = StringUtils.toLowerCaseSimplifiedForm(tmp[0]);
+			pos  = tmp[1];
+			if (lemma_cache.offer(getCacheKey(form, pos), getLemma(form, pos))) count++;
+		}
+		
+		lemma_cache.resetStatistics();
+		return count;
+	}
+	
+	private String getCacheKey(String form, String pos)
+	{
+		return form + FIELD_DELIM + pos;
 	}
 	
 	/**
@@ -192,18 +320,31 @@ public class EnglishMPAnalyzer extends AbstractMPAnalyzer implements PathEnglish
 	{
 		String lswf = node.getLowerSimplifiedWordForm(); 
 		String pos  = node.getPOSTag();
-		String lemma;
 		
-		if ((lemma = getAbbreviation(lswf, pos)) != null || (lemma = getBaseFormFromInflection(lswf, pos)) != null)
-			node.setLemma(lemma);
+		if (lemma_cache != null)
+			node.setLemma(lemma_cache.computeIfAbsent(getCacheKey(lswf, pos), k -> getLemma(lswf, pos)));
 		else
-			node.setLemma(lswf);
+			node.setLemma(getLemma(lswf, pos));
+	}
+	
+	/**
+	 * @param form the lower simplified word-form.
+	 * @return the lemma of the specific word-form and POS tag without consulting the cache.
+	 */
+	public String getLemma(String form, String pos)
+	{
+		String lemma;
+		
+		if ((lemma = getAbbreviation(form, pos)) == null && (lemma = getBaseFormFromInflection(form, pos)) == null)
+			lemma = form;
+		
+		if      (isCardinal(lemma))	return MetaConst.CARDINAL;
+		else if (isOrdinal (lemma))	return MetaConst.ORDINAL;
 		
-		if      (isCardinal(node.getLemma()))	node.setLemma(MetaConst.CARDINAL);
-		else if (isOrdinal (node.getLemma()))	node.setLemma(MetaConst.ORDINAL);
+		return lemma;
 	}
 	
-	/** Called by {@link #analyze(DEPNode)}. */
+	/** Called by {@link #getLemma(String, String)}. */
 	private String getAbbreviation(String form, String pos)
 	{
 		String key = form + FIELD_DELIM + pos;
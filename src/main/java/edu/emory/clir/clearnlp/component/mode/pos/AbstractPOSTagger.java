@@ -16,13 +16,19 @@
 package edu.emory.clir.clearnlp.component.mode.pos;
 
 import java.io.ObjectInputStream;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import edu.emory.clir.clearnlp.classification.instance.StringInstance;
 import edu.emory.clir.clearnlp.classification.model.StringModel;
-import edu.emory.clir.clearnlp.classification.prediction.StringPrediction;
+import edu.emory.clir.clearnlp.classification.prediction.PredictionBuffer;
 import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
+import edu.emory.clir.clearnlp.collection.list.IntArrayList;
 import edu.emory.clir.clearnlp.component.AbstractStatisticalComponent;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
 import edu.emory.clir.clearnlp.dependency.DEPTree;
 
 /**
@@ -32,6 +38,9 @@ import edu.emory.clir.clearnlp.dependency.DEPTree;
 public abstract class AbstractPOSTagger extends AbstractStatisticalComponent<String, POSState, POSEval, POSFeatureExtractor>
 {
 	private POSLexicon pos_lexicon;
+	/** Label indices of the tag dictionary entries, keyed by simplified word-forms; immutable once built so that decoding threads only read it. */
+	private Map<String,int[]> tag_indices = Collections.emptyMap();
+	private boolean tag_dictionary;
 	
 	/** Creates a pos tagger for collect. */
 	public AbstractPOSTagger(POSConfiguration configuration)
@@ -44,7 +53,13 @@ public abstract class AbstractPOSTagger extends AbstractStatisticalComponent<Str
 	/** Creates a pos tagger for train. */
 	public AbstractPOSTagger(POSFeatureExtractor[] extractors, Object lexicons)
 	{
-		super(null, extractors, lexicons, false, 1);
+		this(null, extractors, lexicons);
+	}
+	
+	/** Creates a pos tagger for train, whose model is created by the specific configuration. */
+	public AbstractPOSTagger(POSConfiguration configuration, POSFeatureExtractor[] extractors, Object lexicons)
+	{
+		super(configuration, extractors, lexicons, false, 1);
 	}
 	
 	/** Creates a pos tagger for bootstrap or evaluate. */
@@ -78,6 +93,68 @@ public abstract class AbstractPOSTagger extends AbstractStatisticalComponent<Str
 	public void setLexicons(Object lexicons)
 	{
 		pos_lexicon = (POSLexicon)lexicons;
+		if (tag_dictionary) initTagIndices();
+	}
+	
+	@Override
+	public void setModels(StringModel[] models)
+	{
+		super.setModels(models);
+		if (tag_dictionary) initTagIndices();
+	}
+	
+//	====================================== TAG DICTIONARY ======================================
+	
+	/**
+	 * If {@code true}, scores only the tags observed with each frequent word-form during training
+	 * ({@link POSLexicon#getTagDictionary(String)}) while decoding or evaluating.
+	 * Rare or unknown word-forms always get scored against all labels.
+	 * The label indices of the tag dictionary are built by this call, so it must be called again if labels are added to the model afterwards (e.g., by training).
+	 */
+	public void setTagDictionaryDecoding(boolean decoding)
+	{
+		tag_dictionary = decoding;
+		if (decoding) initTagIndices();
+	}
+	
+	public boolean isTagDictionaryDecoding()
+	{
+		return tag_dictionary;
+	}
+	
+	/** Maps the tags of every tag dictionary entry to label indices; entries without any label in the model are left out. */
+	private void initTagIndices()
+	{
+		if (pos_lexicon == null || s_models == null)
+		{
+			tag_indices = Collections.emptyMap();
+			return;
+		}
+		
+		Map<String,int[]> map = new HashMap<>();
+		IntArrayList list = new IntArrayList();
+		int index;
+		
+		for (Entry<String,String[]> entry : pos_lexicon.getTagDictionary().entrySet())
+		{
+			list.clear();
+			
+			for (String tag : entry.getValue())
+			{
+				index = s_models[0].getLabelIndex(tag);
+				if (index >= 0) list.add(index);
+			}
+			
+			if (!list.isEmpty()) map.put(entry.getKey(), list.toArray());
+		}
+		
+		tag_indices = Collections.unmodifiableMap(map);
+	}
+	
+	/** @return the label indices of the tags observed with the specific node if exist; otherwise, {@code null}. */
+	private int[] getTagDictionaryIndices(DEPNode node)
+	{
+		return tag_indices.get(node.getSimplifiedWordForm());
 	}
 	
 //	====================================== EVAL ======================================
@@ -119,12 +196,33 @@ public abstract class AbstractPOSTagger extends AbstractStatisticalComponent<Str
 		return f_extractors[0].createStringFeatureVector(state);
 	}
 	
+	@Override
+	protected String decode(POSState state)
+	{
+		int[] indices = tag_dictionary ? getTagDictionaryIndices(state.getInput()) : null;
+		if (indices == null) return super.decode(state);
+		
+		// unambiguous word-forms need neither features nor scores
+		if (indices.length == 1) return s_models[0].getLabels()[indices[0]];
+		
+		StringFeatureVector vector = createStringFeatureVector(state);
+		PredictionBuffer buffer = getPredictionBuffer();
+		s_models[0].predictTop2(vector, indices, buffer);
+		return getAutoLabel(state, buffer);
+	}
+	
 	@Override
 	protected String getAutoLabel(POSState state, StringFeatureVector vector)
 	{
-		StringPrediction[] ps = s_models[0].predictTop2(vector);
-		state.save2ndLabel(ps);
-		return ps[0].getLabel();
+		PredictionBuffer buffer = getPredictionBuffer();
+		s_models[0].predictTop2(vector, buffer);
+		return getAutoLabel(state, buffer);
+	}
+	
+	private String getAutoLabel(POSState state, PredictionBuffer buffer)
+	{
+		state.save2ndLabel(s_models[0].getLabel(buffer.getSecondLabel()), buffer.getFirstScore() - buffer.getSecondScore());
+		return s_models[0].getLabel(buffer.getFirstLabel());
 	}
 	
 	abstract void postProcess(POSState state);
@@ -37,6 +37,12 @@ public class DefaultPOSTagger extends AbstractPOSTagger
 		super(extractors, lexicons);
 	}
 	
+	/** Creates a pos tagger for train, whose model is created by the specific configuration. */
+	public DefaultPOSTagger(POSConfiguration configuration, POSFeatureExtractor[] extractors, Object lexicons)
+	{
+		super(configuration, extractors, lexicons);
+	}
+	
 	/** Creates a pos tagger for bootstrap or evaluate. */
 	public DefaultPOSTagger(POSFeatureExtractor[] extractors, Object lexicons, StringModel[] models, boolean bootstrap)
 	{
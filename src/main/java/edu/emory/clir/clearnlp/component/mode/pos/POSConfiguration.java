@@ -30,6 +30,7 @@ import edu.emory.clir.clearnlp.util.XmlUtils;
 public class POSConfiguration extends AbstractConfiguration
 {
 	private double ambiguity_class_threshold;
+	private double tag_dictionary_threshold;
 	private int document_frequency_cutoff;
 	private int document_size;
 
@@ -57,6 +58,9 @@ public class POSConfiguration extends AbstractConfiguration
 		setAmbiguityClassThreshold(ac);
 		setDocumentFrequencyCutoff(df);
 		setDocumentSize(ds);
+		
+		Element eTD = XmlUtils.getFirstElementByTagName(eMode, "tag_dictionary_threshold");
+		if (eTD != null) setTagDictionaryThreshold(XmlUtils.getDoubleTextContent(eTD));
 	}
 	
 //	============================== Getters ==============================
@@ -66,6 +70,12 @@ public class POSConfiguration extends AbstractConfiguration
 		return ambiguity_class_threshold;
 	}
 	
+	/** @return the minimum probability of a tag given a word-form to be included in the tag dictionary (default: 0). */
+	public double getTagDictionaryThreshold()
+	{
+		return tag_dictionary_threshold;
+	}
+	
 	public int getDocumentFrequencyCutoff()
 	{
 		return document_frequency_cutoff;
@@ -83,6 +93,11 @@ public class POSConfiguration extends AbstractConfiguration
 		ambiguity_class_threshold = threshold;
 	}
 	
+	public void setTagDictionaryThreshold(double threshold)
+	{
+		tag_dictionary_threshold = threshold;
+	}
+	
 	public void setDocumentFrequencyCutoff(int cutoff)
 	{
 		document_frequency_cutoff = cutoff;
@@ -16,6 +16,7 @@
 package edu.emory.clir.clearnlp.component.mode.pos;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -25,6 +26,7 @@ import java.util.Set;
 import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
 import edu.emory.clir.clearnlp.collection.ngram.Bigram;
 import edu.emory.clir.clearnlp.collection.pair.ObjectDoublePair;
+import edu.emory.clir.clearnlp.collection.pair.ObjectIntPair;
 import edu.emory.clir.clearnlp.dependency.DEPNode;
 import edu.emory.clir.clearnlp.util.DSUtils;
 import edu.emory.clir.clearnlp.util.Joiner;
@@ -41,11 +43,13 @@ public class POSLexicon implements Serializable
 
 	private ObjectIntHashMap<String> document_frequencies;
 	private Map<String,String> ambiguity_class_features;
+	private Map<String,String[]> tag_dictionary;
 	private Bigram<String,String> ambiguity_classes;
 	private Set<String> document; 
 	private int tree_count;
 	
 	private double ambiguity_class_threshold;
+	private double tag_dictionary_threshold;
 	private int document_frequency_cutoff;
 	private int document_size;
 	
@@ -53,10 +57,12 @@ public class POSLexicon implements Serializable
 	{	
 		document_frequencies = new ObjectIntHashMap<>();
 		ambiguity_class_features = new HashMap<>();
+		tag_dictionary = new HashMap<>();
 		ambiguity_classes = new Bigram<>();
 		initDocument();
 		
 		setAmbiguityClassThreshold(configuration.getAmbiguityClassThreshold());
+		setTagDictionaryThreshold(configuration.getTagDictionaryThreshold());
 		setDocumentFrequencyCutoff(configuration.getDocumentFrequencyCutoff());
 		setDocumentSize(configuration.getDocumentSize());
 	}
@@ -83,11 +89,37 @@ public class POSLexicon implements Serializable
 		tree_count = 0;
 	}
 	
+	/**
+	 * Adds document frequencies counted outside of the training data (e.g., by {@link edu.emory.clir.clearnlp.util.FrequencyCounter})
+	 * to the frequencies compared with the document frequency cutoff.
+	 * Each word-form is lowercased and simplified as in {@link #collect(POSState)}, so raw tokens can be added as they are.
+	 */
+	public void addDocumentFrequencies(ObjectIntHashMap<String> frequencies)
+	{
+		for (ObjectIntPair<String> p : frequencies)
+			document_frequencies.add(StringUtils.toLowerCaseSimplifiedForm(p.o), p.i);
+	}
+	
 	public String getAmbiguityClassFeature(String simplifiedWordForm)
 	{
 		return ambiguity_class_features.get(simplifiedWordForm);
 	}
 	
+	/**
+	 * @return the set of part-of-speech tags observed with the specific word-form during collect,
+	 * or {@code null} if the word-form is rare, unknown, or this lexicon was trained without a tag dictionary.
+	 */
+	public String[] getTagDictionary(String simplifiedWordForm)
+	{
+		return (tag_dictionary != null) ? tag_dictionary.get(simplifiedWordForm) : null;
+	}
+	
+	/** @return the tag dictionary keyed by simplified word-forms, which is empty if this lexicon was trained without a tag dictionary; not to be modified. */
+	public Map<String,String[]> getTagDictionary()
+	{
+		return (tag_dictionary != null) ? tag_dictionary : Collections.emptyMap();
+	}
+	
 	public void finalizeCollect()
 	{
 		finalizeCollect(ambiguity_classes.getBigramSet());
@@ -108,9 +140,23 @@ public class POSLexicon implements Serializable
 				DSUtils.sortReverseOrder(ps);
 				ambiguity_class_features.put(key, Joiner.joinObject(ps, StringConst.UNDERSCORE));
 			}
+			
+			ps = ambiguity_classes.toList(key, tag_dictionary_threshold);
+			if (!ps.isEmpty()) tag_dictionary.put(key, toTagArray(ps));
 		}
 	}
 	
+	private String[] toTagArray(List<ObjectDoublePair<String>> ps)
+	{
+		String[] tags = new String[ps.size()];
+		int i = 0;
+		
+		for (ObjectDoublePair<String> p : ps)
+			tags[i++] = p.o;
+		
+		return tags;
+	}
+	
 	public boolean includeForm(String lowerSimplifiedWordForm)
 	{
 		return document_frequencies.get(lowerSimplifiedWordForm) > document_frequency_cutoff;
@@ -121,6 +167,11 @@ public class POSLexicon implements Serializable
 		ambiguity_class_threshold = threshold;
 	}
 	
+	public void setTagDictionaryThreshold(double threshold)
+	{
+		tag_dictionary_threshold = threshold;
+	}
+	
 	public void setDocumentFrequencyCutoff(int cutoff)
 	{
 		document_frequency_cutoff = cutoff;
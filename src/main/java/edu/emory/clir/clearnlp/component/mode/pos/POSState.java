@@ -55,11 +55,14 @@ public class POSState extends AbstractLRState
 	
 	public void save2ndLabel(StringPrediction[] ps)
 	{
-		StringPrediction fst = ps[0];
-		StringPrediction snd = ps[1];
-		
-		if (fst.getScore() - snd.getScore() < 1)
-			getInput().putFeat(DEPLib.FEAT_POS2, snd.getLabel());
+		save2ndLabel(ps[1].getLabel(), ps[0].getScore() - ps[1].getScore());
+	}
+	
+	/** Saves the specific second-best label if its score is within {@code 1} from the best score. */
+	public void save2ndLabel(String label, double margin)
+	{
+		if (margin < 1)
+			getInput().putFeat(DEPLib.FEAT_POS2, label);
 	}
 	
 //	====================================== FEATURES ======================================
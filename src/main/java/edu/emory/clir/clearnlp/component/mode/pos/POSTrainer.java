@@ -56,7 +56,7 @@ public class POSTrainer extends AbstractNLPTrainer
 	@Override
 	protected AbstractStatisticalComponent<?,?,?,?> createComponentForTrain(Object lexicons)
 	{
-		return new DefaultPOSTagger(f_extractors, lexicons);
+		return new DefaultPOSTagger((POSConfiguration)t_configuration, f_extractors, lexicons);
 	}
 	
 	@Override
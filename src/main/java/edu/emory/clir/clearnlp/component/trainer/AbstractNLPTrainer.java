@@ -20,7 +20,6 @@ import java.util.List;
 
 import edu.emory.clir.clearnlp.classification.model.StringModel;
 import edu.emory.clir.clearnlp.classification.trainer.AbstractOneVsAllTrainer;
-import edu.emory.clir.clearnlp.classification.trainer.AbstractOnlineTrainer;
 import edu.emory.clir.clearnlp.classification.trainer.AbstractTrainer;
 import edu.emory.clir.clearnlp.collection.pair.ObjectDoublePair;
 import edu.emory.clir.clearnlp.component.AbstractStatisticalComponent;
@@ -138,7 +137,8 @@ public abstract class AbstractNLPTrainer
 				
 				switch (trainer.getTrainerType())
 				{
-				case ONLINE    : score = trainOnline  (component, (AbstractOnlineTrainer)  trainer, developFiles, i); break;
+				case ONLINE    :
+				case MINI_BATCH: score = trainOnline  (component, trainer, developFiles, i); break;
 				case ONE_VS_ALL: score = trainOneVsAll(component, (AbstractOneVsAllTrainer)trainer, developFiles);    break;
 				}
 			}
@@ -149,7 +149,7 @@ public abstract class AbstractNLPTrainer
 		return score;
 	}
 	
-	private double trainOnline(AbstractStatisticalComponent<?,?,?,?> component, AbstractOnlineTrainer trainer, List<String> developFiles, int modelID) throws Exception
+	private double trainOnline(AbstractStatisticalComponent<?,?,?,?> component, AbstractTrainer trainer, List<String> developFiles, int modelID) throws Exception
 	{
 		StringModel model = component.getModel(modelID);
 		AbstractEval<?> eval = component.getEval();
@@ -0,0 +1,392 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.emory.clir.clearnlp.component.AbstractComponent;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.metrics.ComponentMetrics;
+import edu.emory.clir.clearnlp.util.metrics.MetricsRegistry;
+
+/**
+ * Serves a component whose model can be replaced while decoding (e.g., in a long-running service).
+ * A new model is loaded and warmed up on a background daemon thread, then published atomically as the next version.
+ * Each call of {@link #process(DEPTree)} runs entirely on the version current when the call begins,
+ * so in-flight sentences finish on the old version, and the old component is released as soon as its last sentence finishes.
+ * Reloads are triggered by {@link #reload(String)} or by {@link #watch(String, long)}, and each version keeps its own metrics.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ModelRegistry<T extends AbstractComponent> extends AbstractComponent
+{
+	private final String             s_name;
+	private final ComponentLoader<T> c_loader;
+	private final List<DEPTree>      l_warmupTrees;
+	private final AtomicReference<ModelVersion<T>> r_current;
+	private final AtomicInteger      n_lastVersion;
+	private final ExecutorService    e_loader;
+	private ScheduledExecutorService e_watcher;
+	
+	/**
+	 * @param name the prefix of the metrics names of all versions.
+	 * @param warmupTrees sample trees processed by each new component before it is published; copies are processed so that these trees are not modified.
+	 */
+	public ModelRegistry(String name, ComponentLoader<T> loader, List<DEPTree> warmupTrees)
+	{
+		s_name        = name;
+		c_loader      = loader;
+		l_warmupTrees = new ArrayList<>(warmupTrees);
+		r_current     = new AtomicReference<>();
+		n_lastVersion = new AtomicInteger(0);
+		e_watcher     = null;
+		e_loader      = Executors.newSingleThreadExecutor(r ->
+		{
+			Thread thread = new Thread(r, "clearnlp-model-loader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+//	====================================== PROCESS ======================================
+	
+	@Override
+	public void process(DEPTree tree)
+	{
+		ModelVersion<T> version = acquire();
+		
+		try
+		{
+			if (MetricsRegistry.isEnabled())
+			{
+				long start = System.nanoTime();
+				version.getComponent().process(tree);
+				version.getMetrics().record(start, tree.size()-1);
+			}
+			else
+				version.getComponent().process(tree);
+			
+			version.n_sentences.increment();
+		}
+		finally
+		{
+			version.release();
+		}
+	}
+	
+	/**
+	 * @return the current version, which is not released until {@link ModelVersion#release()} is called.
+	 * @throws IllegalStateException if no version has been published.
+	 */
+	public ModelVersion<T> acquire()
+	{
+		ModelVersion<T> version;
+		
+		// fails only if the version has been replaced and released in between
+		while (true)
+		{
+			version = r_current.get();
+			if (version == null) throw new IllegalStateException("No model has been published: "+s_name);
+			if (version.tryAcquire()) return version;
+		}
+	}
+	
+//	====================================== PUBLISH ======================================
+	
+	/** Loads, warms up, and publishes the model of the specific path on the calling thread. */
+	public ModelVersion<T> load(String modelPath) throws Exception
+	{
+		return publish(c_loader.load(modelPath), modelPath);
+	}
+	
+	/**
+	 * Loads, warms up, and publishes the model of the specific path on a background thread; reloads run one at a time in the called order.
+	 * If loading or warming up fails, the current version keeps serving and the future throws the failure.
+	 */
+	public Future<ModelVersion<T>> reload(String modelPath)
+	{
+		return e_loader.submit(() ->
+		{
+			try
+			{
+				return load(modelPath);
+			}
+			catch (Exception e)
+			{
+				BinUtils.LOG.info("Failed to reload "+s_name+" from "+modelPath+"; keeping version "+getVersion()+".\n");
+				throw e;
+			}
+		});
+	}
+	
+	/**
+	 * Warms up the specific component and publishes it as the next version; the previous version is released once it drains.
+	 * @param source a description of where the model comes from (e.g., the model path).
+	 */
+	public ModelVersion<T> publish(T component, String source)
+	{
+		long start = System.currentTimeMillis();
+		warmUp(component);
+		ModelVersion<T> version, old;
+		
+		synchronized (r_current)
+		{
+			version = new ModelVersion<>(s_name, n_lastVersion.incrementAndGet(), source, component);
+			old = r_current.getAndSet(version);
+		}
+		
+		BinUtils.LOG.info(String.format("Published %s version %d from %s in %d ms.\n", s_name, version.getVersion(), source, System.currentTimeMillis() - start));
+		if (old != null) old.retire();
+		return version;
+	}
+	
+	private void warmUp(T component)
+	{
+		int i, size;
+		DEPTree copy;
+		
+		for (DEPTree tree : l_warmupTrees)
+		{
+			size = tree.size();
+			copy = new DEPTree(size-1);
+			
+			for (i=1; i<size; i++)
+				copy.add(new DEPNode(tree.get(i)));
+			
+			component.process(copy);
+		}
+	}
+	
+//	====================================== WATCH ======================================
+	
+	/**
+	 * Checks the specific model file every specific number of seconds from a daemon thread until {@link #stopWatching()} is called,
+	 * and calls {@link #reload(String)} once the file has been modified and stayed unchanged for a whole period (so that a file being copied is not loaded).
+	 */
+	public synchronized void watch(String modelPath, long periodSeconds)
+	{
+		stopWatching();
+		File file = new File(modelPath);
+		long[] stamps = {getStamp(file), getStamp(file)};	// {loaded, last seen}
+		
+		e_watcher = Executors.newSingleThreadScheduledExecutor(r ->
+		{
+			Thread thread = new Thread(r, "clearnlp-model-watcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		e_watcher.scheduleWithFixedDelay(() ->
+		{
+			long stamp = getStamp(file);
+			
+			if (stamp != stamps[0] && stamp == stamps[1] && file.isFile())
+			{
+				stamps[0] = stamp;
+				reload(modelPath);
+			}
+			
+			stamps[1] = stamp;
+		}, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+	}
+	
+	private long getStamp(File file)
+	{
+		return file.lastModified() * 31 + file.length();
+	}
+	
+	public synchronized void stopWatching()
+	{
+		if (e_watcher != null)
+		{
+			e_watcher.shutdownNow();
+			e_watcher = null;
+		}
+	}
+	
+	/** Stops watching and reloading; the current version keeps serving. */
+	public void close()
+	{
+		stopWatching();
+		e_loader.shutdownNow();
+	}
+	
+//	====================================== GETTERS ======================================
+	
+	public String getName()
+	{
+		return s_name;
+	}
+	
+	/** @return the current version, or {@code null} if no version has been published. */
+	public ModelVersion<T> getCurrent()
+	{
+		return r_current.get();
+	}
+	
+	/** @return the number of the current version, or {@code 0} if no version has been published. */
+	public int getVersion()
+	{
+		ModelVersion<T> version = r_current.get();
+		return (version != null) ? version.getVersion() : 0;
+	}
+	
+//	====================================== CLASSES ======================================
+	
+	public interface ComponentLoader<T>
+	{
+		T load(String modelPath) throws Exception;
+	}
+	
+	/** A published component whose in-flight count becomes {@code -1} once it is retired and drained. */
+	static public class ModelVersion<T extends AbstractComponent>
+	{
+		private final String         s_metricsName;
+		private final String         s_source;
+		private final int            n_version;
+		private final long           l_publishTime;
+		private final AtomicInteger  n_inFlight;
+		private final LongAdder      n_sentences;
+		private final CountDownLatch c_released;
+		private volatile boolean     b_retired;
+		private volatile T           t_component;
+		
+		private ModelVersion(String name, int version, String source, T component)
+		{
+			s_metricsName = name+"-v"+version;
+			s_source      = source;
+			n_version     = version;
+			l_publishTime = System.currentTimeMillis();
+			n_inFlight    = new AtomicInteger(0);
+			n_sentences   = new LongAdder();
+			c_released    = new CountDownLatch(1);
+			b_retired     = false;
+			t_component   = component;
+		}
+		
+		private boolean tryAcquire()
+		{
+			int count;
+			
+			do
+			{
+				if ((count = n_inFlight.get()) < 0) return false;
+			}
+			while (!n_inFlight.compareAndSet(count, count+1));
+			
+			return true;
+		}
+		
+		/** Must be called once for each {@link ModelRegistry#acquire()}. */
+		public void release()
+		{
+			if (n_inFlight.decrementAndGet() == 0 && b_retired)
+				drain();
+		}
+		
+		private void retire()
+		{
+			b_retired = true;
+			drain();
+		}
+		
+		/** Releases the component unless it is in use; called after both the last release and the retirement, so exactly one call succeeds. */
+		private void drain()
+		{
+			if (n_inFlight.compareAndSet(0, -1))
+			{
+				t_component = null;
+				MetricsRegistry.remove(s_metricsName);
+				c_released.countDown();
+				BinUtils.LOG.info(String.format("Released %s after %d sentences.\n", s_metricsName, getSentenceCount()));
+			}
+		}
+		
+		/** @return {@code true} if the component is released within the specific time. */
+		public boolean awaitRelease(long timeout, TimeUnit unit) throws InterruptedException
+		{
+			return c_released.await(timeout, unit);
+		}
+		
+		/** @return the component, or {@code null} if this version has been released. */
+		public T getComponent()
+		{
+			return t_component;
+		}
+		
+		public int getVersion()
+		{
+			return n_version;
+		}
+		
+		public String getSource()
+		{
+			return s_source;
+		}
+		
+		public long getPublishTime()
+		{
+			return l_publishTime;
+		}
+		
+		/** @return the number of sentences being processed by this version. */
+		public int getInFlightCount()
+		{
+			return Math.max(0, n_inFlight.get());
+		}
+		
+		/** @return the number of sentences processed by this version. */
+		public long getSentenceCount()
+		{
+			return n_sentences.sum();
+		}
+		
+		public boolean isRetired()
+		{
+			return b_retired;
+		}
+		
+		public boolean isReleased()
+		{
+			return c_released.getCount() == 0;
+		}
+		
+		/** @return the metrics of this version, named {@code <registry name>-v<version>}; removed from {@link MetricsRegistry} once this version is released. */
+		public ComponentMetrics getMetrics()
+		{
+			return MetricsRegistry.get(s_metricsName);
+		}
+		
+		@Override
+		public String toString()
+		{
+			return String.format("%s: source = %s, sentences = %d, in-flight = %d, %s", s_metricsName, s_source, getSentenceCount(), getInFlightCount(), isReleased() ? "released" : isRetired() ? "retired" : "current");
+		}
+	}
+}
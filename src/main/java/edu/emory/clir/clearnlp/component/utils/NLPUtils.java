@@ -19,6 +19,7 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.util.List;
 
 import org.tukaani.xz.XZInputStream;
 
@@ -38,6 +39,7 @@ import edu.emory.clir.clearnlp.component.trainer.AbstractNLPTrainer;
 import edu.emory.clir.clearnlp.conversion.AbstractC2DConverter;
 import edu.emory.clir.clearnlp.conversion.EnglishC2DConverter;
 import edu.emory.clir.clearnlp.conversion.headrule.HeadRuleMap;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
 import edu.emory.clir.clearnlp.tokenization.AbstractTokenizer;
 import edu.emory.clir.clearnlp.tokenization.EnglishTokenizer;
 import edu.emory.clir.clearnlp.util.BinUtils;
@@ -105,11 +107,37 @@ public class NLPUtils
 		return getDEPParser(language, getObjectInputStream(modelPath), configuration);
 	}
 	
+	/**
+	 * @param warmupTrees see {@link ModelRegistry#ModelRegistry(String, ModelRegistry.ComponentLoader, List)}.
+	 * @return a registry serving the part-of-speech tagging model of the specific path, reloadable from the classpath or the file system.
+	 */
+	static public ModelRegistry<AbstractPOSTagger> getPOSTaggerRegistry(TLanguage language, String modelPath, List<DEPTree> warmupTrees) throws Exception
+	{
+		ModelRegistry<AbstractPOSTagger> registry = new ModelRegistry<>(NLPMode.pos.toString(), path -> getPOSTagger(language, path), warmupTrees);
+		registry.load(modelPath);
+		return registry;
+	}
+	
+	/**
+	 * @param warmupTrees see {@link ModelRegistry#ModelRegistry(String, ModelRegistry.ComponentLoader, List)}.
+	 * @return a registry serving the dependency parsing model of the specific path, reloadable from the classpath or the file system.
+	 */
+	static public ModelRegistry<AbstractDEPParser> getDEPParserRegistry(TLanguage language, String modelPath, DEPConfiguration configuration, List<DEPTree> warmupTrees) throws Exception
+	{
+		ModelRegistry<AbstractDEPParser> registry = new ModelRegistry<>(NLPMode.dep.toString(), path -> getDEPParser(language, path, configuration), warmupTrees);
+		registry.load(modelPath);
+		return registry;
+	}
+	
+	/** Reads the specific model from the classpath, or from the file system if it is not on the classpath. */
 	static private ObjectInputStream getObjectInputStream(String modelPath)
 	{
+		InputStream in = IOUtils.getInputStreamsFromClasspath(modelPath);
+		if (in == null) in = IOUtils.createFileInputStream(modelPath);
+		
 		try
 		{
-			return new ObjectInputStream(new XZInputStream(new BufferedInputStream(IOUtils.getInputStreamsFromClasspath(modelPath))));
+			return new ObjectInputStream(new XZInputStream(new BufferedInputStream(in)));
 		}
 		catch (IOException e) {e.printStackTrace();}
 
@@ -0,0 +1,251 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import edu.emory.clir.clearnlp.component.AbstractStatisticalComponent;
+import edu.emory.clir.clearnlp.component.utils.ModelRegistry.ModelVersion;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.util.BinUtils;
+
+/**
+ * Keeps training the component served by a {@link ModelRegistry} on corrected trees without touching the serving weights.
+ * Corrected trees are queued by {@link #offer(DEPTree)}, and a background daemon thread trains a shadow copy of the serving component
+ * by {@link AbstractStatisticalComponent#onlineTrain(List)} on each batch, where new features and labels are added to the shadow models.
+ * After each batch, the shadow is evaluated on held-out trees and published to the registry if it scores no lower than the serving version;
+ * otherwise, the shadow is rolled back to the serving version.
+ * If another version is published to the registry (e.g., by {@link ModelRegistry#reload(String)}), the shadow is rebased on it before the next batch.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class OnlineLearner<T extends AbstractStatisticalComponent<?,?,?,?>>
+{
+	private final ModelRegistry<T>      m_registry;
+	private final Function<byte[],T>    f_factory;
+	private final List<DEPTree>         l_heldOut;
+	private final BlockingQueue<DEPTree> q_trees;
+	private final int                   n_batchSize;
+	private final long                  l_periodMillis;
+	private ExecutorService e_worker;
+	
+	private T      t_shadow;
+	private byte[] b_serving;
+	private volatile double d_servingScore;
+	private int    n_servingVersion;
+	
+	private final LongAdder n_trained;
+	private final LongAdder n_dropped;
+	private final LongAdder n_published;
+	private final LongAdder n_rejected;
+	
+	/**
+	 * @param factory creates a component from the byte array returned by {@link AbstractStatisticalComponent#toByteArray()} (e.g., {@code EnglishPOSTagger::new}).
+	 * @param heldOut gold trees on which each shadow is validated; they are not modified.
+	 * @param queueSize the maximum number of trees waiting to be trained; trees offered to a full queue are dropped.
+	 * @param batchSize the number of trees trained before each validation.
+	 * @param periodSeconds the maximum number of seconds a tree waits for its batch to fill before a smaller batch is trained.
+	 */
+	public OnlineLearner(ModelRegistry<T> registry, Function<byte[],T> factory, List<DEPTree> heldOut, int queueSize, int batchSize, long periodSeconds)
+	{
+		m_registry       = registry;
+		f_factory        = factory;
+		l_heldOut        = new ArrayList<>(heldOut);
+		q_trees          = new ArrayBlockingQueue<>(queueSize);
+		n_batchSize      = batchSize;
+		l_periodMillis   = TimeUnit.SECONDS.toMillis(periodSeconds);
+		e_worker         = null;
+		n_servingVersion = 0;
+		n_trained        = new LongAdder();
+		n_dropped        = new LongAdder();
+		n_published      = new LongAdder();
+		n_rejected       = new LongAdder();
+	}
+	
+//	====================================== QUEUE ======================================
+	
+	/**
+	 * Queues a copy of the specific tree with its corrected annotation without blocking.
+	 * @return {@code false} if the queue is full, in which case the tree is dropped.
+	 */
+	public boolean offer(DEPTree tree)
+	{
+		if (q_trees.offer(new DEPTree(tree))) return true;
+		n_dropped.increment();
+		return false;
+	}
+	
+	/** @return the number of trees waiting to be trained. */
+	public int getQueueSize()
+	{
+		return q_trees.size();
+	}
+	
+//	====================================== WORKER ======================================
+	
+	/** Starts training queued trees on a daemon thread until {@link #stop()} is called. */
+	public synchronized void start()
+	{
+		stop();
+		
+		e_worker = Executors.newSingleThreadExecutor(r ->
+		{
+			Thread thread = new Thread(r, "clearnlp-online-learner");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		e_worker.submit(this::run);
+	}
+	
+	/** Stops the worker; trees still in the queue are kept for the next {@link #start()}. */
+	public synchronized void stop()
+	{
+		if (e_worker != null)
+		{
+			e_worker.shutdownNow();
+			e_worker = null;
+		}
+	}
+	
+	private void run()
+	{
+		List<DEPTree> batch = new ArrayList<>();
+		long deadline = 0;
+		DEPTree tree;
+		
+		try
+		{
+			while (!Thread.currentThread().isInterrupted())
+			{
+				tree = batch.isEmpty() ? q_trees.take() : q_trees.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+				
+				if (tree != null)
+				{
+					if (batch.isEmpty()) deadline = System.currentTimeMillis() + l_periodMillis;
+					batch.add(tree);
+					q_trees.drainTo(batch, n_batchSize - batch.size());
+					if (batch.size() < n_batchSize) continue;
+				}
+				
+				try
+				{
+					train(batch);
+				}
+				catch (Exception e) {e.printStackTrace();}
+				
+				batch.clear();
+			}
+		}
+		catch (InterruptedException e) {}
+	}
+	
+//	====================================== TRAIN ======================================
+	
+	/**
+	 * Trains the shadow on the specific trees, validates it on the held-out trees, and publishes it to the registry if it scores no lower than the serving version.
+	 * Called by the worker for each batch; the specific trees are not modified.
+	 * @return {@code true} if the shadow is published.
+	 */
+	public synchronized boolean train(List<DEPTree> trees) throws Exception
+	{
+		if (m_registry.getVersion() != n_servingVersion) rebase();
+		t_shadow.onlineTrain(trees);
+		n_trained.add(trees.size());
+		double score = t_shadow.onlineScore(l_heldOut);
+		
+		if (score < d_servingScore)
+		{
+			BinUtils.LOG.info(String.format("Rejected online update of %s: %5.2f < %5.2f.\n", m_registry.getName(), score, d_servingScore));
+			t_shadow = f_factory.apply(b_serving);
+			n_rejected.increment();
+			return false;
+		}
+		
+		// a fresh copy built for decoding is served, so the shadow keeps training without sharing any state with it
+		byte[] models = t_shadow.toByteArray();
+		ModelVersion<T> version = m_registry.publish(f_factory.apply(models), String.format("online update (%d trees, score %5.2f)", n_trained.sum(), score));
+		
+		b_serving        = models;
+		d_servingScore   = score;
+		n_servingVersion = version.getVersion();
+		n_published.increment();
+		return true;
+	}
+	
+	/** Copies the current version of the registry into the shadow. */
+	private void rebase() throws Exception
+	{
+		ModelVersion<T> version = m_registry.acquire();
+		
+		try
+		{
+			b_serving = version.getComponent().toByteArray();
+		}
+		finally
+		{
+			version.release();
+		}
+		
+		t_shadow         = f_factory.apply(b_serving);
+		d_servingScore   = t_shadow.onlineScore(l_heldOut);
+		n_servingVersion = version.getVersion();
+	}
+	
+//	====================================== GETTERS ======================================
+	
+	/** @return the held-out score of the version last published or rebased on by this learner. */
+	public double getServingScore()
+	{
+		return d_servingScore;
+	}
+	
+	/** @return the number of trees trained. */
+	public long getTrainedCount()
+	{
+		return n_trained.sum();
+	}
+	
+	/** @return the number of trees dropped because the queue was full. */
+	public long getDroppedCount()
+	{
+		return n_dropped.sum();
+	}
+	
+	public long getPublishedCount()
+	{
+		return n_published.sum();
+	}
+	
+	public long getRejectedCount()
+	{
+		return n_rejected.sum();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("%s online: trained = %d, dropped = %d, queued = %d, published = %d, rejected = %d, score = %5.2f", m_registry.getName(), getTrainedCount(), getDroppedCount(), getQueueSize(), getPublishedCount(), getRejectedCount(), d_servingScore);
+	}
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.utils;
+
+import java.util.Arrays;
+
+import edu.emory.clir.clearnlp.collection.cache.BoundedCache;
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+import edu.emory.clir.clearnlp.component.AbstractComponent;
+import edu.emory.clir.clearnlp.dependency.DEPFeat;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.util.HashUtils;
+
+/**
+ * Memoizes the output of a component chain for repeated sentences (e.g., boilerplate in web text).
+ * Sentences are keyed by their word-forms and the model version, and the lemmas, part-of-speech tags, extra features,
+ * and dependency heads and labels are kept in compact arrays that are copied into the tree on a hit.
+ * Only word-forms are compared, so this cache is meant for trees without prior annotation (e.g., raw or line input).
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SentenceCache
+{
+	private final BoundedCache<Key,Annotation> c_cache;
+	private volatile long l_modelVersion;
+	
+	/** @param modelVersion see {@link #getModelVersion(AbstractComponent[])}. */
+	public SentenceCache(int maxSize, CacheEviction eviction, long modelVersion)
+	{
+		c_cache = new BoundedCache<>(maxSize, eviction);
+		l_modelVersion = modelVersion;
+	}
+	
+	/** @return a version identifying the specific component instances; reloading any model changes the version. */
+	static public long getModelVersion(AbstractComponent[] components)
+	{
+		long version = components.length;
+		
+		for (AbstractComponent component : components)
+			version = version * 31 + HashUtils.fnv1aHash64(component.getClass().getName()) + System.identityHashCode(component);
+		
+		return version;
+	}
+	
+	/** Entries cached under previous versions are no longer returned and age out of the cache. */
+	public void setModelVersion(long version)
+	{
+		l_modelVersion = version;
+	}
+	
+	public long getModelVersion()
+	{
+		return l_modelVersion;
+	}
+	
+//	====================================== PROCESS ======================================
+	
+	/**
+	 * Processes the specific tree by the specific components unless its annotation is cached.
+	 * @return {@code true} if the annotation is copied from this cache.
+	 */
+	public boolean process(DEPTree tree, AbstractComponent[] components)
+	{
+		Key key = new Key(tree, l_modelVersion);
+		Annotation annotation = c_cache.get(key);
+		
+		if (annotation != null)
+		{
+			annotation.copyTo(tree);
+			return true;
+		}
+		
+		for (AbstractComponent component : components)
+			component.processAndRecord(tree);
+		
+		c_cache.put(key, new Annotation(tree));
+		return false;
+	}
+	
+//	====================================== STATISTICS ======================================
+	
+	public BoundedCache<?,?> getCache()
+	{
+		return c_cache;
+	}
+	
+	public double getHitRate()
+	{
+		return c_cache.getHitRate();
+	}
+	
+	public void clear()
+	{
+		c_cache.clear();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return c_cache.toString();
+	}
+	
+//	====================================== KEY/VALUE ======================================
+	
+	static private class Key
+	{
+		private final String[] s_forms;
+		private final long     l_version;
+		private final int      i_hash;
+		
+		public Key(DEPTree tree, long version)
+		{
+			int i, size = tree.size();
+			long h = version;
+			s_forms = new String[size-1];
+			
+			for (i=1; i<size; i++)
+			{
+				s_forms[i-1] = tree.get(i).getWordForm();
+				h = HashUtils.fnv1aHash64(s_forms[i-1], h);
+			}
+			
+			l_version = version;
+			i_hash    = (int)(h ^ (h >>> 32));
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return i_hash;
+		}
+		
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof Key)) return false;
+			Key key = (Key)obj;
+			return i_hash == key.i_hash && l_version == key.l_version && Arrays.equals(s_forms, key.s_forms);
+		}
+	}
+	
+	/** The annotation of a processed tree; index {@code i} holds the node whose ID is {@code i+1}. */
+	static private class Annotation
+	{
+		private final String[]  s_lemmas;
+		private final String[]  s_posTags;
+		/** {@code null} for nodes without extra features. */
+		private final DEPFeat[] d_feats;
+		/** {@code -1} for nodes without heads. */
+		private final int[]     i_heads;
+		private final String[]  s_labels;
+		
+		public Annotation(DEPTree tree)
+		{
+			int i, size = tree.size() - 1;
+			DEPNode node;
+			
+			s_lemmas  = new String[size];
+			s_posTags = new String[size];
+			d_feats   = new DEPFeat[size];
+			i_heads   = new int[size];
+			s_labels  = new String[size];
+			
+			for (i=0; i<size; i++)
+			{
+				node = tree.get(i+1);
+				s_lemmas [i] = node.getLemma();
+				s_posTags[i] = node.getPOSTag();
+				d_feats  [i] = node.getFeats().isEmpty() ? null : new DEPFeat(node.getFeats());
+				i_heads  [i] = node.hasHead() ? node.getHead().getID() : -1;
+				s_labels [i] = node.getLabel();
+			}
+		}
+		
+		public void copyTo(DEPTree tree)
+		{
+			int i, size = s_lemmas.length;
+			DEPNode node;
+			
+			for (i=0; i<size; i++)
+			{
+				node = tree.get(i+1);
+				node.setLemma(s_lemmas[i]);
+				node.setPOSTag(s_posTags[i]);
+				node.setFeats((d_feats[i] != null) ? new DEPFeat(d_feats[i]) : new DEPFeat());
+				
+				if (i_heads[i] >= 0)
+					node.setHead(tree.get(i_heads[i]), s_labels[i]);
+				else
+					node.setLabel(s_labels[i]);
+			}
+		}
+	}
+}
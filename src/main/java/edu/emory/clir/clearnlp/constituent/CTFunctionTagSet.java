@@ -0,0 +1,75 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.constituent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set of function tags compiled into a bit mask over the IDs of {@link CTTagIndex},
+ * so that testing whether a node has any or all of the tags is a mask operation on {@link CTNode#getFunctionTagBits()}.
+ * Tags whose IDs do not fit in the mask (beyond the first 64 function tags) are tested against the node's function tag set.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CTFunctionTagSet
+{
+	private final long     l_bits;
+	/** {@code null} if all tags are in {@link #l_bits}. */
+	private final String[] s_overflow;
+	
+	public CTFunctionTagSet(String... tags)
+	{
+		this(Arrays.asList(tags));
+	}
+	
+	public CTFunctionTagSet(Collection<String> tags)
+	{
+		List<String> overflow = new ArrayList<>();
+		long bits = 0;
+		int id;
+		
+		for (String tag : tags)
+		{
+			id = CTTagIndex.getFunctionTagID(tag);
+			
+			if (id < Long.SIZE)	bits |= 1L << id;
+			else				overflow.add(tag);
+		}
+		
+		l_bits     = bits;
+		s_overflow = overflow.isEmpty() ? null : overflow.toArray(new String[overflow.size()]);
+	}
+	
+	/** @return {@code true} if the specific node has any of the tags in this set. */
+	public boolean matchesAny(CTNode node)
+	{
+		return (node.getFunctionTagBits() & l_bits) != 0 || (s_overflow != null && node.hasFunctionTagAny(s_overflow));
+	}
+	
+	/** @return {@code true} if the specific node has all tags in this set. */
+	public boolean matchesAll(CTNode node)
+	{
+		return (node.getFunctionTagBits() & l_bits) == l_bits && (s_overflow == null || node.hasFunctionTagAll(s_overflow));
+	}
+	
+	public boolean isEmpty()
+	{
+		return l_bits == 0 && s_overflow == null;
+	}
+}
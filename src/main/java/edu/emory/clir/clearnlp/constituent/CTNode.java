@@ -46,6 +46,10 @@ public class CTNode implements Comparable<CTNode>
 	private String		s_wordForm = null;
 	private String		s_constituentTag;
 	private Set<String>	s_functionTags;
+	/** The ID of the constituent tag in {@link CTTagIndex}. */
+	private int			i_constituentTagID;
+	/** The bits of the function tags whose IDs in {@link CTTagIndex} are less than 64. */
+	private long		l_functionTagBits;
 	private int			i_emptyCategoryIndex   = -1;
 	private int			i_gappingRelationIndex = -1;
 	
@@ -129,10 +133,22 @@ public class CTNode implements Comparable<CTNode>
 		return s_constituentTag;
 	}
 	
-	/** @return a set of function tags of this node. */
+	/** @return the ID of the constituent tag in {@link CTTagIndex}. */
+	public int getConstituentTagID()
+	{
+		return i_constituentTagID;
+	}
+	
+	/** @return a read-only set of function tags of this node; use {@link #addFunctionTag(String)} and {@link #removeFunctionTag(String)} to modify. */
 	public Set<String> getFunctionTagSet()
 	{
-		return s_functionTags;
+		return Collections.unmodifiableSet(s_functionTags);
+	}
+	
+	/** @return the bits of the function tags of this node whose IDs in {@link CTTagIndex} are less than 64 (see {@link CTFunctionTagSet}). */
+	public long getFunctionTagBits()
+	{
+		return l_functionTagBits;
 	}
 	
 	/** @return the index of empty category if this node is the antecedent of the corresponding node (e.g., NP-1); otherwise, {@code -1}. */
@@ -487,8 +503,9 @@ public class CTNode implements Comparable<CTNode>
 	public void setTags(String tags)
 	{
 		s_functionTags = new HashSet<>();
+		l_functionTagBits = 0;
 		
-		if (tags.charAt(0) == '-')
+		if (tags.charAt(0) == '-' || (tags.indexOf('-') < 0 && tags.indexOf('=') < 0))
 		{
 			setConstituentTag(tags);
 			return;
@@ -541,25 +558,38 @@ public class CTNode implements Comparable<CTNode>
 	public void setConstituentTag(String tag)
 	{
 		s_constituentTag = tag;
+		i_constituentTagID = (tag != null) ? CTTagIndex.getConstituentTagID(tag) : -1;
 	}
+	
 	public void addFunctionTag(String tag)
 	{
 		s_functionTags.add(tag);
+		l_functionTagBits |= getFunctionTagBit(tag);
 	}
 	
 	public void addFunctionTags(Collection<String> tags)
 	{
-		s_functionTags.addAll(tags);
+		for (String tag : tags)
+			addFunctionTag(tag);
 	}
 	
 	public void removeFunctionTag(String tag)
 	{
 		s_functionTags.remove(tag);
+		l_functionTagBits &= ~getFunctionTagBit(tag);
 	}
 	
 	public void clearFunctionTags()
 	{
 		s_functionTags.clear();
+		l_functionTagBits = 0;
+	}
+	
+	/** @return the bit of the specific function tag, or {@code 0} if its ID does not fit in {@link #l_functionTagBits}. */
+	static private long getFunctionTagBit(String tag)
+	{
+		int id = CTTagIndex.getFunctionTagID(tag);
+		return (id < Long.SIZE) ? 1L << id : 0;
 	}
 	
 	public void setEmptyCategoryIndex(int index)
@@ -707,6 +737,12 @@ public class CTNode implements Comparable<CTNode>
 		return pattern.matcher(s_constituentTag).find();
 	}
 	
+	/** @return {@code true} if the constituent tag of this node is in the specific set; this is a bit test. */
+	public boolean matchesConstituentTag(CTTagSet tags)
+	{
+		return tags.matches(this);
+	}
+	
 	/** @return {@code true} if this node has the specific function tag. */
 	public boolean hasFunctionTag(String tag)
 	{
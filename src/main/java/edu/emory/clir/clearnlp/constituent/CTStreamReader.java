@@ -0,0 +1,459 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.constituent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.emory.clir.clearnlp.util.constant.StringConst;
+
+/**
+ * Constituent tree reader that scans brackets and tokens directly in a {@code char[]} buffer.
+ * It reads the same format as {@link CTReader} and reports errors the same way,
+ * but does not split the input into lines or bracket strings;
+ * tags and word-forms are looked up in a small table of recently seen strings so that frequent ones are not re-allocated.
+ * Use {@link #stream(InputStream, boolean)} to process trees with parallel streams.
+ * @see CTReader
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CTStreamReader implements Iterator<CTTree>
+{
+	static private final int BUFFER_SIZE  = 1 << 16;
+	static private final int SYMBOL_SIZE  = 1 << 12;
+	
+	static private final int TOKEN_EOF = 0;
+	static private final int TOKEN_LRB = 1;
+	static private final int TOKEN_RRB = 2;
+	static private final int TOKEN_STR = 3;
+	
+	private Reader   f_reader;
+	private char[]   c_buffer;
+	/** The beginning position of the current token in {@link #c_buffer}. */
+	private int      i_begin;
+	private int      i_pos;
+	private int      i_limit;
+	private int      n_line;
+	/** Direct-mapped table of recently seen tags and word-forms. */
+	private String[] s_symbols;
+	/** The tree prefetched by {@link #hasNext()}. */
+	private CTTree   t_next;
+	
+	/** @param in internally wrapped by {@code new InputStreamReader(in)}. */
+	public CTStreamReader(InputStream in)
+	{
+		this(new InputStreamReader(in));
+	}
+	
+	public CTStreamReader(Reader in)
+	{
+		this(in, new char[BUFFER_SIZE], 0, 0, 1);
+	}
+	
+	/** Reads trees from {@code text[begin, end)} whose first character is on the specific line. */
+	private CTStreamReader(char[] text, int begin, int end, int lineNumber)
+	{
+		this(null, text, begin, end, lineNumber);
+	}
+	
+	private CTStreamReader(Reader in, char[] buffer, int begin, int end, int lineNumber)
+	{
+		f_reader  = in;
+		s_symbols = new String[SYMBOL_SIZE];
+		reset(buffer, begin, end, lineNumber);
+	}
+	
+	/** Reads trees from {@code text[begin, end)} instead while keeping the table of recently seen strings. */
+	private void reset(char[] text, int begin, int end, int lineNumber)
+	{
+		c_buffer = text;
+		i_begin  = begin;
+		i_pos    = begin;
+		i_limit  = end;
+		n_line   = lineNumber;
+		t_next   = null;
+	}
+	
+	/** Closes the current reader. */
+	public void close()
+	{
+		if (f_reader != null)
+		{
+			try
+			{
+				f_reader.close();
+			}
+			catch (IOException e) {e.printStackTrace();}
+		}
+	}
+	
+	/** @return the line number of the current position, starting at 1. */
+	public int getLineNumber()
+	{
+		return n_line;
+	}
+
+//	====================================== TREES ======================================
+	
+	/**
+	 * @return the next tree if exists; otherwise, {@code null}.
+	 * Returns {@code null} if the next tree is incomplete or erroneous.
+	 * Automatically links antecedents of all co-indexed empty categories.
+	 */
+	public CTTree nextTree()
+	{
+		if (t_next != null)
+		{
+			CTTree tree = t_next;
+			t_next = null;
+			return tree;
+		}
+		
+		int token = nextToken();
+		if (token == TOKEN_EOF) return null;
+		
+		if (token != TOKEN_LRB)
+		{
+			System.err.println("Error: \""+getToken(token)+"\" found, \"(\" expected - line "+n_line);
+			return null;
+		}
+		
+		int nBrackets = 1, startLine = n_line;
+		CTNode root = new CTNode(CTTagEn.TOP, null);
+		CTNode curr = root, node;
+		
+		while ((token = nextToken()) != TOKEN_EOF)
+		{
+			if (token == TOKEN_LRB)
+			{
+				if ((token = nextToken()) == TOKEN_EOF) break;
+				node = new CTNode(getToken(token));
+				curr.addChild(node);
+				curr = node;
+				nBrackets++;
+			}
+			else if (token == TOKEN_RRB)
+			{
+				curr = curr.getParent();
+				nBrackets--;
+			}
+			else if (nBrackets != 1 || !isToken(CTTagEn.TOP))
+			{
+				curr.setWordForm(getToken(token));
+			}
+			
+			if (nBrackets == 0)
+				return new CTTree(root);
+		}
+		
+		System.err.println("Error: brackets mismatch - starting line "+startLine);
+		return null;
+	}
+	
+	/**
+	 * @return the next tree after skipping the specific number of trees if exists; otherwise, {@code null}.
+	 * @param skip the number of trees to skip.
+	 */
+	public CTTree nextTree(int skip)
+	{
+		CTTree tree = null;
+		int i;
+		
+		for (i=0; i<=skip; i++)
+		{
+			tree = nextTree();
+			if (tree == null) return null;
+		}
+		
+		return tree;
+	}
+	
+	@Override
+	public boolean hasNext()
+	{
+		if (t_next == null) t_next = nextTree();
+		return t_next != null;
+	}
+	
+	@Override
+	public CTTree next()
+	{
+		if (!hasNext()) throw new NoSuchElementException();
+		return nextTree();
+	}
+
+//	====================================== TOKENS ======================================
+	
+	/** @return the type of the next token; the token string is at {@code c_buffer[i_begin, i_pos)}. */
+	private int nextToken()
+	{
+		char c;
+		
+		for (;;)
+		{
+			i_begin = i_pos;
+			if (i_pos == i_limit && !fill()) return TOKEN_EOF;
+			c = c_buffer[i_pos];
+			if (c > ' ') break;
+			if (c == '\n') n_line++;
+			i_pos++;
+		}
+		
+		if (c == '(') { i_pos++; return TOKEN_LRB; }
+		if (c == ')') { i_pos++; return TOKEN_RRB; }
+		
+		for (;;)
+		{
+			if (i_pos == i_limit && !fill()) break;
+			c = c_buffer[i_pos];
+			if (c <= ' ' || c == '(' || c == ')') break;
+			i_pos++;
+		}
+		
+		return TOKEN_STR;
+	}
+	
+	/** Reads more characters while keeping the current token; @return {@code false} if no more character is available. */
+	private boolean fill()
+	{
+		if (f_reader == null) return false;
+		int len = i_limit - i_begin;
+		
+		if (len == c_buffer.length)
+			c_buffer = Arrays.copyOf(c_buffer, c_buffer.length * 2);
+		else if (i_begin > 0)
+			System.arraycopy(c_buffer, i_begin, c_buffer, 0, len);
+		
+		i_pos  -= i_begin;
+		i_limit = len;
+		i_begin = 0;
+		
+		try
+		{
+			int n = f_reader.read(c_buffer, i_limit, c_buffer.length - i_limit);
+			if (n <= 0) return false;
+			i_limit += n;
+		}
+		catch (IOException e) {throw new UncheckedIOException(e);}
+		
+		return true;
+	}
+	
+	/** @return {@code true} if the current token is the specific string. */
+	private boolean isToken(String s)
+	{
+		int i, len = i_pos - i_begin;
+		if (len != s.length()) return false;
+		
+		for (i=0; i<len; i++)
+		{
+			if (c_buffer[i_begin+i] != s.charAt(i))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/** @return the string of the current token of the specific type. */
+	private String getToken(int token)
+	{
+		switch (token)
+		{
+		case TOKEN_LRB: return StringConst.LRB;
+		case TOKEN_RRB: return StringConst.RRB;
+		default       : return getSymbol();
+		}
+	}
+	
+	/** @return the string of the current token, reused from {@link #s_symbols} if it has been seen recently. */
+	private String getSymbol()
+	{
+		int i, h = 0;
+		
+		for (i=i_begin; i<i_pos; i++)
+			h = 31 * h + c_buffer[i];
+		
+		int idx = (h ^ (h >>> 16)) & (SYMBOL_SIZE - 1);
+		String s = s_symbols[idx];
+		
+		if (s == null || !isToken(s))
+			s_symbols[idx] = s = new String(c_buffer, i_begin, i_pos - i_begin);
+		
+		return s;
+	}
+
+//	====================================== STREAMS ======================================
+	
+	/**
+	 * @return a stream of the trees in the specific input stream.
+	 * @param parallel if {@code true}, the whole input is read first so that trees can be split across threads after their boundaries are found;
+	 * otherwise, trees are read lazily.
+	 */
+	static public Stream<CTTree> stream(InputStream in, boolean parallel)
+	{
+		if (!parallel)
+		{
+			CTStreamReader reader = new CTStreamReader(in);
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(reader::close);
+		}
+		
+		StringBuilder build = new StringBuilder();
+		char[] buffer = new char[BUFFER_SIZE];
+		int n;
+		
+		try (Reader reader = new InputStreamReader(in))
+		{
+			while ((n = reader.read(buffer)) > 0)
+				build.append(buffer, 0, n);
+		}
+		catch (IOException e) {throw new UncheckedIOException(e);}
+		
+		char[] text = new char[build.length()];
+		build.getChars(0, text.length, text, 0);
+		return StreamSupport.stream(new TreeSpliterator(text), true);
+	}
+	
+	/**
+	 * Splits text into trees by bracket depth, and the trees into ranges for parallel streams.
+	 * Text after an unexpected token or unbalanced brackets is dropped as it is by {@link #nextTree()};
+	 * a tree that cannot be read is reported and skipped.
+	 */
+	static private class TreeSpliterator implements Spliterator<CTTree>
+	{
+		private final char[] c_text;
+		/** The beginning and end positions, and the beginning line of each tree. */
+		private final int[]  i_begins, i_ends, i_lines;
+		private int i_curr, i_last;
+		/** Created lazily so that each split has its own reader. */
+		private CTStreamReader f_reader;
+		
+		public TreeSpliterator(char[] text)
+		{
+			int[] begins = new int[256], ends = new int[256], lines = new int[256];
+			int i, size = 0, depth = 0, line = 1, begin = 0, beginLine = 1;
+			char c;
+			
+			for (i=0; i<text.length; i++)
+			{
+				c = text[i];
+				
+				if (c == '(')
+				{
+					if (depth++ == 0)
+					{
+						begin = i;
+						beginLine = line;
+					}
+				}
+				else if (c == ')')
+				{
+					if (depth == 0) break;
+					
+					if (--depth == 0)
+					{
+						if (size == begins.length)
+						{
+							begins = Arrays.copyOf(begins, size * 2);
+							ends   = Arrays.copyOf(ends  , size * 2);
+							lines  = Arrays.copyOf(lines , size * 2);
+						}
+						
+						begins[size] = begin;
+						ends  [size] = i + 1;
+						lines [size] = beginLine;
+						size++;
+					}
+				}
+				else if (c == '\n')
+					line++;
+				else if (depth == 0 && c > ' ')
+					break;
+			}
+			
+			// report the error, if any, as the sequential reader does
+			if (i < text.length || depth > 0)
+				new CTStreamReader(text, (depth > 0) ? begin : i, text.length, (depth > 0) ? beginLine : line).nextTree();
+			
+			c_text   = text;
+			i_begins = begins;
+			i_ends   = ends;
+			i_lines  = lines;
+			i_curr   = 0;
+			i_last   = size;
+		}
+		
+		private TreeSpliterator(TreeSpliterator s, int curr, int last)
+		{
+			c_text   = s.c_text;
+			i_begins = s.i_begins;
+			i_ends   = s.i_ends;
+			i_lines  = s.i_lines;
+			i_curr   = curr;
+			i_last   = last;
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super CTTree> action)
+		{
+			CTTree tree = null;
+			
+			while (tree == null && i_curr < i_last)
+			{
+				if (f_reader == null)	f_reader = new CTStreamReader(c_text, i_begins[i_curr], i_ends[i_curr], i_lines[i_curr]);
+				else					f_reader.reset(c_text, i_begins[i_curr], i_ends[i_curr], i_lines[i_curr]);
+				tree = f_reader.nextTree();
+				i_curr++;
+			}
+			
+			if (tree == null) return false;
+			action.accept(tree);
+			return true;
+		}
+		
+		@Override
+		public Spliterator<CTTree> trySplit()
+		{
+			if (i_last - i_curr < 2) return null;
+			int mid = (i_curr + i_last) >>> 1;
+			TreeSpliterator prefix = new TreeSpliterator(this, i_curr, mid);
+			i_curr = mid;
+			return prefix;
+		}
+		
+		@Override
+		public long estimateSize()
+		{
+			return i_last - i_curr;
+		}
+		
+		@Override
+		public int characteristics()
+		{
+			return ORDERED | NONNULL | IMMUTABLE;
+		}
+	}
+}
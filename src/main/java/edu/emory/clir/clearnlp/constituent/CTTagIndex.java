@@ -0,0 +1,94 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.constituent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns constituent and function tags into dense integer IDs shared by all trees,
+ * so that tag sets can be compiled into bitsets ({@link CTTagSet}, {@link CTFunctionTagSet}) and matched by bit tests.
+ * IDs are never reused; lookups are lock-free and new tags are added under a lock.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CTTagIndex
+{
+	static private final Interner CONSTITUENT = new Interner();
+	static private final Interner FUNCTION    = new Interner();
+	
+	private CTTagIndex() {}
+	
+	/** @return the ID of the specific constituent tag, assigned if not already. */
+	static public int getConstituentTagID(String tag)
+	{
+		return CONSTITUENT.getID(tag);
+	}
+	
+	/** @return the constituent tag of the specific ID. */
+	static public String getConstituentTag(int id)
+	{
+		return CONSTITUENT.getTag(id);
+	}
+	
+	/** @return the number of constituent tags interned so far. */
+	static public int getConstituentTagSize()
+	{
+		return CONSTITUENT.size();
+	}
+	
+	/** @return the ID of the specific function tag, assigned if not already. */
+	static public int getFunctionTagID(String tag)
+	{
+		return FUNCTION.getID(tag);
+	}
+	
+	static private class Interner
+	{
+		private final ConcurrentMap<String,Integer> m_ids = new ConcurrentHashMap<>();
+		private final List<String> l_tags = new ArrayList<>();
+		private volatile String[] s_tags = new String[0];
+		
+		public int getID(String tag)
+		{
+			Integer id = m_ids.get(tag);
+			return (id != null) ? id : add(tag);
+		}
+		
+		private synchronized int add(String tag)
+		{
+			Integer id = m_ids.get(tag);
+			if (id != null) return id;
+			
+			l_tags.add(tag);
+			s_tags = l_tags.toArray(new String[l_tags.size()]);
+			m_ids.put(tag, id = l_tags.size() - 1);
+			return id;
+		}
+		
+		public String getTag(int id)
+		{
+			return s_tags[id];
+		}
+		
+		public int size()
+		{
+			return s_tags.length;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.constituent;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Set of constituent tags compiled into a bitset over the IDs of {@link CTTagIndex}.
+ * Tags interned after this set is created are tested by the defining predicate (e.g., a regular expression) once,
+ * the first time a node with such a tag is matched, and then cached as bits;
+ * thereafter, {@link #matches(CTNode)} is a single bit test.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CTTagSet
+{
+	private final Predicate<String> p_tags;
+	private volatile long[] l_bits;
+	/** Tags whose IDs are less than this have been tested. */
+	private volatile int    n_tested;
+	
+	public CTTagSet(Predicate<String> tags)
+	{
+		p_tags   = tags;
+		l_bits   = new long[0];
+		n_tested = 0;
+	}
+	
+	/** @return the set of the constituent tags in which the specific pattern is found, as {@link CTNode#matchesConstituentTag(Pattern)} does; anchor the pattern to match whole tags (e.g., {@code ^(NN.*|NP)$}). */
+	static public CTTagSet create(Pattern pattern)
+	{
+		return new CTTagSet(tag -> pattern.matcher(tag).find());
+	}
+	
+	/** @return the set of the specific constituent tags. */
+	static public CTTagSet create(String... tags)
+	{
+		return create(Arrays.asList(tags));
+	}
+	
+	/** @return the set of the specific constituent tags; the collection is copied. */
+	static public CTTagSet create(Collection<String> tags)
+	{
+		Set<String> set = new HashSet<>(tags);
+		return new CTTagSet(set::contains);
+	}
+	
+	/** @return the set of the constituent tags starting with the specific prefix. */
+	static public CTTagSet createPrefix(String prefix)
+	{
+		return new CTTagSet(tag -> tag.startsWith(prefix));
+	}
+	
+	public boolean matches(CTNode node)
+	{
+		return contains(node.getConstituentTagID());
+	}
+	
+	/** @param id the ID of a constituent tag in {@link CTTagIndex}. */
+	public boolean contains(int id)
+	{
+		if (id < 0) return false;
+		if (id >= n_tested) update();
+		return (l_bits[id >>> 6] & (1L << id)) != 0;
+	}
+	
+	/** Tests the tags interned since the last update. */
+	private synchronized void update()
+	{
+		int id, size = CTTagIndex.getConstituentTagSize();
+		if (n_tested >= size) return;
+		long[] bits = Arrays.copyOf(l_bits, (size + 63) >>> 6);
+		
+		for (id=n_tested; id<size; id++)
+		{
+			if (p_tags.test(CTTagIndex.getConstituentTag(id)))
+				bits[id >>> 6] |= 1L << id;
+		}
+		
+		l_bits   = bits;
+		n_tested = size;
+	}
+}
@@ -16,6 +16,7 @@
 package edu.emory.clir.clearnlp.constituent.matcher;
 
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagIndex;
 
 /**
  * @since 3.0.0
@@ -23,15 +24,15 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherC implements CTNodeMatcher
 {
-	private String s_constituentTag;
+	private int i_constituentTagID;
 	
 	public CTNodeMatcherC(String constituentTag)
 	{
-		s_constituentTag = constituentTag;
+		i_constituentTagID = CTTagIndex.getConstituentTagID(constituentTag);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.isConstituentTag(s_constituentTag);
+		return node.getConstituentTagID() == i_constituentTagID;
 	}
 }
\ No newline at end of file
@@ -15,7 +15,9 @@
  */
 package edu.emory.clir.clearnlp.constituent.matcher;
 
+import edu.emory.clir.clearnlp.constituent.CTFunctionTagSet;
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagIndex;
 
 /**
  * @since 3.0.0
@@ -23,17 +25,17 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherCF implements CTNodeMatcher
 {
-	private String s_constituentTag;
-	private String s_functionTag;
+	private int              i_constituentTagID;
+	private CTFunctionTagSet c_functionTags;
 	
 	public CTNodeMatcherCF(String constituentTag, String functionTag)
 	{
-		s_constituentTag = constituentTag;
-		s_functionTag    = functionTag;
+		i_constituentTagID = CTTagIndex.getConstituentTagID(constituentTag);
+		c_functionTags     = new CTFunctionTagSet(functionTag);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.isConstituentTag(s_constituentTag) && node.hasFunctionTag(s_functionTag);
+		return node.getConstituentTagID() == i_constituentTagID && c_functionTags.matchesAll(node);
 	}
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
 package edu.emory.clir.clearnlp.constituent.matcher;
 
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagSet;
 
 /**
  * @since 3.0.0
@@ -23,15 +24,15 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherCo implements CTNodeMatcher
 {
-	private String[] s_constituentTags;
+	private CTTagSet c_constituentTags;
 	
 	public CTNodeMatcherCo(String... constituentTags)
 	{
-		s_constituentTags = constituentTags;
+		c_constituentTags = CTTagSet.create(constituentTags);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.isConstituentTagAny(s_constituentTags);
+		return c_constituentTags.matches(node);
 	}
 }
\ No newline at end of file
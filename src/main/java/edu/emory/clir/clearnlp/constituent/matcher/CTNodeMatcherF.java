@@ -15,6 +15,7 @@
  */
 package edu.emory.clir.clearnlp.constituent.matcher;
 
+import edu.emory.clir.clearnlp.constituent.CTFunctionTagSet;
 import edu.emory.clir.clearnlp.constituent.CTNode;
 
 /**
@@ -23,15 +24,15 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherF implements CTNodeMatcher
 {
-	private String s_functionTag;
+	private CTFunctionTagSet c_functionTags;
 	
 	public CTNodeMatcherF(String functionTag)
 	{
-		s_functionTag = functionTag;
+		c_functionTags = new CTFunctionTagSet(functionTag);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.hasFunctionTag(s_functionTag);
+		return c_functionTags.matchesAll(node);
 	}
 }
\ No newline at end of file
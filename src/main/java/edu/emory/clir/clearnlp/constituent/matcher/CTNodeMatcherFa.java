@@ -15,6 +15,7 @@
  */
 package edu.emory.clir.clearnlp.constituent.matcher;
 
+import edu.emory.clir.clearnlp.constituent.CTFunctionTagSet;
 import edu.emory.clir.clearnlp.constituent.CTNode;
 
 /**
@@ -23,15 +24,15 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherFa implements CTNodeMatcher
 {
-	private String[] s_functionTags;
+	private CTFunctionTagSet c_functionTags;
 	
 	public CTNodeMatcherFa(String... functionTags)
 	{
-		s_functionTags = functionTags;
+		c_functionTags = new CTFunctionTagSet(functionTags);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.hasFunctionTagAll(s_functionTags);
+		return c_functionTags.matchesAll(node);
 	}
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package edu.emory.clir.clearnlp.constituent.matcher;
 import java.util.regex.Pattern;
 
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagSet;
 
 /**
  * @since 3.0.0
@@ -25,15 +26,15 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherP implements CTNodeMatcher
 {
-	private Pattern p_constituentPattern;
+	private CTTagSet c_constituentTags;
 	
 	public CTNodeMatcherP(Pattern constituentPattern)
 	{
-		p_constituentPattern = constituentPattern;
+		c_constituentTags = CTTagSet.create(constituentPattern);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.matchesConstituentTag(p_constituentPattern);		
+		return c_constituentTags.matches(node);
 	}
 }
\ No newline at end of file
@@ -17,7 +17,9 @@ package edu.emory.clir.clearnlp.constituent.matcher;
 
 import java.util.regex.Pattern;
 
+import edu.emory.clir.clearnlp.constituent.CTFunctionTagSet;
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagSet;
 
 /**
  * @since 3.0.0
@@ -25,17 +27,17 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherPFo implements CTNodeMatcher
 {
-	private Pattern  p_constituentPattern;
-	private String[] s_functionTags;
+	private CTTagSet         c_constituentTags;
+	private CTFunctionTagSet c_functionTags;
 	
 	public CTNodeMatcherPFo(Pattern constituentPattern, String... functionTags)
 	{
-		p_constituentPattern = constituentPattern;
-		s_functionTags       = functionTags;
+		c_constituentTags = CTTagSet.create(constituentPattern);
+		c_functionTags    = new CTFunctionTagSet(functionTags);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.matchesConstituentTag(p_constituentPattern) && node.hasFunctionTagAny(s_functionTags);		
+		return c_constituentTags.matches(node) && c_functionTags.matchesAny(node);
 	}
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
 package edu.emory.clir.clearnlp.constituent.matcher;
 
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagSet;
 
 /**
  * @since 3.0.0
@@ -23,15 +24,15 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherPrefix implements CTNodeMatcher
 {
-	private String s_prefix;
+	private CTTagSet c_constituentTags;
 	
 	public CTNodeMatcherPrefix(String constituentPrefix)
 	{
-		s_prefix = constituentPrefix;
+		c_constituentTags = CTTagSet.createPrefix(constituentPrefix);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return node.getConstituentTag().startsWith(s_prefix);
+		return c_constituentTags.matches(node);
 	}
 }
\ No newline at end of file
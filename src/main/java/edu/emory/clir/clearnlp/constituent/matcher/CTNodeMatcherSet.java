@@ -18,6 +18,7 @@ package edu.emory.clir.clearnlp.constituent.matcher;
 import java.util.Set;
 
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagSet;
 
 /**
  * @since 3.0.0
@@ -25,15 +26,16 @@ import edu.emory.clir.clearnlp.constituent.CTNode;
  */
 public class CTNodeMatcherSet implements CTNodeMatcher
 {
-	private Set<String> s_tags;
+	private CTTagSet c_constituentTags;
 	
+	/** @param constituentTags copied; later changes to the set are not reflected. */
 	public CTNodeMatcherSet(Set<String> constituentTags)
 	{
-		s_tags = constituentTags;
+		c_constituentTags = CTTagSet.create(constituentTags);
 	}
 	
 	public boolean matches(CTNode node)
 	{
-		return s_tags.contains(node.getConstituentTag());		
+		return c_constituentTags.matches(node);
 	}
 }
\ No newline at end of file
@@ -24,12 +24,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UnknownFormatConversionException;
-import java.util.regex.Pattern;
 
 import edu.emory.clir.clearnlp.collection.set.IntHashSet;
 import edu.emory.clir.clearnlp.constituent.CTLibEn;
 import edu.emory.clir.clearnlp.constituent.CTNode;
 import edu.emory.clir.clearnlp.constituent.CTTagEn;
+import edu.emory.clir.clearnlp.constituent.CTTagSet;
 import edu.emory.clir.clearnlp.constituent.CTTree;
 import edu.emory.clir.clearnlp.constituent.matcher.CTNodeMatcher;
 import edu.emory.clir.clearnlp.constituent.matcher.CTNodeMatcherC;
@@ -98,7 +98,7 @@ public class EnglishC2DConverter extends AbstractC2DConverter
 	
 	private Map<CTNode,Deque<CTNode>> m_rnr;
 	private Map<CTNode,Deque<CTNode>> m_xsubj;
-	private Map<String,Pattern>       m_coord;
+	private Map<String,CTTagSet>      m_coord;
 	
 	private CTNodeMatcher mt_s;
 	private CTNodeMatcher mt_to;
@@ -150,24 +150,24 @@ public class EnglishC2DConverter extends AbstractC2DConverter
 	{
 		m_coord = new HashMap<>();
 		
-		m_coord.put(CTTagEn.C_ADJP	, PatternUtils.createClosedORPattern("ADJP","JJ.*","VBN","VBG"));
-		m_coord.put(CTTagEn.C_ADVP	, PatternUtils.createClosedORPattern("ADVP","RB.*"));
-		m_coord.put(CTTagEn.C_INTJ	, PatternUtils.createClosedORPattern("INTJ","UH"));
-		m_coord.put(CTTagEn.C_PP  	, PatternUtils.createClosedORPattern("PP","IN","VBG"));
-		m_coord.put(CTTagEn.C_PRT 	, PatternUtils.createClosedORPattern("PRT","RP"));
-		m_coord.put(CTTagEn.C_NAC 	, PatternUtils.createClosedORPattern("NP"));
-		m_coord.put(CTTagEn.C_NML 	, PatternUtils.createClosedORPattern("NP","NML","NN.*","PRP"));
-		m_coord.put(CTTagEn.C_NP  	, PatternUtils.createClosedORPattern("NP","NML","NN.*","PRP"));
-		m_coord.put(CTTagEn.C_NX  	, PatternUtils.createClosedORPattern("NX"));
-		m_coord.put(CTTagEn.C_VP  	, PatternUtils.createClosedORPattern("VP","VB.*"));
-		m_coord.put(CTTagEn.C_S   	, PatternUtils.createClosedORPattern("S","SINV","SQ","SBARQ"));
-		m_coord.put(CTTagEn.C_SBAR	, PatternUtils.createClosedORPattern("SBAR.*"));
-		m_coord.put(CTTagEn.C_SBARQ	, PatternUtils.createClosedORPattern("SBAR.*"));
-		m_coord.put(CTTagEn.C_SINV	, PatternUtils.createClosedORPattern("S","SINV"));
-		m_coord.put(CTTagEn.C_SQ	, PatternUtils.createClosedORPattern("S","SQ","SBARQ"));
-		m_coord.put(CTTagEn.C_WHNP	, PatternUtils.createClosedORPattern("NN.*","WP"));
-		m_coord.put(CTTagEn.C_WHADJP, PatternUtils.createClosedORPattern("JJ.*","VBN","VBG"));
-		m_coord.put(CTTagEn.C_WHADVP, PatternUtils.createClosedORPattern("RB.*","WRB","IN"));
+		m_coord.put(CTTagEn.C_ADJP	, CTTagSet.create(PatternUtils.createClosedORPattern("ADJP","JJ.*","VBN","VBG")));
+		m_coord.put(CTTagEn.C_ADVP	, CTTagSet.create(PatternUtils.createClosedORPattern("ADVP","RB.*")));
+		m_coord.put(CTTagEn.C_INTJ	, CTTagSet.create(PatternUtils.createClosedORPattern("INTJ","UH")));
+		m_coord.put(CTTagEn.C_PP  	, CTTagSet.create(PatternUtils.createClosedORPattern("PP","IN","VBG")));
+		m_coord.put(CTTagEn.C_PRT 	, CTTagSet.create(PatternUtils.createClosedORPattern("PRT","RP")));
+		m_coord.put(CTTagEn.C_NAC 	, CTTagSet.create(PatternUtils.createClosedORPattern("NP")));
+		m_coord.put(CTTagEn.C_NML 	, CTTagSet.create(PatternUtils.createClosedORPattern("NP","NML","NN.*","PRP")));
+		m_coord.put(CTTagEn.C_NP  	, CTTagSet.create(PatternUtils.createClosedORPattern("NP","NML","NN.*","PRP")));
+		m_coord.put(CTTagEn.C_NX  	, CTTagSet.create(PatternUtils.createClosedORPattern("NX")));
+		m_coord.put(CTTagEn.C_VP  	, CTTagSet.create(PatternUtils.createClosedORPattern("VP","VB.*")));
+		m_coord.put(CTTagEn.C_S   	, CTTagSet.create(PatternUtils.createClosedORPattern("S","SINV","SQ","SBARQ")));
+		m_coord.put(CTTagEn.C_SBAR	, CTTagSet.create(PatternUtils.createClosedORPattern("SBAR.*")));
+		m_coord.put(CTTagEn.C_SBARQ	, CTTagSet.create(PatternUtils.createClosedORPattern("SBAR.*")));
+		m_coord.put(CTTagEn.C_SINV	, CTTagSet.create(PatternUtils.createClosedORPattern("S","SINV")));
+		m_coord.put(CTTagEn.C_SQ	, CTTagSet.create(PatternUtils.createClosedORPattern("S","SQ","SBARQ")));
+		m_coord.put(CTTagEn.C_WHNP	, CTTagSet.create(PatternUtils.createClosedORPattern("NN.*","WP")));
+		m_coord.put(CTTagEn.C_WHADJP, CTTagSet.create(PatternUtils.createClosedORPattern("JJ.*","VBN","VBG")));
+		m_coord.put(CTTagEn.C_WHADVP, CTTagSet.create(PatternUtils.createClosedORPattern("RB.*","WRB","IN")));
 	}
 	
 	private void initMatchers()
@@ -345,8 +345,8 @@ public class EnglishC2DConverter extends AbstractC2DConverter
 		
 		if (prd != null && (fTags.isEmpty() || fTags.contains(CTTagEn.F_CLR)))
 		{
-			fTags.clear();
-			fTags.add(DEPLibEn.DEP_OPRD);
+			s.clearFunctionTags();
+			s.addFunctionTag(DEPLibEn.DEP_OPRD);
 		}
 
 		removeCTNode(ec);
@@ -453,7 +453,7 @@ public class EnglishC2DConverter extends AbstractC2DConverter
 			return false;
 		
 		// find conjuncts
-		Pattern rTags = getConjunctPattern(curr, sId, size);
+		CTTagSet rTags = getConjunctTags(curr, sId, size);
 		CTNode prevHead = null, mainHead = null;
 		boolean isFound = false;
 		int bId = 0, eId = sId;
@@ -498,9 +498,10 @@ public class EnglishC2DConverter extends AbstractC2DConverter
 	}
 	
 	/** Called by {@link #findHeadsCoordination(HeadRule, CTNode)}. */
-	private Pattern getConjunctPattern(CTNode curr, int sId, int size)
+	/** @return the tags of conjuncts, or {@code null} if any node can be a conjunct. */
+	private CTTagSet getConjunctTags(CTNode curr, int sId, int size)
 	{
-		Pattern rTags = m_coord.get(curr.getConstituentTag());
+		CTTagSet rTags = m_coord.get(curr.getConstituentTag());
 		
 		if (rTags != null)
 		{
@@ -509,29 +510,27 @@ public class EnglishC2DConverter extends AbstractC2DConverter
 			
 			for (i=sId; i<size; i++)
 			{
-				if (curr.getChild(i).matchesConstituentTag(rTags))
+				if (rTags.matches(curr.getChild(i)))
 				{
 					b = true;
 					break;
 				}
 			}
 			
-			if (!b)	rTags = Pattern.compile(".*");
+			if (!b)	rTags = null;
 		}
-		else
-			rTags = Pattern.compile(".*");
 		
 		return rTags;
 	}
 	
 	/** Called by {@link #findHeadsCoordination(HeadRule, CTNode)}. */
-	private boolean isConjunct(CTNode C, CTNode P, Pattern rTags)
+	private boolean isConjunct(CTNode C, CTNode P, CTTagSet rTags)
 	{
 		if (P.isConstituentTag(CTTagEn.C_SBAR) && C.isConstituentTagAny(S_PREP_DET))
 			return false;
-		else if (rTags.pattern().equals(".*"))
+		else if (rTags == null)
 			return getSpecialLabel(C) == null;
-		else if (rTags.matcher(C.getConstituentTag()).find())
+		else if (rTags.matches(C))
 		{
 			if (P.isConstituentTag(CTTagEn.C_VP) && getAuxLabel(C) != null)
 				return false;
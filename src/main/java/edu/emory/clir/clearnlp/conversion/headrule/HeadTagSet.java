@@ -19,7 +19,9 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import edu.emory.clir.clearnlp.constituent.CTFunctionTagSet;
 import edu.emory.clir.clearnlp.constituent.CTNode;
+import edu.emory.clir.clearnlp.constituent.CTTagSet;
 import edu.emory.clir.clearnlp.util.PatternUtils;
 import edu.emory.clir.clearnlp.util.constant.StringConst;
 
@@ -42,6 +44,10 @@ public class HeadTagSet
 	private Pattern     p_constituentTags;
 	/** The set of function tags. */
 	private Set<String> s_functionTags;
+	/** {@link #p_constituentTags} compiled into a bitset; {@code null} if there is no constituent tag. */
+	private CTTagSet         c_constituentTags;
+	/** {@link #s_functionTags} compiled into a bitmask. */
+	private CTFunctionTagSet c_functionTags;
 	
 	/** @param e.g., "NN.*|-SBJ|-TPC|NP". */
 	public HeadTagSet(String tags)
@@ -61,14 +67,16 @@ public class HeadTagSet
 		}
 		
 		p_constituentTags = (pTags.length() != 0) ? PatternUtils.createClosedPattern(pTags.substring(1)) : null;
+		c_constituentTags = (p_constituentTags != null) ? CTTagSet.create(p_constituentTags) : null;
+		c_functionTags    = new CTFunctionTagSet(s_functionTags);
 	}
 	
 	/** @return {@code true} if the specific node matches any of the tags. */
 	public boolean matches(CTNode node)
 	{
-		if (node != null && p_constituentTags != null && node.matchesConstituentTag(p_constituentTags))
+		if (c_constituentTags != null && c_constituentTags.matches(node))
 			return true;
-		else if (node.hasFunctionTagAny(s_functionTags))
+		else if (c_functionTags.matchesAny(node))
 			return true;
 		
 		return false;
@@ -99,7 +99,7 @@ public class DEPTree implements Iterable<DEPNode>
 			oNode = oTree.get(i);
 			oHead = oNode.getHead();
 			nNode = get(i);
-			nHead = get(oHead.getID());
+			nHead = (oHead != null) ? get(oHead.getID()) : null;
 			
 			if (oNode.getSecondaryHeadArcList() != null)
 			{
@@ -119,7 +119,7 @@ public class DEPTree implements Iterable<DEPNode>
 				}				
 			}
 			
-			nNode.setHead(nHead, oNode.getLabel());
+			if (nHead != null) nNode.setHead(nHead, oNode.getLabel());
 		}
 	}
 	
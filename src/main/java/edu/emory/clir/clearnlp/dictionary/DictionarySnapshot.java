@@ -0,0 +1,248 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.dictionary;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dictionaries of the tokenizer and the morphological analyzer precompiled by {@link DictionarySnapshotBuilder} into one file,
+ * memory-mapped so that the in-memory structures are rebuilt without reading and parsing the text resources.
+ * Each section is keyed by the classpath path of the resource it is compiled from (e.g., {@link PathTokenizer#UNITS}).
+ * The file consists of a header, section entries, and data, all in big-endian:
+ * <pre>
+ * header : int version, int length of the section entries
+ * entries: int number of sections, (UTF path, byte type, int offset, int length)[]
+ * data   : sections addressed by offsets relative to the end of the entries
+ * </pre>
+ * A string section consists of the number of strings, the end index of each string, and the characters of all strings;
+ * strings of a set are stored in the iteration order of the set so that the rebuilt set iterates in the same order.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DictionarySnapshot
+{
+	/** The system property specifying the snapshot file used by the default constructors of dictionaries. */
+	static public final String PROPERTY_PATH = "clearnlp.dictionary.snapshot";
+	
+	static final int  VERSION = 1;
+	static final byte TYPE_STRINGS = 0;
+	static final byte TYPE_BYTES   = 1;
+	static final byte TYPE_OBJECT  = 2;
+	
+	static private DictionarySnapshot d_default;
+	static private boolean b_default;
+	
+	private ByteBuffer b_data;
+	private Map<String,Section> m_sections;
+	
+	public DictionarySnapshot(String filename) throws IOException
+	{
+		ByteBuffer buffer;
+		
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ))
+		{
+			buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+		
+		if (buffer.limit() < 8 || buffer.getInt(0) != VERSION)
+			throw new IOException("Incompatible dictionary snapshot: "+filename);
+		
+		byte[] entries = new byte[buffer.getInt(4)];
+		((ByteBuffer)buffer.duplicate().position(8)).get(entries);
+		readEntries(new DataInputStream(new ByteArrayInputStream(entries)));
+		b_data = ((ByteBuffer)buffer.position(8 + entries.length)).slice();
+	}
+	
+	private void readEntries(DataInputStream in) throws IOException
+	{
+		int i, size = in.readInt();
+		m_sections = new HashMap<>();
+		String path;
+		
+		for (i=0; i<size; i++)
+		{
+			path = in.readUTF();
+			m_sections.put(path, new Section(in.readByte(), in.readInt(), in.readInt()));
+		}
+	}
+	
+//	====================================== DEFAULT ======================================
+	
+	/**
+	 * @return the snapshot in the file specified by the system property {@link #PROPERTY_PATH} if it is set (or by {@link #setDefault(DictionarySnapshot)}); otherwise, {@code null}.
+	 * The file is mapped once; if it is missing or cannot be read, {@code null} is returned so that dictionaries fall back to the text resources.
+	 */
+	static synchronized public DictionarySnapshot getDefault()
+	{
+		if (!b_default)
+		{
+			String filename = System.getProperty(PROPERTY_PATH);
+			b_default = true;
+			
+			if (filename != null && new File(filename).isFile())
+			{
+				try
+				{
+					d_default = new DictionarySnapshot(filename);
+				}
+				catch (IOException e) {e.printStackTrace();}
+			}
+		}
+		
+		return d_default;
+	}
+	
+	/** @param snapshot the snapshot used by the default constructors of dictionaries; {@code null} to use the text resources. */
+	static synchronized public void setDefault(DictionarySnapshot snapshot)
+	{
+		d_default = snapshot;
+		b_default = true;
+	}
+	
+	/** @return the string set of the specific path in the default snapshot if exists; otherwise, {@code null}. */
+	static public Set<String> getDefaultStringSet(String path)
+	{
+		DictionarySnapshot snapshot = getDefault();
+		return (snapshot != null) ? snapshot.getStringSet(path) : null;
+	}
+	
+	/** @return the string list of the specific path in the default snapshot if exists; otherwise, {@code null}. */
+	static public List<String> getDefaultStringList(String path)
+	{
+		DictionarySnapshot snapshot = getDefault();
+		return (snapshot != null) ? snapshot.getStringList(path) : null;
+	}
+	
+//	====================================== SECTIONS ======================================
+	
+	public boolean contains(String path)
+	{
+		return m_sections.containsKey(path);
+	}
+	
+	public Set<String> getPaths()
+	{
+		return m_sections.keySet();
+	}
+	
+	/** @return a new modifiable set of the strings in the specific section if exists; otherwise, {@code null}. */
+	public Set<String> getStringSet(String path)
+	{
+		List<String> list = getStringList(path);
+		if (list == null) return null;
+		
+		// grown from the default capacity as the original set is
+		Set<String> set = new HashSet<>();
+		set.addAll(list);
+		return set;
+	}
+	
+	/** @return a new modifiable list of the strings in the specific section in the stored order if exists; otherwise, {@code null}. */
+	public List<String> getStringList(String path)
+	{
+		ByteBuffer buffer = getBuffer(path, TYPE_STRINGS);
+		if (buffer == null) return null;
+		
+		int i, begin, size = buffer.getInt();
+		int[] ends = new int[size];
+		buffer.asIntBuffer().get(ends);
+		buffer.position(buffer.position() + 4 * size);
+		
+		char[] cs = new char[(size > 0) ? ends[size-1] : 0];
+		buffer.asCharBuffer().get(cs);
+		List<String> list = new ArrayList<>(size);
+		
+		for (i=0, begin=0; i<size; begin=ends[i++])
+			list.add(new String(cs, begin, ends[i] - begin));
+		
+		return list;
+	}
+	
+	/** @return the input-stream of the raw resource in the specific section if exists; otherwise, {@code null}. */
+	public InputStream getInputStream(String path)
+	{
+		ByteBuffer buffer = getBuffer(path, TYPE_BYTES);
+		return (buffer != null) ? new ByteArrayInputStream(toByteArray(buffer)) : null;
+	}
+	
+	/** @return the deserialized object in the specific section if exists; otherwise, {@code null}. */
+	@SuppressWarnings("unchecked")
+	public <T>T getObject(String path)
+	{
+		ByteBuffer buffer = getBuffer(path, TYPE_OBJECT);
+		if (buffer == null) return null;
+		
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(toByteArray(buffer))))
+		{
+			return (T)in.readObject();
+		}
+		catch (Exception e) {e.printStackTrace();}
+		
+		return null;
+	}
+	
+	/** @return a buffer positioned at the beginning of the specific section whose limit is the end of the section if exists; otherwise, {@code null}. */
+	private ByteBuffer getBuffer(String path, byte type)
+	{
+		Section section = m_sections.get(path);
+		if (section == null) return null;
+		
+		if (section.b_type != type)
+			throw new IllegalArgumentException("Section type mismatch: "+path);
+		
+		ByteBuffer buffer = b_data.duplicate();
+		buffer.position(section.i_offset);
+		buffer.limit(section.i_offset + section.n_length);
+		return buffer.slice();
+	}
+	
+	private byte[] toByteArray(ByteBuffer buffer)
+	{
+		byte[] b = new byte[buffer.remaining()];
+		buffer.get(b);
+		return b;
+	}
+	
+	static private class Section
+	{
+		byte b_type;
+		int  i_offset;
+		int  n_length;
+		
+		public Section(byte type, int offset, int length)
+		{
+			b_type   = type;
+			i_offset = offset;
+			n_length = length;
+		}
+	}
+}
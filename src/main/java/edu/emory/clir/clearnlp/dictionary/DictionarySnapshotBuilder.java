@@ -0,0 +1,221 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.dictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import edu.emory.clir.clearnlp.collection.tree.CharTrieMap;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.DSUtils;
+import edu.emory.clir.clearnlp.util.IOUtils;
+import edu.emory.clir.clearnlp.util.Splitter;
+
+/**
+ * Compiles the dictionaries of the tokenizer and the English morphological analyzer into a {@link DictionarySnapshot}.
+ * Word lists are stored as string tables normalized as the dictionaries read them,
+ * base-forms and exceptions of the morphological analyzer as tries ({@link CharTrieMap}),
+ * and the affix rules as they are.
+ * Resources that are not found are skipped, in which case the dictionaries read them from the text resources.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DictionarySnapshotBuilder
+{
+	static private final String[] MP_TYPES = {PathEnglishMPAnalyzer.VERB, PathEnglishMPAnalyzer.NOUN, PathEnglishMPAnalyzer.ADJECTIVE, PathEnglishMPAnalyzer.ADVERB};
+	
+	private Function<String,InputStream> f_resources;
+	private Map<String,byte[]> m_sections;
+	private Map<String,Byte>   m_types;
+	
+	/** Reads the dictionaries from the classpath. */
+	public DictionarySnapshotBuilder()
+	{
+		this(IOUtils::getInputStreamsFromClasspath);
+	}
+	
+	/** @param resources returns the input-stream of the resource in the specific classpath path, or {@code null} if not exists. */
+	public DictionarySnapshotBuilder(Function<String,InputStream> resources)
+	{
+		f_resources = resources;
+		m_sections  = new LinkedHashMap<>();
+		m_types     = new LinkedHashMap<>();
+	}
+	
+	public void build(String outputFile) throws IOException
+	{
+		// tokenizer
+		addStringSet(PathTokenizer.EN_ABBREVIATION_PERIOD, true);
+		addStringSet(PathTokenizer.EN_HYPHEN_PREFIX, true);
+		addStringSet(PathTokenizer.EN_HYPHEN_SUFFIX, true);
+		addStringSet(PathTokenizer.CURRENCY, true);
+		addStringSet(PathTokenizer.CURRENCY_DOLLAR, true);
+		addStringSet(PathTokenizer.UNITS, true);
+		addStringSet(PathTokenizer.EMOTICONS, false);
+		addLines(PathTokenizer.EN_COMPOUNDS);
+		
+		// morphology
+		addBytes(PathEnglishMPAnalyzer.INFLECTION_SUFFIX);
+		addBytes(PathEnglishMPAnalyzer.ABBREVIATOIN_RULE);
+		addTrieSet(PathEnglishMPAnalyzer.CARDINAL_BASE);
+		addTrieSet(PathEnglishMPAnalyzer.ORDINAL_BASE);
+		
+		for (String type : MP_TYPES)
+		{
+			addTrieSet(PathEnglishMPAnalyzer.ROOT + type + PathEnglishMPAnalyzer.EXT_BASE);
+			addTrieMap(PathEnglishMPAnalyzer.ROOT + type + PathEnglishMPAnalyzer.EXT_EXCEPTION);
+		}
+		
+		write(outputFile);
+		BinUtils.LOG.info("Dictionary sections: "+m_sections.size()+"\n");
+	}
+	
+//	====================================== SECTIONS ======================================
+	
+	/** Adds the set read as {@link DSUtils#createStringHashSet(InputStream, boolean, boolean)} with trimming. */
+	private void addStringSet(String path, boolean decap) throws IOException
+	{
+		InputStream in = f_resources.apply(path);
+		if (in != null) addStrings(path, DSUtils.createStringHashSet(in, true, decap));
+	}
+	
+	/** Adds all lines as they are. */
+	private void addLines(String path) throws IOException
+	{
+		InputStream in = f_resources.apply(path);
+		if (in == null) return;
+		BufferedReader reader = IOUtils.createBufferedReader(in);
+		List<String> lines = new ArrayList<>();
+		String line;
+		
+		while ((line = reader.readLine()) != null)
+			lines.add(line);
+		
+		addStrings(path, lines);
+	}
+	
+	private void addStrings(String path, Collection<String> strings) throws IOException
+	{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bout);
+		int end = 0;
+		
+		out.writeInt(strings.size());
+		
+		for (String s : strings)
+			out.writeInt(end += s.length());
+		
+		for (String s : strings)
+			out.writeChars(s);
+		
+		out.close();
+		add(path, DictionarySnapshot.TYPE_STRINGS, bout.toByteArray());
+	}
+	
+	private void addBytes(String path) throws IOException
+	{
+		InputStream in = f_resources.apply(path);
+		if (in == null) return;
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int n;
+		
+		while ((n = in.read(buffer)) > 0)
+			bout.write(buffer, 0, n);
+		
+		in.close();
+		add(path, DictionarySnapshot.TYPE_BYTES, bout.toByteArray());
+	}
+	
+	/** Adds the trie read as the morphological analyzer reads base-forms. */
+	private void addTrieSet(String path) throws IOException
+	{
+		InputStream in = f_resources.apply(path);
+		if (in != null) addObject(path, CharTrieMap.createSetMap(DSUtils.createStringHashSet(in)));
+	}
+	
+	/** Adds the trie read as the morphological analyzer reads exceptions. */
+	private void addTrieMap(String path) throws IOException
+	{
+		InputStream in = f_resources.apply(path);
+		if (in != null) addObject(path, new CharTrieMap<>(DSUtils.createStringHashMap(in, Splitter.T_SPACE)));
+	}
+	
+	private void addObject(String path, Serializable obj) throws IOException
+	{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		
+		try (ObjectOutputStream out = new ObjectOutputStream(bout))
+		{
+			out.writeObject(obj);
+		}
+		
+		add(path, DictionarySnapshot.TYPE_OBJECT, bout.toByteArray());
+	}
+	
+	private void add(String path, byte type, byte[] data)
+	{
+		m_sections.put(path, data);
+		m_types.put(path, type);
+	}
+	
+	private void write(String outputFile) throws IOException
+	{
+		ByteArrayOutputStream entries = new ByteArrayOutputStream();
+		DataOutputStream eout = new DataOutputStream(entries);
+		int offset = 0;
+		
+		eout.writeInt(m_sections.size());
+		
+		for (Map.Entry<String,byte[]> e : m_sections.entrySet())
+		{
+			eout.writeUTF(e.getKey());
+			eout.writeByte(m_types.get(e.getKey()));
+			eout.writeInt(offset);
+			eout.writeInt(e.getValue().length);
+			offset += e.getValue().length;
+		}
+		
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile))))
+		{
+			out.writeInt(DictionarySnapshot.VERSION);
+			out.writeInt(entries.size());
+			entries.writeTo(out);
+			
+			for (byte[] data : m_sections.values())
+				out.write(data);
+		}
+	}
+	
+	/** args: outputFile; the dictionaries are read from the classpath. */
+	static public void main(String[] args) throws Exception
+	{
+		new DictionarySnapshotBuilder().build(args[0]);
+	}
+}
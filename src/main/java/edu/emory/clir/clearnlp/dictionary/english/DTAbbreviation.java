@@ -18,6 +18,7 @@ package edu.emory.clir.clearnlp.dictionary.english;
 import java.io.InputStream;
 import java.util.Set;
 
+import edu.emory.clir.clearnlp.dictionary.DictionarySnapshot;
 import edu.emory.clir.clearnlp.dictionary.PathTokenizer;
 import edu.emory.clir.clearnlp.util.DSUtils;
 import edu.emory.clir.clearnlp.util.IOUtils;
@@ -30,9 +31,11 @@ public class DTAbbreviation
 {
 	private Set<String> s_period;
 	
+	/** Reads the dictionary from the default {@link DictionarySnapshot} if exists; otherwise, from the classpath. */
 	public DTAbbreviation()
 	{
-		init(IOUtils.getInputStreamsFromClasspath(PathTokenizer.EN_ABBREVIATION_PERIOD));
+		s_period = DictionarySnapshot.getDefaultStringSet(PathTokenizer.EN_ABBREVIATION_PERIOD);
+		if (s_period == null) init(IOUtils.getInputStreamsFromClasspath(PathTokenizer.EN_ABBREVIATION_PERIOD));
 	}
 	
 	public DTAbbreviation(InputStream abbreviationPeriod)
@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Set;
 
+import edu.emory.clir.clearnlp.dictionary.DictionarySnapshot;
 import edu.emory.clir.clearnlp.dictionary.PathTokenizer;
 import edu.emory.clir.clearnlp.util.CharUtils;
 import edu.emory.clir.clearnlp.util.DSUtils;
@@ -33,8 +34,13 @@ public class DTHyphen
 	private Set<String> s_prefix;
 	private Set<String> s_suffix;
 	
+	/** Reads the dictionaries from the default {@link DictionarySnapshot} if exist; otherwise, from the classpath. */
 	public DTHyphen()
 	{
+		s_prefix = DictionarySnapshot.getDefaultStringSet(PathTokenizer.EN_HYPHEN_PREFIX);
+		s_suffix = DictionarySnapshot.getDefaultStringSet(PathTokenizer.EN_HYPHEN_SUFFIX);
+		if (s_prefix != null && s_suffix != null) return;
+		
 		InputStream prefix = IOUtils.getInputStreamsFromClasspath(PathTokenizer.EN_HYPHEN_PREFIX);
 		InputStream suffix = IOUtils.getInputStreamsFromClasspath(PathTokenizer.EN_HYPHEN_SUFFIX);
 		init(prefix, suffix);
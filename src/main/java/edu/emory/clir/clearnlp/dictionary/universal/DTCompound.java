@@ -19,9 +19,11 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import edu.emory.clir.clearnlp.dictionary.AbstractDTTokenizer;
+import edu.emory.clir.clearnlp.dictionary.DictionarySnapshot;
 import edu.emory.clir.clearnlp.dictionary.PathTokenizer;
 import edu.emory.clir.clearnlp.util.IOUtils;
 import edu.emory.clir.clearnlp.util.Splitter;
@@ -36,11 +38,12 @@ public class DTCompound extends AbstractDTTokenizer
 {
 	private Map<String,int[]> m_compound;
 	
+	/** Reads the dictionary from the default {@link DictionarySnapshot} if exists; otherwise, from the classpath. */
 	public DTCompound(TLanguage language)
 	{
 		switch (language)
 		{
-		case ENGLISH: init(IOUtils.getInputStreamsFromClasspath(PathTokenizer.EN_COMPOUNDS)); break;
+		case ENGLISH: init(PathTokenizer.EN_COMPOUNDS); break;
 		default: throw new IllegalArgumentException(language.toString());
 		}
 	}
@@ -50,39 +53,55 @@ public class DTCompound extends AbstractDTTokenizer
 		init(in);
 	}
 	
+	private void init(String path)
+	{
+		List<String> lines = DictionarySnapshot.getDefaultStringList(path);
+		if (lines == null) init(IOUtils.getInputStreamsFromClasspath(path));
+		else init(lines);
+	}
+	
 	public void init(InputStream in)
 	{
 		BufferedReader reader = IOUtils.createBufferedReader(in);
 		m_compound = new HashMap<>();
-		StringBuilder build;
-		String line, token;
-		String[] tokens;
-		int i, size;
-		int[] tmp;
+		String line;
 		
 		try
 		{
 			while ((line = reader.readLine()) != null)
-			{
-				tokens = Splitter.splitSpace(line.trim());
-				build  = new StringBuilder();
-				size   = tokens.length - 1;
-				tmp    = new int[size];
-				
-				for (i=0; i<size; i++)
-				{
-					token  = tokens[i];
-					tmp[i] = build.length() + token.length();
-					build.append(token);
-				}
-				
-				build.append(tokens[size]);
-				m_compound.put(StringUtils.toLowerCase(build.toString()), tmp);
-			}
+				add(line);
 		}
 		catch (IOException e) {e.printStackTrace();}
 	}
 	
+	/** @param lines lines of the compound dictionary (e.g., {@link DictionarySnapshot#getStringList(String)}). */
+	public void init(List<String> lines)
+	{
+		m_compound = new HashMap<>();
+		
+		for (String line : lines)
+			add(line);
+	}
+	
+	private void add(String line)
+	{
+		String[] tokens = Splitter.splitSpace(line.trim());
+		StringBuilder build = new StringBuilder();
+		int i, size = tokens.length - 1;
+		int[] tmp = new int[size];
+		String token;
+		
+		for (i=0; i<size; i++)
+		{
+			token  = tokens[i];
+			tmp[i] = build.length() + token.length();
+			build.append(token);
+		}
+		
+		build.append(tokens[size]);
+		m_compound.put(StringUtils.toLowerCase(build.toString()), tmp);
+	}
+	
 	@Override
 	public String[] tokenize(String original, String lower, char[] lcs)
 	{
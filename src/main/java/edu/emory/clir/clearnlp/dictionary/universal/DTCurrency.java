@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.util.Set;
 
 import edu.emory.clir.clearnlp.dictionary.AbstractDTTokenizer;
+import edu.emory.clir.clearnlp.dictionary.DictionarySnapshot;
 import edu.emory.clir.clearnlp.dictionary.PathTokenizer;
 import edu.emory.clir.clearnlp.util.CharUtils;
 import edu.emory.clir.clearnlp.util.DSUtils;
@@ -36,8 +37,18 @@ public class DTCurrency extends AbstractDTTokenizer
 	private Set<String> s_currency;
 	private Set<String> s_dollar;
 	
+	/** Reads the dictionaries from the default {@link DictionarySnapshot} if exist; otherwise, from the classpath. */
 	public DTCurrency()
 	{
+		Set<String> currencySet = DictionarySnapshot.getDefaultStringSet(PathTokenizer.CURRENCY);
+		Set<String> dollarSet   = DictionarySnapshot.getDefaultStringSet(PathTokenizer.CURRENCY_DOLLAR);
+		
+		if (currencySet != null && dollarSet != null)
+		{
+			init(currencySet, dollarSet);
+			return;
+		}
+		
 		InputStream currency = IOUtils.getInputStreamsFromClasspath(PathTokenizer.CURRENCY);
 		InputStream dollar   = IOUtils.getInputStreamsFromClasspath(PathTokenizer.CURRENCY_DOLLAR);
 
@@ -51,8 +62,13 @@ public class DTCurrency extends AbstractDTTokenizer
 	
 	public void init(InputStream currency, InputStream dollar)
 	{
-		s_currency = DSUtils.createStringHashSet(currency, true, true);
-		s_dollar   = DSUtils.createStringHashSet(dollar  , true, true);
+		init(DSUtils.createStringHashSet(currency, true, true), DSUtils.createStringHashSet(dollar, true, true));
+	}
+	
+	private void init(Set<String> currency, Set<String> dollar)
+	{
+		s_currency = currency;
+		s_dollar   = dollar;
 		
 		for (String s : s_dollar)
 			s_currency.add(s+StringConst.DOLLAR);
@@ -20,7 +20,8 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import edu.emory.clir.clearnlp.collection.tree.CharAffixTree;
+import edu.emory.clir.clearnlp.collection.tree.DoubleArrayAffixTree;
+import edu.emory.clir.clearnlp.dictionary.DictionarySnapshot;
 import edu.emory.clir.clearnlp.dictionary.PathTokenizer;
 import edu.emory.clir.clearnlp.util.DSUtils;
 import edu.emory.clir.clearnlp.util.IOUtils;
@@ -33,12 +34,16 @@ public class DTEmoticon
 {
 	private final Pattern EMOTICON = Pattern.compile("[\\!\\|;:#%][-]*[\\(\\)\\[\\]\\{\\}\\|<>]+");
 	private Set<String> s_emoticon;
-	private CharAffixTree   t_prefix;
-	private CharAffixTree   t_suffix;
+	private DoubleArrayAffixTree t_prefix;
+	private DoubleArrayAffixTree t_suffix;
 	
+	/** Reads the dictionary from the default {@link DictionarySnapshot} if exists; otherwise, from the classpath. */
 	public DTEmoticon()
 	{
-		init(IOUtils.getInputStreamsFromClasspath(PathTokenizer.EMOTICONS));
+		Set<String> emoticons = DictionarySnapshot.getDefaultStringSet(PathTokenizer.EMOTICONS);
+		
+		if (emoticons != null)	init(emoticons);
+		else					init(IOUtils.getInputStreamsFromClasspath(PathTokenizer.EMOTICONS));
 	}
 	
 	public DTEmoticon(InputStream in)
@@ -48,9 +53,14 @@ public class DTEmoticon
 	
 	public void init(InputStream in)
 	{
-		s_emoticon = DSUtils.createStringHashSet(in, true, false);
-		t_prefix = new CharAffixTree(true);		t_prefix.addAll(s_emoticon);
-		t_suffix = new CharAffixTree(false);	t_suffix.addAll(s_emoticon);
+		init(DSUtils.createStringHashSet(in, true, false));
+	}
+	
+	private void init(Set<String> emoticons)
+	{
+		s_emoticon = emoticons;
+		t_prefix = new DoubleArrayAffixTree(true , s_emoticon);
+		t_suffix = new DoubleArrayAffixTree(false, s_emoticon);
 	}
 	
 	public int[] getEmoticonRange(String s)
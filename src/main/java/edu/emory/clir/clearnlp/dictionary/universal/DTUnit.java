@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.util.Set;
 
 import edu.emory.clir.clearnlp.dictionary.AbstractDTTokenizer;
+import edu.emory.clir.clearnlp.dictionary.DictionarySnapshot;
 import edu.emory.clir.clearnlp.dictionary.PathTokenizer;
 import edu.emory.clir.clearnlp.util.CharUtils;
 import edu.emory.clir.clearnlp.util.DSUtils;
@@ -33,9 +34,11 @@ public class DTUnit extends AbstractDTTokenizer
 {
 	private Set<String> s_unit;
 	
+	/** Reads the dictionary from the default {@link DictionarySnapshot} if exists; otherwise, from the classpath. */
 	public DTUnit()
 	{
-		init(IOUtils.getInputStreamsFromClasspath(PathTokenizer.UNITS));
+		s_unit = DictionarySnapshot.getDefaultStringSet(PathTokenizer.UNITS);
+		if (s_unit == null) init(IOUtils.getInputStreamsFromClasspath(PathTokenizer.UNITS));
 	}
 	
 	public DTUnit(InputStream in)
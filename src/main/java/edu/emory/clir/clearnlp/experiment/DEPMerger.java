@@ -16,9 +16,17 @@
 package edu.emory.clir.clearnlp.experiment;
 
 import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import edu.emory.clir.clearnlp.component.mode.dep.DEPEval;
+import edu.emory.clir.clearnlp.component.mode.dep.merge.DEPEnsembleParser;
+import edu.emory.clir.clearnlp.component.mode.dep.merge.DEPMSTMerge;
 import edu.emory.clir.clearnlp.component.mode.dep.merge.DEPMerge;
 import edu.emory.clir.clearnlp.dependency.DEPNode;
 import edu.emory.clir.clearnlp.dependency.DEPTree;
@@ -27,70 +35,122 @@ import edu.emory.clir.clearnlp.util.FileUtils;
 import edu.emory.clir.clearnlp.util.arc.DEPArc;
 
 /**
+ * Merges the outputs of multiple dependency parsers, and compares the accuracy and the throughput of {@link DEPMerge} and {@link DEPMSTMerge}.
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
  */
 public class DEPMerger
 {
-	public DEPMerger() throws Exception
+	/** @param systemFiles the outputs of the parsers on the sentences in the gold file. */
+	public void evaluate(String goldFile, List<String> systemFiles, boolean projective) throws Exception
 	{
-		List<String> filenames = FileUtils.getFileList("/Users/jdchoi/Desktop/out/", ".out", false);
-		int i, size = filenames.size();
+		List<List<DEPTree>> systems = read(systemFiles);
+		List<DEPTree> gold = read(Collections.singletonList(goldFile)).get(0);
 		
-		TSVReader gReader = new TSVReader(0, 1, 2, 4, 5, 6, 7);
-		TSVReader[] sReaders = new TSVReader[size];
+		evaluate("greedy", gold, systems, this::mergeGreedy);
+		evaluate(projective ? "eisner" : "chu-liu-edmonds", gold, systems, (tree, outputs) -> mergeMST(tree, outputs, projective));
+	}
+	
+	/** Reads the specific files concurrently. */
+	private List<List<DEPTree>> read(List<String> filenames) throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(filenames.size());
+		List<Future<List<DEPTree>>> futures = new ArrayList<>();
+		List<List<DEPTree>> trees = new ArrayList<>();
+		
+		try
+		{
+			for (String filename : filenames)
+				futures.add(executor.submit(() -> read(filename)));
+			
+			for (Future<List<DEPTree>> future : futures)
+				trees.add(future.get());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		return trees;
+	}
+	
+	private List<DEPTree> read(String filename) throws Exception
+	{
+		TSVReader reader = new TSVReader(0, 1, 2, 4, 5, 6, 7);
+		List<DEPTree> trees = new ArrayList<>();
+		DEPTree tree;
+		
+		reader.open(new FileInputStream(filename));
+		
+		while ((tree = reader.next()) != null)
+			trees.add(tree);
+		
+		reader.close();
+		return trees;
+	}
+	
+	private void evaluate(String name, List<DEPTree> gold, List<List<DEPTree>> systems, BiConsumer<DEPTree,List<DEPTree>> merger)
+	{
+		List<DEPTree> outputs = new ArrayList<>();
 		DEPEval eval = new DEPEval();
+		int i, size = gold.size();
+		long time = 0, start;
 		DEPArc[] gHeads;
-		DEPMerge merge;
 		DEPTree tree;
 		
-		gReader.open(new FileInputStream("/Users/jdchoi/Desktop/out/gold/gold.out"));
-		
 		for (i=0; i<size; i++)
 		{
-			sReaders[i] = new TSVReader(0, 1, 2, 4, 5, 6, 7);
-			sReaders[i].open(new FileInputStream(filenames.get(i)));
-		}
-		
-		while ((tree = gReader.next()) != null)
-		{
+			tree   = new DEPTree(gold.get(i));
 			gHeads = tree.getHeads();
 			tree.clearDependencies();
-			merge = new DEPMerge(tree);
+			outputs.clear();
+			for (List<DEPTree> system : systems) outputs.add(system.get(i));
 			
-			for (TSVReader sReader : sReaders)
-				reset(merge, tree, sReader.next());
-			
-			merge.merge();
+			start = System.nanoTime();
+			merger.accept(tree, outputs);
+			time += System.nanoTime() - start;
 			eval.countCorrect(tree, gHeads);
 		}
 		
-		System.out.println(eval.toString());
+		System.out.printf("%-16s %s, %.0f sentences/sec\n", name, eval.toString(), 1e9 * size / Math.max(time, 1));
 	}
 	
-	private void reset(DEPMerge merge, DEPTree tree1, DEPTree tree2)
+	private void mergeGreedy(DEPTree tree, List<DEPTree> outputs)
 	{
-		DEPNode node1, node2, head2;
-		int i, size = tree1.size();
+		DEPMerge merge = new DEPMerge(tree);
+		int i, size = tree.size();
+		DEPNode head;
 		
-		for (i=1; i<size; i++)
+		for (DEPTree output : outputs)
 		{
-			node1 = tree1.get(i);
-			node2 = tree2.get(i);
-			head2 = node2.getHead();
-			
-			if (head2 != null)
-				merge.addEdge(node1, tree1.get(head2.getID()), node2.getLabel(), 1);
+			for (i=1; i<size; i++)
+			{
+				if ((head = output.get(i).getHead()) != null)
+					merge.addEdge(tree.get(i), tree.get(head.getID()), output.get(i).getLabel(), 1);
+			}
 		}
+		
+		merge.merge();
+	}
+	
+	private void mergeMST(DEPTree tree, List<DEPTree> outputs, boolean projective)
+	{
+		DEPMSTMerge merge = new DEPMSTMerge(tree);
+		
+		for (DEPTree output : outputs)
+			DEPEnsembleParser.addEdges(merge, tree, output, 1);
+		
+		merge.merge(projective);
 	}
 	
+	/** args: goldFile systemDir extension [projective]. */
 	static public void main(String[] args)
 	{
-		try {
-			new DEPMerger();
-		}
-		catch (Exception e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		try
+		{
+			List<String> filenames = FileUtils.getFileList(args[1], args[2], false);
+			Collections.sort(filenames);
+			new DEPMerger().evaluate(args[0], filenames, args.length > 3 && Boolean.parseBoolean(args[3]));
 		}
+		catch (Exception e) {e.printStackTrace();}
 	}
 }
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.reader.TSVReader;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * Reads and resets gold-standard trees for the experiments that decode them repeatedly.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class EvalUtils
+{
+	private EvalUtils() {}
+	
+	/** @return all trees in the specific files read by the specific reader. */
+	static public List<DEPTree> readTrees(TSVReader reader, List<String> inputFiles)
+	{
+		List<DEPTree> trees = new ArrayList<>();
+		DEPTree tree;
+		
+		for (String inputFile : inputFiles)
+		{
+			reader.open(IOUtils.createFileInputStream(inputFile));
+			while ((tree = reader.next()) != null) trees.add(tree);
+			reader.close();
+		}
+		
+		return trees;
+	}
+	
+	/** Removes the part-of-speech tags of all nodes in the specific tree before it gets tagged again. */
+	static public void clearPOSTags(DEPTree tree)
+	{
+		for (DEPNode node : tree)
+			node.clearPOSTag();
+	}
+}
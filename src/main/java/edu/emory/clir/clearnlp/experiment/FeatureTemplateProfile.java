@@ -0,0 +1,126 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.experiment;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.kohsuke.args4j.Option;
+
+import edu.emory.clir.clearnlp.component.AbstractStatisticalComponent;
+import edu.emory.clir.clearnlp.component.configuration.DecodeConfiguration;
+import edu.emory.clir.clearnlp.component.mode.dep.DEPConfiguration;
+import edu.emory.clir.clearnlp.component.utils.NLPMode;
+import edu.emory.clir.clearnlp.component.utils.NLPUtils;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.feature.AbstractFeatureExtractor;
+import edu.emory.clir.clearnlp.feature.FeatureTemplateProfiler;
+import edu.emory.clir.clearnlp.reader.TSVReader;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.FileUtils;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * Decodes the input with a trained part-of-speech tagger or dependency parser while profiling its feature templates,
+ * and writes the templates ranked by extraction time with their feature counts, unique-value growth, and weight mass
+ * (see {@link FeatureTemplateProfiler}) so that expensive templates with little weight can be pruned.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class FeatureTemplateProfile
+{
+	@Option(name="-c", usage="confinguration file (required)", required=true, metaVar="<string>")
+	private String s_configurationFile;
+	@Option(name="-i", usage="input path (required)", required=true, metaVar="<filepath>")
+	private String s_inputPath;
+	@Option(name="-ie", usage="input file extension (default: *)", required=false, metaVar="<string>")
+	private String s_inputExt = "*";
+	@Option(name="-mode", usage="pos|dep", required=true, metaVar="<string>")
+	private String s_mode;
+	@Option(name="-o", usage="output file (default: standard output)", required=false, metaVar="<filepath>")
+	private String s_outputFile = null;
+	
+	public FeatureTemplateProfile() {}
+	
+	public FeatureTemplateProfile(String[] args)
+	{
+		BinUtils.initArgs(args, this);
+		DecodeConfiguration config = new DecodeConfiguration(IOUtils.createFileInputStream(s_configurationFile));
+		List<DEPTree> trees = EvalUtils.readTrees((TSVReader)config.getReader(), FileUtils.getFileList(s_inputPath, s_inputExt, false));
+		NLPMode mode = NLPMode.valueOf(s_mode);
+		AbstractStatisticalComponent<?,?,?,?> component;
+		Consumer<DEPTree> clear;
+		
+		switch (mode)
+		{
+		case pos:
+			component = NLPUtils.getPOSTagger(config.getLanguage(), config.getModelPath(mode));
+			clear = EvalUtils::clearPOSTags;
+			break;
+		case dep:
+			component = NLPUtils.getDEPParser(config.getLanguage(), config.getModelPath(mode), new DEPConfiguration(IOUtils.createFileInputStream(s_configurationFile)));
+			clear = DEPTree::clearDependencies;
+			break;
+		default:
+			throw new IllegalArgumentException("Invalid mode: "+mode);
+		}
+		
+		PrintStream fout = (s_outputFile != null) ? IOUtils.createBufferedPrintStream(s_outputFile) : System.out;
+		fout.print(profile(component, trees, clear));
+		if (s_outputFile != null) fout.close();
+	}
+	
+	/**
+	 * Decodes the specific trees once without profiling to warm up, then once while profiling.
+	 * @param clear removes the outputs of the component from each tree before decoding.
+	 * @return the report of each feature extractor of the specific component.
+	 */
+	public String profile(AbstractStatisticalComponent<?,?,?,?> component, List<DEPTree> trees, Consumer<DEPTree> clear)
+	{
+		AbstractFeatureExtractor<?,?,?>[] extractors = component.getFeatureExtractors();
+		StringBuilder build = new StringBuilder();
+		FeatureTemplateProfiler profiler;
+		int i;
+		
+		decode(component, trees, clear);
+		for (i=0; i<extractors.length; i++) extractors[i].startProfiling();
+		decode(component, trees, clear);
+		
+		for (i=0; i<extractors.length; i++)
+		{
+			profiler = extractors[i].stopProfiling();
+			build.append(String.format("Feature extractor %d: %d vectors\n", i, profiler.getVectorCount()));
+			build.append(profiler.getReport((i < component.getModels().length) ? component.getModel(i) : null));
+		}
+		
+		return build.toString();
+	}
+	
+	private void decode(AbstractStatisticalComponent<?,?,?,?> component, List<DEPTree> trees, Consumer<DEPTree> clear)
+	{
+		for (DEPTree tree : trees)
+		{
+			clear.accept(tree);
+			component.process(tree);
+		}
+	}
+	
+	static public void main(String[] args)
+	{
+		new FeatureTemplateProfile(args);
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.experiment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kohsuke.args4j.Option;
+
+import edu.emory.clir.clearnlp.classification.instance.StringInstance;
+import edu.emory.clir.clearnlp.classification.instance.StringInstanceReader;
+import edu.emory.clir.clearnlp.classification.map.HashedFeatureMap;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.trainer.AdaGradSVM;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * Compares the feature dictionary against {@link HashedFeatureMap} of different numbers of bits
+ * in accuracy, the number of weights, and the size of the serialized model.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class HashedFeatureEval
+{
+	@Option(name="-trainFile", usage="the training file in the string vector format (required)", required=true, metaVar="<filename>")
+	private String s_trainFile;
+	@Option(name="-testFile", usage="the test file in the string vector format (required)", required=true, metaVar="<filename>")
+	private String s_testFile;
+	@Option(name="-bits", usage="comma separated numbers of bits of the hashed space (default: 16,18,20,22)", required=false, metaVar="<string>")
+	private String s_bits = "16,18,20,22";
+	@Option(name="-epochs", usage="the number of training epochs (default: 10)", required=false, metaVar="<integer>")
+	private int n_epochs = 10;
+	@Option(name="-a", usage="the learning rate (default: 0.01)", required=false, metaVar="<double>")
+	private double d_alpha = 0.01;
+	@Option(name="-r", usage="the smoothing denominator (default: 0.1)", required=false, metaVar="<double>")
+	private double d_rho = 0.1;
+	@Option(name="-signed", usage="if set, features are multiplied by hashed signs (default: false)", required=false, metaVar="<boolean>")
+	private boolean b_signed = false;
+	
+	public HashedFeatureEval() {}
+	
+	public HashedFeatureEval(String[] args)
+	{
+		BinUtils.initArgs(args, this);
+		List<StringInstance> trainInstances = read(s_trainFile);
+		List<StringInstance> testInstances  = read(s_testFile);
+		
+		BinUtils.LOG.info(String.format("%12s %10s %12s %12s\n", "features", "accuracy", "weights", "bytes"));
+		evaluate("dictionary", new StringModel(false), trainInstances, testInstances);
+		
+		for (String s : s_bits.split(","))
+		{
+			int bits = Integer.parseInt(s.trim());
+			evaluate("2^"+bits, new StringModel(false, bits, b_signed), trainInstances, testInstances);
+		}
+	}
+	
+	private List<StringInstance> read(String filename)
+	{
+		StringInstanceReader reader = new StringInstanceReader(IOUtils.createFileInputStream(filename));
+		List<StringInstance> instances = new ArrayList<>();
+		StringInstance instance;
+		
+		while ((instance = reader.next()) != null)
+			instances.add(instance);
+		
+		reader.close();
+		return instances;
+	}
+	
+	private void evaluate(String name, StringModel model, List<StringInstance> trainInstances, List<StringInstance> testInstances)
+	{
+		for (StringInstance instance : trainInstances) model.addInstance(instance);
+		AdaGradSVM trainer = new AdaGradSVM(model, 0, 0, true, d_alpha, d_rho, 0);
+		int epoch;
+		
+		for (epoch=0; epoch<n_epochs; epoch++)
+			trainer.train();
+		
+		double accuracy = getAccuracy(model, testInstances);
+		BinUtils.LOG.info(String.format("%12s %10.2f %12d %12d\n", name, accuracy, model.getWeightVector().size(), getModelSize(model)));
+	}
+	
+	/** @return the accuracy of the specific model on the specific instances. */
+	public double getAccuracy(StringModel model, List<StringInstance> instances)
+	{
+		int correct = 0;
+		
+		for (StringInstance instance : instances)
+		{
+			if (instance.isLabel(model.predictBest(instance.getFeatureVector()).getLabel()))
+				correct++;
+		}
+		
+		return 100d * correct / instances.size();
+	}
+	
+	/** @return the number of bytes of the serialized model. */
+	public long getModelSize(StringModel model)
+	{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		
+		try (ObjectOutputStream out = new ObjectOutputStream(bout))
+		{
+			model.save(out);
+		}
+		catch (Exception e) {e.printStackTrace();}
+		
+		return bout.size();
+	}
+	
+	static public void main(String[] args)
+	{
+		new HashedFeatureEval(args);
+	}
+}
@@ -15,18 +15,38 @@
  */
 package edu.emory.clir.clearnlp.experiment;
 
+import java.util.Collections;
+import java.util.List;
+
+import edu.emory.clir.clearnlp.lexicon.wikipedia.WikiIndex;
+import edu.emory.clir.clearnlp.lexicon.wikipedia.WikiIndexBuilder;
+import edu.emory.clir.clearnlp.util.FileUtils;
+
 /**
+ * Indexes Wikipedia dump files into a {@link WikiIndex}.
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
  */
 public class IndexWiki
 {
-	public IndexWiki()
+	private WikiIndexBuilder w_builder;
+	
+	public IndexWiki(int threads)
+	{
+		w_builder = new WikiIndexBuilder(threads);
+	}
+	
+	/** Indexes the dump files with the specific extension in the specific directory, in the sorted order of the file names. */
+	public void index(String dumpDir, String extension, String outputFile) throws Exception
 	{
-		
+		List<String> filelist = FileUtils.getFileList(dumpDir, extension, false);
+		Collections.sort(filelist);
+		w_builder.build(filelist, outputFile);
 	}
 	
-	static public void main(String[] args)
+	/** args: dumpDir extension outputFile [threads]. */
+	static public void main(String[] args) throws Exception
 	{
-		
+		int threads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		new IndexWiki(threads).index(args[0], args[1], args[2]);
 	}
 }
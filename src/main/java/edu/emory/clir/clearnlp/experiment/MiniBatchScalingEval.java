@@ -0,0 +1,118 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.experiment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.kohsuke.args4j.Option;
+
+import edu.emory.clir.clearnlp.classification.instance.StringInstance;
+import edu.emory.clir.clearnlp.classification.instance.StringInstanceReader;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.trainer.AbstractMiniBatchAdaGrad;
+import edu.emory.clir.clearnlp.classification.trainer.MiniBatchAdaGradLR;
+import edu.emory.clir.clearnlp.classification.trainer.MiniBatchAdaGradSVM;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * Measures the throughput of {@link AbstractMiniBatchAdaGrad} over different numbers of threads,
+ * and checks that training twice with the same number of threads gives identical weights.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class MiniBatchScalingEval
+{
+	@Option(name="-trainFile", usage="the training file in the string vector format (required)", required=true, metaVar="<filename>")
+	private String s_trainFile;
+	@Option(name="-threads", usage="comma separated numbers of threads (default: 1,2,4,8,16,32,64)", required=false, metaVar="<string>")
+	private String s_threads = "1,2,4,8,16,32,64";
+	@Option(name="-batch", usage="the number of instances in each mini-batch (default: 256)", required=false, metaVar="<integer>")
+	private int i_batchSize = 256;
+	@Option(name="-epochs", usage="the number of timed epochs (default: 3)", required=false, metaVar="<integer>")
+	private int n_epochs = 3;
+	@Option(name="-a", usage="the learning rate (default: 0.01)", required=false, metaVar="<double>")
+	private double d_alpha = 0.01;
+	@Option(name="-r", usage="the smoothing denominator (default: 0.1)", required=false, metaVar="<double>")
+	private double d_rho = 0.1;
+	@Option(name="-logistic", usage="if set, logistic regression (default: false)", required=false, metaVar="<boolean>")
+	private boolean b_logistic = false;
+	
+	public MiniBatchScalingEval() {}
+	
+	public MiniBatchScalingEval(String[] args)
+	{
+		BinUtils.initArgs(args, this);
+		List<StringInstance> instances = read(s_trainFile);
+		double base = 0, time;
+		int numThreads;
+		
+		BinUtils.LOG.info(String.format("%8s %12s %12s %8s %12s %s\n", "threads", "ms/epoch", "inst/sec", "speedup", "checksum", "reproducible"));
+		
+		for (String s : s_threads.split(","))
+		{
+			numThreads = Integer.parseInt(s.trim());
+			long[] r1 = run(instances, numThreads);
+			long[] r2 = run(instances, numThreads);
+			time = r1[0] / 1e6 / n_epochs;
+			if (base == 0) base = time;
+			BinUtils.LOG.info(String.format("%8d %12.1f %12.0f %8.2f %12x %b\n", numThreads, time, 1000d * instances.size() / time, base / time, r1[1], r1[1] == r2[1]));
+		}
+	}
+	
+	private List<StringInstance> read(String trainFile)
+	{
+		StringInstanceReader reader = new StringInstanceReader(IOUtils.createFileInputStream(trainFile));
+		List<StringInstance> instances = new ArrayList<>();
+		StringInstance instance;
+		
+		while ((instance = reader.next()) != null)
+			instances.add(instance);
+		
+		reader.close();
+		return instances;
+	}
+	
+	/** @return {nanoseconds taken by the timed epochs, checksum of the weights}; the first epoch warms up and is not timed. */
+	public long[] run(List<StringInstance> instances, int numThreads)
+	{
+		StringModel model = new StringModel(false);
+		for (StringInstance instance : instances) model.addInstance(instance);
+		
+		AbstractMiniBatchAdaGrad trainer = b_logistic ? new MiniBatchAdaGradLR(model, 0, 0, numThreads, i_batchSize, d_alpha, d_rho, 0) : new MiniBatchAdaGradSVM(model, 0, 0, numThreads, i_batchSize, d_alpha, d_rho, 0);
+		long st, time = 0;
+		int epoch;
+		
+		trainer.train();
+		
+		for (epoch=0; epoch<n_epochs; epoch++)
+		{
+			st = System.nanoTime();
+			trainer.train();
+			time += System.nanoTime() - st;
+		}
+		
+		float[] weights = model.getWeightVector().cloneWeights().toArray();
+		return new long[]{time, Arrays.hashCode(weights) & 0xffffffffL};
+	}
+	
+	static public void main(String[] args)
+	{
+		new MiniBatchScalingEval(args);
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kohsuke.args4j.Option;
+
+import edu.emory.clir.clearnlp.component.configuration.DecodeConfiguration;
+import edu.emory.clir.clearnlp.component.mode.pos.AbstractPOSTagger;
+import edu.emory.clir.clearnlp.component.mode.pos.POSEval;
+import edu.emory.clir.clearnlp.component.utils.NLPMode;
+import edu.emory.clir.clearnlp.component.utils.NLPUtils;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.reader.TSVReader;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.FileUtils;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * Compares full scoring against tag dictionary decoding ({@link AbstractPOSTagger#setTagDictionaryDecoding(boolean)})
+ * in accuracy and throughput on gold-standard part-of-speech tagged files.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class POSTagDictionaryEval
+{
+	@Option(name="-c", usage="confinguration file (required)", required=true, metaVar="<string>")
+	private String s_configurationFile;
+	@Option(name="-i", usage="input path (required)", required=true, metaVar="<filepath>")
+	private String s_inputPath;
+	@Option(name="-ie", usage="input file extension (default: *)", required=false, metaVar="<string>")
+	private String s_inputExt = "*";
+	@Option(name="-iter", usage="number of timed decoding passes (default: 5)", required=false, metaVar="<integer>")
+	private int n_iterations = 5;
+	
+	public POSTagDictionaryEval() {}
+	
+	public POSTagDictionaryEval(String[] args)
+	{
+		BinUtils.initArgs(args, this);
+		DecodeConfiguration config = new DecodeConfiguration(IOUtils.createFileInputStream(s_configurationFile));
+		AbstractPOSTagger tagger = NLPUtils.getPOSTagger(config.getLanguage(), config.getModelPath(NLPMode.pos));
+		List<DEPTree> trees = EvalUtils.readTrees((TSVReader)config.getReader(), FileUtils.getFileList(s_inputPath, s_inputExt, false));
+		List<String[]> gold = getGoldTags(trees);
+		
+		tagger.setTagDictionaryDecoding(false);
+		double[] full = evaluate(tagger, trees, gold, n_iterations);
+		String[][] fullTags = getAutoTags(trees);
+		
+		tagger.setTagDictionaryDecoding(true);
+		double[] dict = evaluate(tagger, trees, gold, n_iterations);
+		
+		BinUtils.LOG.info(String.format("Full scoring   : %5.2f, %10.2f tokens/sec\n", full[0], full[1]));
+		BinUtils.LOG.info(String.format("Tag dictionary : %5.2f, %10.2f tokens/sec\n", dict[0], dict[1]));
+		BinUtils.LOG.info(String.format("Accuracy delta : %5.2f\n", dict[0] - full[0]));
+		BinUtils.LOG.info(String.format("Agreement      : %5.2f\n", getAgreement(trees, fullTags)));
+		BinUtils.LOG.info(String.format("Speedup        : %5.2fx\n", dict[1] / full[1]));
+	}
+	
+	private List<String[]> getGoldTags(List<DEPTree> trees)
+	{
+		List<String[]> gold = new ArrayList<>(trees.size());
+		
+		for (DEPTree tree : trees)
+			gold.add(tree.getPOSTags());
+		
+		return gold;
+	}
+	
+	private String[][] getAutoTags(List<DEPTree> trees)
+	{
+		String[][] tags = new String[trees.size()][];
+		int i, size = trees.size();
+		
+		for (i=0; i<size; i++)
+			tags[i] = trees.get(i).getPOSTags();
+		
+		return tags;
+	}
+	
+	/** @return {accuracy, tokens per second}; the first pass warms up and is not timed. */
+	public double[] evaluate(AbstractPOSTagger tagger, List<DEPTree> trees, List<String[]> gold, int iterations)
+	{
+		POSEval eval = new POSEval();
+		long st, time = 0, tokens = 0;
+		int i, iter, size = trees.size();
+		DEPTree tree;
+		
+		for (iter=0; iter<=iterations; iter++)
+		{
+			for (DEPTree t : trees) EvalUtils.clearPOSTags(t);
+			st = System.nanoTime();
+			for (DEPTree t : trees) tagger.process(t);
+			if (iter == 0) continue;
+			time += System.nanoTime() - st;
+			for (DEPTree t : trees) tokens += t.size() - 1;
+		}
+		
+		for (i=0; i<size; i++)
+		{
+			tree = trees.get(i);
+			eval.countCorrect(tree, gold.get(i));
+		}
+		
+		return new double[]{eval.getScore(), 1e9 * tokens / Math.max(time, 1)};
+	}
+	
+	/** @return the percentage of tokens whose tags agree with the specific tags. */
+	private double getAgreement(List<DEPTree> trees, String[][] tags)
+	{
+		int i, j, len, size = trees.size(), agree = 0, total = 0;
+		DEPTree tree;
+		
+		for (i=0; i<size; i++)
+		{
+			tree = trees.get(i);
+			len  = tree.size();
+			
+			for (j=1; j<len; j++, total++)
+				if (tree.get(j).isPOSTag(tags[i][j])) agree++;
+		}
+		
+		return 100d * agree / total;
+	}
+	
+	static public void main(String[] args)
+	{
+		new POSTagDictionaryEval(args);
+	}
+}
\ No newline at end of file
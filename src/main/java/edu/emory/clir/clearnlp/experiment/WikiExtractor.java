@@ -17,14 +17,11 @@ package edu.emory.clir.clearnlp.experiment;
 
 import java.io.BufferedReader;
 import java.io.PrintStream;
-import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
-import edu.emory.clir.clearnlp.lexicon.wikipedia.WikiMap;
+import edu.emory.clir.clearnlp.lexicon.wikipedia.WikiIndex;
 import edu.emory.clir.clearnlp.lexicon.wikipedia.WikiPage;
-import edu.emory.clir.clearnlp.util.FileUtils;
 import edu.emory.clir.clearnlp.util.IOUtils;
 import edu.emory.clir.clearnlp.util.StringUtils;
 
@@ -33,33 +30,22 @@ import edu.emory.clir.clearnlp.util.StringUtils;
  */
 public class WikiExtractor
 {
+	/** args: indexFile nameFile outputDir; the index is built by {@link IndexWiki}. */
 	public void extractNames(String[] args) throws Exception
 	{
-		List<String> filelist = FileUtils.getFileList(args[0], args[1], false);
-		Set<String> names = getNameSet(args[2]);
-		Collections.sort(filelist);
+		WikiIndex index = new WikiIndex(args[0], 1);
+		Set<String> names = getNameSet(args[1]);
 		PrintStream out;
 		WikiPage page;
-		WikiMap map;
 		
-		for (String filename : filelist)
+		for (String title : names)
 		{
-			System.out.println(filename);
-			map = new WikiMap(IOUtils.createFileInputStream(filename));
-			
-			for (String title : map.getTitles())
+			if ((page = index.getPage(title)) != null)
 			{
-				page = map.getPage(title);
-				
-				if (page != null)
-				{
-					out = IOUtils.createBufferedPrintStream(args[3]+"/"+StringUtils.toLowerCase(title).replaceAll(" ","_")+".txt");
-					out.print(page.toString());
-					out.close();
-				}
+				out = IOUtils.createBufferedPrintStream(args[2]+"/"+StringUtils.toLowerCase(title).replaceAll(" ","_")+".txt");
+				out.print(page.toString());
+				out.close();
 			}
-			
-			if (names.isEmpty()) break;
 		}
 	}
 	
@@ -49,6 +49,7 @@ abstract public class AbstractFeatureExtractor<FeatureTemplateType extends Abstr
 	public  static final String DELIM = StringConst.UNDERSCORE;
 	
 	private ArrayList<FeatureTemplateType> f_templates;
+	private transient FeatureTemplateProfiler p_profiler = null;
 	
 //	====================================== Initialization ======================================
 	
@@ -102,6 +103,12 @@ abstract public class AbstractFeatureExtractor<FeatureTemplateType extends Abstr
 	/** Called by {@link #createStringFeatureVector(AbstractState)}. */
 	private void addFeatures(StringFeatureVector vector, StateType state)
 	{
+		if (p_profiler != null)
+		{
+			addFeaturesProfiled(vector, state);
+			return;
+		}
+		
 		int i, id = 1, size = f_templates.size();
 		FeatureTemplateType template;
 		
@@ -118,6 +125,32 @@ abstract public class AbstractFeatureExtractor<FeatureTemplateType extends Abstr
 		}
 	}
 	
+	/** Called by {@link #addFeatures(StringFeatureVector, AbstractState)} while profiling; times each template separately. */
+	private void addFeaturesProfiled(StringFeatureVector vector, StateType state)
+	{
+		int i, type = 0, begin, id = 1, size = f_templates.size();
+		FeatureTemplateType template;
+		long st;
+		
+		for (i=0; i<size; i++)
+		{
+			template = f_templates.get(i);
+			begin = vector.size();
+			st = System.nanoTime();
+			
+			switch (template.getFeatureType())
+			{
+			case BINARY: addSimpleFeatures(vector, template, type = 0   , state); break;
+			case SIMPLE: addSimpleFeatures(vector, template, type = id++, state); break;
+			case SET   : addSetFeatures   (vector, template, type = id++, state); break;
+			}
+			
+			p_profiler.add(i, type, System.nanoTime() - st, vector, begin);
+		}
+		
+		p_profiler.endVector();
+	}
+	
 	/** Called by {@link #addFeatures(StringFeatureVector, int, AbstractState)}. */
 	private void addSimpleFeatures(StringFeatureVector vector, FeatureTemplateType template, int typeID, StateType state)
 	{
@@ -200,6 +233,39 @@ abstract public class AbstractFeatureExtractor<FeatureTemplateType extends Abstr
 	abstract protected String   getFeature (FeatureTokenType token, StateType state, DEPNode node);
 	abstract protected String[] getFeatures(FeatureTokenType token, StateType state, DEPNode node);
 	
+//	====================================== Profiling ======================================
+	
+	/** Starts recording the cost of each template in a new profiler until {@link #stopProfiling()} is called. */
+	public FeatureTemplateProfiler startProfiling()
+	{
+		String[] names = new String[f_templates.size()];
+		StringBuilder build = new StringBuilder();
+		int i;
+		
+		for (i=0; i<names.length; i++)
+		{
+			build.setLength(0);
+			
+			for (FeatureTokenType token : f_templates.get(i).getFeatureTokens())
+			{
+				if (build.length() > 0) build.append(StringConst.SPACE);
+				build.append(token.toString());
+			}
+			
+			names[i] = build.toString();
+		}
+		
+		return p_profiler = new FeatureTemplateProfiler(names);
+	}
+	
+	/** @return the profiler that has been recording, or {@code null} if not profiling. */
+	public FeatureTemplateProfiler stopProfiling()
+	{
+		FeatureTemplateProfiler profiler = p_profiler;
+		p_profiler = null;
+		return profiler;
+	}
+	
 //	====================================== Helper methods ======================================
 	
 	/** @return {@code null} if the specific list is empty. */
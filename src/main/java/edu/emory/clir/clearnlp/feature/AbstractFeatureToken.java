@@ -113,4 +113,27 @@ abstract public class AbstractFeatureToken implements Serializable
 		
 		return build.toString();
 	}
+	
+	/** @return the notation of this token in feature templates (e.g., {@code l-1_hd:p}); values are appended to their fields as parsed. */
+	@Override
+	public String toString()
+	{
+		StringBuilder build = new StringBuilder();
+		
+		build.append(t_source);
+		if (i_offset > 0) build.append(StringConst.PLUS);
+		if (i_offset != 0) build.append(i_offset);
+		
+		if (t_relation != null)
+		{
+			build.append(StringConst.UNDERSCORE);
+			build.append(t_relation);
+		}
+		
+		build.append(StringConst.COLON);
+		build.append(t_field);
+		if (t_value != null) build.append(t_value);
+		
+		return build.toString();
+	}
 }
\ No newline at end of file
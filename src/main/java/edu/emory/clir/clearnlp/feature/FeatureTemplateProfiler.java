@@ -0,0 +1,195 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.feature;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import edu.emory.clir.clearnlp.classification.map.FeatureMap;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.vector.AbstractWeightVector;
+import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
+
+/**
+ * Records the cost of each feature template while {@link AbstractFeatureExtractor#startProfiling()} is in effect:
+ * the extraction time, the number of features emitted, the number of unique values and how fast new values still appear,
+ * and, given a model, the summed absolute weight of the values seen.
+ * Not thread-safe; profile with a single decoding thread.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class FeatureTemplateProfiler
+{
+	private final String[]      s_names;
+	private final int[]         i_types;
+	private final long[]        l_nanos;
+	private final long[]        l_features;
+	private final Set<String>[] s_values;
+	/** The numbers of unique values of each template at the second last and the last powers of 2 of {@link #n_vectors}. */
+	private final int[]         n_checkpointValues, n_pendingValues;
+	private long                n_checkpoint, n_pending;
+	private long                n_vectors;
+	
+	@SuppressWarnings("unchecked")
+	public FeatureTemplateProfiler(String[] names)
+	{
+		int i, size = names.length;
+		
+		s_names    = names;
+		i_types    = new int[size];
+		l_nanos    = new long[size];
+		l_features = new long[size];
+		s_values   = new Set[size];
+		n_checkpointValues = new int[size];
+		n_pendingValues    = new int[size];
+		n_checkpoint = n_pending = 0;
+		n_vectors    = 0;
+		
+		for (i=0; i<size; i++)
+			s_values[i] = new HashSet<>();
+	}
+	
+	/**
+	 * Records the features of the specific template added to the specific vector since the specific position.
+	 * @param type the feature type of the template.
+	 */
+	void add(int templateIndex, int type, long nanos, StringFeatureVector vector, int beginIndex)
+	{
+		int i, size = vector.size();
+		Set<String> values = s_values[templateIndex];
+		
+		i_types   [templateIndex]  = type;
+		l_nanos   [templateIndex] += nanos;
+		l_features[templateIndex] += size - beginIndex;
+		
+		for (i=beginIndex; i<size; i++)
+			values.add(vector.getValue(i));
+	}
+	
+	/** Called after the features of each vector are extracted; the unique counts are checkpointed at every power of 2. */
+	void endVector()
+	{
+		if (Long.bitCount(++n_vectors) == 1)
+		{
+			for (int i=0; i<s_values.length; i++)
+			{
+				n_checkpointValues[i] = n_pendingValues[i];
+				n_pendingValues[i] = s_values[i].size();
+			}
+			
+			n_checkpoint = n_pending;
+			n_pending = n_vectors;
+		}
+	}
+	
+//	====================================== GETTERS ======================================
+	
+	public int size()
+	{
+		return s_names.length;
+	}
+	
+	public String getName(int templateIndex)
+	{
+		return s_names[templateIndex];
+	}
+	
+	/** @return the number of feature vectors extracted. */
+	public long getVectorCount()
+	{
+		return n_vectors;
+	}
+	
+	public long getNanos(int templateIndex)
+	{
+		return l_nanos[templateIndex];
+	}
+	
+	public long getFeatureCount(int templateIndex)
+	{
+		return l_features[templateIndex];
+	}
+	
+	public int getUniqueValueCount(int templateIndex)
+	{
+		return s_values[templateIndex].size();
+	}
+	
+	/** @return the number of new unique values per 1,000 vectors over the latest half to three quarters of all vectors. */
+	public double getUniqueValueGrowth(int templateIndex)
+	{
+		long vectors = n_vectors - n_checkpoint;
+		if (vectors == 0) return 0;
+		return 1000d * (s_values[templateIndex].size() - n_checkpointValues[templateIndex]) / vectors;
+	}
+	
+	/** @return the summed absolute weights of the unique values of the specific template across all labels in the specific model. */
+	public double getWeightMass(int templateIndex, StringModel model)
+	{
+		AbstractWeightVector weights = model.getWeightVector();
+		int j, index, labels = weights.isBinaryLabel() ? 1 : weights.getLabelSize();
+		FeatureMap map = model.getFeatureMap();
+		int type = i_types[templateIndex];
+		double sum = 0;
+		
+		for (String value : s_values[templateIndex])
+		{
+			index = map.getFeatureIndex(type, value);
+			if (index <= 0 || index >= weights.getFeatureSize()) continue;
+			
+			for (j=0; j<labels; j++)
+				sum += Math.abs(weights.get(weights.getWeightIndex(j, index)));
+		}
+		
+		return sum;
+	}
+	
+//	====================================== REPORT ======================================
+	
+	/**
+	 * @param model if not {@code null}, the weight mass of each template is reported.
+	 * @return the templates ranked by their extraction times, one per line.
+	 */
+	public String getReport(StringModel model)
+	{
+		int i, size = size();
+		double totalNanos = 0, totalMass = 0;
+		double[] mass = new double[size];
+		Integer[] ranks = new Integer[size];
+		
+		for (i=0; i<size; i++)
+		{
+			ranks[i] = i;
+			totalNanos += l_nanos[i];
+			if (model != null) totalMass += mass[i] = getWeightMass(i, model);
+		}
+		
+		Arrays.sort(ranks, (i1, i2) -> Long.compare(l_nanos[i2], l_nanos[i1]));
+		StringBuilder build = new StringBuilder();
+		build.append(String.format("%4s %-32s %10s %7s %10s %10s %10s %12s %7s\n", "rank", "template", "ns/vector", "time%", "ftr/vector", "unique", "new/1k", "|w|", "|w|%"));
+		
+		for (i=0; i<size; i++)
+		{
+			int t = ranks[i];
+			build.append(String.format("%4d %-32s %10.1f %7.2f %10.2f %10d %10.2f", i+1, s_names[t], (double)l_nanos[t] / Math.max(1, n_vectors), 100d * l_nanos[t] / Math.max(1, totalNanos), (double)l_features[t] / Math.max(1, n_vectors), s_values[t].size(), getUniqueValueGrowth(t)));
+			if (model != null) build.append(String.format(" %12.2f %7.2f", mass[t], 100d * mass[t] / Math.max(Double.MIN_VALUE, totalMass)));
+			build.append("\n");
+		}
+		
+		return build.toString();
+	}
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.dbpedia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.util.constant.StringConst;
+
+/**
+ * Read-only entity gazetteer memory-mapped from a file built by {@link DBPediaGazetteerBuilder}.
+ * The file consists of a header and two sections, all in big-endian:
+ * <pre>
+ * header : int version, int number of 64-bit words per type mask
+ * section: int number of records, int[] record offsets, int data length, records sorted by keys in byte order
+ * </pre>
+ * The first section holds entities (UTF-8 title, sparse {@link DBPediaType} bitmask) whose IDs are their ranks;
+ * the second holds aliases (UTF-8 alias, entity ID).
+ * Keys are prefixed by their lengths in unsigned shorts; bitmasks are stored as a byte count followed by (byte word index, long word) pairs.
+ * Offsets are ints, so a gazetteer is mapped as one buffer and {@link DBPediaGazetteerBuilder} rejects output larger than {@link #MAX_SIZE} bytes.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DBPediaGazetteer
+{
+	static final int VERSION = 1;
+	static final DBPediaType[] TYPES = DBPediaType.values();
+	static final int MASK_WORDS = (TYPES.length + 63) / 64;
+	static final long MAX_SIZE = Integer.MAX_VALUE;
+	
+	private ByteBuffer b_buffer;
+	private Section    s_entities;
+	private Section    s_aliases;
+	
+	public DBPediaGazetteer(String filename) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ))
+		{
+			if (channel.size() > MAX_SIZE) throw new IOException("Incompatible gazetteer: "+filename+" exceeds "+MAX_SIZE+" bytes");
+			b_buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+		
+		if (b_buffer.getInt(0) != VERSION || b_buffer.getInt(4) != MASK_WORDS)
+			throw new IOException("Incompatible gazetteer: "+filename);
+		
+		s_entities = new Section(8);
+		s_aliases  = (s_entities.n_end < b_buffer.limit()) ? new Section(s_entities.n_end) : null;
+	}
+	
+//	====================================== ENTITIES ======================================
+	
+	/** @return the number of entities. */
+	public int size()
+	{
+		return s_entities.n_size;
+	}
+	
+	/** @return the ID of the entity with the specific title if exists; otherwise, {@code -1}. */
+	public int getEntityId(String title)
+	{
+		byte[] key = toBytes(title);
+		int id = s_entities.lowerBound(key);
+		return (id < s_entities.n_size && s_entities.compare(key, id) == 0) ? id : -1;
+	}
+	
+	public String getTitle(int entityId)
+	{
+		return s_entities.getKey(entityId);
+	}
+	
+	public Set<DBPediaType> getTypes(int entityId)
+	{
+		Set<DBPediaType> set = EnumSet.noneOf(DBPediaType.class);
+		int i, j, index, count, pos = s_entities.getValuePosition(entityId);
+		long word;
+		
+		count = b_buffer.get(pos++);
+		
+		for (i=0; i<count; i++, pos+=9)
+		{
+			index = b_buffer.get(pos);
+			word  = b_buffer.getLong(pos+1);
+			
+			for (j=0; j<64; j++)
+				if ((word & (1L << j)) != 0) set.add(TYPES[index * 64 + j]);
+		}
+		
+		return set;
+	}
+	
+	public boolean isType(int entityId, DBPediaType type)
+	{
+		int i, count, pos = s_entities.getValuePosition(entityId), index = type.ordinal() / 64;
+		count = b_buffer.get(pos++);
+		
+		for (i=0; i<count; i++, pos+=9)
+		{
+			if (b_buffer.get(pos) == index)
+				return (b_buffer.getLong(pos+1) & (1L << (type.ordinal() % 64))) != 0;
+		}
+		
+		return false;
+	}
+	
+//	====================================== ALIASES ======================================
+	
+	/** @return the IDs of the entities referred to by the specific alias (e.g., "barack_obama"). */
+	public int[] getEntityIds(String alias)
+	{
+		return (s_aliases == null) ? new int[0] : getEntityIds(toBytes(alias), s_aliases.lowerBound(toBytes(alias)));
+	}
+	
+	private int[] getEntityIds(byte[] key, int begin)
+	{
+		int i, end;
+		
+		for (end=begin; end<s_aliases.n_size && s_aliases.compare(key, end) == 0; end++);
+		int[] ids = new int[end - begin];
+		
+		for (i=begin; i<end; i++)
+			ids[i-begin] = b_buffer.getInt(s_aliases.getValuePosition(i));
+		
+		return ids;
+	}
+	
+	/**
+	 * Finds aliases greedily from left to right, preferring the longest match at each position.
+	 * Aliases consist of lowercase words joined by underscores, matched against the lower simplified word-forms.
+	 */
+	public List<DBPediaMatch> getLongestMatches(DEPTree tree)
+	{
+		List<DBPediaMatch> list = new ArrayList<>();
+		if (s_aliases == null) return list;
+		int i, j, idx, end, begin, size = tree.size();
+		StringBuilder build = new StringBuilder();
+		byte[] key, matchKey = null;
+		
+		for (i=1; i<size; i=end+1)
+		{
+			build.setLength(0);
+			end   = i - 1;
+			begin = -1;
+			
+			for (j=i; j<size; j++)
+			{
+				if (j > i) build.append(StringConst.UNDERSCORE);
+				build.append(tree.get(j).getLowerSimplifiedWordForm());
+				key = toBytes(build.toString());
+				idx = s_aliases.lowerBound(key);
+				
+				if (idx < s_aliases.n_size && s_aliases.compare(key, idx) == 0)
+				{
+					end      = j;
+					begin    = idx;
+					matchKey = key;
+				}
+				
+				if (!s_aliases.hasPrefix(toBytes(build.append(StringConst.UNDERSCORE).toString()))) break;
+				build.setLength(build.length()-1);
+			}
+			
+			if (begin >= 0)
+				list.add(new DBPediaMatch(i, end, getEntityIds(matchKey, begin)));
+			else
+				end = i;
+		}
+		
+		return list;
+	}
+	
+	static private byte[] toBytes(String s)
+	{
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	/** A sorted table of (key, value) records. */
+	private class Section
+	{
+		int n_size;
+		int i_offsets;
+		int i_data;
+		int n_end;
+		
+		/** @param position the beginning of this section. */
+		public Section(int position)
+		{
+			n_size    = b_buffer.getInt(position);
+			i_offsets = position + 4;
+			i_data    = i_offsets + n_size * 4 + 4;
+			n_end     = i_data + b_buffer.getInt(i_data - 4);
+		}
+		
+		private int getKeyPosition(int index)
+		{
+			return i_data + b_buffer.getInt(i_offsets + index * 4);
+		}
+		
+		public int getValuePosition(int index)
+		{
+			int pos = getKeyPosition(index);
+			return pos + 2 + (b_buffer.getShort(pos) & 0xffff);
+		}
+		
+		public String getKey(int index)
+		{
+			int pos = getKeyPosition(index), len = b_buffer.getShort(pos) & 0xffff;
+			byte[] b = new byte[len];
+			
+			for (int i=0; i<len; i++) b[i] = b_buffer.get(pos + 2 + i);
+			return new String(b, StandardCharsets.UTF_8);
+		}
+		
+		/** Compares the specific key to the key of the indexed record in byte order. */
+		public int compare(byte[] key, int index)
+		{
+			return compare(key, index, false);
+		}
+		
+		/** @param prefix if {@code true}, returns {@code 0} if the record key starts with the specific key. */
+		private int compare(byte[] key, int index, boolean prefix)
+		{
+			int i, c, pos = getKeyPosition(index), len = b_buffer.getShort(pos) & 0xffff, min = Math.min(key.length, len);
+			pos += 2;
+			
+			for (i=0; i<min; i++)
+				if ((c = (key[i] & 0xff) - (b_buffer.get(pos + i) & 0xff)) != 0) return c;
+			
+			return (prefix && key.length <= len) ? 0 : key.length - len;
+		}
+		
+		/** @return the index of the first record whose key is greater than or equal to the specific key. */
+		public int lowerBound(byte[] key)
+		{
+			int lo = 0, hi = n_size, mid;
+			
+			while (lo < hi)
+			{
+				mid = (lo + hi) >>> 1;
+				if (compare(key, mid) > 0) lo = mid + 1;
+				else hi = mid;
+			}
+			
+			return lo;
+		}
+		
+		/** @return {@code true} if any record key starts with the specific prefix. */
+		public boolean hasPrefix(byte[] prefix)
+		{
+			int idx = lowerBound(prefix);
+			return idx < n_size && compare(prefix, idx, true) == 0;
+		}
+	}
+}
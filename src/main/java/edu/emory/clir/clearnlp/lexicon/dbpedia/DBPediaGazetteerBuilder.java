@@ -0,0 +1,318 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.dbpedia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+import com.google.gson.Gson;
+
+import edu.emory.clir.clearnlp.collection.list.IntArrayList;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * Builds {@link DBPediaGazetteer} by streaming the DBPedia dumps instead of holding {@link DBPediaInfoMap} in memory.
+ * Entities and aliases are sorted externally so that the heap usage is bounded by the chunk size,
+ * whatever the size of the dumps is.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DBPediaGazetteerBuilder
+{
+	static public final int DEFAULT_CHUNK_SIZE = 1000000;
+	private DBPediaInstanceExtractor d_extractor;
+	private int n_chunkSize;
+	
+	public DBPediaGazetteerBuilder()
+	{
+		this(DEFAULT_CHUNK_SIZE);
+	}
+	
+	/** @param chunkSize the maximum number of records sorted in memory at once. */
+	public DBPediaGazetteerBuilder(int chunkSize)
+	{
+		d_extractor = new DBPediaInstanceExtractor();
+		n_chunkSize = chunkSize;
+	}
+	
+	/**
+	 * @param instanceTypes e.g., instance_types_en.nt.
+	 * @param redirects e.g., redirects_en.ttl; {@code null} if not used.
+	 */
+	public void build(DBPediaTypeMap typeMap, InputStream instanceTypes, InputStream redirects, String outputFile) throws IOException
+	{
+		File entityFile = File.createTempFile("dbpedia", ".entities");
+		
+		try (DBPediaRecordSorter entities = new DBPediaRecordSorter(n_chunkSize); DBPediaRecordSorter aliases = new DBPediaRecordSorter(n_chunkSize))
+		{
+			readInstanceTypes(typeMap, instanceTypes, entities);
+			writeEntities(entities, aliases, entityFile);
+			if (redirects != null) readRedirects(new DBPediaGazetteer(entityFile.getPath()), redirects, aliases);
+			writeAliases(entityFile, aliases, outputFile);
+		}
+		finally
+		{
+			entityFile.delete();
+		}
+	}
+	
+//	====================================== ENTITIES ======================================
+	
+	/** Instance types are grouped by titles in the dumps; a title split into several groups is merged later. */
+	private void readInstanceTypes(DBPediaTypeMap typeMap, InputStream in, DBPediaRecordSorter entities) throws IOException
+	{
+		BufferedReader reader = IOUtils.createBufferedReader(in);
+		Set<DBPediaType> types = EnumSet.noneOf(DBPediaType.class);
+		String line, title, type, prev = null;
+		Matcher m;
+		
+		while ((line = reader.readLine()) != null)
+		{
+			m = DBPediaInstanceExtractor.RESOURCE.matcher(line);
+			if (!m.find()) continue;
+			title = m.group(1);
+			
+			m = DBPediaInstanceExtractor.ONTOLOGY.matcher(line);
+			if (!m.find()) continue;
+			type = m.group(1);
+			if (type.startsWith("Wikidata")) continue;
+			
+			if (prev != null && !prev.equals(title))
+			{
+				addEntity(typeMap, entities, prev, types);
+				types.clear();
+			}
+			
+			types.add(DBPediaType.getType(type));
+			prev = title;
+		}
+		
+		if (prev != null) addEntity(typeMap, entities, prev, types);
+		reader.close();
+	}
+	
+	private void addEntity(DBPediaTypeMap typeMap, DBPediaRecordSorter entities, String title, Set<DBPediaType> types) throws IOException
+	{
+		d_extractor.trimInstanceTypes(typeMap, types);
+		entities.add(toBytes(title), toMask(types));
+	}
+	
+	/** Writes the header and the entity section, and adds the alias of each title. */
+	private void writeEntities(DBPediaRecordSorter entities, DBPediaRecordSorter aliases, File entityFile) throws IOException
+	{
+		File dataFile = File.createTempFile("dbpedia", ".data");
+		IntArrayList offsets = new IntArrayList();
+		
+		try (DataOutputStream fout = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dataFile))))
+		{
+			entities.merge((key, payloads) ->
+			{
+				byte[] id = ByteBuffer.allocate(4).putInt(offsets.size()).array();
+				offsets.add(fout.size());
+				writeKey(fout, key);
+				fout.write(mergeMasks(payloads));
+				aliases.add(toBytes(d_extractor.getAlias(new String(key, StandardCharsets.UTF_8))), id);
+			});
+		}
+		
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(entityFile))))
+		{
+			out.writeInt(DBPediaGazetteer.VERSION);
+			out.writeInt(DBPediaGazetteer.MASK_WORDS);
+			writeSection(out, 8, offsets, dataFile);
+		}
+		finally
+		{
+			dataFile.delete();
+		}
+		
+		BinUtils.LOG.info("Entities: "+offsets.size()+"\n");
+	}
+	
+	/** @return {byte count, (byte word index, long word)*} of the non-zero words. */
+	private byte[] toMask(Set<DBPediaType> types) throws IOException
+	{
+		long[] words = new long[DBPediaGazetteer.MASK_WORDS];
+		
+		for (DBPediaType type : types)
+			words[type.ordinal() / 64] |= 1L << (type.ordinal() % 64);
+		
+		return toMask(words);
+	}
+	
+	private byte[] toMask(long[] words) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		int i, count = 0;
+		
+		for (long word : words) if (word != 0) count++;
+		out.writeByte(count);
+		
+		for (i=0; i<words.length; i++)
+		{
+			if (words[i] != 0)
+			{
+				out.writeByte(i);
+				out.writeLong(words[i]);
+			}
+		}
+		
+		return bytes.toByteArray();
+	}
+	
+	/** Takes the union of the types of a title that appears in more than one group. */
+	private byte[] mergeMasks(List<byte[]> masks) throws IOException
+	{
+		if (masks.size() == 1) return masks.get(0);
+		long[] words = new long[DBPediaGazetteer.MASK_WORDS];
+		ByteBuffer buffer;
+		int i, count;
+		
+		for (byte[] mask : masks)
+		{
+			buffer = ByteBuffer.wrap(mask);
+			count  = buffer.get();
+			
+			for (i=0; i<count; i++)
+				words[buffer.get()] |= buffer.getLong();
+		}
+		
+		return toMask(words);
+	}
+	
+//	====================================== ALIASES ======================================
+	
+	private void readRedirects(DBPediaGazetteer gazetteer, InputStream in, DBPediaRecordSorter aliases) throws IOException
+	{
+		BufferedReader reader = IOUtils.createBufferedReader(in);
+		String line, redirect;
+		Matcher m;
+		int id;
+		
+		while ((line = reader.readLine()) != null)
+		{
+			m = DBPediaInstanceExtractor.RESOURCE.matcher(line);
+			if (!m.find()) continue;
+			redirect = m.group(1);
+			
+			if (!m.find()) continue;
+			
+			if ((id = gazetteer.getEntityId(m.group(1))) >= 0)
+				aliases.add(toBytes(d_extractor.getAlias(redirect)), ByteBuffer.allocate(4).putInt(id).array());
+		}
+		
+		reader.close();
+	}
+	
+	/** Copies the header and the entity section from the entity file and appends the alias section. */
+	private void writeAliases(File entityFile, DBPediaRecordSorter aliases, String outputFile) throws IOException
+	{
+		File dataFile = File.createTempFile("dbpedia", ".data");
+		IntArrayList offsets = new IntArrayList();
+		
+		try (DataOutputStream fout = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dataFile))))
+		{
+			aliases.merge((key, payloads) ->
+			{
+				for (byte[] id : payloads)
+				{
+					offsets.add(fout.size());
+					writeKey(fout, key);
+					fout.write(id);
+				}
+			});
+		}
+		
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile))))
+		{
+			copy(entityFile, out);
+			writeSection(out, entityFile.length(), offsets, dataFile);
+		}
+		finally
+		{
+			dataFile.delete();
+		}
+		
+		BinUtils.LOG.info("Aliases : "+offsets.size()+"\n");
+	}
+	
+//	====================================== UTILITIES ======================================
+	
+	private void writeKey(DataOutputStream out, byte[] key) throws IOException
+	{
+		if (key.length > 0xffff) throw new IOException("Key too long: "+key.length+" bytes");
+		out.writeShort(key.length);
+		out.write(key);
+	}
+	
+	/**
+	 * @param position the position of this section in the output file.
+	 * @throws IOException if the output file would exceed {@link DBPediaGazetteer#MAX_SIZE}, where the int offsets of the format overflow.
+	 */
+	private void writeSection(DataOutputStream out, long position, IntArrayList offsets, File dataFile) throws IOException
+	{
+		int i, size = offsets.size();
+		long end = position + 4L * (size + 2) + dataFile.length();
+		if (end > DBPediaGazetteer.MAX_SIZE) throw new IOException("Gazetteer too large: "+end+" bytes > "+DBPediaGazetteer.MAX_SIZE);
+		
+		out.writeInt(size);
+		for (i=0; i<size; i++) out.writeInt(offsets.get(i));
+		out.writeInt((int)dataFile.length());
+		copy(dataFile, out);
+	}
+	
+	private void copy(File file, DataOutputStream out) throws IOException
+	{
+		byte[] buffer = new byte[1 << 16];
+		int len;
+		
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			while ((len = in.read(buffer)) > 0)
+				out.write(buffer, 0, len);
+		}
+	}
+	
+	private byte[] toBytes(String s)
+	{
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	static public void main(String[] args) throws Exception
+	{
+		DBPediaTypeMap typeMap = new Gson().fromJson(new InputStreamReader(IOUtils.createXZBufferedInputStream(args[0])), DBPediaTypeMap.class);	// dbpedia.owl.json.xz
+		InputStream redirects = (args.length > 3) ? new FileInputStream(args[2]) : null;	// redirects_en.ttl
+		new DBPediaGazetteerBuilder().build(typeMap, new FileInputStream(args[1]), redirects, args[args.length-1]);	// instance_types_en.nt
+	}
+}
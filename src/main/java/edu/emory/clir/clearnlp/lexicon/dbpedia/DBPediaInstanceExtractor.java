@@ -58,7 +58,7 @@ public class DBPediaInstanceExtractor implements DBPediaXML
 		return map;
 	}
 	
-	private void trimInstanceTypes(DBPediaTypeMap typeMap, Set<DBPediaType> set)
+	void trimInstanceTypes(DBPediaTypeMap typeMap, Set<DBPediaType> set)
 	{
 		List<DBPediaType> list = new ArrayList<>(set);
 		Set<DBPediaType>  remove = new HashSet<>();
@@ -83,7 +83,7 @@ public class DBPediaInstanceExtractor implements DBPediaXML
 		set.removeAll(remove);
 	}
 	
-	private String getAlias(String s)
+	String getAlias(String s)
 	{
 		if (StringUtils.containsPunctuation(s) || StringUtils.containsUpperCaseOnly(s))
 			return StringUtils.toLowerCase(s);
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.dbpedia;
+
+/**
+ * Span of dependency nodes matched to entities in {@link DBPediaGazetteer}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DBPediaMatch
+{
+	private int   i_beginId;
+	private int   i_endId;
+	private int[] i_entityIds;
+	
+	public DBPediaMatch(int beginId, int endId, int[] entityIds)
+	{
+		i_beginId   = beginId;
+		i_endId     = endId;
+		i_entityIds = entityIds;
+	}
+	
+	/** @return the ID of the first node in the span. */
+	public int getBeginId()
+	{
+		return i_beginId;
+	}
+	
+	/** @return the ID of the last node in the span (inclusive). */
+	public int getEndId()
+	{
+		return i_endId;
+	}
+	
+	public int[] getEntityIds()
+	{
+		return i_entityIds;
+	}
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.dbpedia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * External merge sort over (key, payload) records whose keys are compared in byte order.
+ * Records are buffered up to a fixed number, sorted, and spilled to temporary files;
+ * {@link #merge(RecordConsumer)} streams the records grouped by their keys.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+class DBPediaRecordSorter implements Closeable
+{
+	private List<byte[][]> l_records;
+	private List<File>     l_runs;
+	private int            n_chunkSize;
+	
+	public DBPediaRecordSorter(int chunkSize)
+	{
+		l_records   = new ArrayList<>();
+		l_runs      = new ArrayList<>();
+		n_chunkSize = chunkSize;
+	}
+	
+	public void add(byte[] key, byte[] payload) throws IOException
+	{
+		l_records.add(new byte[][]{key, payload});
+		if (l_records.size() >= n_chunkSize) flush();
+	}
+	
+	private void flush() throws IOException
+	{
+		if (l_records.isEmpty()) return;
+		l_records.sort((a, b) -> compare(a[0], b[0]));
+		File file = File.createTempFile("dbpedia", ".run");
+		l_runs.add(file);
+		
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+		{
+			for (byte[][] record : l_records)
+			{
+				write(out, record[0]);
+				write(out, record[1]);
+			}
+		}
+		
+		l_records.clear();
+	}
+	
+	/** Calls the consumer once per distinct key in byte order with all payloads of the key. */
+	public void merge(RecordConsumer consumer) throws IOException
+	{
+		flush();
+		PriorityQueue<Run> queue = new PriorityQueue<>((a, b) -> compare(a.key, b.key));
+		List<byte[]> payloads = new ArrayList<>();
+		byte[] key;
+		Run run;
+		
+		for (File file : l_runs)
+		{
+			run = new Run(file);
+			if (run.next()) queue.add(run);
+		}
+		
+		while (!queue.isEmpty())
+		{
+			key = queue.peek().key;
+			payloads.clear();
+			
+			while (!queue.isEmpty() && compare(queue.peek().key, key) == 0)
+			{
+				run = queue.poll();
+				payloads.add(run.payload);
+				if (run.next()) queue.add(run);
+			}
+			
+			consumer.accept(key, payloads);
+		}
+	}
+	
+	@Override
+	public void close()
+	{
+		for (File file : l_runs) file.delete();
+		l_runs.clear();
+		l_records.clear();
+	}
+	
+	static int compare(byte[] a, byte[] b)
+	{
+		int i, c, len = Math.min(a.length, b.length);
+		
+		for (i=0; i<len; i++)
+			if ((c = (a[i] & 0xff) - (b[i] & 0xff)) != 0) return c;
+		
+		return a.length - b.length;
+	}
+	
+	static private void write(DataOutputStream out, byte[] b) throws IOException
+	{
+		out.writeInt(b.length);
+		out.write(b);
+	}
+	
+	static private byte[] read(DataInputStream in) throws IOException
+	{
+		byte[] b = new byte[in.readInt()];
+		in.readFully(b);
+		return b;
+	}
+	
+	interface RecordConsumer
+	{
+		void accept(byte[] key, List<byte[]> payloads) throws IOException;
+	}
+	
+	private class Run
+	{
+		DataInputStream in;
+		byte[] key, payload;
+		
+		public Run(File file) throws IOException
+		{
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		}
+		
+		/** @return {@code false} and closes the stream if there is no more record. */
+		public boolean next() throws IOException
+		{
+			try
+			{
+				key = read(in);
+				payload = read(in);
+				return true;
+			}
+			catch (EOFException e)
+			{
+				in.close();
+				return false;
+			}
+		}
+	}
+}
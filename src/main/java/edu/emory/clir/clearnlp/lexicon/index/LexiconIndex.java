@@ -0,0 +1,215 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.emory.clir.clearnlp.collection.cache.BoundedCache;
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFFrameset;
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFType;
+import edu.emory.clir.clearnlp.lexicon.verbnet.VNClass;
+
+/**
+ * Read-only index of PropBank framesets and VerbNet classes memory-mapped from a file built by {@link LexiconIndexBuilder}.
+ * Only the keys are read when the index is opened; each frameset or class is deserialized on first access and kept in a bounded cache.
+ * The file consists of a header, sections, and data, all in big-endian:
+ * <pre>
+ * header : int version, int data offset, int number of sections
+ * section: int number of entries, (UTF key, int offset, int length)[] sorted by keys
+ * data   : serialized objects addressed by offsets relative to the data offset
+ * </pre>
+ * The sections are PropBank verb framesets and noun framesets keyed by base lemmas, and VerbNet classes keyed by class IDs.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LexiconIndex
+{
+	static final int VERSION = 1;
+	static final int SECTION_VERB    = 0;
+	static final int SECTION_NOUN    = 1;
+	static final int SECTION_VERBNET = 2;
+	static final int SECTION_SIZE    = 3;
+	
+	private ByteBuffer b_data;
+	private String[][] s_keys;
+	private int[][]    i_offsets;
+	private int[][]    i_lengths;
+	/** The ID of the first entry of each section in {@link #c_entries}. */
+	private int[]      i_bases;
+	private BoundedCache<Integer,Object> c_entries;
+	
+	/** @param cacheSize the maximum number of framesets and classes to keep deserialized. */
+	public LexiconIndex(String filename, int cacheSize) throws IOException
+	{
+		ByteBuffer buffer;
+		
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ))
+		{
+			buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+		
+		if (buffer.limit() < 12 || buffer.getInt(0) != VERSION || buffer.getInt(8) != SECTION_SIZE)
+			throw new IOException("Incompatible lexicon index: "+filename);
+		
+		int dataOffset = buffer.getInt(4);
+		byte[] header = new byte[dataOffset - 12];
+		((ByteBuffer)buffer.duplicate().position(12)).get(header);
+		readSections(new DataInputStream(new ByteArrayInputStream(header)));
+		
+		b_data    = ((ByteBuffer)buffer.position(dataOffset)).slice();
+		c_entries = new BoundedCache<>(cacheSize, CacheEviction.LRU);
+	}
+	
+	private void readSections(DataInputStream in) throws IOException
+	{
+		int i, j, size, base = 0;
+		
+		s_keys    = new String[SECTION_SIZE][];
+		i_offsets = new int[SECTION_SIZE][];
+		i_lengths = new int[SECTION_SIZE][];
+		i_bases   = new int[SECTION_SIZE];
+		
+		for (i=0; i<SECTION_SIZE; i++)
+		{
+			size = in.readInt();
+			s_keys   [i] = new String[size];
+			i_offsets[i] = new int[size];
+			i_lengths[i] = new int[size];
+			i_bases  [i] = base;
+			base += size;
+			
+			for (j=0; j<size; j++)
+			{
+				s_keys   [i][j] = in.readUTF();
+				i_offsets[i][j] = in.readInt();
+				i_lengths[i][j] = in.readInt();
+			}
+		}
+	}
+	
+//	====================================== PROPBANK ======================================
+	
+	/** @param lemma the base lemma (e.g., "run", but not "run_out"). */
+	public PBFFrameset getFrameset(PBFType type, String lemma)
+	{
+		int section = getSection(type);
+		return (section < 0) ? null : (PBFFrameset)get(section, lemma);
+	}
+	
+	/** @return {@code true} if a frameset of the specific type exists for the lemma; the frameset is not deserialized. */
+	public boolean hasFrameset(PBFType type, String lemma)
+	{
+		int section = getSection(type);
+		return section >= 0 && getIndex(section, lemma) >= 0;
+	}
+	
+	/** @return the sorted base lemmas of the framesets of the specific type. */
+	public List<String> getLemmas(PBFType type)
+	{
+		int section = getSection(type);
+		return (section < 0) ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(s_keys[section]));
+	}
+	
+	/** @return the map of all framesets of the specific type; all framesets of the type are deserialized. */
+	public Map<String,PBFFrameset> getFramesetMap(PBFType type)
+	{
+		Map<String,PBFFrameset> map = new HashMap<>();
+		PBFFrameset frameset;
+		
+		for (String lemma : getLemmas(type))
+		{
+			if ((frameset = getFrameset(type, lemma)) != null)
+				map.put(lemma, frameset);
+		}
+		
+		return map;
+	}
+	
+	private int getSection(PBFType type)
+	{
+		if (type == PBFType.VERB)	return SECTION_VERB;
+		if (type == PBFType.NOUN)	return SECTION_NOUN;
+		
+		return -1;
+	}
+	
+//	====================================== VERBNET ======================================
+	
+	/** @param classID e.g., "exchange-13.6". */
+	public VNClass getVerbNetClass(String classID)
+	{
+		return (VNClass)get(SECTION_VERBNET, classID);
+	}
+	
+	/** @return the sorted IDs of all VerbNet classes. */
+	public List<String> getVerbNetClassIDs()
+	{
+		return Collections.unmodifiableList(Arrays.asList(s_keys[SECTION_VERBNET]));
+	}
+	
+//	====================================== ENTRIES ======================================
+	
+	/** @return the total number of framesets and classes. */
+	public int size()
+	{
+		return i_bases[SECTION_SIZE-1] + s_keys[SECTION_SIZE-1].length;
+	}
+	
+	public BoundedCache<Integer,Object> getCache()
+	{
+		return c_entries;
+	}
+	
+	private Object get(int section, String key)
+	{
+		int index = getIndex(section, key);
+		return (index < 0) ? null : c_entries.computeIfAbsent(i_bases[section] + index, id -> load(section, index));
+	}
+	
+	private int getIndex(int section, String key)
+	{
+		return Arrays.binarySearch(s_keys[section], key);
+	}
+	
+	/** Deserializes the specific entry from the mapped data; the buffer is duplicated so that concurrent loads do not share its position. */
+	private Object load(int section, int index)
+	{
+		byte[] b = new byte[i_lengths[section][index]];
+		((ByteBuffer)b_data.duplicate().position(i_offsets[section][index])).get(b);
+		
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(b)))
+		{
+			return in.readObject();
+		}
+		catch (Exception e) {e.printStackTrace();}
+		
+		return null;
+	}
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFFrameset;
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFMap;
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFType;
+import edu.emory.clir.clearnlp.lexicon.verbnet.VNClass;
+import edu.emory.clir.clearnlp.lexicon.verbnet.VNLib;
+import edu.emory.clir.clearnlp.util.BinUtils;
+import edu.emory.clir.clearnlp.util.FileUtils;
+import edu.emory.clir.clearnlp.util.XmlUtils;
+
+/**
+ * Compiles PropBank frame files and VerbNet XML files into a {@link LexiconIndex}.
+ * XML files are parsed and serialized by a thread pool; entries are written in key order so that the output does not depend on the number of threads.
+ * Entries with the same key are overwritten in the order of the files, as in {@link PBFMap} and {@link VNLib#getVerbNetMap(String, boolean)}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LexiconIndexBuilder
+{
+	private int n_threads;
+	
+	public LexiconIndexBuilder(int threads)
+	{
+		n_threads = threads;
+	}
+	
+	/**
+	 * @param framesDir the directory containing PropBank frame files (e.g., run-v.xml); {@code null} if not used.
+	 * @param verbnetDir the directory containing VerbNet XML files; {@code null} if not used.
+	 * @param discardNoFrame if {@code true}, discard VerbNet classes with no frames.
+	 */
+	public void build(String framesDir, String verbnetDir, boolean discardNoFrame, String outputFile) throws Exception
+	{
+		List<Map<String,byte[]>> sections = new ArrayList<>();
+		List<Future<List<Entry>>> futures = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(n_threads);
+		int i;
+		
+		for (i=0; i<LexiconIndex.SECTION_SIZE; i++)
+			sections.add(new TreeMap<>());
+		
+		try
+		{
+			if (framesDir != null)
+			{
+				for (String filename : FileUtils.getFileList(framesDir, ".xml", false))
+					futures.add(executor.submit(() -> parseFrameset(filename)));
+			}
+			
+			if (verbnetDir != null)
+			{
+				for (String filename : FileUtils.getFileList(verbnetDir, ".xml", false))
+					futures.add(executor.submit(() -> parseVerbNet(filename, discardNoFrame)));
+			}
+			
+			for (Future<List<Entry>> future : futures)
+			{
+				for (Entry entry : future.get())
+					sections.get(entry.i_section).put(entry.s_key, entry.b_value);
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		write(sections, outputFile);
+		BinUtils.LOG.info(String.format("Framesets: %d verbs, %d nouns; VerbNet classes: %d\n", sections.get(LexiconIndex.SECTION_VERB).size(), sections.get(LexiconIndex.SECTION_NOUN).size(), sections.get(LexiconIndex.SECTION_VERBNET).size()));
+	}
+	
+	private List<Entry> parseFrameset(String filename) throws IOException
+	{
+		List<Entry> entries = new ArrayList<>();
+		String  lemma = PBFMap.getFramesetLemma(filename);
+		PBFType type  = PBFMap.getFramesetType(filename);
+		
+		if (lemma != null && type != null)
+		{
+			try (InputStream in = new BufferedInputStream(new FileInputStream(filename)))
+			{
+				PBFFrameset frameset = new PBFFrameset(XmlUtils.getDocumentElement(in), lemma);
+				entries.add(new Entry((type == PBFType.VERB) ? LexiconIndex.SECTION_VERB : LexiconIndex.SECTION_NOUN, lemma, frameset));
+			}
+		}
+		
+		return entries;
+	}
+	
+	private List<Entry> parseVerbNet(String filename, boolean discardNoFrame) throws IOException
+	{
+		List<Entry> entries = new ArrayList<>();
+		
+		try (InputStream in = new BufferedInputStream(new FileInputStream(filename)))
+		{
+			for (VNClass vn : VNLib.getVerbNetClasses(in, discardNoFrame))
+				entries.add(new Entry(LexiconIndex.SECTION_VERBNET, vn.getID(), vn));
+		}
+		
+		return entries;
+	}
+	
+	private void write(List<Map<String,byte[]>> sections, String outputFile) throws IOException
+	{
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream hout = new DataOutputStream(header);
+		int offset = 0;
+		
+		for (Map<String,byte[]> section : sections)
+		{
+			hout.writeInt(section.size());
+			
+			for (Map.Entry<String,byte[]> e : section.entrySet())
+			{
+				hout.writeUTF(e.getKey());
+				hout.writeInt(offset);
+				hout.writeInt(e.getValue().length);
+				offset += e.getValue().length;
+			}
+		}
+		
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile))))
+		{
+			out.writeInt(LexiconIndex.VERSION);
+			out.writeInt(12 + header.size());
+			out.writeInt(sections.size());
+			header.writeTo(out);
+			
+			for (Map<String,byte[]> section : sections)
+				for (byte[] value : section.values())
+					out.write(value);
+		}
+	}
+	
+	static private class Entry
+	{
+		int    i_section;
+		String s_key;
+		byte[] b_value;
+		
+		public Entry(int section, String key, Serializable value) throws IOException
+		{
+			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+			
+			try (ObjectOutputStream out = new ObjectOutputStream(bout))
+			{
+				out.writeObject(value);
+			}
+			
+			i_section = section;
+			s_key     = key;
+			b_value   = bout.toByteArray();
+		}
+	}
+	
+	/** args: framesDir|- verbnetDir|- outputFile [threads]. */
+	static public void main(String[] args) throws Exception
+	{
+		String framesDir  = args[0].equals("-") ? null : args[0];
+		String verbnetDir = args[1].equals("-") ? null : args[1];
+		int threads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		new LexiconIndexBuilder(threads).build(framesDir, verbnetDir, true, args[2]);
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.propbank.frameset;
+
+import java.util.Map;
+
+import edu.emory.clir.clearnlp.lexicon.index.LexiconIndex;
+
+/**
+ * Read-only frameset map that loads framesets on demand from a {@link LexiconIndex}
+ * instead of parsing all frame files at construction.
+ * It is serialized as a {@link PBFMap} containing all framesets.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class PBFIndexedMap extends PBFMap
+{
+	private static final long serialVersionUID = -2406817563497716521L;
+	private transient LexiconIndex x_index;
+	
+	public PBFIndexedMap(LexiconIndex index)
+	{
+		x_index = index;
+	}
+	
+	@Override
+	public void addFrameset(PBFFrameset frameset, PBFType type)
+	{
+		throw new UnsupportedOperationException("Framesets cannot be added to an indexed map.");
+	}
+	
+	@Override
+	public PBFFrameset getFrameset(PBFType type, String lemma)
+	{
+		return x_index.getFrameset(type, lemma);
+	}
+	
+	@Override
+	public boolean hasFramset(String lemma)
+	{
+		return x_index.hasFrameset(PBFType.VERB, lemma) || x_index.hasFrameset(PBFType.NOUN, lemma);
+	}
+	
+	/** @return a copy of the framesets of the specific type; all framesets of the type are loaded. */
+	@Override
+	public Map<String,PBFFrameset> getFramesetMap(PBFType type)
+	{
+		return (type == PBFType.VERB || type == PBFType.NOUN) ? x_index.getFramesetMap(type) : null;
+	}
+	
+	public LexiconIndex getIndex()
+	{
+		return x_index;
+	}
+	
+	private Object writeReplace()
+	{
+		PBFMap map = new PBFMap();
+		
+		for (PBFType type : new PBFType[]{PBFType.VERB, PBFType.NOUN})
+			for (PBFFrameset frameset : getFramesetMap(type).values())
+				map.addFrameset(frameset, type);
+		
+		return map;
+	}
+}
@@ -57,14 +57,6 @@ public class PBFMap implements Serializable
 		m_nouns = new HashMap<>();
 	}
 	
-	private PBFType getType(String value)
-	{
-		if (PBFType.VERB.isValue(value))	return PBFType.VERB;
-		if (PBFType.NOUN.isValue(value))	return PBFType.NOUN;
-		
-		return null;
-	}
-	
 	/** @param framesDir the directory containing PropBank frame files. */
 	public void addFramesets(String framesDir)
 	{
@@ -81,17 +73,32 @@ public class PBFMap implements Serializable
 	/** @throws Exception */
 	public void addFrameset(String filename) throws Exception
 	{
-		InputStream in = new BufferedInputStream(new FileInputStream(filename));
+		String lemma = getFramesetLemma(filename);
+		PBFType type = getFramesetType(filename);
+		
+		if (lemma != null && type != null)
+			addFrameset(new BufferedInputStream(new FileInputStream(filename)), lemma, type);
+	}
+	
+	/** @return the base lemma of the specific frame file (e.g., "run" for "frames/run-v.xml") if exists; otherwise, {@code null}. */
+	static public String getFramesetLemma(String filename)
+	{
+		filename = FileUtils.getBaseName(filename);
 		int idx = filename.length() - 6;
-		String lemma;
-		PBFType type;
+		return (idx > 0) ? filename.substring(0, idx) : null;
+	}
+	
+	/** @return the type of the specific frame file (e.g., {@link PBFType#VERB} for "frames/run-v.xml") if it is a verb or a noun; otherwise, {@code null}. */
+	static public PBFType getFramesetType(String filename)
+	{
+		int idx = filename.length() - 6;
+		if (idx <= 0) return null;
+		String value = filename.substring(idx+1, idx+2);
 		
-		if (idx > 0)
-		{
-			lemma = filename.substring(0, idx);
-			type  = getType(filename.substring(idx+1, idx+2));
-			if (type != null) addFrameset(in, lemma, type);
-		}
+		if (PBFType.VERB.isValue(value))	return PBFType.VERB;
+		if (PBFType.NOUN.isValue(value))	return PBFType.NOUN;
+		
+		return null;
 	}
 	
 	/**
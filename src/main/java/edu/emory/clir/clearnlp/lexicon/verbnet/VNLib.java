@@ -18,6 +18,7 @@ package edu.emory.clir.clearnlp.lexicon.verbnet;
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.w3c.dom.Element;
@@ -59,21 +60,34 @@ public class VNLib
 	
 	/** Called by {@link #getVerbNetMap(String)}. */
 	static private void putVerbNetClasses(InputStream in, VNMap map, boolean discardNoFrame)
+	{
+		for (VNClass vn : getVerbNetClasses(in, discardNoFrame))
+			map.put(vn);
+	}
+	
+	/**
+	 * @return the VerbNet class and its subclasses in the specific VerbNet XML file.
+	 * @param discardNoFrame if {@code true}, discard classes with no frames.
+	 */
+	static public List<VNClass> getVerbNetClasses(InputStream in, boolean discardNoFrame)
 	{
 		Element eVNClass = XmlUtils.getDocumentElement(in);
 		NodeList list = eVNClass.getElementsByTagName(VNXml.E_VNSUBCLASS);
+		List<VNClass> classes = new ArrayList<>();
 		int i, size = list.getLength();
 		VNClass vn; 
 		
 		vn = new VNClass(eVNClass);
-		if (discardNoFrame && vn.getFrameSize() > 0) map.put(vn);
+		if (discardNoFrame && vn.getFrameSize() > 0) classes.add(vn);
 		
 		for (i=0; i<size; i++)
 		{
 			eVNClass = (Element)list.item(i);
 			vn = new VNClass(eVNClass);
-			if (discardNoFrame && vn.getFrameSize() > 0) map.put(vn);
+			if (discardNoFrame && vn.getFrameSize() > 0) classes.add(vn);
 		}
+		
+		return classes;
 	}
 	
 	static public String stripVerbNetClassName(String vncls)
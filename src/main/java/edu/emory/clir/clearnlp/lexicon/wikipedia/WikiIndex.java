@@ -0,0 +1,203 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wikipedia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.emory.clir.clearnlp.collection.cache.BoundedCache;
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+
+/**
+ * Read-only index of Wikipedia pages in dump files, built by {@link WikiIndexBuilder}.
+ * Only the titles are read when the index is opened; each page is parsed from the memory-mapped dump file on first access and kept in a bounded cache.
+ * The index file consists of the following, all in big-endian:
+ * <pre>
+ * header: int version, int number of dump files, UTF absolute paths of the dump files[]
+ * pages : int number of pages, (UTF title, int file ID, long offset, int length)[] sorted by titles
+ * </pre>
+ * The byte range of each page spans from its page header to the next page header in the dump file.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WikiIndex
+{
+	static final int VERSION = 1;
+	
+	private String[]     s_files;
+	/** Dump files mapped on first access; {@code null} if not mapped yet. */
+	private ByteBuffer[] b_files;
+	private String[]     s_titles;
+	private int[]        i_files;
+	private long[]       l_offsets;
+	private int[]        i_lengths;
+	private BoundedCache<Integer,WikiPage> c_pages;
+	
+	/** @param cacheSize the maximum number of pages to keep parsed. */
+	public WikiIndex(String filename, int cacheSize) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename))))
+		{
+			if (in.readInt() != VERSION)
+				throw new IOException("Incompatible Wikipedia index: "+filename);
+			
+			readFiles(in);
+			readPages(in);
+		}
+		
+		c_pages = new BoundedCache<>(cacheSize, CacheEviction.LRU);
+	}
+	
+	private void readFiles(DataInputStream in) throws IOException
+	{
+		int i, size = in.readInt();
+		s_files = new String[size];
+		b_files = new ByteBuffer[size];
+		
+		for (i=0; i<size; i++)
+			s_files[i] = in.readUTF();
+	}
+	
+	private void readPages(DataInputStream in) throws IOException
+	{
+		int i, size = in.readInt();
+		s_titles  = new String[size];
+		i_files   = new int[size];
+		l_offsets = new long[size];
+		i_lengths = new int[size];
+		
+		for (i=0; i<size; i++)
+		{
+			s_titles [i] = in.readUTF();
+			i_files  [i] = in.readInt();
+			l_offsets[i] = in.readLong();
+			i_lengths[i] = in.readInt();
+		}
+	}
+	
+//	====================================== PAGES ======================================
+	
+	/** @return the page of the specific title if exists; otherwise, {@code null}. */
+	public WikiPage getPage(String title)
+	{
+		int index = getIndex(title);
+		return (index < 0) ? null : c_pages.computeIfAbsent(index, this::load);
+	}
+	
+	/** @return {@code true} if the page of the specific title exists; the page is not parsed. */
+	public boolean contains(String title)
+	{
+		return getIndex(title) >= 0;
+	}
+	
+	/** @return the sorted titles of all pages. */
+	public List<String> getTitles()
+	{
+		return Collections.unmodifiableList(Arrays.asList(s_titles));
+	}
+	
+	/** @return the dump files that pages are read from. */
+	public List<String> getFiles()
+	{
+		return Collections.unmodifiableList(Arrays.asList(s_files));
+	}
+	
+	public int size()
+	{
+		return s_titles.length;
+	}
+	
+	public BoundedCache<Integer,WikiPage> getCache()
+	{
+		return c_pages;
+	}
+	
+	private int getIndex(String title)
+	{
+		return Arrays.binarySearch(s_titles, title);
+	}
+	
+//	====================================== LOAD ======================================
+	
+	private WikiPage load(int index)
+	{
+		try
+		{
+			byte[] b = read(i_files[index], l_offsets[index], i_lengths[index]);
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(b), StandardCharsets.UTF_8));
+			WikiPage page = WikiMap.getFirstPage(reader);
+			WikiMap.nextPage(reader, page);
+			return page;
+		}
+		catch (Exception e) {e.printStackTrace();}
+		
+		return null;
+	}
+	
+	/** Reads the specific range from the mapped dump file; the buffer is duplicated so that concurrent loads do not share its position. */
+	private byte[] read(int fileID, long offset, int length) throws IOException
+	{
+		ByteBuffer buffer = getBuffer(fileID);
+		byte[] b = new byte[length];
+		
+		if (buffer != null)
+			((ByteBuffer)buffer.duplicate().position((int)offset)).get(b);
+		else	// files larger than a mapped buffer can address
+		{
+			try (FileChannel channel = FileChannel.open(Paths.get(s_files[fileID]), StandardOpenOption.READ))
+			{
+				ByteBuffer wrap = ByteBuffer.wrap(b);
+				
+				while (wrap.hasRemaining())
+				{
+					if (channel.read(wrap, offset + wrap.position()) < 0)
+						throw new IOException("Unexpected end of file: "+s_files[fileID]);
+				}
+			}
+		}
+		
+		return b;
+	}
+	
+	/** @return the mapped dump file, or {@code null} if the file is too large to be mapped into one buffer. */
+	private synchronized ByteBuffer getBuffer(int fileID) throws IOException
+	{
+		if (b_files[fileID] == null)
+		{
+			try (FileChannel channel = FileChannel.open(Paths.get(s_files[fileID]), StandardOpenOption.READ))
+			{
+				if (channel.size() > Integer.MAX_VALUE) return null;
+				b_files[fileID] = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			}
+		}
+		
+		return b_files[fileID];
+	}
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wikipedia;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.emory.clir.clearnlp.util.BinUtils;
+
+/**
+ * Indexes the pages in Wikipedia dump files into a {@link WikiIndex}.
+ * Each dump file is streamed once by a thread pool; only page headers are decoded, so paragraphs are never materialized.
+ * Pages with the same title are overwritten in the order of the files, as in {@link WikiMap#addPages(InputStream)}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WikiIndexBuilder
+{
+	static private final byte[] NEW_PAGE = WikiMap.NEW_PAGE.getBytes(StandardCharsets.UTF_8);
+	private int n_threads;
+	
+	public WikiIndexBuilder(int threads)
+	{
+		n_threads = threads;
+	}
+	
+	public void build(List<String> dumpFiles, String outputFile) throws Exception
+	{
+		List<Future<List<Entry>>> futures = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(n_threads);
+		Map<String,Entry> pages = new TreeMap<>();
+		int i, size = dumpFiles.size();
+		
+		try
+		{
+			for (i=0; i<size; i++)
+			{
+				final int fileID = i;
+				futures.add(executor.submit(() -> scan(dumpFiles.get(fileID), fileID)));
+			}
+			
+			for (Future<List<Entry>> future : futures)
+			{
+				for (Entry entry : future.get())
+					pages.put(entry.s_title, entry);
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		write(dumpFiles, pages, outputFile);
+		BinUtils.LOG.info(String.format("Pages: %d in %d files\n", pages.size(), size));
+	}
+	
+	/** @return the byte ranges of the pages in the specific dump file, from each page header to the next page header. */
+	private List<Entry> scan(String filename, int fileID) throws IOException
+	{
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		List<Entry> entries = new ArrayList<>();
+		byte[] buffer = new byte[1 << 20];
+		long pos = 0, lineBegin = 0;
+		boolean leading = true, capture = false;
+		int i, n, matched = 0;
+		byte b;
+		
+		try (InputStream in = new FileInputStream(filename))
+		{
+			while ((n = in.read(buffer)) > 0)
+			{
+				for (i=0; i<n; i++,pos++)
+				{
+					b = buffer[i];
+					
+					if (b == '\n')
+					{
+						if (capture) addPage(entries, header, fileID, lineBegin);
+						lineBegin = pos + 1;
+						leading = true;
+						capture = false;
+						matched = 0;
+					}
+					else if (capture)
+						header.write(b);
+					else if (matched < 0 || (leading && (b & 0xff) <= ' '))	// lines are trimmed before matched
+						continue;
+					else if (b == NEW_PAGE[matched])
+					{
+						leading = false;
+						
+						if (++matched == NEW_PAGE.length)
+						{
+							header.reset();
+							header.write(NEW_PAGE);
+							capture = true;
+						}
+					}
+					else
+						matched = -1;
+				}
+			}
+		}
+		
+		if (capture) addPage(entries, header, fileID, lineBegin);
+		if (!entries.isEmpty()) entries.get(entries.size()-1).setEnd(pos);
+		return entries;
+	}
+	
+	private void addPage(List<Entry> entries, ByteArrayOutputStream header, int fileID, long offset)
+	{
+		if (!entries.isEmpty()) entries.get(entries.size()-1).setEnd(offset);
+		String title = WikiMap.createPage(new String(header.toByteArray(), StandardCharsets.UTF_8).trim()).getTitle();
+		entries.add(new Entry(title, fileID, offset));
+	}
+	
+	private void write(List<String> dumpFiles, Map<String,Entry> pages, String outputFile) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile))))
+		{
+			out.writeInt(WikiIndex.VERSION);
+			out.writeInt(dumpFiles.size());
+			
+			for (String filename : dumpFiles)
+				out.writeUTF(new File(filename).getAbsolutePath());
+			
+			out.writeInt(pages.size());
+			
+			for (Entry entry : pages.values())
+			{
+				out.writeUTF(entry.s_title);
+				out.writeInt(entry.i_file);
+				out.writeLong(entry.l_offset);
+				out.writeInt(entry.n_length);
+			}
+		}
+	}
+	
+	static private class Entry
+	{
+		String s_title;
+		int    i_file;
+		long   l_offset;
+		int    n_length;
+		
+		public Entry(String title, int fileID, long offset)
+		{
+			s_title  = title;
+			i_file   = fileID;
+			l_offset = offset;
+		}
+		
+		public void setEnd(long end)
+		{
+			long length = end - l_offset;
+			if (length > Integer.MAX_VALUE) throw new IllegalStateException("Page too large: "+s_title);
+			n_length = (int)length;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wikipedia;
+
+import java.io.InputStream;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Read-only page map that parses pages on demand from a {@link WikiIndex}
+ * instead of parsing all dump files at construction.
+ * It is serialized as a {@link WikiMap} containing all pages.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WikiIndexedMap extends WikiMap
+{
+	private static final long serialVersionUID = 5184471009482512635L;
+	private transient WikiIndex x_index;
+	
+	public WikiIndexedMap(WikiIndex index)
+	{
+		x_index = index;
+	}
+	
+	/** @return the titles of all pages; no page is parsed unless iterated pages are retrieved by {@link #getPage(String)}. */
+	@Override
+	public Set<String> getTitles()
+	{
+		return new AbstractSet<String>()
+		{
+			@Override
+			public Iterator<String> iterator()
+			{
+				return x_index.getTitles().iterator();
+			}
+			
+			@Override
+			public boolean contains(Object o)
+			{
+				return (o instanceof String) && x_index.contains((String)o);
+			}
+			
+			@Override
+			public int size()
+			{
+				return x_index.size();
+			}
+		};
+	}
+	
+	@Override
+	public WikiPage getPage(String title)
+	{
+		return x_index.getPage(title);
+	}
+	
+	@Override
+	public void addPages(InputStream in)
+	{
+		throw new UnsupportedOperationException("Pages cannot be added to an indexed map.");
+	}
+	
+	public WikiIndex getIndex()
+	{
+		return x_index;
+	}
+	
+	private Object writeReplace()
+	{
+		WikiMap map = new WikiMap();
+		
+		for (String title : x_index.getTitles())
+			map.put(getPage(title));
+		
+		return map;
+	}
+}
@@ -31,7 +31,7 @@ import edu.emory.clir.clearnlp.util.Splitter;
 public class WikiMap implements Serializable
 {
 	private static final long serialVersionUID = 1455324906977350703L;
-	private static final String NEW_PAGE = "<New Page";
+	static final String NEW_PAGE = "<New Page";
 	private static final String NEW_PARAGRAPH = "<New Paragraph";
 	
 	private Map<String,WikiPage> m_wiki;
@@ -74,12 +74,13 @@ public class WikiMap implements Serializable
 		catch (Exception e) {e.printStackTrace();}
 	}
 	
-	private void put(WikiPage page)
+	void put(WikiPage page)
 	{
 		m_wiki.put(page.getTitle(), page);	
 	}
 	
-	private WikiPage getFirstPage(BufferedReader reader) throws Exception
+	/** @return the first page in the specific reader; the paragraphs of the page are not read. */
+	static WikiPage getFirstPage(BufferedReader reader) throws Exception
 	{
 		String line;
 		
@@ -87,14 +88,21 @@ public class WikiMap implements Serializable
 		{
 			line = line.trim();
 			
-			if (line.startsWith(NEW_PAGE))
+			if (isPageHeader(line))
 				return createPage(line);
 		}
 		
 		return null;
 	}
 	
-	private WikiPage createPage(String line)
+	/** @return {@code true} if the specific trimmed line begins a new page. */
+	static boolean isPageHeader(String line)
+	{
+		return line.startsWith(NEW_PAGE);
+	}
+	
+	/** @param line the trimmed line beginning a new page. */
+	static WikiPage createPage(String line)
 	{
 		String[] s = Splitter.splitTabs(line);
 		String title  = s[1].trim();
@@ -102,7 +110,8 @@ public class WikiMap implements Serializable
 		return new WikiPage(title, url.substring(0, url.length()-1));
 	}
 	
-	private WikiPage nextPage(BufferedReader reader, WikiPage page) throws Exception
+	/** Adds the paragraphs following the specific page to the page. */
+	static WikiPage nextPage(BufferedReader reader, WikiPage page) throws Exception
 	{
 		WikiParagraph paragraph = null;
 		String line;
@@ -116,7 +125,7 @@ public class WikiMap implements Serializable
 				paragraph = new WikiParagraph();
 				page.addParagraph(paragraph);
 			}
-			else if (line.startsWith(NEW_PAGE))
+			else if (isPageHeader(line))
 				return createPage(line);
 			else
 				paragraph.addSentence(line);
@@ -31,6 +31,8 @@ public class WNDataMap
 {
 	private IntObjectHashMap<WNSynset> m_data;
 	
+	protected WNDataMap() {}
+	
 	/**
 	 * @param in internally wrapped by {@code new BufferedReader(new InputStreamReader(in))}. 
 	 * @throws IOException
@@ -31,6 +31,8 @@ public class WNIndexMap
 {
 	Map<String,WNIndex> m_index;
 	
+	protected WNIndexMap() {}
+	
 	/**
 	 * @param in internally wrapped by {@code new BufferedReader(new InputStreamReader(in))}. 
 	 * @throws IOException
@@ -16,6 +16,7 @@
 package edu.emory.clir.clearnlp.lexicon.wordnet;
 
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
@@ -41,6 +42,8 @@ public class WNMap
 	private WNIndexMap a_index;
 	private WNIndexMap r_index;
 	
+	private boolean b_memoryMapped;
+	
 	public WNMap() {}
 	
 	public WNMap(String wordnetDirectoryPath)
@@ -66,10 +69,40 @@ public class WNMap
 		catch (Exception e) {e.printStackTrace();}
 	}
 	
+	/**
+	 * Memory-maps the data and index files instead of loading them, and parses synsets and indices on demand.
+	 * @param cacheSize the maximum number of synsets and indices per POS tag to keep parsed.
+	 */
+	public WNMap(String wordnetDirectoryPath, int cacheSize)
+	{
+		try
+		{
+			initMappedMaps(wordnetDirectoryPath, cacheSize);
+		}
+		catch (Exception e) {e.printStackTrace();}
+	}
+	
 //	------------------------------------ Initializers ------------------------------------
 	
+	public void initMappedMaps(String wordnetDirectoryPath, int cacheSize) throws IOException
+	{
+		b_memoryMapped = true;
+		
+		n_data = new WNMappedDataMap(wordnetDirectoryPath+"/data.noun", this, cacheSize);
+		v_data = new WNMappedDataMap(wordnetDirectoryPath+"/data.verb", this, cacheSize);
+		a_data = new WNMappedDataMap(wordnetDirectoryPath+"/data.adj" , this, cacheSize);
+		r_data = new WNMappedDataMap(wordnetDirectoryPath+"/data.adv" , this, cacheSize);
+		
+		n_index = new WNMappedIndexMap(wordnetDirectoryPath+"/index.noun", n_data, cacheSize);
+		v_index = new WNMappedIndexMap(wordnetDirectoryPath+"/index.verb", v_data, cacheSize);
+		a_index = new WNMappedIndexMap(wordnetDirectoryPath+"/index.adj" , a_data, cacheSize);
+		r_index = new WNMappedIndexMap(wordnetDirectoryPath+"/index.adv" , r_data, cacheSize);
+	}
+	
 	public void initDataMaps(InputStream nIn, InputStream vIn, InputStream aIn, InputStream rIn) throws Exception
 	{
+		b_memoryMapped = false;
+		
 		n_data = new WNDataMap(nIn);
 		v_data = new WNDataMap(vIn);
 		a_data = new WNDataMap(aIn);
@@ -115,6 +148,12 @@ public class WNMap
 		throw new IllegalArgumentException(posTag+" is not a valid POS tag.");
 	}
 	
+	/** @return {@code true} if synsets are parsed on demand from memory-mapped files. */
+	public boolean isMemoryMapped()
+	{
+		return b_memoryMapped;
+	}
+	
 	WNSynset getSynset(char posTag, int offset)
 	{
 		return getDataMap(posTag).getSynset(offset);
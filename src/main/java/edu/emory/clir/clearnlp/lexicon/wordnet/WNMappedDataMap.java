@@ -0,0 +1,62 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wordnet;
+
+import java.io.IOException;
+
+import edu.emory.clir.clearnlp.collection.cache.BoundedCache;
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+
+/**
+ * Data map that parses synsets on demand from a memory-mapped WordNet data file (e.g., data.verb).
+ * Synset offsets in WordNet are byte offsets into the data file, so no lookup table is kept;
+ * parsed synsets are kept in a bounded cache and their relations are resolved only when followed.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WNMappedDataMap extends WNDataMap
+{
+	private BoundedCache<Integer,WNSynset> c_synsets;
+	private WNMappedFile f_data;
+	private WNMap        w_map;
+	
+	/** @param cacheSize the maximum number of synsets to keep parsed. */
+	public WNMappedDataMap(String filename, WNMap map, int cacheSize) throws IOException
+	{
+		f_data    = new WNMappedFile(filename);
+		c_synsets = new BoundedCache<>(cacheSize, CacheEviction.LRU);
+		w_map     = map;
+	}
+	
+	@Override
+	public WNSynset getSynset(int offset)
+	{
+		return (0 <= offset && offset < f_data.size()) ? c_synsets.computeIfAbsent(offset, this::parseSynset) : null;
+	}
+	
+	private WNSynset parseSynset(int offset)
+	{
+		if (f_data.getLineBegin(offset) != offset) return null;
+		WNSynset synset = new WNSynset(f_data.getLine(offset));
+		synset.initRelations(w_map);
+		return synset;
+	}
+	
+	public BoundedCache<Integer,WNSynset> getCache()
+	{
+		return c_synsets;
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wordnet;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only WordNet file mapped into memory and addressed by byte offsets.
+ * Only absolute reads are used so that the mapped buffer can be shared across threads.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+class WNMappedFile
+{
+	private MappedByteBuffer b_buffer;
+	private int n_size;
+	
+	public WNMappedFile(String filename) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ))
+		{
+			b_buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			n_size   = b_buffer.limit();
+		}
+	}
+	
+	public int size()
+	{
+		return n_size;
+	}
+	
+	/** @return the byte at the specific offset, or {@code '\n'} if the offset is out of the file. */
+	public byte get(int offset)
+	{
+		return (offset < n_size) ? b_buffer.get(offset) : (byte)'\n';
+	}
+	
+	/** @return the offset of the first line after the license header, whose lines begin with two spaces. */
+	public int getContentBegin()
+	{
+		int begin = 0;
+		
+		while (begin < n_size && get(begin) == ' ')
+			begin = getLineEnd(begin) + 1;
+		
+		return Math.min(begin, n_size);
+	}
+	
+	/** @return the offset of the beginning of the line containing the specific offset. */
+	public int getLineBegin(int offset)
+	{
+		while (offset > 0 && get(offset-1) != '\n') offset--;
+		return offset;
+	}
+	
+	/** @return the offset of the line feed terminating the line containing the specific offset. */
+	public int getLineEnd(int offset)
+	{
+		while (offset < n_size && get(offset) != '\n') offset++;
+		return offset;
+	}
+	
+	/** @return the line beginning at the specific offset without the line feed. */
+	public String getLine(int begin)
+	{
+		int i, end = getLineEnd(begin);
+		byte[] b = new byte[end - begin];
+		
+		for (i=0; i<b.length; i++)
+			b[i] = b_buffer.get(begin + i);
+		
+		return new String(b, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wordnet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import edu.emory.clir.clearnlp.collection.cache.BoundedCache;
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+
+/**
+ * Index map that binary-searches a memory-mapped WordNet index file (e.g., index.verb) in place.
+ * WordNet index files are sorted by lemmas in byte order, one lemma per line.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WNMappedIndexMap extends WNIndexMap
+{
+	private BoundedCache<String,WNIndex> c_indices;
+	private WNMappedFile f_index;
+	private WNDataMap    d_map;
+	private int          n_begin;
+	
+	/** @param cacheSize the maximum number of indices to keep parsed. */
+	public WNMappedIndexMap(String filename, WNDataMap map, int cacheSize) throws IOException
+	{
+		f_index   = new WNMappedFile(filename);
+		c_indices = new BoundedCache<>(cacheSize, CacheEviction.LRU);
+		n_begin   = f_index.getContentBegin();
+		d_map     = map;
+	}
+	
+	@Override
+	public WNIndex getIndex(String lemma)
+	{
+		return c_indices.computeIfAbsent(lemma, this::search);
+	}
+	
+	/** @return the index of the specific lemma if exists; otherwise, {@code null}. */
+	private WNIndex search(String lemma)
+	{
+		byte[] key = lemma.getBytes(StandardCharsets.UTF_8);
+		int lo = n_begin, hi = f_index.size(), begin, cmp;
+		
+		// lo and hi always point to the beginnings of lines
+		while (lo < hi)
+		{
+			begin = f_index.getLineBegin((lo + hi) >>> 1);
+			cmp   = compare(key, begin);
+			
+			if (cmp == 0) return new WNIndex(d_map, f_index.getLine(begin));
+			if (cmp <  0) hi = begin;
+			else          lo = f_index.getLineEnd(begin) + 1;
+		}
+		
+		return null;
+	}
+	
+	/** Compares the specific key to the lemma at the beginning of the line in byte order. */
+	private int compare(byte[] key, int begin)
+	{
+		int i, a, b;
+		
+		for (i=0; ; i++)
+		{
+			a = (i < key.length) ? key[i] & 0xff : -1;
+			b = f_index.get(begin + i);
+			b = (b == ' ' || b == '\n') ? -1 : b & 0xff;
+			
+			if (a != b) return a - b;
+			if (a < 0)  return 0;
+		}
+	}
+	
+	public BoundedCache<String,WNIndex> getCache()
+	{
+		return c_indices;
+	}
+}
@@ -27,9 +27,14 @@ public class WNRelation
 	private short    n_source;
 	private short    n_target;
 	
+	/** The address of the target synset resolved on every access if loaded lazily. */
+	private WNMap    w_map;
+	private char     c_posTag;
+	private int      n_synsetOffset;
+	
 	public WNSynset getWNSynset()
 	{
-		return w_synset;
+		return (w_synset != null || w_map == null) ? w_synset : w_map.getSynset(c_posTag, n_synsetOffset);
 	}
 	
 	public short getSource()
@@ -47,6 +52,14 @@ public class WNRelation
 		w_synset = synset;
 	}
 	
+	/** Refers to the target synset by its address so that it can be evicted from {@link WNMappedDataMap}. */
+	void setWNSynset(WNMap map, char posTag, int synsetOffset)
+	{
+		w_map          = map;
+		c_posTag       = posTag;
+		n_synsetOffset = synsetOffset;
+	}
+	
 	public void setSource(short source)
 	{
 		n_source = source;
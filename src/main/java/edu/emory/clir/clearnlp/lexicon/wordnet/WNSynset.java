@@ -208,10 +208,13 @@ public class WNSynset
 	
 	private WNRelation getRelation(WNMap map, WNPointer pointer)
 	{
-		WNSynset synset = map.getSynset(pointer.getPOSTag(), pointer.getSynsetOffset());
 		WNRelation relation = new WNRelation();
 		
-		relation.setWNSynset(synset);
+		if (map.isMemoryMapped())
+			relation.setWNSynset(map, pointer.getPOSTag(), pointer.getSynsetOffset());
+		else
+			relation.setWNSynset(map.getSynset(pointer.getPOSTag(), pointer.getSynsetOffset()));
+		
 		relation.setSource(pointer.getSource());
 		relation.setTarget(pointer.getTarget());
 		
@@ -235,6 +238,22 @@ public class WNSynset
 		return l_hyponym;
 	}
 	
+	/** Synsets are identified by their POS tags and offsets, which may be parsed more than once if memory-mapped. */
+	@Override
+	public boolean equals(Object o)
+	{
+		if (this == o) return true;
+		if (!(o instanceof WNSynset)) return false;
+		WNSynset synset = (WNSynset)o;
+		return n_synsetOffset == synset.n_synsetOffset && c_posTag == synset.c_posTag;
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return 31 * n_synsetOffset + c_posTag;
+	}
+	
 	public String toString()
 	{
 		return c_posTag + ": " + Joiner.join(s_words, StringConst.SPACE);
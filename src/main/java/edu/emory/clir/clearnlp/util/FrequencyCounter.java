@@ -0,0 +1,164 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.util;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
+import edu.emory.clir.clearnlp.collection.pair.ObjectIntPair;
+import edu.emory.clir.clearnlp.collection.sketch.FrequencySummary;
+
+/**
+ * Counts document frequencies or term frequencies of the terms in text files, where each file is a document.
+ * Files are shared by a fixed number of threads, each of which counts into its own map or summary; these are merged at the end.
+ * Terms are split as in {@link DSUtils#getBagOfWords(java.io.InputStream, Pattern)}.
+ * The exact mode keeps the count of every term, whereas the approximate mode bounds memory by a {@link FrequencySummary}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class FrequencyCounter
+{
+	private Pattern p_splitter;
+	private boolean b_document;
+	private int     n_threads;
+	
+	/** @param documentFrequency if {@code true}, each term is counted once per document; otherwise, every occurrence is counted. */
+	public FrequencyCounter(Pattern splitter, boolean documentFrequency, int threads)
+	{
+		p_splitter = splitter;
+		b_document = documentFrequency;
+		n_threads  = threads;
+	}
+	
+	/** @return the exact counts of all terms in the specific files. */
+	public ObjectIntHashMap<String> count(List<String> filenames) throws Exception
+	{
+		List<ObjectIntHashMap<String>> maps = count(filenames, ObjectIntHashMap::new, (map, terms) -> {for (String term : terms) map.add(term);});
+		ObjectIntHashMap<String> map = maps.get(0);
+		int i, size = maps.size();
+		
+		for (i=1; i<size; i++)
+		{
+			for (ObjectIntPair<String> p : maps.get(i))
+				map.add(p.o, p.i);
+		}
+		
+		return map;
+	}
+	
+	/**
+	 * @param epsilon the relative error of the count-min sketch (see {@link FrequencySummary}).
+	 * @param delta the probability that an estimate of the count-min sketch exceeds the error.
+	 * @param topK the number of the most frequent terms to monitor.
+	 * @return the approximate counts of all terms in the specific files, with the most frequent terms.
+	 */
+	public FrequencySummary<String> count(List<String> filenames, double epsilon, double delta, int topK) throws Exception
+	{
+		List<FrequencySummary<String>> summaries = count(filenames, () -> new FrequencySummary<>(epsilon, delta, topK), (summary, terms) -> {for (String term : terms) summary.add(term);});
+		FrequencySummary<String> summary = summaries.get(0);
+		int i, size = summaries.size();
+		
+		for (i=1; i<size; i++)
+			summary.merge(summaries.get(i));
+		
+		BinUtils.LOG.info(summary+"\n");
+		return summary;
+	}
+	
+	/** @return the counts by each thread. */
+	private <T>List<T> count(List<String> filenames, Supplier<T> supplier, Counter<T> counter) throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(n_threads);
+		AtomicInteger next = new AtomicInteger();
+		List<Future<T>> futures = new ArrayList<>();
+		List<T> counts = new ArrayList<>();
+		int i;
+		
+		try
+		{
+			for (i=0; i<n_threads; i++)
+			{
+				futures.add(executor.submit(() ->
+				{
+					T count = supplier.get();
+					int index;
+					
+					while ((index = next.getAndIncrement()) < filenames.size())
+						read(filenames.get(index), terms -> counter.add(count, terms));
+					
+					return count;
+				}));
+			}
+			
+			for (Future<T> future : futures)
+				counts.add(future.get());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		return counts;
+	}
+	
+	/** Passes the terms of the specific file to the specific consumer; for document frequencies, the set of the terms in the file, otherwise, the terms in each line. */
+	private void read(String filename, Consumer<Collection<String>> consumer) throws IOException
+	{
+		Set<String> document = b_document ? new HashSet<>() : null;
+		List<String> terms = new ArrayList<>();
+		String line;
+		
+		try (BufferedReader reader = IOUtils.createBufferedReader(new FileInputStream(filename)))
+		{
+			while ((line = reader.readLine()) != null)
+			{
+				for (String t : p_splitter.split(line))
+				{
+					t = t.trim();
+					if (!t.isEmpty()) terms.add(t);
+				}
+				
+				if (document != null)
+					document.addAll(terms);
+				else
+					consumer.accept(terms);
+				
+				terms.clear();
+			}
+		}
+		
+		if (document != null) consumer.accept(document);
+	}
+	
+	private interface Counter<T>
+	{
+		void add(T count, Collection<String> terms);
+	}
+}
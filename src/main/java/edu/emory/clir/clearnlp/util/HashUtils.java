@@ -64,4 +64,54 @@ public class HashUtils
 		
 		return basis;
     }
-}
+	
+	private static final int MURMUR_C1 = 0xcc9e2d51;
+	private static final int MURMUR_C2 = 0x1b873593;
+	
+	/** @return the 32-bit MurmurHash3 (x86) of the UTF-16 code units of the specific string. */
+	public static int murmurHash3_32(final String s, int seed)
+	{
+		int i, k, h = seed, len = s.length(), end = len & ~1;
+		
+		for (i=0; i<end; i+=2)
+		{
+			k = s.charAt(i) | (s.charAt(i+1) << 16);
+			h ^= murmurMix(k);
+			h  = Integer.rotateLeft(h, 13);
+			h  = h * 5 + 0xe6546b64;
+		}
+		
+		if (end < len)
+			h ^= murmurMix(s.charAt(end));
+		
+		h ^= len * 2;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+	
+	/** @return the 32-bit MurmurHash3 (x86) of the 4 bytes of the specific value. */
+	public static int murmurHash3_32(int value, int seed)
+	{
+		int h = seed ^ murmurMix(value);
+		h  = Integer.rotateLeft(h, 13);
+		h  = h * 5 + 0xe6546b64;
+		h ^= 4;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+	
+	private static int murmurMix(int k)
+	{
+		k *= MURMUR_C1;
+		k  = Integer.rotateLeft(k, 15);
+		return k * MURMUR_C2;
+	}
+}
\ No newline at end of file
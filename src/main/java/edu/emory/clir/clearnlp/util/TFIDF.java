@@ -15,14 +15,13 @@
  */
 package edu.emory.clir.clearnlp.util;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.PrintStream;
 import java.util.List;
 
 import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
 import edu.emory.clir.clearnlp.collection.ngram.Unigram;
 import edu.emory.clir.clearnlp.collection.pair.ObjectIntPair;
+import edu.emory.clir.clearnlp.collection.sketch.FrequencySummary;
 import edu.emory.clir.clearnlp.util.constant.PatternConst;
 
 /**
@@ -39,21 +38,35 @@ public class TFIDF
 		document_frequencies = new Unigram<>();
 	}
 	
-	static public ObjectIntHashMap<String> getDocumentFrequencyCounts(List<String> filenames) throws FileNotFoundException
+	static public ObjectIntHashMap<String> getDocumentFrequencyCounts(List<String> filenames) throws Exception
 	{
-		ObjectIntHashMap<String> map = new ObjectIntHashMap<>();
-		
-		for (String filename : filenames)
-			for (String s : DSUtils.getBagOfWords(new FileInputStream(filename), PatternConst.WHITESPACES))
-				map.add(s);
-		
-		return map;
+		return getDocumentFrequencyCounts(filenames, 1);
+	}
+	
+	/** Counts the document frequencies by the specific number of threads (see {@link FrequencyCounter}). */
+	static public ObjectIntHashMap<String> getDocumentFrequencyCounts(List<String> filenames, int threads) throws Exception
+	{
+		return new FrequencyCounter(PatternConst.WHITESPACES, true, threads).count(filenames);
 	}
 	
-	static public void main(String[] args) throws FileNotFoundException
+	/** Approximates the document frequencies in bounded memory by the specific number of threads (see {@link FrequencyCounter}). */
+	static public FrequencySummary<String> getDocumentFrequencySummary(List<String> filenames, int threads, double epsilon, double delta, int topK) throws Exception
+	{
+		return new FrequencyCounter(PatternConst.WHITESPACES, true, threads).count(filenames, epsilon, delta, topK);
+	}
+	
+	/** args: inputDir outputFile [threads [epsilon delta topK]]; the approximate counts of the top-k terms are printed if the error bounds are specified. */
+	static public void main(String[] args) throws Exception
 	{
 		List<String> filenames = FileUtils.getFileList(args[0], ".txt", false);
-		ObjectIntHashMap<String> map = getDocumentFrequencyCounts(filenames);
+		int threads = (args.length > 2) ? Integer.parseInt(args[2]) : 1;
+		ObjectIntHashMap<String> map;
+		
+		if (args.length > 5)
+			map = getDocumentFrequencySummary(filenames, threads, Double.parseDouble(args[3]), Double.parseDouble(args[4]), Integer.parseInt(args[5])).toMap(0);
+		else
+			map = getDocumentFrequencyCounts(filenames, threads);
+		
 		List<ObjectIntPair<String>> list = map.toList();
 		DSUtils.sortReverseOrder(list);
 		
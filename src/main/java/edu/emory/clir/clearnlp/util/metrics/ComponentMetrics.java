@@ -0,0 +1,171 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.util.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts, token throughput, and latency histograms of one stage of the pipeline (e.g., a component, reading, or writing),
+ * overall and per sentence-length bucket.
+ * Throughput is the number of tokens divided by the time spent in this stage, not by the wall-clock time.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ComponentMetrics implements ComponentMetricsMBean
+{
+	/** The upper bounds of the sentence-length buckets; the last bucket has no bound. */
+	static private final int[] LENGTH_BOUNDS = {10, 20, 40, 80};
+	
+	private final String             s_name;
+	private final LatencyHistogram   h_latency;
+	private final LatencyHistogram[] h_lengths;
+	private final LongAdder          n_tokens;
+	
+	public ComponentMetrics(String name)
+	{
+		s_name    = name;
+		h_latency = new LatencyHistogram();
+		h_lengths = new LatencyHistogram[LENGTH_BOUNDS.length+1];
+		n_tokens  = new LongAdder();
+		
+		for (int i=0; i<h_lengths.length; i++)
+			h_lengths[i] = new LatencyHistogram();
+	}
+	
+	/**
+	 * Records a sentence that has been processed since the specific time.
+	 * @param startNanos the value of {@link System#nanoTime()} taken before processing.
+	 * @param tokens the number of tokens in the sentence, or {@code 0} if unknown.
+	 */
+	public void record(long startNanos, int tokens)
+	{
+		recordLatency(System.nanoTime() - startNanos, tokens);
+	}
+	
+	/** Records a sentence that has taken the specific number of nanoseconds. */
+	public void recordLatency(long latency, int tokens)
+	{
+		h_latency.record(latency);
+		h_lengths[getLengthBucket(tokens)].record(latency);
+		n_tokens.add(tokens);
+	}
+	
+	static private int getLengthBucket(int tokens)
+	{
+		int i;
+		
+		for (i=0; i<LENGTH_BOUNDS.length; i++)
+			if (tokens <= LENGTH_BOUNDS[i]) return i;
+		
+		return i;
+	}
+	
+//	====================================== GETTERS ======================================
+	
+	@Override
+	public String getName()
+	{
+		return s_name;
+	}
+	
+	@Override
+	public long getSentenceCount()
+	{
+		return h_latency.getCount();
+	}
+	
+	@Override
+	public long getTokenCount()
+	{
+		return n_tokens.sum();
+	}
+	
+	@Override
+	public double getTokensPerSecond()
+	{
+		long nanos = h_latency.getSum();
+		return (nanos > 0) ? getTokenCount() * 1e9 / nanos : 0;
+	}
+	
+	@Override
+	public double getMeanLatency()
+	{
+		return h_latency.getMean() / 1000;
+	}
+	
+	@Override
+	public long getLatency50()
+	{
+		return h_latency.getPercentile(50) / 1000;
+	}
+	
+	@Override
+	public long getLatency90()
+	{
+		return h_latency.getPercentile(90) / 1000;
+	}
+	
+	@Override
+	public long getLatency99()
+	{
+		return h_latency.getPercentile(99) / 1000;
+	}
+	
+	@Override
+	public long getMaxLatency()
+	{
+		return h_latency.getMax() / 1000;
+	}
+	
+	public LatencyHistogram getLatencyHistogram()
+	{
+		return h_latency;
+	}
+	
+	@Override
+	public String[] getLengthBuckets()
+	{
+		String[] buckets = new String[h_lengths.length];
+		LatencyHistogram h;
+		String range;
+		int i;
+		
+		for (i=0; i<h_lengths.length; i++)
+		{
+			h = h_lengths[i];
+			range = (i < LENGTH_BOUNDS.length) ? ((i == 0 ? 1 : LENGTH_BOUNDS[i-1]+1) + "-" + LENGTH_BOUNDS[i]) : (LENGTH_BOUNDS[i-1]+1) + "+";
+			buckets[i] = String.format("%s tokens: %d sentences, p50 %d us, p99 %d us", range, h.getCount(), h.getPercentile(50) / 1000, h.getPercentile(99) / 1000);
+		}
+		
+		return buckets;
+	}
+	
+	@Override
+	public void reset()
+	{
+		h_latency.reset();
+		n_tokens.reset();
+		
+		for (LatencyHistogram h : h_lengths)
+			h.reset();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("%s: %d sentences, %d tokens, %.0f tokens/sec, latency (us) mean %.1f, p50 %d, p90 %d, p99 %d, max %d", s_name, getSentenceCount(), getTokenCount(), getTokensPerSecond(), getMeanLatency(), getLatency50(), getLatency90(), getLatency99(), getMaxLatency());
+	}
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.util.metrics;
+
+/**
+ * JMX view of {@link ComponentMetrics}; latencies are in microseconds.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public interface ComponentMetricsMBean
+{
+	String getName();
+	long getSentenceCount();
+	long getTokenCount();
+	double getTokensPerSecond();
+	double getMeanLatency();
+	long getLatency50();
+	long getLatency90();
+	long getLatency99();
+	long getMaxLatency();
+	/** @return the count and latency percentiles of each sentence-length bucket. */
+	String[] getLengthBuckets();
+	void reset();
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values (e.g., latencies in nanoseconds) with log-linear buckets.
+ * Values below {@code 64} are counted exactly; larger values are counted in 32 buckets per power of 2,
+ * so that every percentile is reported within about 3% of the true value regardless of its magnitude.
+ * Recording is a few atomic increments and never blocks.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LatencyHistogram
+{
+	static private final int SUB_BITS    = 5;
+	static private final int SUB_BUCKETS = 1 << SUB_BITS;
+	static private final int LINEAR_MAX  = SUB_BUCKETS << 1;
+	static private final int BUCKETS     = (64 - SUB_BITS) * SUB_BUCKETS;
+	
+	private final AtomicLongArray a_counts;
+	private final LongAdder       n_count;
+	private final LongAdder       n_sum;
+	private final AtomicLong      n_max;
+	
+	public LatencyHistogram()
+	{
+		a_counts = new AtomicLongArray(BUCKETS);
+		n_count  = new LongAdder();
+		n_sum    = new LongAdder();
+		n_max    = new AtomicLong();
+	}
+	
+	public void record(long value)
+	{
+		if (value < 0) value = 0;
+		a_counts.incrementAndGet(getBucketIndex(value));
+		n_count.increment();
+		n_sum.add(value);
+		
+		long max;
+		while (value > (max = n_max.get()) && !n_max.compareAndSet(max, value));
+	}
+	
+	static int getBucketIndex(long value)
+	{
+		if (value < LINEAR_MAX) return (int)value;
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int)(value >>> shift) - SUB_BUCKETS;
+	}
+	
+	/** @return the largest value counted in the specific bucket. */
+	static long getBucketMax(int index)
+	{
+		if (index < LINEAR_MAX) return index;
+		int shift = index / SUB_BUCKETS - 1;
+		long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+		return ((sub + 1) << shift) - 1;
+	}
+	
+//	====================================== GETTERS ======================================
+	
+	public long getCount()
+	{
+		return n_count.sum();
+	}
+	
+	public long getSum()
+	{
+		return n_sum.sum();
+	}
+	
+	public long getMax()
+	{
+		return n_max.get();
+	}
+	
+	/** @return the mean of the recorded values, or {@code 0} if nothing has been recorded. */
+	public double getMean()
+	{
+		long count = getCount();
+		return (count > 0) ? (double)getSum() / count : 0;
+	}
+	
+	/**
+	 * @param percentile between {@code 0} and {@code 100}.
+	 * @return the upper bound of the bucket containing the specific percentile (capped by the maximum), or {@code 0} if nothing has been recorded.
+	 */
+	public long getPercentile(double percentile)
+	{
+		long count = 0, total = 0;
+		int i;
+		
+		for (i=0; i<BUCKETS; i++)
+			total += a_counts.get(i);
+		
+		if (total == 0) return 0;
+		long rank = Math.max(1, (long)Math.ceil(percentile / 100 * total));
+		
+		for (i=0; i<BUCKETS; i++)
+		{
+			count += a_counts.get(i);
+			if (count >= rank) return Math.min(getBucketMax(i), getMax());
+		}
+		
+		return getMax();
+	}
+	
+	/** Clears all counts; values recorded concurrently may be partially cleared. */
+	public void reset()
+	{
+		for (int i=0; i<BUCKETS; i++)
+			a_counts.set(i, 0);
+		
+		n_count.reset();
+		n_sum.reset();
+		n_max.set(0);
+	}
+}
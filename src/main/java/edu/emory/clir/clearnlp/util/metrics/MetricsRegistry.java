@@ -0,0 +1,156 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.util.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import edu.emory.clir.clearnlp.util.BinUtils;
+
+/**
+ * Global registry of {@link ComponentMetrics}, disabled by default.
+ * While disabled, instrumented code skips timing altogether, so metrics cost nothing unless {@link #setEnabled(boolean)} is called.
+ * Each metrics is registered as a JMX MBean named {@code edu.emory.clir.clearnlp:type=Metrics,name=<name>}.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class MetricsRegistry
+{
+	static public final String DOMAIN = "edu.emory.clir.clearnlp";
+	
+	static private final ConcurrentMap<String,ComponentMetrics> m_metrics = new ConcurrentHashMap<>();
+	static private volatile boolean b_enabled = false;
+	static private ScheduledExecutorService e_reporter = null;
+	
+	private MetricsRegistry() {}
+	
+	static public boolean isEnabled()
+	{
+		return b_enabled;
+	}
+	
+	static public void setEnabled(boolean enabled)
+	{
+		b_enabled = enabled;
+	}
+	
+	/** @return the metrics of the specific name, created and registered to JMX on the first call. */
+	static public ComponentMetrics get(String name)
+	{
+		ComponentMetrics metrics = m_metrics.get(name);
+		return (metrics != null) ? metrics : m_metrics.computeIfAbsent(name, MetricsRegistry::create);
+	}
+	
+	static private ComponentMetrics create(String name)
+	{
+		ComponentMetrics metrics = new ComponentMetrics(name);
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		
+		try
+		{
+			ObjectName objectName = getObjectName(name);
+			if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+			server.registerMBean(metrics, objectName);
+		}
+		catch (JMException e) {e.printStackTrace();}
+		
+		return metrics;
+	}
+	
+	/** Removes the metrics of the specific name and unregisters its MBean; the next {@link #get(String)} of the name starts over. */
+	static public void remove(String name)
+	{
+		if (m_metrics.remove(name) == null) return;
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		
+		try
+		{
+			ObjectName objectName = getObjectName(name);
+			if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+		}
+		catch (JMException e) {e.printStackTrace();}
+	}
+	
+	static public ObjectName getObjectName(String name) throws JMException
+	{
+		return new ObjectName(DOMAIN+":type=Metrics,name="+ObjectName.quote(name));
+	}
+	
+	/** @return all metrics sorted by their names. */
+	static public List<ComponentMetrics> getAll()
+	{
+		List<ComponentMetrics> list = new ArrayList<>(m_metrics.values());
+		Collections.sort(list, (m1, m2) -> m1.getName().compareTo(m2.getName()));
+		return list;
+	}
+	
+	/** Resets the counts of all metrics while keeping them registered. */
+	static public void reset()
+	{
+		for (ComponentMetrics metrics : m_metrics.values())
+			metrics.reset();
+	}
+	
+	static public String getReport()
+	{
+		StringBuilder build = new StringBuilder();
+		
+		for (ComponentMetrics metrics : getAll())
+		{
+			build.append(metrics.toString());
+			build.append("\n");
+		}
+		
+		return build.toString();
+	}
+	
+//	====================================== REPORTER ======================================
+	
+	/** Logs {@link #getReport()} every specific number of seconds from a daemon thread until {@link #stopReporter()} is called. */
+	static synchronized public void startReporter(long periodSeconds)
+	{
+		stopReporter();
+		
+		e_reporter = Executors.newSingleThreadScheduledExecutor(r ->
+		{
+			Thread thread = new Thread(r, "clearnlp-metrics-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		e_reporter.scheduleAtFixedRate(() -> BinUtils.LOG.info(getReport()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+	}
+	
+	static synchronized public void stopReporter()
+	{
+		if (e_reporter != null)
+		{
+			e_reporter.shutdownNow();
+			e_reporter = null;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.bin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.component.mode.morph.DefaultMPAnalyzer;
+import edu.emory.clir.clearnlp.component.utils.NLPUtils;
+import edu.emory.clir.clearnlp.util.IOUtils;
+import edu.emory.clir.clearnlp.util.lang.TLanguage;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class C2DConvertTest
+{
+	static private final String HEADRULE_FILE = "src/main/resources/headrules/headrule_en_stanford.txt";
+	
+	/** The English morphological analyzer needs dictionaries that are not part of the test resources. */
+	@Test
+	public void testMultiThreaded() throws Exception
+	{
+		Path dir = Files.createTempDirectory("c2d");
+		List<String> parseFiles = new ArrayList<>();
+		C2DConvert c2d = new C2DConvert();
+		
+		for (String name : new String[]{"wsj_0001", "sample"})
+		{
+			Files.copy(Paths.get("src/test/resources/propbank/"+name+".parse"), dir.resolve(name+".parse"), StandardCopyOption.REPLACE_EXISTING);
+			Files.copy(Paths.get("src/test/resources/propbank/"+name+".prop" ), dir.resolve(name+".prop" ), StandardCopyOption.REPLACE_EXISTING);
+			parseFiles.add(dir.resolve(name+".parse").toString());
+		}
+		
+		for (String parseFile : parseFiles)
+			c2d.convert(NLPUtils.getC2DConverter(TLanguage.ENGLISH, IOUtils.createFileInputStream(HEADRULE_FILE)), new DefaultMPAnalyzer(), parseFile, "parse", "prop", "dep1", false);
+		
+		c2d.convert(() -> NLPUtils.getC2DConverter(TLanguage.ENGLISH, IOUtils.createFileInputStream(HEADRULE_FILE)), () -> new DefaultMPAnalyzer(), parseFiles, "parse", "prop", "dep3", false, 3, 1);
+		
+		for (String parseFile : parseFiles)
+		{
+			String single = new String(Files.readAllBytes(Paths.get(parseFile+".dep1")));
+			assertTrue(single.length() > 0);
+			assertEquals(single, new String(Files.readAllBytes(Paths.get(parseFile+".dep3"))));
+		}
+		
+		for (File file : dir.toFile().listFiles()) file.delete();
+		dir.toFile().delete();
+	}
+}
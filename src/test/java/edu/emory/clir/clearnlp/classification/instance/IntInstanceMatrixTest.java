@@ -0,0 +1,102 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.instance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class IntInstanceMatrixTest
+{
+	@Test
+	public void testWithoutWeights()
+	{
+		IntInstanceMatrix matrix = new IntInstanceMatrix(false);
+		int i;
+		
+		for (i=0; i<1000; i++)
+		{
+			matrix.addFeature(i+1);
+			matrix.addFeature(i+2);
+			assertTrue(matrix.addInstance(i%3));
+		}
+		
+		assertFalse(matrix.addInstance(0));
+		matrix.trimToSize();
+		
+		assertEquals(1000, matrix.size());
+		assertFalse(matrix.hasWeight());
+		assertNull(matrix.getFeatureValues());
+		
+		assertEquals(2, matrix.getLabel(5));
+		assertTrue(matrix.isLabel(5, 2));
+		assertEquals(10, matrix.getBeginIndex(5));
+		assertEquals(12, matrix.getEndIndex(5));
+		assertEquals( 6, matrix.getFeatureIndex(10));
+		assertEquals( 1, matrix.getFeatureWeight(10), 0);
+		assertEquals( 2, matrix.sumOfSquares(5), 0);
+		assertEquals("2 6 7", matrix.getInstance(5).toString());
+	}
+	
+	@Test
+	public void testWithWeights()
+	{
+		IntInstanceMatrix matrix = new IntInstanceMatrix(true);
+		SparseFeatureVector x = new SparseFeatureVector(true);
+		
+		x.addFeature(3, 0.5);
+		x.addFeature(7, 2);
+		
+		matrix.addFeature(1, 1);
+		matrix.clearFeatures();
+		assertTrue(matrix.addInstance(new IntInstance(1, x)));
+		
+		assertEquals(1, matrix.size());
+		assertEquals(0, matrix.getBeginIndex(0));
+		assertEquals(2, matrix.getEndIndex(0));
+		assertEquals(4.25, matrix.sumOfSquares(0), 0);
+		assertEquals("1 3:0.5 7:2.0", matrix.getInstance(0).toString());
+	}
+	
+	@Test
+	public void testGrow()
+	{
+		assertEquals(16, IntInstanceMatrix.grow(0, IntInstanceMatrix.MAX_CAPACITY, "features"));
+		assertEquals(512, IntInstanceMatrix.grow(256, IntInstanceMatrix.MAX_CAPACITY, "features"));
+		assertEquals(IntInstanceMatrix.MAX_CAPACITY, IntInstanceMatrix.grow(1 << 30, IntInstanceMatrix.MAX_CAPACITY, "features"));
+		
+		IntInstanceMatrix matrix = new IntInstanceMatrix(false);
+		matrix.trimToSize();
+		matrix.addFeature(1);
+		assertTrue(matrix.addInstance(0));
+		assertEquals(1, matrix.size());
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testGrowLimit()
+	{
+		IntInstanceMatrix.grow(IntInstanceMatrix.MAX_CAPACITY, IntInstanceMatrix.MAX_CAPACITY, "features");
+	}
+}
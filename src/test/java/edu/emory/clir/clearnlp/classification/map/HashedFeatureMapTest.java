@@ -0,0 +1,124 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.classification.instance.StringInstance;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.trainer.AdaGradSVM;
+import edu.emory.clir.clearnlp.classification.vector.SparseFeatureVector;
+import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
+import edu.emory.clir.clearnlp.util.HashUtils;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class HashedFeatureMapTest
+{
+	@Test
+	public void testMurmurHash3()
+	{
+		assertEquals(0x00000000, HashUtils.murmurHash3_32(""   , 0));
+		assertEquals(0x165860ca, HashUtils.murmurHash3_32("ab" , 0));
+		assertEquals(0x42b016c3, HashUtils.murmurHash3_32("abc", 0));
+		assertNotEquals(HashUtils.murmurHash3_32("abc", 0), HashUtils.murmurHash3_32("abc", 1));
+	}
+	
+	@Test
+	public void testFeatureIndex()
+	{
+		HashedFeatureMap map = new HashedFeatureMap(4, false);
+		int i, index;
+		
+		assertEquals(17, map.size());
+		assertEquals(map.size(), map.expand(null, 0));
+		
+		for (i=0; i<100; i++)
+		{
+			index = map.getFeatureIndex(i % 3, Integer.toString(i));
+			assertTrue(1 <= index && index <= 16);
+			assertEquals(1, map.getFeatureSign(i % 3, Integer.toString(i)));
+		}
+		
+		map = new HashedFeatureMap(4, true);
+		int negative = 0;
+		
+		for (i=0; i<100; i++)
+			if (map.getFeatureSign(0, Integer.toString(i)) < 0) negative++;
+		
+		assertTrue(20 < negative && negative < 80);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testBits()
+	{
+		new HashedFeatureMap(31, false);
+	}
+	
+	@Test
+	public void testStringModel() throws Exception
+	{
+		StringModel model = new StringModel(false, 10, true);
+		String[] labels = {"A", "B", "C"};
+		int i;
+		
+		for (i=0; i<300; i++)
+			model.addInstance(new StringInstance(labels[i%3], getFeatureVector(i%3, i)));
+		
+		AdaGradSVM trainer = new AdaGradSVM(model, 0, 0, false, 0.1, 0.1, 0);
+		for (i=0; i<5; i++) trainer.train();
+		
+		assertTrue(model.isHashed());
+		assertEquals(1025, model.getFeatureSize());
+		
+		// features never seen during training still map into the hashed space
+		SparseFeatureVector x = model.toSparseFeatureVector(getFeatureVector(1, 1000));
+		assertEquals(3, x.size());
+		assertTrue(x.hasWeight());
+		assertEquals("B", model.predictBest(getFeatureVector(1, 1000)).getLabel());
+		
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bout);
+		model.save(out);
+		out.close();
+		
+		StringModel copy = new StringModel(new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray())));
+		assertTrue(copy.isHashed());
+		assertFalse(copy.getFeatureMap().toString().isEmpty());
+		assertEquals("C", copy.predictBest(getFeatureVector(2, 2000)).getLabel());
+	}
+	
+	private StringFeatureVector getFeatureVector(int label, int id)
+	{
+		StringFeatureVector x = new StringFeatureVector();
+		x.addFeature(0, "L"+label);
+		x.addFeature(1, "N"+id);
+		x.addFeature(2, "M"+(id%7));
+		return x;
+	}
+}
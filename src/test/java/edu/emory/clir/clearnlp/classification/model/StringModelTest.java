@@ -31,7 +31,7 @@ import java.util.List;
 
 import org.junit.Test;
 
-import edu.emory.clir.clearnlp.classification.instance.IntInstance;
+import edu.emory.clir.clearnlp.classification.instance.IntInstanceMatrix;
 import edu.emory.clir.clearnlp.classification.instance.StringInstance;
 import edu.emory.clir.clearnlp.classification.instance.StringInstanceReader;
 import edu.emory.clir.clearnlp.classification.prediction.StringPrediction;
@@ -73,7 +73,7 @@ public class StringModelTest
 		for (StringInstance inst : instances)
 			model.addInstance(inst);
 		
-		List<IntInstance> list = model.initializeForTraining(0, 0);
+		IntInstanceMatrix list = model.initializeForTraining(0, 0);
 		
 		assertEquals(   2, model.getLabelSize());
 		assertEquals(  13, model.getFeatureSize());
@@ -84,7 +84,7 @@ public class StringModelTest
 		int i, size = sparse.length;
 		
 		for (i=0; i<size; i++)
-			assertEquals(sparse[i], list.get(i).toString());
+			assertEquals(sparse[i], list.getInstance(i).toString());
 		
 		vector.set( 0,  0);
 		vector.set( 1,  2);
@@ -192,7 +192,7 @@ public class StringModelTest
 		for (StringInstance inst : instances)
 			model.addInstance(inst);
 		
-		List<IntInstance> list = model.initializeForTraining(0, 0);
+		IntInstanceMatrix list = model.initializeForTraining(0, 0);
 		
 		assertEquals( 3, model.getLabelSize());
 		assertEquals( 7, model.getFeatureSize());
@@ -202,7 +202,7 @@ public class StringModelTest
 		int i, size = sparse.length;
 		
 		for (i=0; i<size; i++)
-			assertEquals(sparse[i], list.get(i).toString());
+			assertEquals(sparse[i], list.getInstance(i).toString());
 
 		vector.set(vector.getWeightIndex(0, 1),  1);
 		vector.set(vector.getWeightIndex(1, 1),  1);
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.prediction;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.classification.instance.StringInstance;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class PredictionBufferTest
+{
+	@Test
+	public void testMulti()
+	{
+		StringModel model = createModel(false, 5);
+		PredictionBuffer buffer = new PredictionBuffer(2);
+		int[] indices = {4, 1, 3};
+		StringPrediction[] ps;
+		StringFeatureVector x;
+		int i, j;
+		
+		for (i=0; i<50; i++)
+		{
+			x = createFeatureVector(i);
+			
+			model.predictTop2(x, buffer);
+			assertTop2(model.predictTop2(x), model, buffer);
+			
+			model.predictTop2(x, indices, buffer);
+			assertTop2(model.predictTop2(x, indices), model, buffer);
+			
+			model.predictAll(x, buffer);
+			ps = model.predictAll(x);
+			assertEquals(ps.length, buffer.getRankSize());
+			
+			for (j=0; j<ps.length; j++)
+			{
+				assertEquals(ps[j].getLabel(), model.getLabel(buffer.getRankedLabel(j)));
+				assertEquals(ps[j].getScore(), buffer.getScore(buffer.getRankedLabel(j)), 0);
+			}
+		}
+	}
+	
+	@Test
+	public void testBinary()
+	{
+		StringModel model = createModel(true, 2);
+		PredictionBuffer buffer = new PredictionBuffer();
+		StringFeatureVector x;
+		int i;
+		
+		for (i=0; i<50; i++)
+		{
+			x = createFeatureVector(i);
+			model.predictTop2(x, buffer);
+			assertTop2(model.predictTop2(x), model, buffer);
+		}
+	}
+	
+	@Test
+	public void testTies()
+	{
+		PredictionBuffer buffer = new PredictionBuffer(4);
+		double[] scores = buffer.getScores(4);
+		scores[0] = 1; scores[1] = 2; scores[2] = 2; scores[3] = 1;
+		
+		buffer.selectTop2(4);
+		assertEquals(1, buffer.getFirstLabel());
+		assertEquals(2, buffer.getSecondLabel());
+		
+		buffer.rankAll(4);
+		assertEquals(1, buffer.getRankedLabel(0));
+		assertEquals(2, buffer.getRankedLabel(1));
+		assertEquals(0, buffer.getRankedLabel(2));
+		assertEquals(3, buffer.getRankedLabel(3));
+	}
+	
+	private void assertTop2(StringPrediction[] ps, StringModel model, PredictionBuffer buffer)
+	{
+		StringPrediction[] qs = model.toTop2Predictions(buffer);
+		
+		for (int i=0; i<2; i++)
+		{
+			assertEquals(ps[i].getLabel(), qs[i].getLabel());
+			assertEquals(ps[i].getScore(), qs[i].getScore(), 0);
+		}
+	}
+	
+	private StringModel createModel(boolean binary, int labelSize)
+	{
+		StringModel model = new StringModel(binary);
+		Random rand = new Random(1);
+		int i;
+		
+		for (i=0; i<100; i++)
+			model.addInstance(new StringInstance("L"+(i%labelSize), createFeatureVector(i)));
+		
+		model.initializeForTraining(0, 0);
+		double[] weights = new double[model.getWeightVector().size()];
+		for (i=0; i<weights.length; i++) weights[i] = rand.nextInt(5) - 2;
+		model.getWeightVector().set(weights);
+		return model;
+	}
+	
+	private StringFeatureVector createFeatureVector(int id)
+	{
+		StringFeatureVector x = new StringFeatureVector();
+		x.addFeature(0, "A"+(id%7));
+		x.addFeature(1, "B"+(id%11));
+		x.addFeature(2, "C"+(id%13));
+		return x;
+	}
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.vector.AbstractWeightVector;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LazyAdaGradTest
+{
+	@Test
+	public void testWithoutRegularization()
+	{
+		StringModel dense = TrainerTestUtils.createModel(false, 2000, false);
+		StringModel lazy  = TrainerTestUtils.createModel(false, 2000, false);
+		AbstractOnlineTrainer denseTrainer = new AdaGradSVM    (dense, 0, 0, true, 0.01, 0.1, 0);
+		AbstractOnlineTrainer lazyTrainer  = new LazyAdaGradSVM(lazy , 0, 0, true, 0.01, 0.1, 0, 0, 0);
+		int i, epoch;
+		
+		for (epoch=0; epoch<3; epoch++)
+		{
+			denseTrainer.train();
+			lazyTrainer .train();
+		}
+		
+		AbstractWeightVector dw = dense.getWeightVector();
+		AbstractWeightVector lw = lazy .getWeightVector();
+		assertEquals(dw.size(), lw.size());
+		
+		for (i=0; i<dw.size(); i++)
+			assertEquals(dw.get(i), lw.get(i), 1e-4);
+	}
+	
+	@Test
+	public void testRegularization()
+	{
+		StringModel none = TrainerTestUtils.createModel(false, 2000, false);
+		StringModel l1   = TrainerTestUtils.createModel(false, 2000, false);
+		StringModel l2   = TrainerTestUtils.createModel(false, 2000, false);
+		
+		new LazyAdaGradLR(none, 0, 0, false, 0.1, 0.1, 0, 0   , 0  ).train();
+		new LazyAdaGradLR(l1  , 0, 0, false, 0.1, 0.1, 0, 0.01, 0  ).train();
+		new LazyAdaGradLR(l2  , 0, 0, false, 0.1, 0.1, 0, 0   , 0.1).train();
+		
+		assertTrue(countZeros(l1.getWeightVector()) > countZeros(none.getWeightVector()));
+		assertTrue(sumOfSquares(l2.getWeightVector()) < sumOfSquares(none.getWeightVector()));
+	}
+	
+	/** Logistic loss is used because float rounding can flip the hinge margins of the two trainers. */
+	@Test
+	public void testEagerRegularization()
+	{
+		double[][] params = {{0.01, 0}, {0, 0.1}, {0.005, 0.05}};
+		int i, epoch;
+		
+		for (double[] p : params)
+		{
+			StringModel eager = TrainerTestUtils.createModel(false, 2000, false);
+			StringModel lazy  = TrainerTestUtils.createModel(false, 2000, false);
+			AbstractOnlineTrainer eagerTrainer = new EagerAdaGradLR(eager, p[0], p[1]);
+			AbstractOnlineTrainer lazyTrainer  = new LazyAdaGradLR (lazy , 0, 0, true, 0.1, 0.1, 0, p[0], p[1]);
+			
+			for (epoch=0; epoch<3; epoch++)
+			{
+				eagerTrainer.train();
+				lazyTrainer .train();
+			}
+			
+			AbstractWeightVector ew = eager.getWeightVector();
+			AbstractWeightVector lw = lazy .getWeightVector();
+			
+			for (i=0; i<ew.size(); i++)
+				assertEquals(ew.get(i), lw.get(i), 1e-4);
+		}
+	}
+	
+	@Test
+	public void testBinary()
+	{
+		StringModel model = TrainerTestUtils.createModel(true, 2000, false);
+		LazyAdaGradSVM trainer = new LazyAdaGradSVM(model, 0, 0, true, 0.01, 0.1, 0, 0, 0.01);
+		int i, correct = 0;
+		
+		for (i=0; i<5; i++) trainer.train();
+		
+		for (i=0; i<trainer.getInstanceSize(); i++)
+		{
+			double[] scores = model.getWeightVector().getScores(trainer.getInstance(i).getFeatureVector());
+			if ((scores[0] > scores[1]) == (trainer.getInstance(i).getLabel() == 0)) correct++;
+		}
+		
+		assertTrue(correct > 0.9 * trainer.getInstanceSize());
+	}
+	
+	
+	/** Regularizes every feature at every step. */
+	static private class EagerAdaGradLR extends LazyAdaGradLR
+	{
+		public EagerAdaGradLR(StringModel model, double l1, double l2)
+		{
+			super(model, 0, 0, true, 0.1, 0.1, 0, l1, l2);
+		}
+		
+		@Override
+		protected boolean update(int index, int averageCount)
+		{
+			int xi, size = getFeatureSize();
+			
+			for (xi=1; xi<size; xi++)
+				regularizeFeature(xi, averageCount);
+			
+			return super.update(index, averageCount);
+		}
+	}
+	
+	private int countZeros(AbstractWeightVector vector)
+	{
+		int i, count = 0;
+		
+		for (i=0; i<vector.size(); i++)
+			if (vector.get(i) == 0) count++;
+		
+		return count;
+	}
+	
+	private double sumOfSquares(AbstractWeightVector vector)
+	{
+		double sum = 0;
+		int i;
+		
+		for (i=0; i<vector.size(); i++)
+			sum += vector.get(i) * vector.get(i);
+		
+		return sum;
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class MiniBatchAdaGradTest
+{
+	@Test
+	public void testSparseGradient()
+	{
+		SparseGradient g1 = new SparseGradient(1);
+		SparseGradient g2 = new SparseGradient();
+		
+		g1.add(5, 1); g1.add(2, 2); g1.add(5, 3);
+		g2.add(2, 1); g2.add(7, 1);
+		g1.compact();
+		g2.compact();
+		
+		assertEquals(2, g1.size());
+		assertEquals(2, g1.getIndex(0));
+		assertEquals(4, g1.getValue(1), 0);
+		
+		SparseGradient g = SparseGradient.merge(g1, g2);
+		assertEquals(3, g.size());
+		assertEquals(3, g.getValue(0), 0);
+		assertEquals(4, g.getValue(1), 0);
+		assertEquals(7, g.getIndex(2));
+	}
+	
+	@Test
+	public void testReproducible()
+	{
+		float[] w1 = train(4, false);
+		float[] w2 = train(4, false);
+		assertArrayEquals(w1, w2, 0);
+		
+		w1 = train(3, true);
+		w2 = train(3, true);
+		assertArrayEquals(w1, w2, 0);
+	}
+	
+	@Test
+	public void testAccuracy()
+	{
+		StringModel model = TrainerTestUtils.createModel(false, 2000, true);
+		MiniBatchAdaGradSVM trainer = new MiniBatchAdaGradSVM(model, 0, 0, 2, 16, 0.1, 0.1, 0);
+		int i, correct = 0, size = trainer.getInstanceSize();
+		
+		for (i=0; i<5; i++) trainer.train();
+		
+		for (i=0; i<size; i++)
+		{
+			if (trainer.getHingeGradients(i) == null)
+				correct++;
+		}
+		
+		assertTrue(correct > 0.9 * size);
+	}
+	
+	private float[] train(int numThreads, boolean logistic)
+	{
+		StringModel model = TrainerTestUtils.createModel(false, 2000, true);
+		AbstractMiniBatchAdaGrad trainer = logistic ? new MiniBatchAdaGradLR(model, 0, 0, numThreads, 32, 0.1, 0.1, 0) : new MiniBatchAdaGradSVM(model, 0, 0, numThreads, 32, 0.1, 0.1, 0);
+		trainer.train();
+		trainer.train();
+		return model.getWeightVector().cloneWeights().toArray();
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.vector.AbstractWeightVector;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class OneVsAllTrainerTest
+{
+	@Test
+	public void testNumberOfConcurrentTasks()
+	{
+		LiblinearL2SVM trainer = new LiblinearL2SVM(TrainerTestUtils.createModel(false, 1000, false), 0, 0, 4, 0.1, 0.1, 0);
+		long task = trainer.getTaskMemorySize();
+		
+		assertEquals(task, 13L * trainer.getInstanceSize() + 4L * trainer.getFeatureSize());
+		
+		trainer.setMemoryBudget(task / 2);
+		assertEquals(1, trainer.getNumberOfConcurrentTasks());
+		
+		trainer.setMemoryBudget(task * 2 + 1);
+		assertEquals(2, trainer.getNumberOfConcurrentTasks());
+		
+		trainer.setMemoryBudget(task * 100);
+		assertEquals(4, trainer.getNumberOfConcurrentTasks());
+		
+		trainer.setNumberOfThreads(1);
+		assertEquals(1, trainer.getNumberOfConcurrentTasks());
+	}
+	
+	@Test
+	public void testBudgetedTraining()
+	{
+		StringModel single   = TrainerTestUtils.createModel(false, 1000, false);
+		StringModel budgeted = TrainerTestUtils.createModel(false, 1000, false);
+		LiblinearL2LR singleTrainer   = new LiblinearL2LR(single  , 0, 0, 1, 0.1, 0.01, 0);
+		LiblinearL2LR budgetedTrainer = new LiblinearL2LR(budgeted, 0, 0, 4, 0.1, 0.01, 0);
+		int i;
+		
+		budgetedTrainer.setMemoryBudget(budgetedTrainer.getTaskMemorySize() * 2);
+		assertEquals(2, budgetedTrainer.getNumberOfConcurrentTasks());
+		
+		singleTrainer  .train();
+		budgetedTrainer.train();
+		
+		AbstractWeightVector sw = single  .getWeightVector();
+		AbstractWeightVector bw = budgeted.getWeightVector();
+		assertEquals(sw.size(), bw.size());
+		
+		for (i=0; i<sw.size(); i++)
+			assertEquals(sw.get(i), bw.get(i), 0);
+	}
+}
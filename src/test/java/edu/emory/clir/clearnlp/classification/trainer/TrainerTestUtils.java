@@ -0,0 +1,65 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.emory.clir.clearnlp.classification.trainer;
+
+import java.util.Random;
+
+import edu.emory.clir.clearnlp.classification.instance.StringInstance;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
+
+/**
+ * Synthetic training data shared by the trainer tests.
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TrainerTestUtils
+{
+	private TrainerTestUtils() {}
+	
+	/**
+	 * @param binary if {@code true}, creates 2 labels; otherwise, 5 labels.
+	 * @param weighted if {@code true}, each feature gets a random weight in {@code [0, 1)}; otherwise, 1.
+	 * @return a model with the specific number of instances, each of which has 10 features;
+	 * the even-numbered features are drawn from 10 values per label and the odd-numbered features are noise drawn from 100 values.
+	 */
+	static public StringModel createModel(boolean binary, int instanceSize, boolean weighted)
+	{
+		StringModel model = new StringModel(binary);
+		Random rand = new Random(1);
+		int i, j, label, labelSize = binary ? 2 : 5;
+		StringFeatureVector x;
+		String value;
+		
+		for (i=0; i<instanceSize; i++)
+		{
+			label = rand.nextInt(labelSize);
+			x = new StringFeatureVector(weighted);
+			
+			for (j=0; j<10; j++)
+			{
+				value = Integer.toString((j%2 == 0) ? label*10 + rand.nextInt(10) : rand.nextInt(100));
+				if (weighted)	x.addFeature(j, value, rand.nextDouble());
+				else			x.addFeature(j, value);
+			}
+			
+			model.addInstance(new StringInstance(Integer.toString(label), x));
+		}
+		
+		return model;
+	}
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class BoundedCacheTest
+{
+	@Test
+	public void testLRU()
+	{
+		BoundedCache<String,String> cache = new BoundedCache<>(2, CacheEviction.LRU, 1);
+		
+		cache.put("a", "A");
+		cache.put("b", "B");
+		assertEquals("A", cache.get("a"));
+		cache.put("c", "C");
+		
+		assertNull(cache.get("b"));
+		assertEquals("A", cache.get("a"));
+		assertEquals("C", cache.get("c"));
+		assertEquals(1, cache.getEvictionCount());
+		assertTrue(cache.isFull());
+	}
+	
+	@Test
+	public void testFrequencySketch()
+	{
+		FrequencySketch sketch = new FrequencySketch(16);
+		int i;
+		
+		for (i=0; i<5; i++) sketch.increment("Aa");
+		for (i=0; i<20; i++) sketch.increment(7);
+		
+		assertEquals(5, sketch.frequency("Aa"));
+		assertEquals(0, sketch.frequency("BB"));
+		assertEquals(15, sketch.frequency(7));
+		
+		sketch.clear();
+		assertEquals(0, sketch.frequency("Aa"));
+	}
+	
+	@Test
+	public void testFIFO()
+	{
+		BoundedCache<String,String> cache = new BoundedCache<>(2, CacheEviction.FIFO, 1);
+		
+		cache.put("a", "A");
+		cache.put("b", "B");
+		assertEquals("A", cache.get("a"));
+		cache.put("c", "C");
+		
+		assertNull(cache.get("a"));
+		assertEquals("B", cache.get("b"));
+		assertEquals(2, cache.size());
+	}
+	
+	@Test
+	public void testTinyLFU()
+	{
+		BoundedCache<String,String> cache = new BoundedCache<>(100, CacheEviction.TINY_LFU, 1);
+		int i, j;
+		
+		for (i=0; i<50; i++)
+		{
+			cache.put("f"+i, "F");
+			for (j=0; j<5; j++) cache.get("f"+i);
+		}
+		
+		for (i=0; i<1000; i++)
+			cache.put("x"+i, "X");
+		
+		for (i=0; i<50; i++)
+			assertEquals("F", cache.get("f"+i));
+		
+		assertTrue(cache.size() <= 100);
+		assertTrue(cache.getEvictionCount() > 0);
+	}
+	
+	@Test
+	public void testTinyLFUMissThenPut()
+	{
+		BoundedCache<String,String> cache = new BoundedCache<>(100, CacheEviction.TINY_LFU, 1);
+		int i;
+		
+		// each resident is counted once by its put
+		for (i=0; i<100; i++)
+			cache.put("m"+i, "M");
+		
+		// each newcomer is counted once by its miss, not again by the put that follows, so it does not beat a resident
+		cache.computeIfAbsent("n", k -> "N");
+		cache.computeIfAbsent("o", k -> "O");
+		
+		assertEquals("M", cache.get("m0"));
+		assertNull(cache.get("n"));
+	}
+	
+	@Test
+	public void testStatistics()
+	{
+		BoundedCache<String,Integer> cache = new BoundedCache<>(100, CacheEviction.LRU);
+		
+		assertEquals(3, (int)cache.computeIfAbsent("abc", String::length));
+		assertEquals(3, (int)cache.computeIfAbsent("abc", k -> -1));
+		assertNull(cache.computeIfAbsent("x", k -> null));
+		assertNull(cache.get("x"));
+		
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+		assertEquals(0.25, cache.getHitRate(), 0);
+		
+		cache.resetStatistics();
+		assertEquals(0, cache.getHitRate(), 0);
+	}
+	
+	@Test
+	public void testOffer()
+	{
+		BoundedCache<String,String> cache = new BoundedCache<>(10, CacheEviction.LRU, 1);
+		int i;
+		
+		// entries sorted by descending frequency: the top 10 are kept and the rest are rejected without eviction
+		for (i=0; i<100; i++)
+			assertEquals(i < 10, cache.offer("w"+i, "W"));
+		
+		for (i=0; i<10; i++)
+			assertEquals("W", cache.get("w"+i));
+		
+		assertTrue(cache.offer("w0", "V"));
+		assertEquals("V", cache.get("w0"));
+		assertEquals(0, cache.getEvictionCount());
+		
+		// with striping, a full segment rejects while the others keep accepting
+		cache = new BoundedCache<>(64, CacheEviction.LRU, 16);
+		int count = 0;
+		
+		for (i=0; i<1000 && !cache.isFull(); i++)
+			if (cache.offer("w"+i, "W")) count++;
+		
+		assertEquals(64, count);
+		assertEquals(0, cache.getEvictionCount());
+		
+		for (i=0; i<4; i++)
+			assertEquals("W", cache.get("w"+i));
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.sketch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class FrequencySummaryTest
+{
+	@Test
+	public void testSpaceSaving()
+	{
+		SpaceSaving<String> ss = new SpaceSaving<>(3);
+		
+		for (String s : "a b a c a b d e a".split(" "))
+			ss.add(s, 1);
+		
+		List<SpaceSaving.Counter<String>> top = ss.getTopK();
+		assertEquals(3, top.size());
+		assertEquals("a", top.get(0).getKey());
+		assertEquals(4, top.get(0).getCount());
+		assertEquals(0, top.get(0).getError());
+		assertEquals(9, ss.getTotalCount());
+		
+		for (SpaceSaving.Counter<String> counter : top)
+			assertTrue(counter.getError() <= ss.getErrorBound());
+	}
+	
+	@Test
+	public void testCountMinSketch()
+	{
+		CountMinSketch<String> sketch = new CountMinSketch<>(0.01, 0.01);
+		assertEquals(272, sketch.getWidth());
+		assertEquals(5, sketch.getDepth());
+		
+		// "Aa" and "BB" share the same hash code, but every row hashes their characters
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		sketch.add("Aa", 100);
+		assertEquals(100, sketch.estimate("Aa"));
+		assertEquals(0, sketch.estimate("BB"));
+	}
+	
+	@Test
+	public void testFrequencySummary()
+	{
+		Map<Integer,Integer> counts = new HashMap<>();
+		FrequencySummary<Integer> s0 = new FrequencySummary<>(0.001, 0.01, 50);
+		FrequencySummary<Integer> s1 = new FrequencySummary<>(0.001, 0.01, 50);
+		Random rand = new Random(7);
+		int i, key;
+		
+		// Zipfian keys so that the head is well separated from the tail
+		for (i=0; i<100000; i++)
+		{
+			key = (int)Math.floor(Math.pow(10000, rand.nextDouble()));
+			counts.merge(key, 1, Integer::sum);
+			((i % 2 == 0) ? s0 : s1).add(key);
+		}
+		
+		s0.merge(s1);
+		assertEquals(100000, s0.getTotalCount());
+		double bound = s0.getSketch().getErrorBound();
+		int over = 0;
+		
+		for (Map.Entry<Integer,Integer> e : counts.entrySet())
+		{
+			long estimate = s0.estimate(e.getKey());
+			assertTrue(estimate >= e.getValue());
+			if (estimate - e.getValue() > bound) over++;
+		}
+		
+		assertTrue(over <= 0.01 * counts.size());
+		
+		for (SpaceSaving.Counter<Integer> counter : s0.getTopK())
+		{
+			int actual = counts.get(counter.getKey());
+			assertTrue(counter.getGuaranteedCount() <= actual && actual <= counter.getCount());
+			assertTrue(counter.getError() <= s0.getSpaceSaving().getErrorBound());
+		}
+		
+		// every key more frequent than N/k is monitored
+		for (Map.Entry<Integer,Integer> e : counts.entrySet())
+		{
+			if (e.getValue() > s0.getSpaceSaving().getErrorBound())
+				assertTrue(s0.keySet(0).contains(e.getKey()));
+		}
+		
+		assertEquals(1, (int)s0.getTopK().get(0).getKey());
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CharTrieMapTest
+{
+	@Test
+	public void testMap()
+	{
+		Map<String,String> map = new HashMap<>();
+		
+		map.put("went", "go");
+		map.put("were", "be");
+		map.put("was" , "be");
+		map.put("w"   , "w");
+		map.put(""    , "empty");
+		
+		CharTrieMap<String> trie = new CharTrieMap<>(map);
+		
+		assertEquals(map.size(), trie.size());
+		assertEquals("go", trie.get("went"));
+		assertEquals("be", trie.get("were"));
+		assertEquals("be", trie.get("was"));
+		assertEquals("w" , trie.get("w"));
+		assertEquals("empty", trie.get(""));
+		
+		assertNull(trie.get("we"));
+		assertNull(trie.get("wen"));
+		assertNull(trie.get("wents"));
+		assertNull(trie.get("x"));
+		assertNull(trie.get(null));
+		
+		assertEquals(map, trie);
+	}
+	
+	@Test
+	public void testSet()
+	{
+		Set<String> set = CharTrieMap.createSet(Arrays.asList("one", "two", "three", "one"));
+		
+		assertEquals(3, set.size());
+		assertTrue(set.contains("one"));
+		assertTrue(set.contains("three"));
+		assertFalse(set.contains("thre"));
+		assertFalse(set.contains("four"));
+		
+		set = CharTrieMap.createSet(Arrays.asList());
+		assertEquals(0, set.size());
+		assertFalse(set.contains(""));
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.collection.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DoubleArrayTrieTest
+{
+	@Test
+	public void testAffixTree() throws Exception
+	{
+		String[] affixes = {"inter", "in", "re", "iness", "ness", "ful", ":)", ":-)", "가나"};
+		String[] words   = {"interconnect", "informal", "reimplement", "rare", "", "happiness", "awesomeness", "beautiful", "rul", ":-))", "x:)", "가나다", "다가나", "zzz"};
+		
+		for (boolean prefix : new boolean[]{true, false})
+		{
+			CharAffixTree tree = new CharAffixTree(prefix, affixes);
+			DoubleArrayAffixTree da = tree.toDoubleArrayTree();
+			
+			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+			da.write(new DataOutputStream(bout));
+			DoubleArrayAffixTree read = DoubleArrayAffixTree.read(ByteBuffer.wrap(bout.toByteArray()));
+			
+			for (String word : words)
+			{
+				for (boolean minimum : new boolean[]{true, false})
+				{
+					assertEquals(word, tree.getAffixIndex(word, minimum), da  .getAffixIndex(word, minimum));
+					assertEquals(word, tree.getAffixIndex(word, minimum), read.getAffixIndex(word, minimum));
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testPrefixTree()
+	{
+		PrefixTree<String,Integer> tree = new PrefixTree<>();
+		Random rand = new Random(0);
+		String[] keys;
+		int i, j;
+		
+		for (i=0; i<1000; i++)
+			tree.add(randomKeys(rand), i);
+		
+		DoubleArrayPrefixTree<String,Integer> da = tree.toDoubleArrayTree();
+		
+		for (i=0; i<2000; i++)
+		{
+			keys = randomKeys(rand);
+			
+			for (j=0; j<keys.length; j++)
+			{
+				assertEquals(tree.getValue(keys, j, true ), da.getValue(keys, j, true));
+				assertEquals(tree.getValue(keys, j, false), da.getValue(keys, j, false));
+			}
+		}
+		
+		assertNull(da.getValue(new String[]{"unknown"}, 0, false));
+	}
+	
+	private String[] randomKeys(Random rand)
+	{
+		String[] keys = new String[1 + rand.nextInt(4)];
+		
+		for (int i=0; i<keys.length; i++)
+			keys[i] = Integer.toString(rand.nextInt(6));
+		
+		return keys;
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.bin.NLPTrain;
+import edu.emory.clir.clearnlp.classification.map.HashedFeatureMap;
+import edu.emory.clir.clearnlp.classification.model.StringModel;
+import edu.emory.clir.clearnlp.component.mode.pos.POSConfiguration;
+import edu.emory.clir.clearnlp.component.utils.NLPMode;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TrainerConfigurationTest
+{
+	private final String TRAIN_FILE   = "src/test/resources/nlp/trainer/pos.cnlp";
+	private final String FEATURE_FILE = "src/test/resources/nlp/trainer/feature_pos.xml";
+	
+	private String getConfiguration(String hashing)
+	{
+		return "<configuration>\n"
+			 + "  <language>english</language>\n"
+			 + "  <reader type=\"tsv\">\n"
+			 + "    <column index=\"1\" field=\"id\"/>\n"
+			 + "    <column index=\"2\" field=\"form\"/>\n"
+			 + "    <column index=\"3\" field=\"lemma\"/>\n"
+			 + "    <column index=\"4\" field=\"pos\"/>\n"
+			 + "    <column index=\"5\" field=\"feats\"/>\n"
+			 + "    <column index=\"6\" field=\"headId\"/>\n"
+			 + "    <column index=\"7\" field=\"deprel\"/>\n"
+			 + "  </reader>\n"
+			 + "  <pos>\n"
+			 + "    <trainer algorithm=\"adagrad\" type=\"svm\" labelCutoff=\"0\" featureCutoff=\"0\" alpha=\"0.01\" rho=\"0.1\" average=\"true\" "+hashing+"/>\n"
+			 + "    <ambiguity_class_threshold>0.4</ambiguity_class_threshold>\n"
+			 + "    <document_frequency_cutoff>2</document_frequency_cutoff>\n"
+			 + "    <document_size>1500</document_size>\n"
+			 + "    <bootstraps>false</bootstraps>\n"
+			 + "  </pos>\n"
+			 + "</configuration>\n";
+	}
+	
+	@Test
+	public void testCreateModel()
+	{
+		POSConfiguration config;
+		StringModel model;
+		
+		config = new POSConfiguration(new ByteArrayInputStream(getConfiguration("").getBytes()));
+		assertFalse(config.createModel(false, 0).isHashed());
+		
+		config = new POSConfiguration(new ByteArrayInputStream(getConfiguration("hashBits=\"12\" signed=\"true\"").getBytes()));
+		model  = config.createModel(false, 0);
+		assertTrue(model.isHashed());
+		assertEquals(12, ((HashedFeatureMap)model.getFeatureMap()).getBits());
+		assertTrue(model.getFeatureMap().isSigned());
+		
+		// no trainer for the second model
+		assertFalse(config.createModel(false, 1).isHashed());
+	}
+	
+	@Test
+	public void testTrainHashed() throws Exception
+	{
+		File file = File.createTempFile("configure", ".xml");
+		file.deleteOnExit();
+		
+		PrintStream fout = new PrintStream(file);
+		fout.print(getConfiguration("hashBits=\"12\""));
+		fout.close();
+		
+		List<String> files = Arrays.asList(TRAIN_FILE);
+		StringModel model = new NLPTrain().train(files, files, new String[]{FEATURE_FILE}, file.getPath(), NLPMode.pos).o.getModels()[0];
+		
+		assertTrue(model.isHashed());
+		assertFalse(model.getFeatureMap().isSigned());
+		assertEquals((1 << 12) + 1, model.getFeatureSize());
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.mode.dep.merge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPMSTMergeTest
+{
+	@Test
+	public void testDecode()
+	{
+		Random rand = new Random(11);
+		double[][] scores;
+		int i, n, h, d;
+		
+		for (i=0; i<300; i++)
+		{
+			n = 2 + rand.nextInt(5);
+			scores = new double[n][n];
+			
+			for (h=0; h<n; h++)
+				for (d=0; d<n; d++)
+					scores[h][d] = rand.nextDouble();
+			
+			assertEquals(bruteForce(scores, false), score(scores, DEPMSTMerge.decodeChuLiuEdmonds(scores)), 1e-9);
+			assertEquals(bruteForce(scores, true) , score(scores, DEPMSTMerge.decodeEisner(scores)), 1e-9);
+		}
+	}
+	
+	@Test
+	public void testMerge()
+	{
+		DEPTree tree = new DEPTree(4);
+		for (int i=1; i<=4; i++) tree.add(new DEPNode(i, "w"+i));
+		DEPMSTMerge merge = new DEPMSTMerge(tree);
+		
+		// two systems propose a cycle between 1 and 2; one system attaches 2 to the root
+		addEdges(merge, tree, new int[]{2, 1, 2, 3}, new String[]{"nsubj", "amod", "dobj", "punct"}, 1);
+		addEdges(merge, tree, new int[]{2, 1, 2, 2}, new String[]{"nsubj", "dep" , "dobj", "punct"}, 1);
+		addEdges(merge, tree, new int[]{2, 0, 2, 3}, new String[]{"dep"  , "root", "iobj", "punct"}, 0.5);
+		merge.merge();
+		
+		assertEquals(0, tree.get(2).getHead().getID());
+		assertEquals("root", tree.get(2).getLabel());
+		assertEquals(2, tree.get(1).getHead().getID());
+		assertEquals("nsubj", tree.get(1).getLabel());
+		assertEquals("dobj", tree.get(3).getLabel());
+		assertEquals(3, tree.get(4).getHead().getID());
+		assertFalse(tree.containsCycle());
+	}
+	
+	private void addEdges(DEPMSTMerge merge, DEPTree tree, int[] heads, String[] labels, double score)
+	{
+		for (int i=0; i<heads.length; i++)
+			merge.addEdge(tree.get(i+1), tree.get(heads[i]), labels[i], score);
+	}
+	
+	private double score(double[][] scores, int[] heads)
+	{
+		double sum = 0;
+		
+		for (int d=1; d<heads.length; d++)
+			sum += scores[heads[d]][d];
+		
+		return sum;
+	}
+	
+	/** @return the score of the best tree found by enumerating all head assignments. */
+	private double bruteForce(double[][] scores, boolean projective)
+	{
+		int d, n = scores.length;
+		int[] heads = new int[n];
+		double best = Double.NEGATIVE_INFINITY;
+		heads[0] = -1;
+		
+		while (true)
+		{
+			if (isTree(heads) && (!projective || isProjective(heads)))
+				best = Math.max(best, score(scores, heads));
+			
+			for (d=1; d<n && ++heads[d] == n; d++)
+				heads[d] = 0;
+			
+			if (d == n) return best;
+		}
+	}
+	
+	private boolean isTree(int[] heads)
+	{
+		int d, v, steps;
+		
+		for (d=1; d<heads.length; d++)
+		{
+			for (v=d, steps=0; v > 0 && steps < heads.length; v=heads[v], steps++)
+				if (heads[v] == v) return false;
+			
+			if (v != 0) return false;
+		}
+		
+		return true;
+	}
+	
+	private boolean isProjective(int[] heads)
+	{
+		int d, k, v, begin, end;
+		
+		for (d=1; d<heads.length; d++)
+		{
+			begin = Math.min(d, heads[d]);
+			end   = Math.max(d, heads[d]);
+			
+			// every node between the head and the dependent must be a descendant of the head
+			for (k=begin+1; k<end; k++)
+			{
+				for (v=k; v > 0 && v != heads[d]; v=heads[v]);
+				if (v != heads[d]) return false;
+			}
+		}
+		
+		return true;
+	}
+}
@@ -42,10 +42,21 @@ package edu.emory.clir.clearnlp.component.mode.morph;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
 import org.junit.Test;
 
+import edu.emory.clir.clearnlp.collection.cache.BoundedCache;
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+
 import edu.emory.clir.clearnlp.dependency.DEPFeat;
 import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dictionary.PathEnglishMPAnalyzer;
 import edu.emory.clir.clearnlp.util.constant.MetaConst;
 
 
@@ -204,4 +215,57 @@ public class EnglishMPAnalyzerTest
 			assertEquals(token[2], node.getLemma());
 		}
 	}
+	
+	@Test
+	public void testPreloadLemmaCache() throws Exception
+	{
+		String root = PathEnglishMPAnalyzer.ROOT;
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ZipOutputStream zout = new ZipOutputStream(bout);
+		Map<String,String> resources = new HashMap<>();
+		
+		resources.put(PathEnglishMPAnalyzer.INFLECTION_SUFFIX, "<inflection><verb/><noun/><adjective/><adverb/></inflection>");
+		resources.put(PathEnglishMPAnalyzer.ABBREVIATOIN_RULE, "");
+		resources.put(PathEnglishMPAnalyzer.CARDINAL_BASE, "");
+		resources.put(PathEnglishMPAnalyzer.ORDINAL_BASE , "");
+		
+		for (String type : new String[]{"verb", "noun", "adjective", "adverb"})
+		{
+			resources.put(root+type+".base", "");
+			resources.put(root+type+".exc" , "");
+		}
+		
+		for (Map.Entry<String,String> e : resources.entrySet())
+		{
+			zout.putNextEntry(new ZipEntry(e.getKey()));
+			zout.write(e.getValue().getBytes());
+			zout.closeEntry();
+		}
+		
+		zout.close();
+		EnglishMPAnalyzer analyzer = new EnglishMPAnalyzer(new ByteArrayInputStream(bout.toByteArray()));
+		analyzer.initLemmaCache(64, CacheEviction.LRU);
+		StringBuilder build = new StringBuilder();
+		int i;
+		
+		// sorted by descending frequency; later pairs must not evict earlier ones
+		for (i=0; i<1000; i++)
+			build.append(getWordForm(i)+" NN "+(1000-i)+"\n");
+		
+		assertEquals(64, analyzer.preloadLemmaCache(new ByteArrayInputStream(build.toString().getBytes())));
+		BoundedCache<String,String> cache = analyzer.getLemmaCache();
+		assertEquals(0, cache.getEvictionCount());
+		
+		// each segment holds 4 pairs, so the top 4 pairs survive wherever they are hashed
+		for (i=0; i<4; i++)
+			analyzer.analyze(new DEPNode(i+1, getWordForm(i), "NN", new DEPFeat()));
+		
+		assertEquals(4, cache.getHitCount());
+	}
+	
+	/** @return a word-form without digits, which would be simplified away. */
+	private String getWordForm(int i)
+	{
+		return "w" + (char)('a' + i / 676) + (char)('a' + i / 26 % 26) + (char)('a' + i % 26);
+	}
 }
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.mode.pos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.bin.NLPTrain;
+import edu.emory.clir.clearnlp.component.utils.CFlag;
+import edu.emory.clir.clearnlp.component.utils.NLPMode;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.reader.TSVReader;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class AbstractPOSTaggerTest
+{
+	private final String TRAIN_FILE   = "src/test/resources/nlp/trainer/pos.cnlp";
+	private final String CONFIG_FILE  = "src/test/resources/nlp/configuration/configure.xml";
+	private final String FEATURE_FILE = "src/test/resources/nlp/trainer/feature_pos.xml";
+	
+	@Test
+	public void testTagDictionaryDecoding() throws Exception
+	{
+		List<String> files = Arrays.asList(TRAIN_FILE);
+		AbstractPOSTagger tagger = (AbstractPOSTagger)new NLPTrain().train(files, files, new String[]{FEATURE_FILE}, CONFIG_FILE, NLPMode.pos).o;
+		tagger.setFlag(CFlag.DECODE);
+		
+		// "car" is restricted to {JJ, RB}; "that" is restricted to {IN}, which is not a label of the model so it is left unrestricted
+		tagger.setLexicons(createLexicon("car\tJJ\nthat\tIN\n\ncar\tRB\n\n"));
+		List<String> full = tag(tagger);
+		assertTrue(full.contains("car NN"));
+		
+		tagger.setTagDictionaryDecoding(true);
+		List<String> constrained = tag(tagger);
+		assertEquals(full.size(), constrained.size());
+		
+		for (int i=0; i<full.size(); i++)
+		{
+			String[] t = constrained.get(i).split(" ");
+			
+			if (t[0].equals("car"))
+				assertTrue(t[1].equals("JJ") || t[1].equals("RB"));
+			else
+				assertEquals(full.get(i), constrained.get(i));
+		}
+		
+		tagger.setTagDictionaryDecoding(false);
+		assertEquals(full, tag(tagger));
+	}
+	
+	private POSLexicon createLexicon(String s)
+	{
+		POSConfiguration configuration = new POSConfiguration();
+		configuration.setAmbiguityClassThreshold(0.4);
+		configuration.setTagDictionaryThreshold(0.3);
+		configuration.setDocumentFrequencyCutoff(1);
+		configuration.setDocumentSize(1);
+		
+		POSLexicon lexicon = new POSLexicon(configuration);
+		TSVReader reader = new TSVReader(0, 1);
+		reader.open(new ByteArrayInputStream(s.getBytes()));
+		DEPTree tree;
+		
+		while ((tree = reader.next()) != null)
+			lexicon.collect(new POSState(tree, CFlag.COLLECT, lexicon));
+		
+		lexicon.finalizeCollect();
+		return lexicon;
+	}
+	
+	/** @return "form tag" of every node in the training file tagged by the specific tagger. */
+	private List<String> tag(AbstractPOSTagger tagger)
+	{
+		TSVReader reader = new TSVReader(0, 1, 2, 3, 4, 5, 6, 7);
+		reader.open(IOUtils.createFileInputStream(TRAIN_FILE));
+		List<String> tags = new ArrayList<>();
+		DEPTree tree;
+		
+		while ((tree = reader.next()) != null)
+		{
+			for (DEPNode node : tree) node.clearPOSTag();
+			tagger.process(tree);
+			for (DEPNode node : tree) tags.add(node.getWordForm()+" "+node.getPOSTag());
+		}
+		
+		reader.close();
+		return tags;
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.mode.pos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
+import edu.emory.clir.clearnlp.component.utils.CFlag;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.reader.TSVReader;
+import edu.emory.clir.clearnlp.util.StringUtils;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class POSLexiconTest
+{
+	@Test
+	public void testTagDictionary()
+	{
+		String s = "I\tPRP\nsaw\tVBD\nthe\tDT\nsaw\tNN\n\nThe\tDT\nman\tNN\nsaw\tVBD\nit\tPRP\n\nsaw\tNN\n\n";
+		POSConfiguration configuration = new POSConfiguration();
+		configuration.setAmbiguityClassThreshold(0.4);
+		configuration.setTagDictionaryThreshold(0.3);
+		configuration.setDocumentFrequencyCutoff(1);
+		configuration.setDocumentSize(1);
+		
+		POSLexicon lexicon = new POSLexicon(configuration);
+		TSVReader reader = new TSVReader(0, 1);
+		reader.open(new ByteArrayInputStream(s.getBytes()));
+		DEPTree tree;
+		
+		while ((tree = reader.next()) != null)
+			lexicon.collect(new POSState(tree, CFlag.COLLECT, lexicon));
+		
+		lexicon.finalizeCollect();
+		String[] tags = lexicon.getTagDictionary("saw");
+		Arrays.sort(tags);
+		
+		assertEquals("[NN, VBD]", Arrays.toString(tags));
+		assertNull(lexicon.getTagDictionary("man"));
+		assertNull(lexicon.getTagDictionary("unknown"));
+	}
+	
+	@Test
+	public void testDocumentFrequencies()
+	{
+		POSConfiguration configuration = new POSConfiguration();
+		configuration.setDocumentFrequencyCutoff(2);
+		configuration.setDocumentSize(1);
+		
+		POSLexicon lexicon = new POSLexicon(configuration);
+		ObjectIntHashMap<String> frequencies = new ObjectIntHashMap<>();
+		frequencies.add("Apple", 2);
+		frequencies.add("APPLE", 1);
+		frequencies.add("Pear" , 2);
+		frequencies.add("1,234", 2);
+		frequencies.add("56.78", 1);
+		lexicon.addDocumentFrequencies(frequencies);
+		
+		assertTrue (lexicon.includeForm("apple"));
+		assertFalse(lexicon.includeForm("pear"));
+		assertFalse(lexicon.includeForm("Apple"));
+		assertTrue (lexicon.includeForm(StringUtils.toLowerCaseSimplifiedForm("9,999")));
+	}
+}
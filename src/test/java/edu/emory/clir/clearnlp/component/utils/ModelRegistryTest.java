@@ -0,0 +1,205 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.component.AbstractComponent;
+import edu.emory.clir.clearnlp.component.utils.ModelRegistry.ModelVersion;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.util.metrics.ComponentMetrics;
+import edu.emory.clir.clearnlp.util.metrics.MetricsRegistry;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ModelRegistryTest
+{
+	/** Tags every node with the model path; fails on a path starting with "bad". */
+	private ModelRegistry<AbstractComponent> createRegistry(AtomicInteger count)
+	{
+		List<DEPTree> warmup = Arrays.asList(new DEPTree(Arrays.asList("Warm", "up")));
+		
+		return new ModelRegistry<>("test", path ->
+		{
+			if (path.startsWith("bad")) throw new IllegalArgumentException(path);
+			
+			return new AbstractComponent()
+			{
+				@Override
+				public void process(DEPTree tree)
+				{
+					for (DEPNode node : tree) node.setPOSTag(path);
+					count.incrementAndGet();
+				}
+			};
+		}, warmup);
+	}
+	
+	private DEPTree process(ModelRegistry<AbstractComponent> registry)
+	{
+		DEPTree tree = new DEPTree(Arrays.asList("John", "bought", "a", "car"));
+		registry.process(tree);
+		return tree;
+	}
+	
+	private String tagWith(ModelVersion<AbstractComponent> version)
+	{
+		DEPTree tree = new DEPTree(Arrays.asList("John"));
+		version.getComponent().process(tree);
+		return tree.get(1).getPOSTag();
+	}
+	
+	@Test
+	public void testReload() throws Exception
+	{
+		AtomicInteger count = new AtomicInteger();
+		ModelRegistry<AbstractComponent> registry = createRegistry(count);
+		
+		try
+		{
+			registry.process(new DEPTree(Arrays.asList("John")));
+			fail();
+		}
+		catch (IllegalStateException e) {}
+		
+		ModelVersion<AbstractComponent> v1 = registry.load("m1");
+		assertEquals(1, count.get());
+		assertEquals(1, registry.getVersion());
+		assertEquals("m1", process(registry).get(1).getPOSTag());
+		assertEquals(1, v1.getSentenceCount());
+		
+		// a sentence in flight keeps the old version alive
+		ModelVersion<AbstractComponent> inFlight = registry.acquire();
+		ModelVersion<AbstractComponent> v2 = registry.reload("m2").get();
+		assertEquals(2, v2.getVersion());
+		assertEquals(v2, registry.getCurrent());
+		assertEquals("m2", process(registry).get(1).getPOSTag());
+		assertTrue(v1.isRetired());
+		assertFalse(v1.isReleased());
+		assertEquals("m1", tagWith(inFlight));
+		assertSame(MetricsRegistry.get("test-v1"), v1.getMetrics());
+		assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(MetricsRegistry.getObjectName("test-v1")));
+		
+		inFlight.release();
+		assertTrue(v1.awaitRelease(1, TimeUnit.SECONDS));
+		assertNull(v1.getComponent());
+		
+		// the metrics of a released version are unregistered
+		for (ComponentMetrics metrics : MetricsRegistry.getAll())
+			assertFalse(metrics.getName().equals("test-v1"));
+		
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(MetricsRegistry.getObjectName("test-v1")));
+		
+		// a failed reload keeps the current version
+		try
+		{
+			registry.reload("bad").get();
+			fail();
+		}
+		catch (ExecutionException e) {assertTrue(e.getCause() instanceof IllegalArgumentException);}
+		
+		assertEquals(2, registry.getVersion());
+		assertEquals("m2", process(registry).get(1).getPOSTag());
+		assertFalse(v2.isRetired());
+		registry.close();
+	}
+	
+	@Test
+	public void testConcurrentReload() throws Exception
+	{
+		AtomicInteger count = new AtomicInteger();
+		ModelRegistry<AbstractComponent> registry = createRegistry(count);
+		List<ModelVersion<AbstractComponent>> versions = new ArrayList<>();
+		AtomicBoolean stop = new AtomicBoolean(false), failed = new AtomicBoolean(false);
+		List<Thread> threads = new ArrayList<>();
+		int i;
+		
+		versions.add(registry.load("m0"));
+		
+		for (i=0; i<4; i++)
+		{
+			Thread thread = new Thread(() ->
+			{
+				while (!stop.get())
+				{
+					DEPTree tree = process(registry);
+					String tag = tree.get(1).getPOSTag();
+					for (DEPNode node : tree) if (!tag.equals(node.getPOSTag())) failed.set(true);
+				}
+			});
+			
+			threads.add(thread);
+			thread.start();
+		}
+		
+		for (i=1; i<=20; i++)
+			versions.add(registry.reload("m"+i).get());
+		
+		stop.set(true);
+		for (Thread thread : threads) thread.join();
+		assertFalse(failed.get());
+		
+		for (i=0; i<20; i++)
+			assertTrue(versions.get(i).awaitRelease(1, TimeUnit.SECONDS));
+		
+		assertFalse(versions.get(20).isReleased());
+		assertEquals(21, registry.getVersion());
+		registry.close();
+	}
+	
+	@Test
+	public void testWatch() throws Exception
+	{
+		ModelRegistry<AbstractComponent> registry = createRegistry(new AtomicInteger());
+		File file = File.createTempFile("model", ".xz");
+		file.deleteOnExit();
+		
+		registry.load(file.getPath());
+		registry.watch(file.getPath(), 1);
+		
+		PrintStream fout = new PrintStream(file);
+		fout.println("updated");
+		fout.close();
+		file.setLastModified(file.lastModified() + 2000);
+		
+		for (int i=0; i<100 && registry.getVersion() < 2; i++)
+			Thread.sleep(100);
+		
+		assertEquals(2, registry.getVersion());
+		registry.close();
+	}
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.bin.NLPTrain;
+import edu.emory.clir.clearnlp.component.mode.dep.AbstractDEPParser;
+import edu.emory.clir.clearnlp.component.mode.dep.DEPConfiguration;
+import edu.emory.clir.clearnlp.component.mode.dep.EnglishDEPParser;
+import edu.emory.clir.clearnlp.component.mode.pos.AbstractPOSTagger;
+import edu.emory.clir.clearnlp.component.mode.pos.EnglishPOSTagger;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+import edu.emory.clir.clearnlp.reader.TSVReader;
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class OnlineLearnerTest
+{
+	private final String TRAIN_FILE   = "src/test/resources/nlp/trainer/pos.cnlp";
+	private final String CONFIG_FILE  = "src/test/resources/nlp/configuration/configure.xml";
+	private final String FEATURE_FILE = "src/test/resources/nlp/trainer/feature_pos.xml";
+	private final String DEP_FEATURE_FILE = "src/main/resources/features/feature_en_dep.xml";
+	
+	@Test
+	public void testTrain() throws Exception
+	{
+		List<String> files = Arrays.asList(TRAIN_FILE);
+		byte[] models = new NLPTrain().train(files, files, new String[]{FEATURE_FILE}, CONFIG_FILE, NLPMode.pos).o.toByteArray();
+		List<DEPTree> trees = read();
+		List<String> gold = toString(trees);
+		
+		ModelRegistry<AbstractPOSTagger> registry = new ModelRegistry<>("online-test", null, trees);
+		registry.publish(new EnglishPOSTagger(models), "initial");
+		OnlineLearner<AbstractPOSTagger> learner = new OnlineLearner<>(registry, EnglishPOSTagger::new, trees, 2, 2, 1);
+		
+		// the serving version changes only when the shadow is published
+		AbstractPOSTagger serving = registry.getCurrent().getComponent();
+		boolean published = learner.train(trees);
+		assertEquals(published, serving != registry.getCurrent().getComponent());
+		assertEquals(published ? 1 : 0, learner.getPublishedCount());
+		assertEquals(trees.size(), learner.getTrainedCount());
+		assertTrue(learner.getServingScore() > 0);
+		assertEquals(gold, toString(trees));
+		
+		// a version published by others is picked up before the next batch
+		registry.publish(new EnglishPOSTagger(models), "reloaded");
+		learner.train(trees.subList(0, 1));
+		assertEquals(registry.getCurrent().getComponent().onlineScore(trees), learner.getServingScore(), 0);
+		
+		// a full queue drops trees without blocking
+		assertTrue(learner.offer(trees.get(0)));
+		assertTrue(learner.offer(trees.get(1)));
+		assertFalse(learner.offer(trees.get(0)));
+		assertEquals(1, learner.getDroppedCount());
+		
+		// a full batch is trained right away, and a partial batch once the period has passed
+		long trained = learner.getTrainedCount();
+		learner.start();
+		waitForTrained(learner, trained + 2);
+		assertTrue(learner.offer(trees.get(0)));
+		waitForTrained(learner, trained + 3);
+		learner.stop();
+		
+		assertEquals(0, learner.getQueueSize());
+		assertEquals(learner.getPublishedCount() + learner.getRejectedCount(), 4);
+		assertEquals(gold, toString(trees));
+	}
+	
+	@Test
+	public void testUnseenLabel() throws Exception
+	{
+		List<String> files = Arrays.asList(TRAIN_FILE);
+		DEPConfiguration configuration = new DEPConfiguration(IOUtils.createFileInputStream(CONFIG_FILE));
+		byte[] models = new NLPTrain().train(files, files, new String[]{DEP_FEATURE_FILE}, CONFIG_FILE, NLPMode.dep).o.toByteArray();
+		List<DEPTree> trees = read();
+		
+		// the corrected trees introduce a dependency label that the initial model has never seen
+		for (DEPTree tree : trees)
+			for (DEPNode node : tree)
+				if ("nsubj".equals(node.getLabel())) node.setLabel("agent");
+		
+		ModelRegistry<AbstractDEPParser> registry = new ModelRegistry<>("online-dep-test", null, trees);
+		registry.publish(new EnglishDEPParser(configuration, models), "initial");
+		OnlineLearner<AbstractDEPParser> learner = new OnlineLearner<>(registry, b -> new EnglishDEPParser(configuration, b), trees, 2, 2, 1);
+		AbstractDEPParser serving = registry.getCurrent().getComponent();
+		
+		assertTrue(learner.train(trees));
+		assertTrue(serving != registry.getCurrent().getComponent());
+		
+		// the published parser decodes with the new label
+		serving = registry.getCurrent().getComponent();
+		assertTrue(Arrays.asList(serving.getModels()[0].getLabels()).stream().anyMatch(label -> label.contains("agent")));
+		assertEquals(serving.onlineScore(trees), learner.getServingScore(), 0);
+		
+		// further training keeps decoding the shadow with the grown label set
+		learner.train(trees);
+		assertEquals(registry.getCurrent().getComponent().onlineScore(trees), learner.getServingScore(), 0);
+	}
+	
+	private void waitForTrained(OnlineLearner<?> learner, long count) throws InterruptedException
+	{
+		for (int i=0; i<300 && learner.getTrainedCount() < count; i++)
+			Thread.sleep(100);
+		
+		assertEquals(count, learner.getTrainedCount());
+	}
+	
+	private List<DEPTree> read()
+	{
+		TSVReader reader = new TSVReader(0, 1, 2, 3, 4, 5, 6, 7);
+		reader.open(IOUtils.createFileInputStream(TRAIN_FILE));
+		List<DEPTree> trees = new ArrayList<>();
+		DEPTree tree;
+		
+		while ((tree = reader.next()) != null)
+			trees.add(tree);
+		
+		reader.close();
+		return trees;
+	}
+	
+	private List<String> toString(List<DEPTree> trees)
+	{
+		List<String> list = new ArrayList<>();
+		for (DEPTree tree : trees) list.add(tree.toStringDEP());
+		return Collections.unmodifiableList(list);
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.component.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.collection.cache.CacheEviction;
+import edu.emory.clir.clearnlp.component.AbstractComponent;
+import edu.emory.clir.clearnlp.dependency.DEPNode;
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SentenceCacheTest
+{
+	@Test
+	public void testProcess()
+	{
+		int[] count = {0};
+		AbstractComponent[] components = {new AbstractComponent()
+		{
+			@Override
+			public void process(DEPTree tree)
+			{
+				DEPNode node;
+				count[0]++;
+				
+				for (int i=1; i<tree.size(); i++)
+				{
+					node = tree.get(i);
+					node.setPOSTag(node.getWordForm().toUpperCase());
+					node.setLemma(node.getWordForm().toLowerCase());
+					node.putFeat("n", Integer.toString(count[0]));
+					node.setHead(tree.get(i-1), "dep");
+				}
+			}
+		}};
+		
+		SentenceCache cache = new SentenceCache(10, CacheEviction.TINY_LFU, SentenceCache.getModelVersion(components));
+		DEPTree tree = new DEPTree(Arrays.asList("Accept", "all", "Cookies"));
+		assertFalse(cache.process(tree, components));
+		String gold = tree.toStringDEP();
+		
+		tree = new DEPTree(Arrays.asList("Accept", "all", "Cookies"));
+		assertTrue(cache.process(tree, components));
+		assertEquals(gold, tree.toStringDEP());
+		assertEquals(1, count[0]);
+		assertEquals(1, tree.get(1).getDependentList().size());
+		
+		tree.get(1).putFeat("n", "changed");
+		tree = new DEPTree(Arrays.asList("Accept", "all", "Cookies"));
+		assertTrue(cache.process(tree, components));
+		assertEquals(gold, tree.toStringDEP());
+		
+		assertFalse(cache.process(new DEPTree(Arrays.asList("Accept", "all")), components));
+		assertEquals(0.5, cache.getHitRate(), 0);
+		
+		cache.setModelVersion(cache.getModelVersion() + 1);
+		assertFalse(cache.process(new DEPTree(Arrays.asList("Accept", "all", "Cookies")), components));
+		assertEquals(3, count[0]);
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.constituent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.util.IOUtils;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CTStreamReaderTest
+{
+	@Test
+	public void testCTStreamReader() throws Exception
+	{
+		String[] filenames = {"constituent.parse", "functionTags.parse", "links.parse", "normalize.parse", "preprocess.parse"};
+		
+		for (String filename : filenames)
+		{
+			filename = "src/test/resources/constituent/"+filename;
+			List<String> expected = getTrees(new CTReader(IOUtils.createFileInputStream(filename)));
+			CTStreamReader reader = new CTStreamReader(IOUtils.createFileInputStream(filename));
+			List<String> trees = new ArrayList<>();
+			
+			while (reader.hasNext())
+				trees.add(reader.next().toString());
+			
+			reader.close();
+			assertEquals(expected, trees);
+			assertEquals(expected, CTStreamReader.stream(IOUtils.createFileInputStream(filename), true).map(CTTree::toString).collect(Collectors.toList()));
+		}
+	}
+	
+	@Test
+	public void testLargeInput() throws Exception
+	{
+		String filename = "src/test/resources/constituent/constituent.parse";
+		StringBuilder build = new StringBuilder();
+		String text = String.join("\n", getTrees(new CTReader(IOUtils.createFileInputStream(filename))));
+		
+		// spans several buffers of the reader
+		while (build.length() < 300000)
+			build.append(text).append("\n");
+		
+		List<String> expected = getTrees(new CTReader(IOUtils.createByteArrayInputStream(build.toString())));
+		assertEquals(expected, getTrees(new CTStreamReader(IOUtils.createByteArrayInputStream(build.toString()))));
+		assertEquals(expected, CTStreamReader.stream(IOUtils.createByteArrayInputStream(build.toString()), true).map(CTTree::toString).collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testError() throws Exception
+	{
+		String text = "(TOP (NP (DT a)\n(NN b)))\n\nNN (c)\n(NP (NN d))";
+		CTStreamReader reader = new CTStreamReader(IOUtils.createByteArrayInputStream(text));
+		
+		assertEquals("(NP (DT a) (NN b))", reader.nextTree().getRoot().getFirstChild().toString().replaceAll("\\s+", " "));
+		assertNull(reader.nextTree());
+		assertEquals(4, reader.getLineNumber());
+		
+		reader = new CTStreamReader(IOUtils.createByteArrayInputStream("(TOP (NP (DT a)\n(NN b))"));
+		assertNull(reader.nextTree());
+		assertEquals(1, CTStreamReader.stream(IOUtils.createByteArrayInputStream(text), true).count());
+	}
+	
+	private List<String> getTrees(CTReader reader)
+	{
+		List<String> trees = new ArrayList<>();
+		CTTree tree;
+		
+		while ((tree = reader.nextTree()) != null)
+			trees.add(tree.toString());
+		
+		reader.close();
+		return trees;
+	}
+	
+	private List<String> getTrees(CTStreamReader reader)
+	{
+		List<String> trees = new ArrayList<>();
+		CTTree tree;
+		
+		while ((tree = reader.nextTree()) != null)
+			trees.add(tree.toString());
+		
+		reader.close();
+		return trees;
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.constituent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CTTagSetTest
+{
+	@Test
+	public void testTagSet()
+	{
+		CTTagSet tags = CTTagSet.create(Pattern.compile("^(NN.*|NP)$"));
+		
+		assertTrue (tags.matches(new CTNode("NNS")));
+		assertTrue (tags.matches(new CTNode("NP-SBJ")));
+		assertFalse(tags.matches(new CTNode("NML")));
+		
+		// tags interned after the set is created
+		assertTrue (tags.matches(new CTNode("NN_CTTagSetTest")));
+		assertFalse(tags.matches(new CTNode("VB_CTTagSetTest")));
+		
+		CTNode node = new CTNode("VP");
+		assertFalse(tags.matches(node));
+		node.setConstituentTag("NNP");
+		assertTrue(tags.matches(node));
+		assertEquals(CTTagIndex.getConstituentTagID("NNP"), node.getConstituentTagID());
+		
+		tags = CTTagSet.createPrefix("WH");
+		assertTrue (tags.matches(new CTNode("WHNP")));
+		assertFalse(tags.matches(new CTNode("NP")));
+		
+		// unanchored patterns are found within tags, as CTNode.matchesConstituentTag(Pattern) does
+		Pattern pattern = Pattern.compile("NP");
+		tags = CTTagSet.create(pattern);
+		node = new CTNode("WHNP");
+		assertTrue (tags.matches(node));
+		assertEquals(node.matchesConstituentTag(pattern), tags.matches(node));
+		assertFalse(tags.matches(new CTNode("VP")));
+	}
+	
+	@Test
+	public void testFunctionTagSet()
+	{
+		CTFunctionTagSet tags = new CTFunctionTagSet("SBJ", "TMP");
+		CTNode node = new CTNode("NP-SBJ-LOC");
+		
+		assertTrue (tags.matchesAny(node));
+		assertFalse(tags.matchesAll(node));
+		
+		node.addFunctionTag("TMP");
+		assertTrue(tags.matchesAll(node));
+		
+		node.removeFunctionTag("SBJ");
+		assertTrue (tags.matchesAny(node));
+		assertFalse(tags.matchesAll(node));
+		
+		node.clearFunctionTags();
+		assertFalse(tags.matchesAny(node));
+		assertEquals(0, node.getFunctionTagBits());
+	}
+	
+	@Test
+	public void testFunctionTagOverflow()
+	{
+		String[] fTags = new String[80];
+		int i;
+		
+		for (i=0; i<fTags.length; i++)
+			fTags[i] = "OVERFLOW"+i;
+		
+		CTFunctionTagSet tags = new CTFunctionTagSet(fTags);
+		CTFunctionTagSet last = new CTFunctionTagSet(fTags[fTags.length-1]);
+		CTNode node = new CTNode("NP");
+		
+		assertFalse(tags.matchesAny(node));
+		node.addFunctionTag(fTags[fTags.length-1]);
+		assertTrue (tags.matchesAny(node));
+		assertFalse(tags.matchesAll(node));
+		assertTrue (last.matchesAll(node));
+		
+		for (String tag : fTags) node.addFunctionTag(tag);
+		assertTrue(tags.matchesAll(node));
+	}
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.dictionary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.component.mode.morph.EnglishMPAnalyzer;
+import edu.emory.clir.clearnlp.dictionary.english.DTAbbreviation;
+import edu.emory.clir.clearnlp.dictionary.english.DTHyphen;
+import edu.emory.clir.clearnlp.dictionary.universal.DTCompound;
+import edu.emory.clir.clearnlp.dictionary.universal.DTCurrency;
+import edu.emory.clir.clearnlp.dictionary.universal.DTEmoticon;
+import edu.emory.clir.clearnlp.dictionary.universal.DTUnit;
+import edu.emory.clir.clearnlp.util.lang.TLanguage;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DictionarySnapshotTest
+{
+	static final String INFLECTION =
+		"<inflection>\n" +
+		"<verb><affix type=\"suffix\" form=\"ed\" org_pos=\"VBD|VBN\"><rule base_pos=\"VB\" affix_form=\"ed\" replacements=\",e\"/></affix></verb>\n" +
+		"<noun><affix type=\"suffix\" form=\"s\" org_pos=\"NNS|NNPS\"><rule base_pos=\"NN\" affix_form=\"s\" replacements=\"\"/></affix></noun>\n" +
+		"<adjective/>\n" +
+		"<adverb/>\n" +
+		"</inflection>";
+	
+	@Test
+	public void testTokenizer() throws Exception
+	{
+		Map<String,String> resources = new HashMap<>();
+		resources.put(PathTokenizer.EN_ABBREVIATION_PERIOD, "Mr.\n dr. \n\ne.g.\n");
+		resources.put(PathTokenizer.EN_HYPHEN_PREFIX, "co\npre\nnon\n");
+		resources.put(PathTokenizer.EN_HYPHEN_SUFFIX, "esque\nfold\n");
+		resources.put(PathTokenizer.CURRENCY, "USD\nEUR\nkrw\ngbp\n");
+		resources.put(PathTokenizer.CURRENCY_DOLLAR, "US\nc\nA\n");
+		resources.put(PathTokenizer.UNITS, "mg\nkg\ng\ncm\nm\nmm\nlb\n");
+		resources.put(PathTokenizer.EMOTICONS, ":-)\n:)\n;-P\n<3\n");
+		resources.put(PathTokenizer.EN_COMPOUNDS, "can not\ngon na\nwan na\n");
+		
+		DictionarySnapshot snapshot = build(resources);
+		assertEquals(resources.keySet(), snapshot.getPaths());
+		assertEquals(Arrays.asList("can not", "gon na", "wan na"), snapshot.getStringList(PathTokenizer.EN_COMPOUNDS));
+		assertNull(snapshot.getStringSet(PathTokenizer.HTML_TAGS));
+		
+		DictionarySnapshot.setDefault(snapshot);
+		
+		try
+		{
+			DTCurrency currency = new DTCurrency(), currencyText = new DTCurrency(stream(resources, PathTokenizer.CURRENCY), stream(resources, PathTokenizer.CURRENCY_DOLLAR));
+			assertTrue(currency.isCurrency("us$"));
+			assertTrue(currency.isCurrencyDollar("a"));
+			
+			for (String s : new String[]{"USD1", "us$1", "1eur", "c$1", "u$1"})
+				assertEquals(Arrays.toString(currencyText.tokenize(s)), Arrays.toString(currency.tokenize(s)));
+			
+			DTUnit unit = new DTUnit(), unitText = new DTUnit(stream(resources, PathTokenizer.UNITS));
+			
+			for (String s : new String[]{"1mg", "10mm", "5kg", "3lb", "mg"})
+				assertEquals(Arrays.toString(unitText.tokenize(s)), Arrays.toString(unit.tokenize(s)));
+			
+			DTCompound compound = new DTCompound(TLanguage.ENGLISH);
+			assertEquals("[Can, not]", Arrays.toString(compound.tokenize("Cannot")));
+			assertEquals("[gon, na]", Arrays.toString(compound.tokenize("gonna")));
+			assertNull(compound.tokenize("wanted"));
+			
+			DTEmoticon emoticon = new DTEmoticon();
+			assertEquals("[0, 3]", Arrays.toString(emoticon.getEmoticonRange(";-P")));
+			assertEquals("[0, 2]", Arrays.toString(emoticon.getEmoticonRange("<3!")));
+			
+			DTAbbreviation abbreviation = new DTAbbreviation();
+			assertTrue (abbreviation.isAbbreviationEndingWithPeriod("mr."));
+			assertTrue (abbreviation.isAbbreviationEndingWithPeriod("dr."));
+			assertFalse(abbreviation.isAbbreviationEndingWithPeriod("st."));
+			
+			DTHyphen hyphen = new DTHyphen();
+			assertTrue (hyphen.isPrefix("co"));
+			assertTrue (hyphen.isSuffix("fold"));
+			assertFalse(hyphen.isSuffix("co"));
+		}
+		finally
+		{
+			DictionarySnapshot.setDefault(null);
+		}
+	}
+	
+	@Test
+	public void testEnglishMPAnalyzer() throws Exception
+	{
+		String root = PathEnglishMPAnalyzer.ROOT;
+		Map<String,String> resources = new HashMap<>();
+		
+		resources.put(PathEnglishMPAnalyzer.INFLECTION_SUFFIX, INFLECTION);
+		resources.put(PathEnglishMPAnalyzer.ABBREVIATOIN_RULE, "'s VBZ be\nn't RB not\n");
+		resources.put(PathEnglishMPAnalyzer.CARDINAL_BASE, "one\ntwo\n");
+		resources.put(PathEnglishMPAnalyzer.ORDINAL_BASE , "first\nsecond\n");
+		resources.put(root+"verb.base", "walk\nbake\ngo\n");
+		resources.put(root+"verb.exc" , "went go\n");
+		resources.put(root+"noun.base", "dog\n");
+		resources.put(root+"noun.exc" , "mice mouse\n");
+		
+		for (String type : new String[]{"adjective", "adverb"})
+		{
+			resources.put(root+type+".base", "");
+			resources.put(root+type+".exc" , "");
+		}
+		
+		EnglishMPAnalyzer snapshot = new EnglishMPAnalyzer(build(resources));
+		EnglishMPAnalyzer text = new EnglishMPAnalyzer(new ByteArrayInputStream(zip(resources)));
+		String[][] tokens = {{"walked","VBD"},{"baked","VBN"},{"went","VBD"},{"dogs","NNS"},{"mice","NNS"},{"'s","VBZ"},{"n't","RB"},{"two","CD"},{"second","JJ"},{"cats","NNS"}};
+		
+		for (String[] t : tokens)
+			assertEquals(text.getLemma(t[0], t[1]), snapshot.getLemma(t[0], t[1]));
+		
+		assertEquals("walk", snapshot.getLemma("walked", "VBD"));
+		assertEquals("mouse", snapshot.getLemma("mice", "NNS"));
+	}
+	
+	@Test
+	public void testEnglishMPAnalyzerPartial() throws Exception
+	{
+		Map<String,String> resources = new HashMap<>();
+		resources.put(PathEnglishMPAnalyzer.INFLECTION_SUFFIX, INFLECTION);
+		resources.put(PathEnglishMPAnalyzer.ABBREVIATOIN_RULE, "'s VBZ be\n");
+		resources.put(PathEnglishMPAnalyzer.CARDINAL_BASE, "one\ntwo\n");
+		resources.put(PathEnglishMPAnalyzer.ROOT+"verb.base", "walk\n");
+		
+		EnglishMPAnalyzer classpath = new EnglishMPAnalyzer(), partial;
+		DictionarySnapshot.setDefault(build(resources));
+		
+		try
+		{
+			partial = new EnglishMPAnalyzer();
+		}
+		finally
+		{
+			DictionarySnapshot.setDefault(null);
+		}
+		
+		String[][] tokens = {{"walked","VBD"},{"went","VBD"},{"mice","NNS"},{"'s","VBZ"},{"second","JJ"},{"better","JJR"}};
+		
+		for (String[] t : tokens)
+			assertEquals(classpath.getLemma(t[0], t[1]), partial.getLemma(t[0], t[1]));
+	}
+	
+	private DictionarySnapshot build(Map<String,String> resources) throws Exception
+	{
+		File file = File.createTempFile("dictionary", ".snapshot");
+		file.deleteOnExit();
+		new DictionarySnapshotBuilder(path -> stream(resources, path)).build(file.getPath());
+		return new DictionarySnapshot(file.getPath());
+	}
+	
+	private InputStream stream(Map<String,String> resources, String path)
+	{
+		String s = resources.get(path);
+		return (s != null) ? new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)) : null;
+	}
+	
+	private byte[] zip(Map<String,String> resources) throws Exception
+	{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		
+		try (ZipOutputStream out = new ZipOutputStream(bout))
+		{
+			for (Map.Entry<String,String> e : resources.entrySet())
+			{
+				out.putNextEntry(new ZipEntry(e.getKey()));
+				out.write(e.getValue().getBytes(StandardCharsets.UTF_8));
+				out.closeEntry();
+			}
+		}
+		
+		return bout.toByteArray();
+	}
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.feature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.classification.vector.StringFeatureVector;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class FeatureTemplateProfilerTest
+{
+	@Test
+	public void test()
+	{
+		FeatureTemplateProfiler profiler = new FeatureTemplateProfiler(new String[]{"i:f", "i:orth"});
+		StringFeatureVector vector;
+		int i, begin;
+		
+		for (i=0; i<8; i++)
+		{
+			vector = new StringFeatureVector();
+			vector.addFeature(1, "w"+i);
+			profiler.add(0, 1, 100, vector, 0);
+			
+			begin = vector.size();
+			vector.addFeature(2, "lower");
+			vector.addFeature(2, (i % 2 == 0) ? "digit" : "upper");
+			profiler.add(1, 2, 300, vector, begin);
+			profiler.endVector();
+		}
+		
+		assertEquals(8, profiler.getVectorCount());
+		assertEquals(8, profiler.getFeatureCount(0));
+		assertEquals(16, profiler.getFeatureCount(1));
+		assertEquals(8, profiler.getUniqueValueCount(0));
+		assertEquals(3, profiler.getUniqueValueCount(1));
+		assertEquals(800, profiler.getNanos(0));
+		
+		// 4 new values of "i:f" and none of "i:orth" over the last 4 vectors
+		assertEquals(1000, profiler.getUniqueValueGrowth(0), 0);
+		assertEquals(0, profiler.getUniqueValueGrowth(1), 0);
+		
+		String[] lines = profiler.getReport(null).split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[1].contains("i:orth"));
+		assertTrue(lines[2].contains("i:f"));
+	}
+}
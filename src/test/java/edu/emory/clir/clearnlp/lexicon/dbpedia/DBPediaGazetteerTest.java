@@ -0,0 +1,112 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.dbpedia;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.dependency.DEPTree;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DBPediaGazetteerTest
+{
+	@Test
+	public void testGazetteer() throws Exception
+	{
+		DBPediaTypeMap typeMap = new DBPediaTypeMap();
+		typeMap.put(DBPediaType.Politician, new HashSet<>(Arrays.asList(DBPediaType.Person)));
+		typeMap.put(DBPediaType.Person, new HashSet<>(Arrays.asList(DBPediaType.Agent)));
+		typeMap.put(DBPediaType.City, new HashSet<>(Arrays.asList(DBPediaType.Settlement)));
+		
+		String types =
+				"<http://dbpedia.org/resource/New_York_City> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://dbpedia.org/ontology/City> .\n"+
+				"<http://dbpedia.org/resource/New_York_City> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://dbpedia.org/ontology/Settlement> .\n"+
+				"<http://dbpedia.org/resource/Barack_Obama> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://dbpedia.org/ontology/Politician> .\n"+
+				"<http://dbpedia.org/resource/Barack_Obama> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://dbpedia.org/ontology/Person> .\n"+
+				"<http://dbpedia.org/resource/New_York> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://dbpedia.org/ontology/Place> .\n"+
+				"<http://dbpedia.org/resource/Barack_Obama> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://dbpedia.org/ontology/Zoo> .\n";
+		
+		String redirects =
+				"<http://dbpedia.org/resource/Obama> <http://dbpedia.org/ontology/wikiPageRedirects> <http://dbpedia.org/resource/Barack_Obama> .\n"+
+				"<http://dbpedia.org/resource/NYC> <http://dbpedia.org/ontology/wikiPageRedirects> <http://dbpedia.org/resource/New_York_City> .\n"+
+				"<http://dbpedia.org/resource/Unknown> <http://dbpedia.org/ontology/wikiPageRedirects> <http://dbpedia.org/resource/Nowhere> .\n";
+		
+		File file = File.createTempFile("dbpedia", ".gazetteer");
+		
+		try
+		{
+			new DBPediaGazetteerBuilder(2).build(typeMap, toStream(types), toStream(redirects), file.getPath());
+			DBPediaGazetteer gazetteer = new DBPediaGazetteer(file.getPath());
+			
+			assertEquals(3, gazetteer.size());
+			assertEquals(-1, gazetteer.getEntityId("Nowhere"));
+			
+			int obama = gazetteer.getEntityId("Barack_Obama");
+			int nyc   = gazetteer.getEntityId("New_York_City");
+			int ny    = gazetteer.getEntityId("New_York");
+			
+			assertEquals("Barack_Obama", gazetteer.getTitle(obama));
+			assertEquals(EnumSet.of(DBPediaType.Politician, DBPediaType.Zoo), gazetteer.getTypes(obama));
+			assertEquals(EnumSet.of(DBPediaType.City), gazetteer.getTypes(nyc));
+			assertTrue (gazetteer.isType(obama, DBPediaType.Zoo));
+			assertFalse(gazetteer.isType(obama, DBPediaType.Person));
+			
+			assertArrayEquals(new int[]{obama}, gazetteer.getEntityIds("obama"));
+			assertArrayEquals(new int[]{nyc}, gazetteer.getEntityIds("new_york_city"));
+			assertArrayEquals(new int[]{nyc}, gazetteer.getEntityIds("nyc"));
+			assertArrayEquals(new int[0], gazetteer.getEntityIds("unknown"));
+			
+			DEPTree tree = new DEPTree(Arrays.asList("Obama", "visited", "New", "York", "City", "and", "New", "York", "."));
+			List<DBPediaMatch> matches = gazetteer.getLongestMatches(tree);
+			
+			assertEquals(3, matches.size());
+			assertMatch(matches.get(0), 1, 1, obama);
+			assertMatch(matches.get(1), 3, 5, nyc);
+			assertMatch(matches.get(2), 7, 8, ny);
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+	
+	private void assertMatch(DBPediaMatch match, int beginId, int endId, int entityId)
+	{
+		assertEquals(beginId, match.getBeginId());
+		assertEquals(endId, match.getEndId());
+		assertArrayEquals(new int[]{entityId}, match.getEntityIds());
+	}
+	
+	private ByteArrayInputStream toStream(String s)
+	{
+		return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+	}
+}
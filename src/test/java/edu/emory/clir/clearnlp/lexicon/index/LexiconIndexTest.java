@@ -0,0 +1,111 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFFrameset;
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFIndexedMap;
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFMap;
+import edu.emory.clir.clearnlp.lexicon.propbank.frameset.PBFType;
+import edu.emory.clir.clearnlp.lexicon.verbnet.VNClass;
+import edu.emory.clir.clearnlp.lexicon.verbnet.VNLib;
+import edu.emory.clir.clearnlp.lexicon.verbnet.VNMap;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LexiconIndexTest
+{
+	static final String FRAMES_DIR  = "src/test/resources/propbank/frames";
+	static final String VERBNET_DIR = "src/test/resources/verbnet";
+	
+	@Test
+	public void testLexiconIndex() throws Exception
+	{
+		File file = File.createTempFile("lexicon", ".idx");
+		file.deleteOnExit();
+		new LexiconIndexBuilder(2).build(FRAMES_DIR, VERBNET_DIR, true, file.getPath());
+		
+		LexiconIndex index = new LexiconIndex(file.getPath(), 2);
+		PBFMap pbMap = new PBFMap(FRAMES_DIR);
+		VNMap  vnMap = VNLib.getVerbNetMap(VERBNET_DIR, true);
+		
+		assertEquals(Arrays.asList("exchange", "perform"), index.getLemmas(PBFType.VERB));
+		assertEquals(Arrays.asList("exchange"), index.getLemmas(PBFType.NOUN));
+		assertEquals(3 + vnMap.size(), index.size());
+		
+		for (PBFType type : new PBFType[]{PBFType.VERB, PBFType.NOUN})
+		{
+			for (Map.Entry<String,PBFFrameset> e : pbMap.getFramesetMap(type).entrySet())
+				assertEquals(e.getValue().toString(), index.getFrameset(type, e.getKey()).toString());
+		}
+		
+		assertNull(index.getFrameset(PBFType.VERB, "run"));
+		assertTrue (index.hasFrameset(PBFType.NOUN, "exchange"));
+		assertFalse(index.hasFrameset(PBFType.NOUN, "perform"));
+		assertEquals(pbMap.getRoleset(PBFType.VERB, "exchange", "exchange.02").getName(), index.getFrameset(PBFType.VERB, "exchange").getRoleset("exchange.02").getName());
+		
+		for (VNClass vn : vnMap.values())
+		{
+			VNClass cls = index.getVerbNetClass(vn.getID());
+			assertEquals(vn.getFrameSize(), cls.getFrameSize());
+			assertEquals(vn.getFrame(0).getSyntax().toString(), cls.getFrame(0).getSyntax().toString());
+		}
+		
+		// cached entries are shared; evicted ones are reloaded
+		assertTrue(index.getVerbNetClass("13.6") == index.getVerbNetClass("13.6"));
+		assertTrue(index.getCache().size() <= 2);
+	}
+	
+	@Test
+	public void testPBFIndexedMap() throws Exception
+	{
+		File file = File.createTempFile("lexicon", ".idx");
+		file.deleteOnExit();
+		new LexiconIndexBuilder(1).build(FRAMES_DIR, null, true, file.getPath());
+		
+		PBFMap map = new PBFIndexedMap(new LexiconIndex(file.getPath(), 10));
+		assertTrue (map.hasFramset("perform"));
+		assertFalse(map.hasFramset("run"));
+		assertEquals("do, carry out", map.getRoleset(PBFType.VERB, "perform", "perform.01").getName());
+		
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bout);
+		out.writeObject(map);
+		out.close();
+		
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()));
+		PBFMap copy = (PBFMap)in.readObject();
+		assertEquals(PBFMap.class, copy.getClass());
+		assertEquals(map.getFrameset(PBFType.VERB, "exchange").toString(), copy.getFrameset(PBFType.VERB, "exchange").toString());
+		assertEquals(1, copy.getFramesetMap(PBFType.NOUN).size());
+	}
+}
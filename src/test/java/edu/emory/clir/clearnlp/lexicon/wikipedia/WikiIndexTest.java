@@ -0,0 +1,112 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wikipedia;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WikiIndexTest
+{
+	@Test
+	public void testWikiIndex() throws Exception
+	{
+		String dump0 =
+			"Preamble that is not a page.\n" +
+			"<New Page\tAlan Turing\t1\thttp://en.wikipedia.org/wiki/Alan_Turing>\n" +
+			"<New Paragraph>\n" +
+			"Alan Turing was a mathematician.\n" +
+			"He was born in London.\n" +
+			"<New Paragraph>\n" +
+			"He studied at Cambridge.\n" +
+			"  <New Page\tEmory University\t2\thttp://en.wikipedia.org/wiki/Emory_University>\r\n" +
+			"<New Paragraph>\r\n" +
+			"Emory is in Atlanta.\r\n";
+		
+		String dump1 =
+			"<New Page\tEmory University\t3\thttp://en.wikipedia.org/wiki/Emory>\n" +
+			"<New Paragraph>\n" +
+			"Emory University is a private research university.\n" +
+			"<New Page\tZ\t4\thttp://en.wikipedia.org/wiki/Z>\n" +
+			"<New Paragraph>\n" +
+			"Z is the last letter.";
+		
+		List<String> files = Arrays.asList(write(dump0), write(dump1));
+		File file = File.createTempFile("wiki", ".idx");
+		file.deleteOnExit();
+		new WikiIndexBuilder(2).build(files, file.getPath());
+		
+		WikiMap map = new WikiMap();
+		for (String filename : files) map.addPages(new FileInputStream(filename));
+		WikiIndexedMap indexed = new WikiIndexedMap(new WikiIndex(file.getPath(), 2));
+		
+		assertEquals(Arrays.asList("Alan Turing", "Emory University", "Z"), indexed.getIndex().getTitles());
+		assertEquals(map.getTitles(), new HashSet<>(indexed.getTitles()));
+		assertTrue (indexed.getTitles().contains("Z"));
+		assertFalse(indexed.getTitles().contains("Atlanta"));
+		assertNull(indexed.getPage("Atlanta"));
+		
+		for (String title : map.getTitles())
+			assertPage(map.getPage(title), indexed.getPage(title));
+		
+		assertEquals("http://en.wikipedia.org/wiki/Emory", indexed.getPage("Emory University").getURL());
+		assertEquals(2, indexed.getPage("Alan Turing").getParagraphs().size());
+		
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bout);
+		out.writeObject(indexed);
+		out.close();
+		
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()));
+		WikiMap copy = (WikiMap)in.readObject();
+		assertEquals(WikiMap.class, copy.getClass());
+		assertPage(map.getPage("Z"), copy.getPage("Z"));
+	}
+	
+	private void assertPage(WikiPage expected, WikiPage actual)
+	{
+		assertEquals(expected.getTitle(), actual.getTitle());
+		assertEquals(expected.getURL()  , actual.getURL());
+		assertEquals(expected.toString(), actual.toString());
+	}
+	
+	private String write(String dump) throws Exception
+	{
+		File file = File.createTempFile("wiki", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), dump.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.lexicon.wordnet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.collection.triple.ObjectIntIntTriple;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WNMapTest
+{
+	static private final String HEADER = "  1 This software and database is being provided to you, the LICENSEE, by  \n  2 Princeton University under the following license.  \n";
+	
+	@Test
+	public void testMemoryMapped() throws Exception
+	{
+		File dir = Files.createTempDirectory("wordnet").toFile();
+		createNoun(dir);
+		
+		for (String pos : new String[]{"verb", "adj", "adv"})
+		{
+			write(new File(dir, "data." +pos), HEADER);
+			write(new File(dir, "index."+pos), HEADER);
+		}
+		
+		try
+		{
+			testMap(new WNMap(dir.getAbsolutePath()));
+			testMap(new WNMap(dir.getAbsolutePath(), 2));
+		}
+		finally
+		{
+			for (File file : dir.listFiles()) file.delete();
+			dir.delete();
+		}
+	}
+	
+	private void testMap(WNMap map)
+	{
+		assertTrue (map.isSynonym('n', "dog", "domestic_dog"));
+		assertFalse(map.isSynonym('n', "dog", "cat"));
+		assertFalse(map.isSynonym('n', "dog", "wolf"));
+		assertNull (map.getIndex('n', "aardvark"));
+		assertNull (map.getIndex('n', "zebra"));
+		assertNull (map.getIndex('v', "dog"));
+		
+		assertEquals(new HashSet<>(Arrays.asList("dog", "domestic_dog")), map.getSynonymSet('n', "domestic_dog"));
+		assertEquals(new HashSet<>(Arrays.asList("cat", "true_cat")), map.getSynonymSet('n', "true_cat"));
+		
+		ObjectIntIntTriple<WNSynset> lcs = map.getLowestCommonSubsumer('n', "dog", "cat");
+		assertEquals("n: animal", lcs.o.toString());
+		assertEquals(1, lcs.i1);
+		assertEquals(1, lcs.i2);
+		
+		lcs = map.getLowestCommonSubsumer('n', "dog", "entity");
+		assertEquals("n: entity", lcs.o.toString());
+		assertEquals(2, lcs.i1);
+		assertEquals(0, lcs.i2);
+	}
+	
+	/** Writes entity <- animal <- {dog, cat}, where the offsets are the byte offsets of the lines. */
+	private void createNoun(File dir) throws IOException
+	{
+		String[] data = {
+				"%08d 03 n 01 entity 0 000 | that which is perceived to have its own distinct existence  \n",
+				"%08d 05 n 01 animal 0 001 @ %08d n 0000 | a living organism  \n",
+				"%08d 05 n 02 dog 0 domestic_dog 0 001 @ %08d n 0000 | a member of the genus Canis  \n",
+				"%08d 05 n 02 cat 0 true_cat 0 001 @ %08d n 0000 | feline mammal  \n"};
+		
+		int[] offsets = new int[data.length];
+		int i, offset = HEADER.length();
+		
+		for (i=0; i<data.length; i++)
+		{
+			offsets[i] = offset;
+			offset += String.format(data[i], 0, 0).length();
+		}
+		
+		StringBuilder build = new StringBuilder(HEADER);
+		build.append(String.format(data[0], offsets[0]));
+		build.append(String.format(data[1], offsets[1], offsets[0]));
+		build.append(String.format(data[2], offsets[2], offsets[1]));
+		build.append(String.format(data[3], offsets[3], offsets[1]));
+		write(new File(dir, "data.noun"), build.toString());
+		
+		build = new StringBuilder(HEADER);
+		build.append(String.format("animal n 1 1 @ 1 0 %08d  \n", offsets[1]));
+		build.append(String.format("cat n 1 1 @ 1 0 %08d  \n", offsets[3]));
+		build.append(String.format("dog n 1 1 @ 1 0 %08d  \n", offsets[2]));
+		build.append(String.format("domestic_dog n 1 1 @ 1 0 %08d  \n", offsets[2]));
+		build.append(String.format("entity n 1 0 1 0 %08d  \n", offsets[0]));
+		build.append(String.format("true_cat n 1 1 @ 1 0 %08d  \n", offsets[3]));
+		write(new File(dir, "index.noun"), build.toString());
+	}
+	
+	private void write(File file, String s) throws IOException
+	{
+		Files.write(file.toPath(), s.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.emory.clir.clearnlp.collection.map.ObjectIntHashMap;
+import edu.emory.clir.clearnlp.collection.pair.ObjectIntPair;
+import edu.emory.clir.clearnlp.collection.sketch.FrequencySummary;
+import edu.emory.clir.clearnlp.util.constant.PatternConst;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class FrequencyCounterTest
+{
+	@Test
+	public void testCount() throws Exception
+	{
+		List<String> filenames = new ArrayList<>();
+		Random rand = new Random(3);
+		StringBuilder build;
+		File file;
+		int i, j;
+		
+		for (i=0; i<20; i++)
+		{
+			build = new StringBuilder();
+			
+			for (j=0; j<200; j++)
+			{
+				build.append("w"+(int)Math.pow(500, rand.nextDouble()));
+				build.append((j % 10 == 9) ? "\n" : "  ");
+			}
+			
+			file = File.createTempFile("freq", ".txt");
+			file.deleteOnExit();
+			Files.write(file.toPath(), build.toString().getBytes(StandardCharsets.UTF_8));
+			filenames.add(file.getPath());
+		}
+		
+		ObjectIntHashMap<String> gold = new ObjectIntHashMap<>();
+		
+		for (String filename : filenames)
+			gold.addAll(DSUtils.getBagOfWords(new FileInputStream(filename), PatternConst.WHITESPACES));
+		
+		ObjectIntHashMap<String> df = new FrequencyCounter(PatternConst.WHITESPACES, true, 3).count(filenames);
+		assertEquals(gold.size(), df.size());
+		
+		for (ObjectIntPair<String> p : gold)
+			assertEquals(p.i, df.get(p.o));
+		
+		ObjectIntHashMap<String> tf = new FrequencyCounter(PatternConst.WHITESPACES, false, 2).count(filenames);
+		int total = 0;
+		
+		for (ObjectIntPair<String> p : tf)
+		{
+			assertTrue(p.i >= df.get(p.o));
+			total += p.i;
+		}
+		
+		assertEquals(20 * 200, total);
+		
+		FrequencySummary<String> summary = new FrequencyCounter(PatternConst.WHITESPACES, true, 2).count(filenames, 0.01, 0.01, 20);
+		
+		for (ObjectIntPair<String> p : gold)
+			assertTrue(summary.estimate(p.o) >= p.i);
+		
+		ObjectIntHashMap<String> top = summary.toMap(0);
+		assertEquals(20, top.size());
+		
+		for (ObjectIntPair<String> p : top)
+			assertTrue(p.i >= gold.get(p.o));
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2014, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.clir.clearnlp.util.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+/**
+ * @since 3.0.3
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LatencyHistogramTest
+{
+	@Test
+	public void testBuckets()
+	{
+		long value, max;
+		int i;
+		
+		for (value=0; value<1000000; value=value*2+1)
+		{
+			i = LatencyHistogram.getBucketIndex(value);
+			max = LatencyHistogram.getBucketMax(i);
+			assertTrue(value <= max);
+			assertTrue(max <= value * 1.04 + 1);
+			assertEquals(i+1, LatencyHistogram.getBucketIndex(max+1));
+		}
+		
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.getBucketMax(LatencyHistogram.getBucketIndex(Long.MAX_VALUE)));
+	}
+	
+	@Test
+	public void testPercentile()
+	{
+		LatencyHistogram h = new LatencyHistogram();
+		assertEquals(0, h.getPercentile(50));
+		
+		for (int i=1; i<=1000; i++)
+			h.record(i * 1000);
+		
+		assertEquals(1000, h.getCount());
+		assertEquals(500500, h.getMean(), 1e-6);
+		assertEquals(1000000, h.getMax());
+		assertEquals(500000, h.getPercentile(50), 500000 * 0.04);
+		assertEquals(990000, h.getPercentile(99), 990000 * 0.04);
+		assertEquals(1000000, h.getPercentile(100));
+		
+		h.reset();
+		assertEquals(0, h.getCount());
+	}
+	
+	@Test
+	public void testRegistry() throws Exception
+	{
+		ComponentMetrics metrics = MetricsRegistry.get("test");
+		metrics.recordLatency(2000000, 5);
+		metrics.recordLatency(4000000, 50);
+		
+		assertEquals(metrics, MetricsRegistry.get("test"));
+		assertEquals(55, metrics.getTokenCount());
+		assertEquals(55 / 0.006, metrics.getTokensPerSecond(), 1e-6);
+		assertTrue(metrics.getLengthBuckets()[0].startsWith("1-10 tokens: 1 sentences"));
+		assertTrue(metrics.getLengthBuckets()[3].startsWith("41-80 tokens: 1 sentences"));
+		assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(MetricsRegistry.getObjectName("test"), "SentenceCount"));
+	}
+}